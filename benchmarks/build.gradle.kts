@@ -0,0 +1,63 @@
+plugins {
+    java
+    id("me.champeau.jmh") version "0.7.2" // JMH integration: ./gradlew :benchmarks:jmh
+}
+
+// End-to-end HTTP load test: ./gradlew :benchmarks:loadTest
+val loadtest: SourceSet by sourceSets.creating
+
+dependencies {
+    jmh(project(":timeseries"))
+    jmh(project(":core"))
+    // Servlet/MVC types used directly by the web benchmarks (core keeps them implementation-scoped)
+    jmh("org.springframework:spring-webmvc")
+    jmh("org.springframework:spring-test")
+    jmh("jakarta.servlet:jakarta.servlet-api")
+    // Streaming parser used by the sender frame decoder
+    jmh("com.fasterxml.jackson.core:jackson-core")
+    // ObjectMapper for the ApiResponse / plugin metadata serialization benchmarks
+    jmh("com.fasterxml.jackson.core:jackson-databind")
+    // Ebean database setup for the ExampleTableService benchmark (SQLite driver comes with :database)
+    jmh("io.ebean:ebean:13.25.0")
+
+    // LatencyHistogram for the load test percentiles
+    "loadtestImplementation"(project(":core"))
+    "loadtestImplementation"("com.fasterxml.jackson.core:jackson-databind")
+}
+
+jmh {
+    // Quick defaults for local runs; override on the command line, e.g. -Pjmh.includes=Ingest
+    warmupIterations.set(2)
+    iterations.set(5)
+    fork.set(1)
+    (project.findProperty("jmh.includes") as String?)?.let { includes.set(listOf(it)) }
+    // e.g. -Pjmh.profilers=gc for allocations per operation (gc.alloc.rate.norm)
+    (project.findProperty("jmh.profilers") as String?)?.let { profilers.set(it.split(",")) }
+    // JSON results, so runs can be compared; keep a copy per run, e.g. -Pjmh.results=results-main.json
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/" + (project.findProperty("jmh.results") as String? ?: "results.json")))
+}
+
+evaluationDependsOn(":core")
+evaluationDependsOn(":example-plugin")
+
+tasks.register<JavaExec>("loadTest") {
+    description = "Boots core with the example plugin and a temporary SQLite database and drives an open-model HTTP load against it."
+    group = "verification"
+    val coreJar = project(":core").tasks.named<org.gradle.jvm.tasks.Jar>("bootJar")
+    val pluginJar = project(":example-plugin").tasks.named<org.gradle.jvm.tasks.Jar>("jar")
+    dependsOn(coreJar, pluginJar)
+    classpath = loadtest.runtimeClasspath
+    mainClass.set("io.zabbixplus.framework.benchmarks.load.LoadTest")
+    argumentProviders.add(CommandLineArgumentProvider {
+        listOf(
+            "--core-jar=" + coreJar.get().archiveFile.get().asFile.absolutePath,
+            "--plugin-jar=" + pluginJar.get().archiveFile.get().asFile.absolutePath,
+            "--output=" + layout.buildDirectory.file("results/loadtest/report.json").get().asFile.absolutePath
+        )
+    })
+    // Every -Ploadtest.<name>=<value> becomes --<name>=<value>, e.g. -Ploadtest.rate=500 -Ploadtest.duration=60s
+    project.properties.filterKeys { it.startsWith("loadtest.") }.forEach { (key, value) ->
+        args("--" + key.removePrefix("loadtest.") + "=" + value)
+    }
+}
@@ -0,0 +1,86 @@
+package io.zabbixplus.framework.benchmarks.concurrent;
+
+import io.zabbixplus.framework.core.concurrent.VirtualThreads;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request throughput and latency (p99 in the {@code SampleTime} results) when every request
+ * blocks for ~10 ms, e.g. on a Zabbix API call. 400 concurrent clients (JMH threads) each hand
+ * a request to the server executor and wait for it:
+ * <ul>
+ *     <li>{@code platform}: a fixed pool of 200 threads, like Tomcat's default worker pool;</li>
+ *     <li>{@code virtual}: a virtual thread per request ({@code framework.threads.virtual.enabled=true}).</li>
+ * </ul>
+ * With {@code blocking=synchronized} the request blocks while holding a monitor, which pins the
+ * virtual thread to its carrier; the virtual numbers then drop to roughly one request per carrier
+ * (CPU core) at a time, which is what {@code PinnedThreadMonitor} reports. The virtual runs
+ * need a Java 21+ runtime and fail their setup on older ones.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(400)
+public class BlockingLoadBenchmark {
+
+    private static final int PLATFORM_POOL_SIZE = 200;
+    private static final long BLOCKING_MILLIS = 10;
+
+    @Param({"platform", "virtual"})
+    public String executor;
+
+    @Param({"plain", "synchronized"})
+    public String blocking;
+
+    private ExecutorService service;
+    private boolean pinning;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if ("virtual".equals(executor)) {
+            if (!VirtualThreads.isSupported()) {
+                throw new IllegalStateException("Virtual threads need Java 21+ (running " + Runtime.version() + ")");
+            }
+            service = VirtualThreads.newThreadPerTaskExecutor("bench");
+        } else {
+            service = Executors.newFixedThreadPool(PLATFORM_POOL_SIZE, VirtualThreads.platformFactory("bench"));
+        }
+        pinning = "synchronized".equals(blocking);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        service.shutdownNow();
+        service.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public Object request() throws Exception {
+        return service.submit(pinning ? BlockingLoadBenchmark::handleInMonitor : BlockingLoadBenchmark::handle).get();
+    }
+
+    private static Object handle() throws InterruptedException {
+        Thread.sleep(BLOCKING_MILLIS);
+        return Boolean.TRUE;
+    }
+
+    private static Object handleInMonitor() throws InterruptedException {
+        // An uncontended monitor that escapes, so the JIT cannot elide it
+        synchronized (Thread.currentThread()) {
+            return handle();
+        }
+    }
+}
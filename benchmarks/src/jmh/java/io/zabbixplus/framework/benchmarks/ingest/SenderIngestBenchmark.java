@@ -0,0 +1,121 @@
+package io.zabbixplus.framework.benchmarks.ingest;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import io.zabbixplus.framework.core.ingest.SampleBatch;
+import io.zabbixplus.framework.core.ingest.SenderFrames;
+import io.zabbixplus.framework.core.ingest.ZabbixSenderListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Frames per second through {@link ZabbixSenderListener}. The JMH threads are the load generator:
+ * each keeps one connection open and sends a {@code sender data} frame of {@code samplesPerFrame}
+ * items, waiting for the answer like {@code zabbix_sender} does. The sink only counts samples, so
+ * the numbers are the listener's own cost. {@code decode} parses the same frame without the network.
+ * <p>
+ * Run with {@code -Pjmh.profilers=gc}: {@code gc.alloc.rate.norm} is the bytes allocated per frame,
+ * by the client and listener together for {@code sendFrame} (both run in the benchmark JVM).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+public class SenderIngestBenchmark {
+
+    @Param({"1", "100"})
+    public int samplesPerFrame;
+
+    private final LongAdder delivered = new LongAdder();
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private ZabbixSenderListener listener;
+    private byte[] frame;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        StringBuilder json = new StringBuilder("{\"request\":\"sender data\",\"data\":[");
+        for (int i = 0; i < samplesPerFrame; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"host\":\"web").append(i % 10)
+                    .append("\",\"key\":\"system.cpu.load[all,avg1]\",\"value\":\"").append(i).append(".25\",\"clock\":")
+                    .append(1_700_000_000 + i).append(",\"ns\":123456789}");
+        }
+        frame = SenderFrames.encode(json.append("],\"clock\":1700000000,\"ns\":0}").toString());
+
+        listener = new ZabbixSenderListener(true, "127.0.0.1", 0, DataSize.ofKilobytes(64), DataSize.ofMegabytes(16),
+                1000, 16, Duration.ofMillis(200), Duration.ofMinutes(5), List.of(batch -> delivered.add(batch.size())));
+        listener.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        listener.stop();
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+        SocketChannel channel;
+        final ByteBuffer header = ByteBuffer.allocate(13).order(ByteOrder.LITTLE_ENDIAN);
+        final ByteBuffer body = ByteBuffer.allocate(1024);
+        final SampleBatch samples = new SampleBatch(1000);
+
+        @Setup(Level.Trial)
+        public void connect(SenderIngestBenchmark benchmark) throws IOException {
+            channel = SocketChannel.open(new InetSocketAddress("127.0.0.1", benchmark.listener.getPort()));
+            channel.socket().setTcpNoDelay(true);
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    @Benchmark
+    public int sendFrame(Client client) throws IOException {
+        ByteBuffer out = ByteBuffer.wrap(frame);
+        while (out.hasRemaining()) {
+            client.channel.write(out);
+        }
+        client.header.clear();
+        readFully(client.channel, client.header);
+        int length = client.header.getInt(5);
+        client.body.clear().limit(length);
+        readFully(client.channel, client.body);
+        return length;
+    }
+
+    @Benchmark
+    public int decode(Client client) throws IOException {
+        client.samples.clear();
+        int header = SenderFrames.headerSize(frame, 0);
+        SenderFrames.parse(jsonFactory, frame, header, frame.length - header, 0L, client.samples);
+        return client.samples.size();
+    }
+
+    private static void readFully(SocketChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException("listener closed the connection");
+            }
+        }
+    }
+}
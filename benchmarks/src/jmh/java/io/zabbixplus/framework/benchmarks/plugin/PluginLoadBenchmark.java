@@ -0,0 +1,153 @@
+package io.zabbixplus.framework.benchmarks.plugin;
+
+import io.zabbixplus.framework.benchmarks.timeseries.TimeSeriesIngestBenchmark;
+import io.zabbixplus.framework.core.plugin.PluginService;
+import io.zabbixplus.framework.plugin.Plugin;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+/**
+ * Time for {@link PluginService#loadPlugins()} to load a directory of {@code plugins} synthetic
+ * plugin jars, followed by {@link PluginService#unloadPlugins()}: class loader creation,
+ * {@code ServiceLoader} lookup, {@code config.yml} parsing and service resolution per plugin. The
+ * jars are compiled and packaged at setup, each with a service file, a small {@code config.yml}
+ * and {@code classes} filler classes so that the class loaders have something to index. The
+ * example plugin is deliberately kept off the benchmark classpath: its service file would be found
+ * through the parent class loader of every synthetic plugin.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PluginLoadBenchmark {
+
+    @Param({"1", "10", "50"})
+    public int plugins;
+
+    @Param({"20"})
+    public int classes;
+
+    private Path directory;
+    private StaticApplicationContext applicationContext;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("plugins");
+        Path sources = Files.createDirectory(directory.resolve("src"));
+        Path output = Files.createDirectory(directory.resolve("classes"));
+        Path jars = Files.createDirectory(directory.resolve("jars"));
+
+        List<String> files = new ArrayList<>();
+        for (int p = 0; p < plugins; p++) {
+            String pkg = "synthetic.plugin" + p;
+            Path packageDir = Files.createDirectories(sources.resolve(pkg.replace('.', '/')));
+            Files.writeString(packageDir.resolve("SyntheticPlugin.java"), pluginSource(pkg, p));
+            files.add(packageDir.resolve("SyntheticPlugin.java").toString());
+            for (int c = 0; c < classes; c++) {
+                Path file = packageDir.resolve("Helper" + c + ".java");
+                Files.writeString(file, "package " + pkg + ";\npublic class Helper" + c
+                        + " { public int value() { return " + c + "; } }\n");
+                files.add(file.toString());
+            }
+        }
+        compile(files, output);
+
+        for (int p = 0; p < plugins; p++) {
+            String pkg = "synthetic.plugin" + p;
+            writeJar(jars.resolve("synthetic-plugin-" + p + ".jar"), output, pkg);
+        }
+
+        // Plugins resolve their services through getBeansOfType(PluginServiceProvider.class)
+        applicationContext = new StaticApplicationContext();
+        applicationContext.refresh();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        applicationContext.close();
+        TimeSeriesIngestBenchmark.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public int loadAndUnload() {
+        PluginService pluginService = new PluginService(applicationContext);
+        ReflectionTestUtils.setField(pluginService, "pluginDirectoryPath", directory.resolve("jars").toString());
+        pluginService.loadPlugins();
+        int loaded = pluginService.getLoadedPlugins().size();
+        if (loaded != plugins) {
+            throw new IllegalStateException("Loaded " + loaded + " of " + plugins + " plugins");
+        }
+        pluginService.unloadPlugins();
+        return loaded;
+    }
+
+    private static String pluginSource(String pkg, int index) {
+        return "package " + pkg + ";\n"
+                + "import " + Plugin.class.getName() + ";\n"
+                + "import io.zabbixplus.framework.plugin.PluginContext;\n"
+                + "public class SyntheticPlugin implements Plugin {\n"
+                + "    private Object setting;\n"
+                + "    public String getPluginId() { return \"synthetic-" + index + "\"; }\n"
+                + "    public String getPluginName() { return \"SyntheticPlugin" + index + "\"; }\n"
+                + "    public String getVendor() { return \"Benchmarks\"; }\n"
+                + "    public String getVersion() { return \"1.0.0\"; }\n"
+                + "    public String getDescription() { return \"Synthetic plugin " + index + "\"; }\n"
+                + "    public void load() { }\n"
+                + "    public void init(PluginContext context) { setting = context.getConfiguration().get(\"refreshSeconds\"); }\n"
+                + "    public void unload() { setting = null; }\n"
+                + "}\n";
+    }
+
+    private static void compile(List<String> files, Path output) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("Generating the plugin jars needs a JDK, not a JRE");
+        }
+        List<String> arguments = new ArrayList<>(List.of(
+                "-classpath", System.getProperty("java.class.path"), "-d", output.toString(), "-nowarn"));
+        arguments.addAll(files);
+        if (compiler.run(null, null, null, arguments.toArray(new String[0])) != 0) {
+            throw new IllegalStateException("Compiling the synthetic plugins failed");
+        }
+    }
+
+    private static void writeJar(Path jar, Path classes, String pkg) throws IOException {
+        Path packageDir = classes.resolve(pkg.replace('.', '/'));
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+            put(out, "META-INF/services/" + Plugin.class.getName(), (pkg + ".SyntheticPlugin\n").getBytes(StandardCharsets.UTF_8));
+            put(out, "config.yml", "refreshSeconds: 30\nlabels:\n  team: ops\n  tier: web\n".getBytes(StandardCharsets.UTF_8));
+            try (var files = Files.list(packageDir)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    put(out, classes.relativize(file).toString().replace('\\', '/'), Files.readAllBytes(file));
+                }
+            }
+        }
+    }
+
+    private static void put(JarOutputStream out, String name, byte[] content) throws IOException {
+        out.putNextEntry(new JarEntry(name));
+        out.write(content);
+        out.closeEntry();
+    }
+}
@@ -0,0 +1,118 @@
+package io.zabbixplus.framework.benchmarks.service;
+
+import io.ebean.Database;
+import io.ebean.DatabaseFactory;
+import io.ebean.config.DatabaseConfig;
+import io.ebean.datasource.DataSourceConfig;
+import io.zabbixplus.framework.benchmarks.timeseries.TimeSeriesIngestBenchmark;
+import io.zabbixplus.framework.core.config.VirtualThreadConfig;
+import io.zabbixplus.framework.core.entity.ExampleEntity;
+import io.zabbixplus.framework.core.service.ExampleTableService;
+import io.zabbixplus.framework.core.service.RecordChangeFeed;
+import io.zabbixplus.framework.core.service.TableChangeTracker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ExampleTableService} CRUD against a SQLite file in a temporary directory, preloaded with
+ * {@code rows} records. The default Ebean database is registered by hand with the settings of
+ * {@code application.properties} (SQLite driver, generated DDL); Spring's {@code @Transactional}
+ * proxy is not involved, so every call runs in Ebean's implicit transaction, as the service's
+ * callers inside a plugin see it. {@code createAndDelete} removes the row it inserted so the
+ * table size stays at {@code rows}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ExampleTableServiceBenchmark {
+
+    @Param({"100", "1000"})
+    public int rows;
+
+    private Path directory;
+    private Database database;
+    private RecordChangeFeed changeFeed;
+    private ExampleTableService service;
+    private long[] ids;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("example-table");
+
+        DataSourceConfig dataSource = new DataSourceConfig();
+        dataSource.setUrl("jdbc:sqlite:" + directory.resolve("benchmark.db"));
+        dataSource.setDriver("org.sqlite.JDBC");
+        dataSource.setUsername("sa");
+        dataSource.setPassword("");
+
+        DatabaseConfig config = new DatabaseConfig();
+        config.setName("benchmark");
+        config.setDataSourceConfig(dataSource);
+        config.setDefaultServer(true);
+        config.setRegister(true);
+        config.setDdlGenerate(true);
+        config.setDdlRun(true);
+        config.addClass(ExampleEntity.class);
+        database = DatabaseFactory.create(config);
+
+        changeFeed = new RecordChangeFeed(1024, 256, Duration.ofSeconds(15), Duration.ofSeconds(10), new VirtualThreadConfig(false, 8, 8));
+        service = new ExampleTableService(new TableChangeTracker(), changeFeed);
+
+        List<String> names = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            names.add("record-" + i);
+        }
+        service.createRecords(names);
+        ids = service.getRecords().stream().mapToLong(ExampleEntity::getId).toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        changeFeed.shutdown();
+        database.shutdown();
+        TimeSeriesIngestBenchmark.deleteRecursively(directory);
+    }
+
+    private long nextId() {
+        cursor = cursor + 1 == ids.length ? 0 : cursor + 1;
+        return ids[cursor];
+    }
+
+    @Benchmark
+    public boolean createAndDelete() {
+        ExampleEntity created = service.createRecord("benchmark");
+        return service.deleteRecord(created.getId());
+    }
+
+    @Benchmark
+    public ExampleEntity getRecordById() {
+        return service.getRecordById(nextId());
+    }
+
+    @Benchmark
+    public ExampleEntity updateRecord() {
+        return service.updateRecord(nextId(), "renamed-" + cursor);
+    }
+
+    @Benchmark
+    public List<ExampleEntity> getRecords() {
+        return service.getRecords();
+    }
+}
@@ -0,0 +1,79 @@
+package io.zabbixplus.framework.benchmarks.timeseries;
+
+import io.zabbixplus.framework.timeseries.TimeSeriesStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Ingest throughput of the embedded time-series store: one invocation appends one sample to each of
+ * {@code seriesCount} series, mimicking a Zabbix history batch that covers many items at one clock tick.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TimeSeriesIngestBenchmark {
+
+    private static final int BATCH = 1_000;
+
+    @Param({"1000", "10000"})
+    public int seriesCount;
+
+    private Path directory;
+    private TimeSeriesStore store;
+    private String[] keys;
+    private long clock;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("tsdb-ingest");
+        store = TimeSeriesStore.open(directory);
+        keys = new String[seriesCount];
+        for (int i = 0; i < seriesCount; i++) {
+            keys[i] = "host" + (i % 100) + ":item." + i;
+        }
+        clock = 1_700_000_000_000L;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        store.close();
+        deleteRecursively(directory);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void appendBatch() {
+        for (int i = 0; i < BATCH; i++) {
+            if (cursor == seriesCount) {
+                cursor = 0;
+                clock += 10_000;
+            }
+            // Slowly varying gauge values, typical for Zabbix numeric items
+            store.append(keys[cursor], clock, 50.0 + (cursor & 7) + (clock / 10_000 % 16) * 0.25);
+            cursor++;
+        }
+    }
+
+    public static void deleteRecursively(Path root) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
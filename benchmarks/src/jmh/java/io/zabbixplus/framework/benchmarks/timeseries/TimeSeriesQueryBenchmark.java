@@ -0,0 +1,63 @@
+package io.zabbixplus.framework.benchmarks.timeseries;
+
+import io.zabbixplus.framework.timeseries.TimeSeriesStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Range-scan latency over one series holding 30 days of 10 second samples (~260k points).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TimeSeriesQueryBenchmark {
+
+    private static final long START = 1_700_000_000_000L;
+    private static final long INTERVAL = 10_000L;
+    private static final long DAY = TimeUnit.DAYS.toMillis(1);
+
+    @Param({"1", "24", "720"})
+    public int rangeHours;
+
+    private Path directory;
+    private TimeSeriesStore store;
+    private long end;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("tsdb-query");
+        store = TimeSeriesStore.open(directory);
+        end = START + 30 * DAY;
+        double value = 0;
+        for (long t = START; t < end; t += INTERVAL) {
+            value += (t / INTERVAL % 7) - 3;
+            store.append("history", t, value);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        store.close();
+        TimeSeriesIngestBenchmark.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public void scanRange(Blackhole blackhole) {
+        long from = end - TimeUnit.HOURS.toMillis(rangeHours);
+        store.scan("history", from, end, (timestamp, value) -> blackhole.consume(value));
+    }
+}
@@ -0,0 +1,66 @@
+package io.zabbixplus.framework.benchmarks.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zabbixplus.framework.core.web.ApiResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to write an {@link ApiResponse} as JSON with an {@code ObjectMapper} configured like the
+ * one Spring MVC uses ({@link Jackson2ObjectMapperBuilder}, Java time module registered): the
+ * {@code GET /api/health} string payload and {@code GET /api/records} lists of {@code records}
+ * entity maps.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"health", "records"})
+    public String payload;
+
+    @Param({"100", "1000"})
+    public int records;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<?> response;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        if ("health".equals(payload)) {
+            response = ApiResponse.success("Core Service is UP and Running!");
+            return;
+        }
+        List<Map<String, Object>> data = new ArrayList<>(records);
+        Instant createdAt = Instant.parse("2024-05-01T12:00:00Z");
+        for (int i = 0; i < records; i++) {
+            Map<String, Object> map = new HashMap<>();
+            map.put("id", (long) i + 1);
+            map.put("name", "record-" + i);
+            map.put("createdAt", createdAt.plusSeconds(i).toString());
+            data.add(map);
+        }
+        response = ApiResponse.success(data);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,98 @@
+package io.zabbixplus.framework.benchmarks.web;
+
+import io.zabbixplus.framework.core.config.VirtualThreadConfig;
+import io.zabbixplus.framework.core.controller.HealthController;
+import io.zabbixplus.framework.core.entity.ExampleEntity;
+import io.zabbixplus.framework.core.service.ExampleTableService;
+import io.zabbixplus.framework.core.service.RecordChangeFeed;
+import io.zabbixplus.framework.core.service.TableChangeTracker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to turn {@code records} entities into the maps {@code GET /api/records} returns. The
+ * {@code controller} mode runs {@link HealthController#getAllRecords()} (stream over
+ * {@code mapEntityToMap}, one default-sized {@code HashMap} per entity); the example plugin's
+ * {@code ExamplePluginApiController} and {@code SimpleExamplePlugin} carry identical copies of that
+ * method. {@code presized} is the same mapping as a plain loop into a presized list and maps, to
+ * see what rewriting the three copies would gain. The entities come from memory, so no database
+ * time is included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EntityMappingBenchmark {
+
+    @Param({"controller", "presized"})
+    public String mode;
+
+    @Param({"100", "1000"})
+    public int records;
+
+    private List<ExampleEntity> entities;
+    private RecordChangeFeed changeFeed;
+    private HealthController controller;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        entities = new ArrayList<>(records);
+        Instant createdAt = Instant.parse("2024-05-01T12:00:00Z");
+        for (int i = 0; i < records; i++) {
+            ExampleEntity entity = new ExampleEntity();
+            entity.setId((long) i + 1);
+            entity.setName("record-" + i);
+            entity.setCreatedAt(Timestamp.from(createdAt.plusSeconds(i)));
+            entities.add(entity);
+        }
+
+        changeFeed = new RecordChangeFeed(16, 16, Duration.ofSeconds(15), Duration.ofSeconds(10), new VirtualThreadConfig(false, 8, 8));
+        List<ExampleEntity> rows = entities;
+        ExampleTableService service = new ExampleTableService(new TableChangeTracker(), changeFeed) {
+            @Override
+            public List<ExampleEntity> getRecords() {
+                return rows;
+            }
+        };
+        controller = new HealthController();
+        ReflectionTestUtils.setField(controller, "exampleTableService", service);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        changeFeed.shutdown();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> map() {
+        if ("controller".equals(mode)) {
+            return controller.getAllRecords().getData();
+        }
+        List<Map<String, Object>> result = new ArrayList<>(entities.size());
+        for (ExampleEntity entity : entities) {
+            Map<String, Object> map = new HashMap<>(4);
+            map.put("id", entity.getId());
+            map.put("name", entity.getName());
+            map.put("createdAt", entity.getCreatedAt() != null ? entity.getCreatedAt().toInstant().toString() : null);
+            result.add(map);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,171 @@
+package io.zabbixplus.framework.benchmarks.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zabbixplus.framework.core.controller.PluginUiController;
+import io.zabbixplus.framework.core.plugin.PluginService;
+import io.zabbixplus.framework.core.web.PluginMetadataCache;
+import io.zabbixplus.framework.core.web.PrivilegeResolver;
+import io.zabbixplus.framework.plugin.NavigationItem;
+import io.zabbixplus.framework.plugin.Plugin;
+import io.zabbixplus.framework.plugin.PluginContext;
+import io.zabbixplus.framework.plugin.UiPlugin;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to answer a UI plugin metadata request with {@code plugins} loaded UI plugins.
+ * {@code direct} calls {@link PluginUiController#getPluginUiMetadata()}, which builds the
+ * {@code PluginClientInfo} list from the loaded plugins on every call; {@code cached} calls the
+ * {@code GET /api/ui/plugin-metadata} handler, which serves the precomputed JSON of
+ * {@link PluginMetadataCache}, and {@code serialized} is {@code direct} plus the JSON write the
+ * response would need without the cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PluginUiMetadataBenchmark {
+
+    @Param({"direct", "serialized", "cached"})
+    public String mode;
+
+    @Param({"5", "50"})
+    public int plugins;
+
+    private ObjectMapper objectMapper;
+    private PluginUiController controller;
+    private MockHttpServletRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Map<String, Plugin> loaded = new ConcurrentHashMap<>();
+        for (int i = 0; i < plugins; i++) {
+            BenchmarkUiPlugin plugin = new BenchmarkUiPlugin(i);
+            loaded.put(plugin.getPluginName(), plugin);
+        }
+        PluginService pluginService = new PluginService(null) {
+            @Override
+            public Map<String, Plugin> getLoadedPlugins() {
+                // Same copy the real service hands out
+                return new ConcurrentHashMap<>(loaded);
+            }
+
+            @Override
+            public long getPluginSetVersion() {
+                return 1;
+            }
+        };
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        controller = new PluginUiController(pluginService, new PluginMetadataCache(pluginService, objectMapper),
+                new StaticListableBeanFactory().getBeanProvider(PrivilegeResolver.class));
+
+        request = new MockHttpServletRequest("GET", "/api/ui/plugin-metadata");
+        request.addHeader("Accept-Encoding", "gzip, deflate, br");
+    }
+
+    @Benchmark
+    public Object metadata() throws Exception {
+        return switch (mode) {
+            case "direct" -> controller.getPluginUiMetadata();
+            case "serialized" -> objectMapper.writeValueAsBytes(controller.getPluginUiMetadata());
+            default -> controller.getPluginUiMetadataJson(request).getBody();
+        };
+    }
+
+    private static final class BenchmarkUiPlugin implements UiPlugin {
+        private final int index;
+        private final List<NavigationItem> navigationItems;
+        private final List<String> requiredPrivileges;
+        private final Map<String, Object> uiMetadata;
+
+        BenchmarkUiPlugin(int index) {
+            this.index = index;
+            this.navigationItems = List.of(
+                    new NavigationItem("Overview " + index, "/ui/plugin/BenchmarkPlugin" + index, "mdi-view-dashboard"),
+                    new NavigationItem("Settings " + index, "/ui/plugin/BenchmarkPlugin" + index + "/settings", "mdi-cog"));
+            this.requiredPrivileges = index % 2 == 0 ? List.of() : List.of("plugin.view." + index);
+            this.uiMetadata = Map.of("color", "#1976d2", "order", index);
+        }
+
+        @Override
+        public String getPluginId() {
+            return "benchmark-plugin-" + index;
+        }
+
+        @Override
+        public String getPluginName() {
+            return "BenchmarkPlugin" + index;
+        }
+
+        @Override
+        public String getVendor() {
+            return "Benchmarks";
+        }
+
+        @Override
+        public String getVersion() {
+            return "1.0.0";
+        }
+
+        @Override
+        public String getDescription() {
+            return "UI plugin " + index + " for the metadata benchmark";
+        }
+
+        @Override
+        public void load() {
+        }
+
+        @Override
+        public void init(PluginContext context) {
+        }
+
+        @Override
+        public void unload() {
+        }
+
+        @Override
+        public String getVueComponentName() {
+            return "BenchmarkPlugin" + index + "View";
+        }
+
+        @Override
+        public List<NavigationItem> getNavigationItems() {
+            return navigationItems;
+        }
+
+        @Override
+        public Map<String, Object> getUiMetadata() {
+            return uiMetadata;
+        }
+
+        @Override
+        public String getAssetsPath() {
+            return "/plugins/benchmark-plugin-" + index + "/assets";
+        }
+
+        @Override
+        public String getEntryComponent() {
+            return "BenchmarkPlugin" + index + "View";
+        }
+
+        @Override
+        public List<String> getRequiredPrivileges() {
+            return requiredPrivileges;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package io.zabbixplus.framework.benchmarks.web;
+
+import io.zabbixplus.framework.benchmarks.timeseries.TimeSeriesIngestBenchmark;
+import io.zabbixplus.framework.core.plugin.PluginService;
+import io.zabbixplus.framework.core.web.SpaFallbackFilter;
+import io.zabbixplus.framework.core.web.SpaIndexPage;
+import io.zabbixplus.framework.core.web.SpaRouteClassifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.server.PathContainer;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deep-link loads per second ({@code /ui/plugin/SimpleExamplePlugin}), comparing the former
+ * {@code VueAppController} path, a regex route pattern followed by {@code forward:/index.html},
+ * i.e. a second dispatch that serves the file from disk, with {@link SpaFallbackFilter}, which
+ * classifies the path by prefix and extension and writes the in-memory page. The forward is
+ * modelled by the resource handler alone, without the second handler lookup, so its numbers are an
+ * upper bound for the old path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SpaFallbackBenchmark {
+
+    // The mapping VueAppController used
+    private static final String FORWARD_PATTERN = "/{path:^(?!api|static|assets|.*\\.[a-zA-Z0-9]+$).*}/**";
+
+    @Param({"forward", "classifier"})
+    public String mode;
+
+    @Param({"/ui/plugin/SimpleExamplePlugin", "/ui/plugins/list-vue"})
+    public String path;
+
+    private Path directory;
+    private PathPattern forwardPattern;
+    private ResourceHttpRequestHandler resourceHandler;
+    private SpaFallbackFilter filter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("spa");
+        StringBuilder index = new StringBuilder("<!DOCTYPE html><html><head><meta charset=\"utf-8\"><title>Zabbix Plus</title>");
+        for (int i = 0; i < 8; i++) {
+            index.append("<link href=\"/js/chunk-").append(i).append(".3f2a1b4c.js\" rel=\"prefetch\">");
+        }
+        index.append("</head><body><div id=\"app\"></div><script src=\"/js/app.3f2a1b4c.js\"></script></body></html>");
+        Files.writeString(directory.resolve("index.html"), index);
+
+        forwardPattern = PathPatternParser.defaultInstance.parse(FORWARD_PATTERN);
+        // What WebConfig registers outside production mode
+        resourceHandler = new ResourceHttpRequestHandler();
+        resourceHandler.setLocations(List.of(new FileSystemResource(directory.toString() + "/")));
+        resourceHandler.setCacheSeconds(0);
+        resourceHandler.setServletContext(new MockServletContext());
+        resourceHandler.afterPropertiesSet();
+
+        SpaRouteClassifier classifier = new SpaRouteClassifier(new PluginService(null),
+                List.of("/api", "/static", "/assets", "/actuator", "/error"));
+        SpaIndexPage indexPage = new SpaIndexPage(List.of(new FileSystemResource(directory.resolve("index.html"))),
+                Duration.ofSeconds(5));
+        filter = new SpaFallbackFilter(classifier, indexPage);
+
+        if (serve().getContentAsByteArray().length == 0) {
+            throw new IllegalStateException("index.html was not served in mode " + mode);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        TimeSeriesIngestBenchmark.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse serve() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        if ("forward".equals(mode)) {
+            if (!forwardPattern.matches(PathContainer.parsePath(path))) {
+                throw new IllegalStateException("not an SPA route: " + path);
+            }
+            // forward:/index.html dispatches again, and the resource handler serves the file
+            MockHttpServletRequest forwarded = new MockHttpServletRequest("GET", "/index.html");
+            forwarded.setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE, "index.html");
+            resourceHandler.handleRequest(forwarded, response);
+        } else {
+            filter.doFilter(request, response, new MockFilterChain());
+        }
+        return response;
+    }
+}
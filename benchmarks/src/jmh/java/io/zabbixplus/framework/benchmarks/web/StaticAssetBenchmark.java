@@ -0,0 +1,170 @@
+package io.zabbixplus.framework.benchmarks.web;
+
+import io.zabbixplus.framework.benchmarks.timeseries.TimeSeriesIngestBenchmark;
+import io.zabbixplus.framework.core.web.StaticAssetResolver;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.resource.PathResourceResolver;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Page loads per second and bytes on the wire per page load for the UI bundle, comparing the
+ * development resource handler ({@code setCachePeriod(0)}, files read from disk on every request)
+ * with production mode ({@link StaticAssetResolver}).
+ * <p>
+ * A page load is {@code index.html} plus three hashed bundles. On a repeat visit a browser
+ * revalidates {@code index.html}; in production mode the hashed bundles are then served from its
+ * immutable cache and never requested, while in development mode ({@code no-store}) everything is
+ * downloaded again. The {@code bytes} and {@code requests} counters are reported per iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class StaticAssetBenchmark {
+
+    private static final String INDEX = "index.html";
+    private static final List<String> BUNDLES = List.of(
+            "js/app.3f2a1b4c.js", "js/chunk-vendors.9e8d7c6b.js", "css/app.5a4b3c2d.css");
+
+    @Param({"development", "production"})
+    public String mode;
+
+    @Param({"first", "repeat"})
+    public String visit;
+
+    private Path directory;
+    private ResourceHttpRequestHandler handler;
+    private String indexEtag;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Traffic {
+        public long bytes;
+        public long requests;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+            requests = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("ui-bundle");
+        Random random = new Random(42);
+        write(INDEX, syntheticText(random, 2 * 1024));
+        write(BUNDLES.get(0), syntheticText(random, 150 * 1024));
+        write(BUNDLES.get(1), syntheticText(random, 600 * 1024));
+        write(BUNDLES.get(2), syntheticText(random, 30 * 1024));
+
+        handler = new ResourceHttpRequestHandler();
+        handler.setLocations(List.of(new FileSystemResource(directory.toString() + "/")));
+        if ("production".equals(mode)) {
+            // Mirrors WebConfig with framework.ui.production-mode=true
+            handler.setResourceResolvers(List.of(
+                    new StaticAssetResolver(1024 * 1024, 64 * 1024 * 1024, Duration.ofSeconds(5)),
+                    new PathResourceResolver()));
+            handler.setCacheControl(CacheControl.noCache());
+            handler.setEtagGenerator(StaticAssetResolver::etagOf);
+        } else {
+            handler.setCacheSeconds(0);
+        }
+        handler.setServletContext(new MockServletContext());
+        handler.afterPropertiesSet();
+
+        indexEtag = serve(INDEX, null).getHeader(HttpHeaders.ETAG);
+        Traffic probe = new Traffic();
+        pageLoad(probe);
+        System.out.printf("%n[%s/%s] %d bytes in %d request(s) per page load%n", mode, visit, probe.bytes, probe.requests);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        TimeSeriesIngestBenchmark.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public void pageLoad(Traffic traffic) throws Exception {
+        boolean repeat = "repeat".equals(visit);
+        count(traffic, serve(INDEX, repeat ? indexEtag : null));
+        if (repeat && "production".equals(mode)) {
+            return; // Hashed bundles are still fresh in the browser's immutable cache
+        }
+        for (String bundle : BUNDLES) {
+            count(traffic, serve(bundle, null));
+        }
+    }
+
+    private static void count(Traffic traffic, MockHttpServletResponse response) {
+        traffic.requests++;
+        traffic.bytes += response.getContentAsByteArray().length;
+    }
+
+    private MockHttpServletResponse serve(String path, String ifNoneMatch) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/" + path);
+        request.setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE, path);
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        handler.handleRequest(request, response);
+        return response;
+    }
+
+    private void write(String path, String content) throws IOException {
+        Path file = directory.resolve(path);
+        Files.createDirectories(file.getParent());
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        Files.write(file, bytes);
+        // What the frontend build's compression plugin emits next to each bundle
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file.resolveSibling(file.getFileName() + ".gz")))) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Minified-JS-like text: identifiers from a small vocabulary, so it compresses like real bundles.
+     */
+    private static String syntheticText(Random random, int size) {
+        String[] words = {"function", "return", "const", "this", "props", "value", "=>", "{", "}", "(", ")",
+                "render", "component", "state", "null", "true", "false", "emit", "ref", "computed", ";", ","};
+        StringBuilder text = new StringBuilder(size + 16);
+        while (text.length() < size) {
+            text.append(words[random.nextInt(words.length)]);
+            if (random.nextInt(4) == 0) {
+                text.append(random.nextInt(1000));
+            }
+            text.append(' ');
+        }
+        return text.toString();
+    }
+}
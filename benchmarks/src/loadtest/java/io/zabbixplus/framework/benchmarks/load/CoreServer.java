@@ -0,0 +1,116 @@
+package io.zabbixplus.framework.benchmarks.load;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The core application under test, run from its boot jar in a separate JVM so that its threads and
+ * GC pauses do not compete with the load generator's. Everything it writes (SQLite database,
+ * time-series store, plugin directory, log) stays in a working directory of its own.
+ */
+final class CoreServer implements AutoCloseable {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private final Process process;
+    private final URI baseUri;
+    private final Path log;
+
+    private CoreServer(Process process, URI baseUri, Path log) {
+        this.process = process;
+        this.baseUri = baseUri;
+        this.log = log;
+    }
+
+    /**
+     * Starts the boot jar with the plugin jar installed and waits until {@code GET /api/health}
+     * answers.
+     */
+    static CoreServer start(Path coreJar, Path pluginJar, Path workDirectory, List<String> jvmArgs)
+            throws IOException, InterruptedException {
+        Path plugins = Files.createDirectories(workDirectory.resolve("plugins"));
+        if (pluginJar != null) {
+            Files.copy(pluginJar, plugins.resolve(pluginJar.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+        }
+        int port = freePort();
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("-jar");
+        command.add(coreJar.toAbsolutePath().toString());
+        command.add("--server.port=" + port);
+        command.add("--spring.datasource.url=jdbc:sqlite:" + workDirectory.resolve("loadtest.db"));
+        command.add("--framework.plugin.directory=" + plugins);
+        command.add("--framework.timeseries.directory=" + workDirectory.resolve("timeseries"));
+
+        Path log = workDirectory.resolve("server.log");
+        Process process = new ProcessBuilder(command)
+                .directory(workDirectory.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        CoreServer server = new CoreServer(process, URI.create("http://127.0.0.1:" + port + "/"), log);
+        try {
+            server.awaitHealthy();
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            server.close();
+            throw e;
+        }
+        return server;
+    }
+
+    private void awaitHealthy() throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest health = HttpRequest.newBuilder(baseUri.resolve("/api/health")).timeout(Duration.ofSeconds(2)).build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IOException("Core exited with " + process.exitValue() + " during startup; see " + log);
+            }
+            try {
+                if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(250);
+        }
+        throw new IOException("Core did not become healthy within " + STARTUP_TIMEOUT.toSeconds() + " s; see " + log);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    URI getBaseUri() {
+        return baseUri;
+    }
+
+    Path getLog() {
+        return log;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        // SIGTERM first, so Spring runs its shutdown hooks and closes the database
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor(10, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package io.zabbixplus.framework.benchmarks.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * End-to-end load test of the core REST API: boots the core boot jar with the example plugin and a
+ * temporary SQLite database, seeds {@code example_table}, drives an open-model request mix
+ * against it and writes throughput and latency percentiles as JSON. Run it through
+ * {@code ./gradlew :benchmarks:loadTest}; options are {@code --name=value} arguments, see
+ * {@link #usage()}.
+ */
+public final class LoadTest {
+
+    private static final String DEFAULT_MIX = "records-read:50,records-write:10,plugin-data:25,metadata:15";
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        if (options.containsKey("help")) {
+            System.out.println(usage());
+            return;
+        }
+
+        Map<Operation, Integer> mix = parseMix(options.getOrDefault("mix", DEFAULT_MIX));
+        double rate = Double.parseDouble(options.getOrDefault("rate", "200"));
+        Duration warmup = parseDuration(options.getOrDefault("warmup", "10s"));
+        Duration duration = parseDuration(options.getOrDefault("duration", "30s"));
+        Duration timeout = parseDuration(options.getOrDefault("timeout", "10s"));
+        String arrival = options.getOrDefault("arrival", "poisson");
+        int maxInFlight = Integer.parseInt(options.getOrDefault("max-in-flight", "2000"));
+        int seedRecords = Integer.parseInt(options.getOrDefault("seed-records", "500"));
+        Path output = Path.of(options.getOrDefault("output", "loadtest-report.json")).toAbsolutePath();
+        if (rate <= 0 || maxInFlight <= 0 || !List.of("poisson", "uniform").contains(arrival)) {
+            throw new IllegalArgumentException("rate and max-in-flight must be positive, arrival poisson or uniform\n" + usage());
+        }
+
+        Files.createDirectories(output.getParent());
+        Path workDirectory = Files.createTempDirectory("zabbix-plus-loadtest");
+        CoreServer server = null;
+        try {
+            URI baseUri;
+            if (options.containsKey("base-url")) {
+                baseUri = URI.create(options.get("base-url"));
+            } else {
+                String coreJar = options.get("core-jar");
+                if (coreJar == null) {
+                    throw new IllegalArgumentException("--core-jar or --base-url is required\n" + usage());
+                }
+                String pluginJar = options.get("plugin-jar");
+                List<String> jvmArgs = options.containsKey("server-jvm-args")
+                        ? Arrays.asList(options.get("server-jvm-args").trim().split("\\s+"))
+                        : List.of();
+                System.out.println("Starting core in " + workDirectory + " ...");
+                server = CoreServer.start(Path.of(coreJar), pluginJar != null ? Path.of(pluginJar) : null, workDirectory, jvmArgs);
+                baseUri = server.getBaseUri();
+            }
+
+            Map<String, Integer> mixReport = new LinkedHashMap<>();
+            mix.forEach((operation, weight) -> mixReport.put(operation.getKey(), weight));
+
+            seed(baseUri, seedRecords, timeout);
+            System.out.printf(Locale.ROOT, "Offering %.0f req/s (%s) for %ds after %ds warmup: %s%n",
+                    rate, arrival, duration.toSeconds(), warmup.toSeconds(), mixReport);
+            OpenLoadGenerator generator = new OpenLoadGenerator(baseUri, mix, rate, "poisson".equals(arrival), maxInFlight, timeout);
+            Map<String, Object> results = generator.run(warmup, duration);
+
+            Map<String, Object> config = new LinkedHashMap<>();
+            config.put("rate", rate);
+            config.put("arrival", arrival);
+            config.put("warmupSeconds", warmup.toSeconds());
+            config.put("durationSeconds", duration.toSeconds());
+            config.put("maxInFlight", maxInFlight);
+            config.put("seedRecords", seedRecords);
+            config.put("mix", mixReport);
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("timestamp", Instant.now().toString());
+            report.put("target", baseUri.toString());
+            report.put("config", config);
+            report.putAll(results);
+
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output.toFile(), report);
+            printSummary(report);
+            System.out.println("Report written to " + output);
+        } finally {
+            if (server != null) {
+                server.close();
+                // Kept next to the report, e.g. report-server.log, for errors seen during the run
+                Path log = output.resolveSibling(output.getFileName().toString().replaceFirst("\\.json$", "") + "-server.log");
+                Files.copy(server.getLog(), log, StandardCopyOption.REPLACE_EXISTING);
+            }
+            deleteRecursively(workDirectory);
+        }
+    }
+
+    /**
+     * Fills {@code example_table} through the CSV import, so reads have rows to return from the
+     * first request on.
+     */
+    private static void seed(URI baseUri, int records, Duration timeout) throws IOException, InterruptedException {
+        if (records <= 0) {
+            return;
+        }
+        StringBuilder csv = new StringBuilder("name\n");
+        for (int i = 0; i < records; i++) {
+            csv.append("seed-").append(i).append('\n');
+        }
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/api/records/import?format=csv"))
+                .timeout(timeout.multipliedBy(6))
+                .header("Content-Type", "text/csv")
+                .POST(HttpRequest.BodyPublishers.ofString(csv.toString()))
+                .build();
+        HttpResponse<String> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("Seeding failed with " + response.statusCode() + ": " + response.body());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void printSummary(Map<String, Object> report) {
+        System.out.printf(Locale.ROOT, "%-15s %9s %9s %7s %7s %9s %9s %9s %9s%n",
+                "operation", "sent", "ok/s", "errors", "dropped", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        Map<String, Object> rows = new LinkedHashMap<>((Map<String, Object>) report.get("operations"));
+        rows.put("total", report.get("total"));
+        rows.forEach((name, value) -> {
+            Map<String, Object> row = (Map<String, Object>) value;
+            Map<String, Object> latency = (Map<String, Object>) row.get("latencyMs");
+            System.out.printf(Locale.ROOT, "%-15s %9d %9.1f %7d %7d %9.2f %9.2f %9.2f %9.2f%n",
+                    name, row.get("sent"), row.get("throughputPerSecond"), row.get("errors"), row.get("dropped"),
+                    latency.get("p50"), latency.get("p99"), latency.get("p999"), latency.get("max"));
+        });
+    }
+
+    /**
+     * Parses {@code --name=value} arguments; the first occurrence of a name wins, so options given
+     * by the user take precedence over the defaults the Gradle task appends.
+     */
+    static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument '" + arg + "'\n" + usage());
+            }
+            int equals = arg.indexOf('=');
+            if (equals < 0) {
+                options.putIfAbsent(arg.substring(2), "true");
+            } else {
+                options.putIfAbsent(arg.substring(2, equals), arg.substring(equals + 1));
+            }
+        }
+        return options;
+    }
+
+    /**
+     * Parses {@code records-read:60,metadata:40}; weights are relative.
+     */
+    static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new LinkedHashMap<>();
+        for (String part : value.split(",")) {
+            if (part.isBlank()) {
+                continue;
+            }
+            String[] entry = part.split(":");
+            int weight = entry.length > 1 ? Integer.parseInt(entry[1].trim()) : 1;
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight in mix '" + value + "'");
+            }
+            if (weight > 0) {
+                mix.merge(Operation.fromKey(entry[0]), weight, Integer::sum);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("The mix '" + value + "' has no operations");
+        }
+        return mix;
+    }
+
+    /**
+     * Parses {@code 500ms}, {@code 30s}, {@code 2m}, or ISO-8601 such as {@code PT30S}.
+     */
+    static Duration parseDuration(String value) {
+        String text = value.trim().toLowerCase(Locale.ROOT);
+        if (text.startsWith("pt")) {
+            return Duration.parse(text.toUpperCase(Locale.ROOT));
+        }
+        if (text.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(text.substring(0, text.length() - 2)));
+        }
+        if (text.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(text.substring(0, text.length() - 1)));
+        }
+        if (text.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(text.substring(0, text.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(text));
+    }
+
+    private static void deleteRecursively(Path root) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private static String usage() {
+        return String.join("\n",
+                "Options (./gradlew :benchmarks:loadTest -Ploadtest.<name>=<value>):",
+                "  --rate=200               offered requests per second, across the whole mix",
+                "  --arrival=poisson        poisson (random gaps) or uniform (fixed gaps) arrivals",
+                "  --duration=30s           recorded period, after --warmup=10s of unrecorded load",
+                "  --mix=" + DEFAULT_MIX,
+                "                           relative weights of records-read, records-write, plugin-data, metadata",
+                "  --max-in-flight=2000     outstanding requests before new arrivals are dropped",
+                "  --timeout=10s            per-request timeout",
+                "  --seed-records=500       rows imported into example_table before the run",
+                "  --output=<file>          JSON report (the server log is copied next to it)",
+                "  --server-jvm-args=...    JVM options of the core process, e.g. \"-Xmx1g -XX:+UseZGC\"",
+                "  --base-url=<url>         test an already running instance instead of booting one");
+    }
+}
@@ -0,0 +1,194 @@
+package io.zabbixplus.framework.benchmarks.load;
+
+import io.zabbixplus.framework.core.metrics.LatencyHistogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model HTTP load: requests are started at the configured arrival rate whether or not earlier
+ * ones have finished, the way independent users arrive, so a slow server builds up a queue instead
+ * of quietly receiving less load. Latency is measured from the moment a request was due, not from
+ * when it was actually sent, so time spent waiting behind the generator itself is not hidden
+ * (coordinated omission). Arrivals that would exceed {@code maxInFlight} outstanding requests are
+ * counted as dropped rather than delayed.
+ */
+final class OpenLoadGenerator {
+
+    private final HttpClient client;
+    private final URI baseUri;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final double ratePerSecond;
+    private final boolean poisson;
+    private final int maxInFlight;
+    private final Duration requestTimeout;
+
+    OpenLoadGenerator(URI baseUri, Map<Operation, Integer> mix, double ratePerSecond, boolean poisson,
+                      int maxInFlight, Duration requestTimeout) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(requestTimeout)
+                .build();
+        this.baseUri = baseUri;
+        this.operations = mix.keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        this.ratePerSecond = ratePerSecond;
+        this.poisson = poisson;
+        this.maxInFlight = maxInFlight;
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * Runs {@code warmup} of unrecorded load followed by {@code duration} of recorded load, then
+     * waits for outstanding requests. Returns the report as nested maps, ready for JSON.
+     */
+    Map<String, Object> run(Duration warmup, Duration duration) throws InterruptedException {
+        Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : operations) {
+            stats.put(operation, new Stats());
+        }
+        Stats total = new Stats();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        SplittableRandom random = new SplittableRandom(42);
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        double next = start;
+        long sequence = 0;
+        while (true) {
+            next += poisson ? -Math.log(1.0 - random.nextDouble()) * meanIntervalNanos : meanIntervalNanos;
+            long due = (long) next;
+            if (due - end >= 0) {
+                break;
+            }
+            long wait;
+            while ((wait = due - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = pick(random);
+            Stats operationStats = due - measureFrom >= 0 ? stats.get(operation) : null;
+            if (operationStats != null) {
+                operationStats.sent.increment();
+                total.sent.increment();
+            }
+            if (!inFlight.tryAcquire()) {
+                if (operationStats != null) {
+                    operationStats.dropped.increment();
+                    total.dropped.increment();
+                }
+                continue;
+            }
+            client.sendAsync(operation.request(baseUri, sequence++, requestTimeout), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        inFlight.release();
+                        if (operationStats == null) {
+                            return;
+                        }
+                        long latency = System.nanoTime() - due;
+                        String outcome = failure == null ? String.valueOf(response.statusCode()) : outcomeOf(failure);
+                        boolean ok = failure == null && response.statusCode() < 400;
+                        operationStats.record(latency, outcome, ok);
+                        total.record(latency, outcome, ok);
+                    });
+        }
+
+        // Outstanding requests finish or time out within the request timeout
+        if (!inFlight.tryAcquire(maxInFlight, requestTimeout.toMillis() + 5_000, TimeUnit.MILLISECONDS)) {
+            System.err.println("Some requests were still outstanding at the end of the run.");
+        }
+
+        Map<String, Object> perOperation = new LinkedHashMap<>();
+        stats.forEach((operation, operationStats) -> perOperation.put(operation.getKey(), operationStats.toReport(duration)));
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("total", total.toReport(duration));
+        report.put("operations", perOperation);
+        return report;
+    }
+
+    private Operation pick(SplittableRandom random) {
+        int ticket = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (ticket < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private static String outcomeOf(Throwable failure) {
+        Throwable cause = failure.getCause() != null ? failure.getCause() : failure;
+        return cause instanceof HttpTimeoutException ? "timeout" : cause.getClass().getSimpleName();
+    }
+
+    private static final class Stats {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder sent = new LongAdder();
+        final LongAdder dropped = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+        void record(long latencyNanos, String outcome, boolean ok) {
+            latency.record(latencyNanos);
+            if (!ok) {
+                errors.increment();
+            }
+            outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+        }
+
+        Map<String, Object> toReport(Duration duration) {
+            double seconds = duration.toNanos() / 1e9;
+            long completed = latency.getCount();
+            Map<String, Object> latencyMs = new LinkedHashMap<>();
+            latencyMs.put("p50", millis(latency.getValueAtPercentile(50)));
+            latencyMs.put("p90", millis(latency.getValueAtPercentile(90)));
+            latencyMs.put("p99", millis(latency.getValueAtPercentile(99)));
+            latencyMs.put("p999", millis(latency.getValueAtPercentile(99.9)));
+            latencyMs.put("max", millis(latency.getMaxNanos()));
+            latencyMs.put("mean", millis((long) latency.getMeanNanos()));
+
+            Map<String, Long> byOutcome = new LinkedHashMap<>();
+            outcomes.entrySet().stream()
+                    .sorted(Map.Entry.comparingByKey())
+                    .forEach(entry -> byOutcome.put(entry.getKey(), entry.getValue().sum()));
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("sent", sent.sum());
+            report.put("completed", completed);
+            report.put("errors", errors.sum());
+            report.put("dropped", dropped.sum());
+            report.put("offeredPerSecond", round(sent.sum() / seconds));
+            report.put("throughputPerSecond", round((completed - errors.sum()) / seconds));
+            report.put("latencyMs", latencyMs);
+            report.put("outcomes", byOutcome);
+            return report;
+        }
+
+        private static double millis(long nanos) {
+            return round(nanos / 1e6);
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 1000) / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package io.zabbixplus.framework.benchmarks.load;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * The requests a load test mixes, named as in {@code --mix=records-read:60,records-write:10,...}.
+ */
+enum Operation {
+
+    RECORDS_READ("GET", "/api/records"),
+    RECORDS_WRITE("POST", "/api/records"),
+    // SimpleExamplePlugin.DATA_PATH
+    PLUGIN_DATA("GET", "/api/plugins/simpleexampleplugin/data"),
+    METADATA("GET", "/api/ui/plugin-metadata");
+
+    private final String method;
+    private final String path;
+
+    Operation(String method, String path) {
+        this.method = method;
+        this.path = path;
+    }
+
+    String getKey() {
+        return name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.getKey().equals(key.trim())) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation '" + key + "'; use one of records-read, records-write, plugin-data, metadata");
+    }
+
+    HttpRequest request(URI base, long sequence, Duration timeout) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(base.resolve(path)).timeout(timeout);
+        if ("POST".equals(method)) {
+            return builder.header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"load-" + sequence + "\"}"))
+                    .build();
+        }
+        return builder.header("Accept-Encoding", "gzip").GET().build();
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + path;
+    }
+}
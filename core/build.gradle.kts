@@ -79,6 +79,7 @@ dependencies {
     implementation(project(":plugin-api")) // Add plugin-api as a direct dependency to core
                                          // This ensures it's part of core's classpath and available to plugins
                                          // And also makes it easier to include in the 'lib' dir of the distribution.
+    implementation(project(":timeseries")) // Embedded storage engine behind TimeSeriesService
     implementation("org.yaml:snakeyaml:2.0")
 
     // Ebean dependencies
@@ -2,11 +2,17 @@ package io.zabbixplus.framework.core;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 @SpringBootApplication(scanBasePackages = {"io.zabbixplus.framework.core"})
 public class CoreApplication {
 
+    // Startup steps kept for StartupReport (context phases, bean instantiations, plugins)
+    static final int STARTUP_STEP_CAPACITY = 10_000;
+
     public static void main(String[] args) {
-        SpringApplication.run(CoreApplication.class, args);
+        SpringApplication application = new SpringApplication(CoreApplication.class);
+        application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEP_CAPACITY));
+        application.run(args);
     }
 }
@@ -0,0 +1,215 @@
+package io.zabbixplus.framework.core.concurrent;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A concurrency limit that adapts to measured latency, so requests beyond what the server can
+ * handle are turned away instead of queueing until latency grows without bound.
+ * <p>
+ * By Little's law, the concurrency a server can sustain is its throughput times its latency at no
+ * queueing. Neither is known up front, so the limit is found by gradient control, once per window:
+ * <ul>
+ *     <li>The window's average latency is compared with a long-term average. While it is within
+ *     {@code tolerance} times the long-term value, there is no queueing yet and the limit grows by
+ *     about {@code sqrt(limit)}.</li>
+ *     <li>Above that, the limit shrinks in proportion ({@code limit * longRtt / shortRtt}, at most
+ *     halving per window).</li>
+ *     <li>Changes are smoothed and kept within {@code [min-limit, max-limit]}. The limit does not
+ *     grow while less than half of it is in use, since such windows say nothing about capacity.</li>
+ * </ul>
+ * Admission is by {@link Priority}: {@code CRITICAL} work is always admitted, {@code HIGH} work may
+ * use the whole limit, and {@code NORMAL} work only {@code normal-share} of it, so the rest stays
+ * available to the higher classes under overload.
+ * <p>
+ * Nothing on the request path blocks: samples are added to striped counters, and the thread that
+ * finds a window complete recomputes the limit under a {@code tryLock()}, which the other threads
+ * skip rather than wait for.
+ */
+@Component
+public class AdaptiveConcurrencyLimit {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveConcurrencyLimit.class);
+
+    private static final int MIN_SAMPLES_PER_WINDOW = 10;
+    // Long-term average weight per window, about a minute of one-second windows
+    private static final double LONG_RTT_WEIGHT = 1.0 / 60;
+
+    public enum Priority {
+        /** Health checks: never rejected. */
+        CRITICAL,
+        /** Metadata and diagnostics: may use the whole limit. */
+        HIGH,
+        /** Everything else. */
+        NORMAL
+    }
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double normalShare;
+    private final double tolerance;
+    private final double smoothing;
+    private final long windowNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder[] admitted = newCounters();
+    private final LongAdder[] rejected = newCounters();
+    private volatile double limit;
+
+    private final LongAdder windowRttSum = new LongAdder();
+    private final LongAdder windowSamples = new LongAdder();
+    private final LongAccumulator windowMaxInFlight = new LongAccumulator(Math::max, 0);
+    // Rolls the window over; only ever taken with tryLock(), so sampling threads never wait for it
+    private final ReentrantLock rolloverLock = new ReentrantLock();
+    private volatile long windowStart = System.nanoTime();
+    // Written by the rollover lock holder only
+    private volatile double longRtt;
+    private volatile double lastShortRtt;
+
+    @Autowired
+    public AdaptiveConcurrencyLimit(@Value("${framework.admission.initial-limit:64}") int initialLimit,
+                                    @Value("${framework.admission.min-limit:8}") int minLimit,
+                                    @Value("${framework.admission.max-limit:512}") int maxLimit,
+                                    @Value("${framework.admission.normal-share:0.9}") double normalShare,
+                                    @Value("${framework.admission.tolerance:1.5}") double tolerance,
+                                    @Value("${framework.admission.smoothing:0.2}") double smoothing,
+                                    @Value("${framework.admission.window:1s}") Duration window) {
+        this.minLimit = minLimit;
+        this.maxLimit = Math.max(minLimit, maxLimit);
+        this.normalShare = normalShare;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.windowNanos = window.toNanos();
+        this.limit = Math.max(minLimit, Math.min(this.maxLimit, initialLimit));
+    }
+
+    private static LongAdder[] newCounters() {
+        LongAdder[] counters = new LongAdder[Priority.values().length];
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new LongAdder();
+        }
+        return counters;
+    }
+
+    /**
+     * Takes a slot if the priority's share of the limit has room. Every successful call must be
+     * followed by {@link #release(long, boolean)}.
+     */
+    public boolean tryAcquire(Priority priority) {
+        int allowed = switch (priority) {
+            case CRITICAL -> Integer.MAX_VALUE;
+            case HIGH -> (int) limit;
+            case NORMAL -> Math.max(1, (int) (limit * normalShare));
+        };
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                rejected[priority.ordinal()].increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                admitted[priority.ordinal()].increment();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @param rttNanos How long the admitted work took.
+     * @param sample   Whether {@code rttNanos} reflects the work; false e.g. for requests that went async.
+     */
+    public void release(long rttNanos, boolean sample) {
+        int current = inFlight.getAndDecrement();
+        if (sample) {
+            onSample(rttNanos, current, System.nanoTime());
+        }
+    }
+
+    void onSample(long rttNanos, int inFlightAtEnd, long now) {
+        windowRttSum.add(rttNanos);
+        windowSamples.increment();
+        windowMaxInFlight.accumulate(inFlightAtEnd);
+        if (now - windowStart < windowNanos || windowSamples.sum() < MIN_SAMPLES_PER_WINDOW || !rolloverLock.tryLock()) {
+            return;
+        }
+        try {
+            // Another thread may have rolled the window over between the check and the lock
+            if (now - windowStart < windowNanos || windowSamples.sum() < MIN_SAMPLES_PER_WINDOW) {
+                return;
+            }
+            windowStart = now;
+            // A sample racing with the reset may be split between windows, which the averages tolerate
+            long samples = windowSamples.sumThenReset();
+            long rttSum = windowRttSum.sumThenReset();
+            int maxInFlight = (int) windowMaxInFlight.getThenReset();
+            update((double) rttSum / samples, maxInFlight);
+        } finally {
+            rolloverLock.unlock();
+        }
+    }
+
+    private void update(double shortRtt, int maxInFlight) {
+        lastShortRtt = shortRtt;
+        if (longRtt == 0) {
+            longRtt = shortRtt;
+            return;
+        }
+        longRtt = longRtt * (1 - LONG_RTT_WEIGHT) + shortRtt * LONG_RTT_WEIGHT;
+        if (longRtt > shortRtt * 2) {
+            // Latency dropped for good (e.g. a slow dependency recovered); do not keep the old baseline
+            longRtt = shortRtt * 2;
+        }
+        double current = limit;
+        if (maxInFlight < current / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double target = current * gradient + Math.sqrt(current);
+        double next = Math.max(minLimit, Math.min(maxLimit, current * (1 - smoothing) + target * smoothing));
+        if ((int) next != (int) current) {
+            logger.debug("Concurrency limit {} -> {} (window rtt {} ms, long-term {} ms).", (int) current, (int) next,
+                    String.format("%.1f", shortRtt / 1e6), String.format("%.1f", longRtt / 1e6));
+        }
+        limit = next;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejectedCount(Priority priority) {
+        return rejected[priority.ordinal()].sum();
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("limit", getLimit());
+        report.put("normalLimit", Math.max(1, (int) (limit * normalShare)));
+        report.put("inFlight", getInFlight());
+        report.put("windowRttMillis", lastShortRtt / 1e6);
+        report.put("longTermRttMillis", longRtt / 1e6);
+        Map<String, Object> classes = new LinkedHashMap<>();
+        for (Priority priority : Priority.values()) {
+            classes.put(priority.name(), Map.of(
+                    "admitted", admitted[priority.ordinal()].sum(),
+                    "rejected", rejected[priority.ordinal()].sum()));
+        }
+        report.put("priorities", classes);
+        return report;
+    }
+}
@@ -0,0 +1,102 @@
+package io.zabbixplus.framework.core.concurrent;
+
+import io.zabbixplus.framework.core.metrics.RequestProfile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor dedicated to blocking database work.
+ * <p>
+ * Each task runs on its own thread (a virtual thread when the runtime supports it), and the
+ * number of tasks touching the database at the same time is capped by a semaphore so that
+ * fan-out from controllers and plugins cannot exceed what the connection pool can serve.
+ * <p>
+ * {@link #execute} never blocks: the task waits for its permit on its own thread, so a request
+ * thread submitting work is released at once. That wait ignores interrupts and only restores the
+ * interrupt flag once the permit is taken, so a task that was submitted always runs and a
+ * {@code CompletableFuture} built on it always completes, even when {@link #close} forces a
+ * shutdown. After {@link #close}, submissions are rejected.
+ */
+public class DatabaseExecutor implements Executor, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseExecutor.class);
+
+    private final ExecutorService delegate;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    public DatabaseExecutor(int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be at least 1");
+        }
+        this.maxConcurrency = maxConcurrency;
+        this.permits = new Semaphore(maxConcurrency, true);
+        // Virtual threads are cheap to block, so each task gets its own and waits for a permit there.
+        // Platform threads are pooled instead, no more of them than there are permits.
+        this.delegate = VirtualThreads.isSupported()
+                ? VirtualThreads.newThreadPerTaskExecutor("db-exec")
+                : Executors.newFixedThreadPool(maxConcurrency, VirtualThreads.platformFactory("db-exec"));
+        logger.info("Database executor started (virtualThreads={}, maxConcurrency={}).",
+                VirtualThreads.isSupported(), maxConcurrency);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        // Database time of the task counts towards the request that submitted it
+        RequestProfile requestProfile = RequestProfile.current();
+        waiting.incrementAndGet();
+        try {
+            delegate.execute(() -> {
+                // Keeps waiting if interrupted, then returns with the interrupt flag set for the task
+                permits.acquireUninterruptibly();
+                waiting.decrementAndGet();
+                try {
+                    RequestProfile.runAs(requestProfile, command);
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            waiting.decrementAndGet();
+            throw e;
+        }
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public int getActiveCount() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    /**
+     * Tasks submitted but not yet holding a permit.
+     */
+    public int getQueuedCount() {
+        return waiting.get();
+    }
+
+    @Override
+    public void close() {
+        delegate.shutdown();
+        try {
+            if (!delegate.awaitTermination(10, TimeUnit.SECONDS)) {
+                logger.warn("Database executor did not terminate in time; forcing shutdown.");
+                delegate.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            delegate.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package io.zabbixplus.framework.core.concurrent;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Detects virtual threads that stay pinned to their carrier (blocking inside {@code synchronized}
+ * or a native frame) by streaming the JDK's {@code jdk.VirtualThreadPinned} JFR event. Events are
+ * aggregated per site, i.e. the innermost frame in framework code ({@code io.zabbixplus.*}), so
+ * a report points at the {@code synchronized} block to replace with a {@code ReentrantLock}.
+ */
+public class PinnedThreadMonitor implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(PinnedThreadMonitor.class);
+
+    static final String EVENT_NAME = "jdk.VirtualThreadPinned";
+    private static final String FRAMEWORK_PACKAGE = "io.zabbixplus.";
+    private static final int MAX_SITES = 256;
+    private static final int STACK_DEPTH = 12;
+
+    private final boolean enabled;
+    private final Duration threshold;
+    private final Map<String, PinnedSite> sites = new ConcurrentHashMap<>();
+    private final AtomicLong totalEvents = new AtomicLong();
+    private volatile RecordingStream stream;
+
+    public PinnedThreadMonitor(boolean enabled, Duration threshold) {
+        this.enabled = enabled;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Starts the event stream. Does nothing (and reports inactive) when disabled or on runtimes
+     * without virtual threads.
+     */
+    public synchronized void start() {
+        if (stream != null || !enabled || !VirtualThreads.isSupported()) {
+            return;
+        }
+        try {
+            RecordingStream recording = new RecordingStream();
+            recording.enable(EVENT_NAME).withThreshold(threshold).withStackTrace();
+            recording.onEvent(EVENT_NAME, this::onPinned);
+            recording.startAsync();
+            stream = recording;
+            logger.info("Monitoring virtual thread pinning longer than {} ms.", threshold.toMillis());
+        } catch (RuntimeException e) {
+            logger.warn("Could not start pinned virtual thread monitoring.", e);
+        }
+    }
+
+    public boolean isActive() {
+        return stream != null;
+    }
+
+    public Duration getThreshold() {
+        return threshold;
+    }
+
+    public long getTotalEvents() {
+        return totalEvents.get();
+    }
+
+    void onPinned(RecordedEvent event) {
+        List<String> frames = new ArrayList<>(STACK_DEPTH);
+        String site = null;
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace != null) {
+            for (RecordedFrame frame : stackTrace.getFrames()) {
+                String location = describe(frame);
+                if (frames.size() < STACK_DEPTH) {
+                    frames.add(location);
+                }
+                if (site == null && frame.isJavaFrame() && frame.getMethod().getType().getName().startsWith(FRAMEWORK_PACKAGE)) {
+                    site = location;
+                }
+            }
+        }
+        if (site == null) {
+            site = frames.isEmpty() ? "<unknown>" : frames.get(0);
+        }
+        RecordedThread thread = event.getThread();
+        record(site, event.getDuration().toNanos(), thread != null ? thread.getJavaName() : null, frames);
+    }
+
+    void record(String site, long durationNanos, String threadName, List<String> frames) {
+        totalEvents.incrementAndGet();
+        PinnedSite pinned = sites.get(site);
+        if (pinned == null) {
+            if (sites.size() >= MAX_SITES) {
+                return;
+            }
+            PinnedSite created = new PinnedSite(site, frames);
+            pinned = sites.putIfAbsent(site, created);
+            if (pinned == null) {
+                pinned = created;
+                logger.warn("Virtual thread pinned to its carrier for {} ms at {} (thread {}). Stack: {}",
+                        durationNanos / 1_000_000, site, threadName, frames);
+            }
+        }
+        pinned.count.incrementAndGet();
+        pinned.totalNanos.addAndGet(durationNanos);
+        pinned.maxNanos.accumulateAndGet(durationNanos, Math::max);
+        pinned.lastThread = threadName;
+    }
+
+    /**
+     * Pinning sites ordered by total pinned time, most expensive first.
+     */
+    public List<Map<String, Object>> getSites() {
+        List<PinnedSite> snapshot = new ArrayList<>(sites.values());
+        snapshot.sort(Comparator.comparingLong((PinnedSite s) -> s.totalNanos.get()).reversed());
+        List<Map<String, Object>> report = new ArrayList<>(snapshot.size());
+        for (PinnedSite pinned : snapshot) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("site", pinned.site);
+            entry.put("count", pinned.count.get());
+            entry.put("totalMillis", pinned.totalNanos.get() / 1_000_000.0);
+            entry.put("maxMillis", pinned.maxNanos.get() / 1_000_000.0);
+            entry.put("lastThread", pinned.lastThread);
+            entry.put("stack", pinned.stack);
+            report.add(entry);
+        }
+        return report;
+    }
+
+    private static String describe(RecordedFrame frame) {
+        if (!frame.isJavaFrame()) {
+            return "<native>";
+        }
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    private static final class PinnedSite {
+        final String site;
+        final List<String> stack;
+        final AtomicLong count = new AtomicLong();
+        final AtomicLong totalNanos = new AtomicLong();
+        final AtomicLong maxNanos = new AtomicLong();
+        volatile String lastThread;
+
+        PinnedSite(String site, List<String> stack) {
+            this.site = site;
+            this.stack = List.copyOf(stack);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package io.zabbixplus.framework.core.concurrent;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Creates virtual-thread factories when the running JVM supports them (Java 21+).
+ * The project is compiled for Java 17, so the virtual thread builder is looked up
+ * reflectively and callers fall back to daemon platform threads on older runtimes.
+ */
+public final class VirtualThreads {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreads.class);
+
+    private static final boolean SUPPORTED = detectSupport();
+    private static final Method IS_VIRTUAL = SUPPORTED ? findIsVirtual() : null;
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isSupported() {
+        return SUPPORTED;
+    }
+
+    /**
+     * Returns a factory producing virtual threads named {@code prefix-N}, or daemon platform
+     * threads with the same naming scheme if virtual threads are not available.
+     */
+    public static ThreadFactory factory(String prefix) {
+        if (SUPPORTED) {
+            try {
+                Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+                Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+                builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix + "-", 0L);
+                return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            } catch (ReflectiveOperationException e) {
+                logger.warn("Could not create virtual thread factory for '{}', using platform threads.", prefix, e);
+            }
+        }
+        return platformFactory(prefix);
+    }
+
+    /**
+     * Returns an executor that starts a new virtual thread named {@code prefix-N} for each task
+     * ({@code Executors.newThreadPerTaskExecutor}).
+     *
+     * @throws IllegalStateException if the runtime does not support virtual threads.
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String prefix) {
+        if (!SUPPORTED) {
+            throw new IllegalStateException("Virtual threads require Java 21 or later (running " + Runtime.version() + ")");
+        }
+        try {
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, factory(prefix));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create virtual thread executor for '" + prefix + "'", e);
+        }
+    }
+
+    /**
+     * Whether the given thread is a virtual thread. Always false on runtimes without them.
+     */
+    public static boolean isVirtual(Thread thread) {
+        if (IS_VIRTUAL == null) {
+            return false;
+        }
+        try {
+            return (Boolean) IS_VIRTUAL.invoke(thread);
+        } catch (ReflectiveOperationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns a factory producing daemon platform threads named {@code prefix-N}.
+     */
+    public static ThreadFactory platformFactory(String prefix) {
+        AtomicLong counter = new AtomicLong();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static Method findIsVirtual() {
+        try {
+            return Thread.class.getMethod("isVirtual");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static boolean detectSupport() {
+        try {
+            Method ofVirtual = Thread.class.getMethod("ofVirtual");
+            return ofVirtual != null;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+}
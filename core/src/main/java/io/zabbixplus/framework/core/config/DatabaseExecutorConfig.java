@@ -0,0 +1,16 @@
+package io.zabbixplus.framework.core.config;
+
+import io.zabbixplus.framework.core.concurrent.DatabaseExecutor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class DatabaseExecutorConfig {
+
+    // SQLite serialises writers, so a small cap keeps parallel fan-out from piling up on the file lock.
+    @Bean(destroyMethod = "close")
+    public DatabaseExecutor databaseExecutor(@Value("${framework.db.executor.max-concurrency:8}") int maxConcurrency) {
+        return new DatabaseExecutor(maxConcurrency);
+    }
+}
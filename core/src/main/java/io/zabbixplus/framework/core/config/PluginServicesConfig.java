@@ -0,0 +1,83 @@
+package io.zabbixplus.framework.core.config;
+
+import io.zabbixplus.framework.core.inventory.ZabbixInventory;
+import io.zabbixplus.framework.core.metrics.PrometheusMetricsRegistry;
+import io.zabbixplus.framework.core.plugin.PluginServiceProvider;
+import io.zabbixplus.framework.core.rules.RuleEngine;
+import io.zabbixplus.framework.core.web.ListResponseCache;
+import io.zabbixplus.framework.core.web.SingleFlight;
+import io.zabbixplus.framework.core.zabbix.ZabbixApiClient;
+import io.zabbixplus.framework.plugin.Plugin;
+import io.zabbixplus.framework.plugin.metrics.MetricsRegistry;
+import io.zabbixplus.framework.plugin.timeseries.TimeSeriesService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Declares which core services are handed to plugins through their PluginContext.
+ */
+@Configuration
+public class PluginServicesConfig {
+
+    @Bean
+    public PluginServiceProvider<TimeSeriesService> timeSeriesServiceProvider(TimeSeriesService timeSeriesService) {
+        return PluginServiceProvider.shared(TimeSeriesService.class, timeSeriesService);
+    }
+
+    @Bean
+    public PluginServiceProvider<ListResponseCache> listResponseCacheProvider(ListResponseCache listResponseCache) {
+        return PluginServiceProvider.shared(ListResponseCache.class, listResponseCache);
+    }
+
+    @Bean
+    public PluginServiceProvider<SingleFlight> singleFlightProvider(SingleFlight singleFlight) {
+        return PluginServiceProvider.shared(SingleFlight.class, singleFlight);
+    }
+
+    @Bean
+    public PluginServiceProvider<ZabbixApiClient> zabbixApiClientProvider(ZabbixApiClient zabbixApiClient) {
+        return PluginServiceProvider.shared(ZabbixApiClient.class, zabbixApiClient);
+    }
+
+    @Bean
+    public PluginServiceProvider<ZabbixInventory> zabbixInventoryProvider(ZabbixInventory zabbixInventory) {
+        return PluginServiceProvider.shared(ZabbixInventory.class, zabbixInventory);
+    }
+
+    @Bean
+    public PluginServiceProvider<RuleEngine> ruleEngineProvider(RuleEngine ruleEngine) {
+        return PluginServiceProvider.shared(RuleEngine.class, ruleEngine);
+    }
+
+    /**
+     * Each plugin gets a view of the registry that tags its metrics with {@code plugin=<id>}. Its
+     * metrics are removed again when the plugin is unloaded.
+     */
+    @Bean
+    public PluginServiceProvider<MetricsRegistry> metricsRegistryProvider(PrometheusMetricsRegistry registry) {
+        return new PluginServiceProvider<>() {
+            private final Map<Plugin, MetricsRegistry> views = new ConcurrentHashMap<>();
+
+            @Override
+            public Class<MetricsRegistry> getServiceType() {
+                return MetricsRegistry.class;
+            }
+
+            @Override
+            public MetricsRegistry getService(Plugin plugin) {
+                return views.computeIfAbsent(plugin, key -> registry.withTags("plugin", key.getPluginId()));
+            }
+
+            @Override
+            public void release(Plugin plugin) {
+                MetricsRegistry view = views.remove(plugin);
+                if (view != null) {
+                    registry.remove(view);
+                }
+            }
+        };
+    }
+}
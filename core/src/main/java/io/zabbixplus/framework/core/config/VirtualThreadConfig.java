@@ -0,0 +1,159 @@
+package io.zabbixplus.framework.core.config;
+
+import io.zabbixplus.framework.core.concurrent.PinnedThreadMonitor;
+import io.zabbixplus.framework.core.concurrent.VirtualThreads;
+import io.zabbixplus.framework.core.plugin.PluginServiceProvider;
+import io.zabbixplus.framework.plugin.Plugin;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chooses between platform and virtual threads for servlet requests, {@code @Async} methods and
+ * the executor handed to plugins. Virtual mode ({@code framework.threads.virtual.enabled=true})
+ * needs a Java 21+ runtime; on older runtimes the platform defaults are kept and a warning logged.
+ */
+@Configuration
+@EnableAsync
+public class VirtualThreadConfig implements AsyncConfigurer {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    private final boolean virtual;
+    private final int asyncPoolSize;
+    private final int pluginPoolSize;
+
+    private ExecutorService requestExecutor;
+    private ThreadPoolTaskExecutor asyncPool;
+    private ThreadPoolExecutor pluginPool;
+
+    public VirtualThreadConfig(@Value("${framework.threads.virtual.enabled:false}") boolean enabled,
+                               @Value("${framework.threads.async.pool-size:8}") int asyncPoolSize,
+                               @Value("${framework.plugin.executor.pool-size:8}") int pluginPoolSize) {
+        if (enabled && !VirtualThreads.isSupported()) {
+            logger.warn("framework.threads.virtual.enabled is set but Java {} has no virtual threads; using platform threads.",
+                    Runtime.version().feature());
+        }
+        this.virtual = enabled && VirtualThreads.isSupported();
+        this.asyncPoolSize = asyncPoolSize;
+        this.pluginPoolSize = pluginPoolSize;
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    /**
+     * The platform thread pool behind {@code @Async} methods, or {@code null} in virtual mode or
+     * before the first {@code @Async} call.
+     */
+    public ThreadPoolExecutor getAsyncPool() {
+        ThreadPoolTaskExecutor pool = asyncPool;
+        return pool != null ? pool.getThreadPoolExecutor() : null;
+    }
+
+    /**
+     * The platform thread pool shared by plugins, or {@code null} in virtual mode or before a plugin
+     * asked for an executor.
+     */
+    public synchronized ThreadPoolExecutor getPluginPool() {
+        return pluginPool;
+    }
+
+    /**
+     * Runs each Tomcat request on its own virtual thread instead of the bounded worker pool.
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> {
+            if (virtual) {
+                requestExecutor = VirtualThreads.newThreadPerTaskExecutor("http");
+                protocolHandler.setExecutor(requestExecutor);
+                logger.info("Servlet requests run on virtual threads.");
+            }
+        };
+    }
+
+    @Override
+    public Executor getAsyncExecutor() {
+        if (virtual) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor();
+            executor.setThreadFactory(VirtualThreads.factory("async"));
+            return executor;
+        }
+        asyncPool = new ThreadPoolTaskExecutor();
+        asyncPool.setCorePoolSize(asyncPoolSize);
+        asyncPool.setMaxPoolSize(asyncPoolSize);
+        asyncPool.setThreadNamePrefix("async-");
+        asyncPool.initialize();
+        return asyncPool;
+    }
+
+    /**
+     * Executor for plugin background work, available via {@code PluginContext.getService(Executor.class)}.
+     * Threads are named after the plugin so thread dumps and pinning reports show who submitted the task.
+     */
+    @Bean
+    public PluginServiceProvider<Executor> pluginExecutorProvider() {
+        return new PluginServiceProvider<>() {
+            @Override
+            public Class<Executor> getServiceType() {
+                return Executor.class;
+            }
+
+            @Override
+            public Executor getService(Plugin plugin) {
+                if (virtual) {
+                    ThreadFactory factory = VirtualThreads.factory("plugin-" + plugin.getPluginId());
+                    return task -> factory.newThread(task).start();
+                }
+                return sharedPluginPool();
+            }
+        };
+    }
+
+    private synchronized Executor sharedPluginPool() {
+        if (pluginPool == null) {
+            pluginPool = new ThreadPoolExecutor(pluginPoolSize, pluginPoolSize, 60, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), VirtualThreads.platformFactory("plugin"));
+            pluginPool.allowCoreThreadTimeOut(true);
+        }
+        return pluginPool;
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public PinnedThreadMonitor pinnedThreadMonitor(@Value("${framework.threads.virtual.pinned-threshold:20ms}") Duration threshold) {
+        return new PinnedThreadMonitor(virtual, threshold);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (requestExecutor != null) {
+            requestExecutor.shutdown();
+        }
+        if (asyncPool != null) {
+            asyncPool.shutdown();
+        }
+        synchronized (this) {
+            if (pluginPool != null) {
+                pluginPool.shutdown();
+            }
+        }
+    }
+}
@@ -1,12 +1,20 @@
 package io.zabbixplus.framework.core.config;
 
+import io.zabbixplus.framework.core.interceptor.RequestLoggingInterceptor;
+import io.zabbixplus.framework.core.web.StaticAssetResolver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import java.nio.file.Paths;
+import java.time.Duration;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
@@ -18,11 +26,52 @@ public class WebConfig implements WebMvcConfigurer {
     private static final String EXTERNAL_UI_PATH = "file:./ui/";
     private static final String CLASSPATH_UI_PATH = "classpath:/static/"; // Default Spring Boot static path
 
+    // Production mode: immutable caching of hashed bundles, precompressed variants, in-memory hot assets
+    @Value("${framework.ui.production-mode:false}")
+    private boolean productionMode;
+
+    @Value("${framework.ui.asset-cache.max-file-size:1MB}")
+    private DataSize assetCacheMaxFileSize;
+
+    @Value("${framework.ui.asset-cache.max-size:64MB}")
+    private DataSize assetCacheMaxSize;
+
+    @Value("${framework.ui.asset-cache.revalidate-interval:5s}")
+    private Duration assetCacheRevalidateInterval;
+
+    private StaticAssetResolver staticAssetResolver;
+
+    @Autowired
+    private RequestLoggingInterceptor requestLoggingInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Latency histograms per route + sampled access log for the API; static assets are not timed,
+        // nor is the record stream, whose "latency" is just how long the client stayed connected
+        registry.addInterceptor(requestLoggingInterceptor).addPathPatterns("/api/**")
+                .excludePathPatterns("/api/records/stream");
+    }
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         String uiPath = Paths.get("./ui").toAbsolutePath().normalize().toString();
         logger.info("Attempting to serve static UI content. Configured external UI directory: {}", uiPath);
 
+        if (productionMode) {
+            // Cache-Control is set per file by the resolver: a year + immutable for content-hashed
+            // bundles, no-cache for everything else (index.html), which then revalidates via ETag.
+            staticAssetResolver = new StaticAssetResolver(assetCacheMaxFileSize.toBytes(), assetCacheMaxSize.toBytes(),
+                    assetCacheRevalidateInterval);
+            registry.addResourceHandler("/**")
+                    .addResourceLocations(EXTERNAL_UI_PATH)
+                    .setCacheControl(CacheControl.noCache())
+                    .setEtagGenerator(StaticAssetResolver::etagOf)
+                    .resourceChain(false)
+                    .addResolver(staticAssetResolver);
+            logger.info("Registered production resource handler for external UI: path='/**', locations='{}', in-memory cache up to {}",
+                    EXTERNAL_UI_PATH, assetCacheMaxSize);
+            return;
+        }
 
         // Serve static assets from the external 'ui/' directory.
         // This will be the primary location for UI assets in the packaged distribution.
@@ -57,6 +106,9 @@ public class WebConfig implements WebMvcConfigurer {
         */
     }
 
-    // Other web configurations can go here (interceptors, formatters, etc.)
-    // For example, if RequestLoggingInterceptor was previously configured here, keep it.
+    public StaticAssetResolver getStaticAssetResolver() {
+        return staticAssetResolver;
+    }
+
+    // Other web configurations can go here (formatters, etc.)
 }
@@ -0,0 +1,58 @@
+package io.zabbixplus.framework.core.controller;
+
+import io.zabbixplus.framework.core.web.ApiResponse;
+import io.zabbixplus.framework.core.web.BatchDispatcher;
+import io.zabbixplus.framework.core.web.dto.BatchItemResult;
+import io.zabbixplus.framework.core.web.dto.BatchRequest;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Combines several API calls into one round trip, e.g. everything a dashboard needs on load:
+ * <pre>
+ * POST /api/batch
+ * {"requests": [
+ *   {"id": "meta", "path": "/api/ui/plugin-metadata"},
+ *   {"id": "records", "path": "/api/records"},
+ *   {"id": "plugin", "path": "/api/plugins/simpleexampleplugin/data", "timeoutMillis": 2000}
+ * ]}
+ * </pre>
+ * The response lists one result per item, in request order, each with its own status.
+ */
+@RestController
+@RequestMapping("/api")
+public class BatchController {
+
+    private final BatchDispatcher batchDispatcher;
+
+    @Autowired
+    public BatchController(BatchDispatcher batchDispatcher) {
+        this.batchDispatcher = batchDispatcher;
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<List<BatchItemResult>>> batch(@RequestBody BatchRequest batch,
+                                                                    HttpServletRequest request,
+                                                                    HttpServletResponse response) {
+        if (batch.getRequests() == null || batch.getRequests().isEmpty()) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(400, "requests must not be empty", null));
+        }
+        if (batch.getRequests().size() > batchDispatcher.getMaxItems()) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(400,
+                    "At most " + batchDispatcher.getMaxItems() + " requests per batch", null));
+        }
+        List<BatchItemResult> results = batchDispatcher.execute(request, response, batch.getRequests());
+        long failed = results.stream().filter(result -> result.getStatus() >= 400).count();
+        String message = failed == 0 ? "All " + results.size() + " requests succeeded"
+                : failed + " of " + results.size() + " requests failed";
+        return ResponseEntity.ok(ApiResponse.success(message, results));
+    }
+}
@@ -0,0 +1,47 @@
+package io.zabbixplus.framework.core.controller;
+
+import io.zabbixplus.framework.core.web.ApiResponse;
+import io.zabbixplus.framework.core.web.DashboardAggregator;
+import io.zabbixplus.framework.core.web.PrivilegeResolver;
+import io.zabbixplus.framework.core.web.dto.DashboardWidget;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Data for the main dashboard: one entry per plugin implementing
+ * {@link io.zabbixplus.framework.plugin.dashboard.DashboardWidgetProvider}, collected in parallel.
+ * Entries of slow or failing plugins come back marked {@code stale}, {@code timeout} or
+ * {@code error} instead of failing the whole response.
+ */
+@RestController
+@RequestMapping("/api/dashboard")
+public class DashboardController {
+
+    private final DashboardAggregator dashboardAggregator;
+    private final ObjectProvider<PrivilegeResolver> privilegeResolver;
+
+    @Autowired
+    public DashboardController(DashboardAggregator dashboardAggregator, ObjectProvider<PrivilegeResolver> privilegeResolver) {
+        this.dashboardAggregator = dashboardAggregator;
+        this.privilegeResolver = privilegeResolver;
+    }
+
+    @GetMapping("/widgets")
+    public ApiResponse<List<DashboardWidget>> widgets(HttpServletRequest request) {
+        PrivilegeResolver resolver = privilegeResolver.getIfAvailable();
+        Set<String> privileges = resolver != null ? resolver.resolvePrivileges(request) : null;
+        List<DashboardWidget> widgets = dashboardAggregator.collect(privileges);
+        long degraded = widgets.stream().filter(widget -> !DashboardWidget.OK.equals(widget.getStatus())
+                && !DashboardWidget.CACHED.equals(widget.getStatus())).count();
+        String message = degraded == 0 ? "All " + widgets.size() + " widgets up to date"
+                : degraded + " of " + widgets.size() + " widgets without fresh data";
+        return ApiResponse.success(message, widgets);
+    }
+}
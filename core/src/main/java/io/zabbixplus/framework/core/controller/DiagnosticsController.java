@@ -0,0 +1,189 @@
+package io.zabbixplus.framework.core.controller;
+
+import io.zabbixplus.framework.core.concurrent.AdaptiveConcurrencyLimit;
+import io.zabbixplus.framework.core.concurrent.PinnedThreadMonitor;
+import io.zabbixplus.framework.core.concurrent.VirtualThreads;
+import io.zabbixplus.framework.core.config.VirtualThreadConfig;
+import io.zabbixplus.framework.core.ingest.ZabbixSenderListener;
+import io.zabbixplus.framework.core.jfr.RollingRecording;
+import io.zabbixplus.framework.core.inventory.ZabbixInventory;
+import io.zabbixplus.framework.core.metrics.RouteMetrics;
+import io.zabbixplus.framework.core.metrics.SlowRequestRecorder;
+import io.zabbixplus.framework.core.rules.RuleEngine;
+import io.zabbixplus.framework.core.startup.StartupReport;
+import io.zabbixplus.framework.core.web.ApiResponse;
+import io.zabbixplus.framework.core.web.SingleFlight;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runtime diagnostics for operators.
+ */
+@RestController
+@RequestMapping("/api/diagnostics")
+public class DiagnosticsController {
+
+    private final VirtualThreadConfig virtualThreadConfig;
+    private final PinnedThreadMonitor pinnedThreadMonitor;
+    private final RouteMetrics routeMetrics;
+    private final SlowRequestRecorder slowRequestRecorder;
+    private final SingleFlight singleFlight;
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+    private final ZabbixSenderListener senderListener;
+    private final ZabbixInventory inventory;
+    private final RuleEngine ruleEngine;
+    private final RollingRecording rollingRecording;
+    private final StartupReport startupReport;
+    private final boolean jfrLocalOnly;
+
+    public DiagnosticsController(VirtualThreadConfig virtualThreadConfig, PinnedThreadMonitor pinnedThreadMonitor,
+                                 RouteMetrics routeMetrics, SlowRequestRecorder slowRequestRecorder,
+                                 SingleFlight singleFlight, AdaptiveConcurrencyLimit concurrencyLimit,
+                                 ZabbixSenderListener senderListener, ZabbixInventory inventory,
+                                 RuleEngine ruleEngine, RollingRecording rollingRecording,
+                                 StartupReport startupReport,
+                                 @Value("${framework.jfr.local-only:true}") boolean jfrLocalOnly) {
+        this.virtualThreadConfig = virtualThreadConfig;
+        this.pinnedThreadMonitor = pinnedThreadMonitor;
+        this.routeMetrics = routeMetrics;
+        this.slowRequestRecorder = slowRequestRecorder;
+        this.singleFlight = singleFlight;
+        this.concurrencyLimit = concurrencyLimit;
+        this.senderListener = senderListener;
+        this.inventory = inventory;
+        this.ruleEngine = ruleEngine;
+        this.rollingRecording = rollingRecording;
+        this.startupReport = startupReport;
+        this.jfrLocalOnly = jfrLocalOnly;
+    }
+
+    /**
+     * Latency percentiles per route pattern, method and status since startup (or the last reset).
+     */
+    @GetMapping("/latency")
+    public ApiResponse<List<Map<String, Object>>> latency() {
+        return ApiResponse.success(routeMetrics.snapshot());
+    }
+
+    @DeleteMapping("/latency")
+    public ApiResponse<Void> resetLatency() {
+        routeMetrics.reset();
+        return ApiResponse.success();
+    }
+
+    /**
+     * The most recent requests slower than the configured threshold, slowest first.
+     */
+    @GetMapping("/slow-requests")
+    public ApiResponse<Map<String, Object>> slowRequests() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("thresholdMillis", slowRequestRecorder.getThreshold().toMillis());
+        report.put("recordedSinceStartup", slowRequestRecorder.getRecordedCount());
+        report.put("requests", slowRequestRecorder.snapshot());
+        return ApiResponse.success(report);
+    }
+
+    /**
+     * Per collapsed route: how many computations ran and how many requests waited for one instead.
+     */
+    @GetMapping("/single-flight")
+    public ApiResponse<Map<String, Object>> singleFlight() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("inFlight", singleFlight.getInFlightCount());
+        report.put("routes", singleFlight.snapshot());
+        return ApiResponse.success(report);
+    }
+
+    /**
+     * Current adaptive concurrency limit, requests in flight, and admissions/rejections per priority class.
+     */
+    @GetMapping("/admission")
+    public ApiResponse<Map<String, Object>> admission() {
+        return ApiResponse.success(concurrencyLimit.snapshot());
+    }
+
+    /**
+     * Frames, samples and backpressure pauses of the Zabbix sender listener.
+     */
+    @GetMapping("/ingest")
+    public ApiResponse<Map<String, Object>> ingest() {
+        return ApiResponse.success(senderListener.getStats());
+    }
+
+    /**
+     * Size of the mirrored Zabbix inventory and the outcome of its syncs.
+     */
+    @GetMapping("/inventory")
+    public ApiResponse<Map<String, Object>> inventory() {
+        return ApiResponse.success(inventory.getStats());
+    }
+
+    /**
+     * Alert rule evaluation throughput and the series currently in a problem state.
+     */
+    @GetMapping("/rules")
+    public ApiResponse<Map<String, Object>> rules() {
+        Map<String, Object> report = ruleEngine.getStats();
+        report.put("activeProblems", ruleEngine.getProblems());
+        return ApiResponse.success(report);
+    }
+
+    /**
+     * Time to ready, time per startup phase, the slowest bean instantiations and each plugin's
+     * load/init time.
+     */
+    @GetMapping("/startup")
+    public ApiResponse<Map<String, Object>> startup() {
+        return ApiResponse.success(startupReport.getReport());
+    }
+
+    /**
+     * Writes the rolling JFR recording (framework events plus the JDK's default set) to a file in
+     * {@code framework.jfr.dump-directory} and returns its path. With {@code framework.jfr.local-only}
+     * (default) only loopback clients may trigger a dump, as each one writes up to
+     * {@code framework.jfr.max-size} to disk.
+     */
+    @PostMapping("/jfr/dump")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> dumpRecording(HttpServletRequest request) throws IOException {
+        if (jfrLocalOnly && !MetricsController.isLocal(request)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(new ApiResponse<>(HttpStatus.FORBIDDEN.value(),
+                            "JFR dumps may only be requested from the local host (framework.jfr.local-only)", null));
+        }
+        if (!rollingRecording.isActive()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new ApiResponse<>(HttpStatus.SERVICE_UNAVAILABLE.value(),
+                            "The rolling JFR recording is not running", null));
+        }
+        return ResponseEntity.ok(ApiResponse.success(rollingRecording.dump()));
+    }
+
+    /**
+     * Thread mode in use and the code sites where virtual threads were pinned to their carrier.
+     */
+    @GetMapping("/virtual-threads")
+    public ApiResponse<Map<String, Object>> virtualThreads() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("enabled", virtualThreadConfig.isVirtual());
+        report.put("supported", VirtualThreads.isSupported());
+        report.put("runtimeVersion", Runtime.version().toString());
+        report.put("currentThreadVirtual", VirtualThreads.isVirtual(Thread.currentThread()));
+        report.put("pinnedMonitorActive", pinnedThreadMonitor.isActive());
+        report.put("pinnedThresholdMillis", pinnedThreadMonitor.getThreshold().toMillis());
+        report.put("pinnedEvents", pinnedThreadMonitor.getTotalEvents());
+        report.put("pinnedSites", pinnedThreadMonitor.getSites());
+        return ApiResponse.success(report);
+    }
+}
@@ -2,6 +2,9 @@ package io.zabbixplus.framework.core.controller;
 
 import io.zabbixplus.framework.core.exception.ResourceNotFoundException; // Updated
 import io.zabbixplus.framework.core.web.ApiResponse; // Updated
+import io.zabbixplus.framework.core.web.ListResponseCache;
+import io.zabbixplus.framework.core.web.SingleFlight;
+import jakarta.annotation.PostConstruct;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import org.springframework.web.bind.annotation.*;
@@ -21,6 +24,20 @@ public class HealthController {
     @Autowired
     private ExampleTableService exampleTableService;
 
+    @Autowired
+    private ListResponseCache listResponseCache;
+
+    @Autowired
+    private SingleFlight singleFlight;
+
+    @PostConstruct
+    void registerCachedRoutes() {
+        // GET /api/records is served from the cache until example_table changes
+        listResponseCache.register("/api/records", ExampleTableService.TABLE_NAME);
+        // When it changes, the burst of cache misses that follows runs the query only once
+        singleFlight.register("/api/records");
+    }
+
     @GetMapping("/health")
     public ApiResponse<String> healthCheck() {
         return ApiResponse.success("Core Service is UP and Running!");
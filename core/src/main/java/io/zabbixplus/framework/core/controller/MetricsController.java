@@ -0,0 +1,104 @@
+package io.zabbixplus.framework.core.controller;
+
+import io.zabbixplus.framework.core.metrics.PrometheusMetricsRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Collections;
+import java.util.regex.Pattern;
+
+/**
+ * Prometheus scrape endpoint for the {@link PrometheusMetricsRegistry}. With
+ * {@code framework.metrics.local-only} (default) only clients on the loopback interface may scrape,
+ * e.g. a Prometheus agent or exporter sidecar on the same host. Requests relayed by a reverse proxy
+ * are judged by the client the proxy names, see {@link #isLocal}.
+ */
+@RestController
+@RequestMapping("/api")
+public class MetricsController {
+
+    private static final MediaType PROMETHEUS_TEXT = MediaType.parseMediaType(PrometheusMetricsRegistry.CONTENT_TYPE);
+    private static final Pattern IPV4_LITERAL = Pattern.compile("\\d{1,3}(\\.\\d{1,3}){3}");
+
+    private final PrometheusMetricsRegistry registry;
+    private final boolean localOnly;
+
+    @Autowired
+    public MetricsController(PrometheusMetricsRegistry registry,
+                             @Value("${framework.metrics.local-only:true}") boolean localOnly) {
+        this.registry = registry;
+        this.localOnly = localOnly;
+    }
+
+    @GetMapping("/metrics")
+    public ResponseEntity<String> scrape(HttpServletRequest request) {
+        if (localOnly && !isLocal(request)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok().contentType(PROMETHEUS_TEXT).body(registry.scrape());
+    }
+
+    /**
+     * Whether the request comes from this host. A reverse proxy on the same host connects from
+     * loopback as well, so a request carrying {@code X-Forwarded-For} or {@code Forwarded} is only
+     * local if every client address in them is loopback too. With
+     * {@code server.forward-headers-strategy} set, the container has already replaced the remote
+     * address with the client's and removed these headers.
+     */
+    static boolean isLocal(HttpServletRequest request) {
+        if (!isLoopback(request.getRemoteAddr())) {
+            return false;
+        }
+        for (String header : Collections.list(request.getHeaders("X-Forwarded-For"))) {
+            for (String address : header.split(",")) {
+                if (!isLoopback(address.trim())) {
+                    return false;
+                }
+            }
+        }
+        for (String header : Collections.list(request.getHeaders("Forwarded"))) {
+            for (String element : header.split("[,;]")) {
+                String pair = element.trim();
+                if (pair.regionMatches(true, 0, "for=", 0, 4) && !isLoopback(forwardedAddress(pair.substring(4)))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The address of a {@code Forwarded} {@code for=} value, e.g. {@code "[::1]:4711"} or
+     * {@code 127.0.0.1}, without quotes, brackets or port.
+     */
+    private static String forwardedAddress(String value) {
+        String address = value.replace("\"", "").trim();
+        if (address.startsWith("[")) {
+            int end = address.indexOf(']');
+            return end > 0 ? address.substring(1, end) : address;
+        }
+        int colon = address.indexOf(':');
+        return colon >= 0 && colon == address.lastIndexOf(':') ? address.substring(0, colon) : address;
+    }
+
+    static boolean isLoopback(String address) {
+        // Only literals are accepted, so a header value can never trigger a DNS lookup
+        if (address == null || !(IPV4_LITERAL.matcher(address).matches() || address.indexOf(':') >= 0)) {
+            return false;
+        }
+        try {
+            return InetAddress.getByName(address).isLoopbackAddress();
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+}
@@ -1,43 +1,85 @@
 package io.zabbixplus.framework.core.controller;
 
 import io.zabbixplus.framework.core.plugin.PluginService;
+import io.zabbixplus.framework.core.web.ETags;
+import io.zabbixplus.framework.core.web.PluginMetadataCache;
+import io.zabbixplus.framework.core.web.PrivilegeResolver;
+import io.zabbixplus.framework.core.web.StaticAssetResolver;
 import io.zabbixplus.framework.core.web.dto.PluginClientInfo;
-import io.zabbixplus.framework.plugin.Plugin;
 import io.zabbixplus.framework.plugin.UiPlugin;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/ui")
 public class PluginUiController {
 
+    // Per-user content: browsers may keep it but must revalidate, shared caches must not store it
+    private static final String CACHE_CONTROL = "private, no-cache";
+
     private final PluginService pluginService;
+    private final PluginMetadataCache pluginMetadataCache;
+    private final ObjectProvider<PrivilegeResolver> privilegeResolver;
 
-    public PluginUiController(PluginService pluginService) {
+    public PluginUiController(PluginService pluginService, PluginMetadataCache pluginMetadataCache,
+                              ObjectProvider<PrivilegeResolver> privilegeResolver) {
         this.pluginService = pluginService;
+        this.pluginMetadataCache = pluginMetadataCache;
+        this.privilegeResolver = privilegeResolver;
     }
 
+    /**
+     * Serves the precomputed metadata JSON of the UI plugins visible to the caller, gzipped when
+     * the client accepts it, with a strong ETag for conditional requests.
+     */
     @GetMapping("/plugin-metadata")
+    public ResponseEntity<byte[]> getPluginUiMetadataJson(HttpServletRequest request) {
+        PrivilegeResolver resolver = privilegeResolver.getIfAvailable();
+        Set<String> privileges = resolver != null ? resolver.resolvePrivileges(request) : null;
+        PluginMetadataCache.Payload payload = pluginMetadataCache.getPayload(privileges);
+
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        boolean gzip = StaticAssetResolver.accepts(acceptEncoding, "gzip");
+        String etag = gzip ? payload.getGzipEtag() : payload.getEtag();
+
+        if (ETags.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .header(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .header(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            return response.body(payload.getGzip());
+        }
+        return response.body(payload.getJson());
+    }
+
+    /**
+     * Builds the metadata list directly from the loaded plugins, without caching.
+     */
     public List<PluginClientInfo> getPluginUiMetadata() {
         return pluginService.getLoadedPlugins().values().stream()
                 .filter(UiPlugin.class::isInstance)
                 .map(UiPlugin.class::cast)
-                .map(uiPlugin -> new PluginClientInfo(
-                        uiPlugin.getPluginId(),
-                        uiPlugin.getPluginName(),
-                        uiPlugin.getVendor(),
-                        uiPlugin.getVersion(),
-                        uiPlugin.getDescription(),
-                        uiPlugin.getAssetsPath(),
-                        uiPlugin.getEntryComponent(),
-                        uiPlugin.getRequiredPrivileges(),
-                        uiPlugin.getUiMetadata(),
-                        uiPlugin.getNavigationItems()
-                ))
+                .map(PluginClientInfo::from)
                 .collect(Collectors.toList());
     }
 }
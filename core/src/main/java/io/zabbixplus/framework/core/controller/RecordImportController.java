@@ -0,0 +1,68 @@
+package io.zabbixplus.framework.core.controller;
+
+import io.zabbixplus.framework.core.service.RecordImportService;
+import io.zabbixplus.framework.core.web.ApiResponse;
+import io.zabbixplus.framework.core.web.dto.RecordImportResult;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+/**
+ * Bulk import into {@code example_table}. The body is read straight from the request stream, so
+ * files of any size can be posted, e.g.
+ * {@code curl -X POST -H 'Content-Type: text/csv' --data-binary @records.csv /api/records/import}.
+ */
+@RestController
+@RequestMapping("/api/records")
+public class RecordImportController {
+
+    private final RecordImportService recordImportService;
+
+    @Autowired
+    public RecordImportController(RecordImportService recordImportService) {
+        this.recordImportService = recordImportService;
+    }
+
+    /**
+     * @param format    {@code csv} or {@code ndjson}; defaults to the request content type.
+     * @param offset    Number of data rows to skip, normally the {@code nextOffset} of an earlier attempt.
+     * @param batchSize Rows per transaction (defaults to {@code framework.import.batch-size}).
+     */
+    @PostMapping("/import")
+    public ResponseEntity<ApiResponse<RecordImportResult>> importRecords(
+            HttpServletRequest request,
+            @RequestParam(required = false) String format,
+            @RequestParam(defaultValue = "0") long offset,
+            @RequestParam(required = false) Integer batchSize) throws IOException {
+        RecordImportService.Format resolved = RecordImportService.Format.resolve(format, request.getContentType());
+        if (resolved == null) {
+            return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE)
+                    .body(new ApiResponse<>(415, "Use format=csv|ndjson or a text/csv or application/x-ndjson body", null));
+        }
+        if (offset < 0) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(400, "offset must not be negative", null));
+        }
+
+        RecordImportResult result;
+        try {
+            result = recordImportService.importRecords(request.getInputStream(), resolved, offset, batchSize);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(400, e.getMessage(), null));
+        }
+        if (!result.isCompleted()) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse<>(500, "Import stopped; resume with offset=" + result.getNextOffset(), result));
+        }
+        String message = result.getFailed() == 0
+                ? "Imported " + result.getImported() + " records"
+                : "Imported " + result.getImported() + " records, rejected " + result.getFailed();
+        return ResponseEntity.ok(ApiResponse.success(message, result));
+    }
+}
@@ -0,0 +1,116 @@
+package io.zabbixplus.framework.core.controller;
+
+import io.zabbixplus.framework.core.service.RecordChangeFeed;
+import io.zabbixplus.framework.core.web.dto.RecordChange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Pushes {@code example_table} changes to the browser as Server-Sent Events, so the UI does not
+ * have to poll {@code GET /api/records}:
+ * <pre>
+ * const stream = new EventSource('/api/records/stream');
+ * stream.addEventListener('records', e =&gt; JSON.parse(e.data).forEach(applyChange));
+ * stream.addEventListener('reset', () =&gt; reloadEverything());
+ * </pre>
+ * Each {@code records} event carries a JSON array of {@link RecordChange}s. The browser reconnects
+ * on its own and sends {@code Last-Event-ID}, so changes made while it was disconnected are
+ * replayed; a {@code reset} event means they could not be and the list must be fetched again.
+ */
+@RestController
+@RequestMapping("/api/records")
+public class RecordStreamController {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecordStreamController.class);
+
+    private final RecordChangeFeed recordChangeFeed;
+    private final long timeoutMillis;
+
+    @Autowired
+    public RecordStreamController(RecordChangeFeed recordChangeFeed,
+                                  @Value("${framework.records.stream.timeout:30m}") Duration timeout) {
+        this.recordChangeFeed = recordChangeFeed;
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    /**
+     * @param lastEventIdHeader Sent by {@code EventSource} when it reconnects.
+     * @param lastEventId       The same, for clients that cannot set headers.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+                             @RequestParam(value = "lastEventId", required = false) String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        RecordChangeFeed.Subscription subscription = recordChangeFeed.subscribe(
+                lastEventIdHeader != null ? lastEventIdHeader : lastEventId, new EmitterSink(emitter));
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(e -> subscription.cancel());
+        return emitter;
+    }
+
+    private final class EmitterSink implements RecordChangeFeed.Sink {
+        private final SseEmitter emitter;
+
+        EmitterSink(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public boolean send(long lastSeq, List<RecordChange> changes) {
+            try {
+                if (changes.isEmpty()) {
+                    // A comment line keeps proxies from closing the idle connection
+                    emitter.send(SseEmitter.event().comment("keepalive"));
+                } else {
+                    emitter.send(SseEmitter.event()
+                            .id(recordChangeFeed.eventId(lastSeq))
+                            .name("records")
+                            .data(changes, MediaType.APPLICATION_JSON));
+                }
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the emitter's error callback cancels the subscription
+                logger.debug("Record stream send failed: {}", e.getMessage());
+                return false;
+            }
+        }
+
+        @Override
+        public boolean reset(long currentSeq) {
+            try {
+                emitter.send(SseEmitter.event()
+                        .id(recordChangeFeed.eventId(currentSeq))
+                        .name("reset")
+                        .data("reload"));
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                logger.debug("Record stream reset failed: {}", e.getMessage());
+                return false;
+            }
+        }
+
+        @Override
+        public void close(String reason) {
+            try {
+                emitter.send(SseEmitter.event().comment(reason));
+            } catch (IOException | IllegalStateException e) {
+                // Already gone
+            }
+            emitter.complete();
+        }
+    }
+}
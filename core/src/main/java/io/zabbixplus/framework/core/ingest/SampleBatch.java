@@ -0,0 +1,103 @@
+package io.zabbixplus.framework.core.ingest;
+
+import java.util.Arrays;
+
+/**
+ * Numeric samples received from Zabbix senders, stored column-wise. Batches are reused by the
+ * listener: a {@link SenderSampleSink} may read a batch only during its
+ * {@link SenderSampleSink#accept(SampleBatch)} call and must copy whatever it keeps.
+ */
+public final class SampleBatch {
+
+    private String[] hosts;
+    private String[] keys;
+    private long[] timestamps;
+    private double[] values;
+    private int size;
+
+    public SampleBatch(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        hosts = new String[capacity];
+        keys = new String[capacity];
+        timestamps = new long[capacity];
+        values = new double[capacity];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public String host(int index) {
+        return hosts[index];
+    }
+
+    public String key(int index) {
+        return keys[index];
+    }
+
+    public long timestampMillis(int index) {
+        return timestamps[index];
+    }
+
+    public double value(int index) {
+        return values[index];
+    }
+
+    void add(String host, String key, long timestampMillis, double value) {
+        if (size == hosts.length) {
+            grow(size * 2);
+        }
+        hosts[size] = host;
+        keys[size] = key;
+        timestamps[size] = timestampMillis;
+        values[size] = value;
+        size++;
+    }
+
+    void setTimestampMillis(int index, long timestampMillis) {
+        timestamps[index] = timestampMillis;
+    }
+
+    /**
+     * Appends samples {@code [from, to)} of {@code other}.
+     */
+    void addAll(SampleBatch other, int from, int to) {
+        int count = to - from;
+        if (size + count > hosts.length) {
+            grow(Math.max(size + count, size * 2));
+        }
+        System.arraycopy(other.hosts, from, hosts, size, count);
+        System.arraycopy(other.keys, from, keys, size, count);
+        System.arraycopy(other.timestamps, from, timestamps, size, count);
+        System.arraycopy(other.values, from, values, size, count);
+        size += count;
+    }
+
+    /**
+     * Empties the batch for reuse.
+     */
+    public void clear() {
+        clearFrom(0);
+    }
+
+    /**
+     * Removes the samples from {@code index} on.
+     */
+    void clearFrom(int index) {
+        // Drop the strings so a reused batch does not keep old hosts and keys reachable
+        Arrays.fill(hosts, index, size, null);
+        Arrays.fill(keys, index, size, null);
+        size = index;
+    }
+
+    private void grow(int capacity) {
+        hosts = Arrays.copyOf(hosts, capacity);
+        keys = Arrays.copyOf(keys, capacity);
+        timestamps = Arrays.copyOf(timestamps, capacity);
+        values = Arrays.copyOf(values, capacity);
+    }
+}
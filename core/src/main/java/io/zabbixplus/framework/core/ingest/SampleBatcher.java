@@ -0,0 +1,184 @@
+package io.zabbixplus.framework.core.ingest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Groups samples into batches of {@code batchSize} and delivers them to the sinks on one thread,
+ * also flushing a partly filled batch once it is {@code flushInterval} old. There is a fixed set of
+ * batches (the one being filled plus {@code queuedBatches}), reused after delivery, so when the
+ * sinks fall behind {@link #offer(SampleBatch)} fails rather than buffering without bound, and
+ * {@code onCapacity} runs once a batch is free again.
+ */
+final class SampleBatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(SampleBatcher.class);
+
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final List<SenderSampleSink> sinks;
+    private final Runnable onCapacity;
+    private final int capacity;
+
+    private final ArrayDeque<SampleBatch> free = new ArrayDeque<>();
+    private final ArrayDeque<SampleBatch> ready = new ArrayDeque<>();
+    private SampleBatch current;
+    private long currentSince;
+    private boolean blocked;
+    private boolean running;
+    private Thread thread;
+
+    private final AtomicLong deliveredBatches = new AtomicLong();
+    private final AtomicLong deliveredSamples = new AtomicLong();
+    private final AtomicLong sinkFailures = new AtomicLong();
+    private final AtomicLong refusals = new AtomicLong();
+
+    SampleBatcher(int batchSize, int queuedBatches, long flushIntervalNanos, List<SenderSampleSink> sinks, Runnable onCapacity) {
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalNanos = flushIntervalNanos;
+        this.sinks = List.copyOf(sinks);
+        this.onCapacity = onCapacity;
+        int batches = Math.max(1, queuedBatches) + 1;
+        this.capacity = batches * this.batchSize;
+        for (int i = 0; i < batches; i++) {
+            free.add(new SampleBatch(this.batchSize));
+        }
+    }
+
+    /**
+     * The most samples that can be waiting at once; a frame with more can never be accepted.
+     */
+    int capacity() {
+        return capacity;
+    }
+
+    synchronized void start(ThreadFactory threadFactory) {
+        running = true;
+        thread = threadFactory.newThread(this::run);
+        thread.start();
+    }
+
+    /**
+     * Stops the sink thread after delivering everything accepted so far.
+     */
+    void stop() throws InterruptedException {
+        Thread sinkThread;
+        synchronized (this) {
+            running = false;
+            notifyAll();
+            sinkThread = thread;
+        }
+        if (sinkThread != null) {
+            sinkThread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    /**
+     * Accepts all samples of {@code staged}, or none of them if there is not enough room.
+     */
+    synchronized boolean offer(SampleBatch staged) {
+        int count = staged.size();
+        if (count == 0) {
+            return true;
+        }
+        int room = (current != null ? batchSize - current.size() : 0) + free.size() * batchSize;
+        if (count > room) {
+            blocked = true;
+            refusals.incrementAndGet();
+            return false;
+        }
+        for (int from = 0; from < count; ) {
+            if (current == null) {
+                current = free.poll();
+                currentSince = System.nanoTime();
+            }
+            int to = Math.min(count, from + batchSize - current.size());
+            current.addAll(staged, from, to);
+            from = to;
+            if (current.size() == batchSize) {
+                ready.add(current);
+                current = null;
+            }
+        }
+        notifyAll();
+        return true;
+    }
+
+    private void run() {
+        while (true) {
+            SampleBatch batch;
+            synchronized (this) {
+                batch = next();
+                if (batch == null) {
+                    if (!running) {
+                        return;
+                    }
+                    try {
+                        long wait = current != null ? flushIntervalNanos - (System.nanoTime() - currentSince) : flushIntervalNanos;
+                        TimeUnit.NANOSECONDS.timedWait(this, Math.max(wait, 1));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    continue;
+                }
+            }
+            deliver(batch);
+            boolean wake;
+            synchronized (this) {
+                batch.clear();
+                free.add(batch);
+                wake = blocked;
+                blocked = false;
+            }
+            if (wake) {
+                onCapacity.run();
+            }
+        }
+    }
+
+    private SampleBatch next() {
+        SampleBatch batch = ready.poll();
+        if (batch == null && current != null
+                && (!running || System.nanoTime() - currentSince >= flushIntervalNanos)) {
+            batch = current;
+            current = null;
+        }
+        return batch;
+    }
+
+    private void deliver(SampleBatch batch) {
+        for (SenderSampleSink sink : sinks) {
+            try {
+                sink.accept(batch);
+            } catch (RuntimeException e) {
+                sinkFailures.incrementAndGet();
+                logger.warn("Sender sample sink {} failed on a batch of {} samples.", sink.getClass().getSimpleName(), batch.size(), e);
+            }
+        }
+        deliveredBatches.incrementAndGet();
+        deliveredSamples.addAndGet(batch.size());
+    }
+
+    long getDeliveredBatches() {
+        return deliveredBatches.get();
+    }
+
+    long getDeliveredSamples() {
+        return deliveredSamples.get();
+    }
+
+    long getSinkFailures() {
+        return sinkFailures.get();
+    }
+
+    long getRefusals() {
+        return refusals.get();
+    }
+}
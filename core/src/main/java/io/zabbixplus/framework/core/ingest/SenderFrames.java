@@ -0,0 +1,214 @@
+package io.zabbixplus.framework.core.ingest;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * The Zabbix sender/trapper wire format: {@code "ZBXD"}, a flags byte, the body length and a
+ * reserved field (4 bytes each, or 8 with the large-packet flag), all little-endian, followed by a
+ * JSON body such as
+ * <pre>{"request":"sender data","data":[{"host":"web01","key":"cpu.load","value":"0.42","clock":1700000000,"ns":5}]}</pre>
+ * Bodies are parsed straight from the receive buffer's array. Compressed frames are not supported;
+ * {@code zabbix_sender} does not compress.
+ */
+public final class SenderFrames {
+
+    private static final byte[] MAGIC = {'Z', 'B', 'X', 'D'};
+    private static final byte FLAG_PROTOCOL = 0x01;
+    private static final byte FLAG_COMPRESSED = 0x02;
+    private static final byte FLAG_LARGE = 0x04;
+    private static final int HEADER_SIZE = 13;
+    private static final int LARGE_HEADER_SIZE = 21;
+
+    private SenderFrames() {
+    }
+
+    /**
+     * A frame that is not a Zabbix sender frame, or one this listener does not handle.
+     */
+    public static class FrameException extends RuntimeException {
+        public FrameException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * @param available Number of bytes received so far, starting at {@code offset}.
+     * @return Length of the whole frame (header and body), or -1 if the header is incomplete.
+     * @throws FrameException if the bytes received so far cannot start a sender frame.
+     */
+    public static long frameLength(byte[] buffer, int offset, int available) {
+        for (int i = 0; i < Math.min(available, MAGIC.length); i++) {
+            if (buffer[offset + i] != MAGIC[i]) {
+                throw new FrameException("not a Zabbix protocol frame");
+            }
+        }
+        if (available <= MAGIC.length) {
+            return -1;
+        }
+        byte flags = buffer[offset + MAGIC.length];
+        if ((flags & FLAG_PROTOCOL) == 0) {
+            throw new FrameException("unknown protocol flags " + flags);
+        }
+        if ((flags & FLAG_COMPRESSED) != 0) {
+            throw new FrameException("compressed frames are not supported");
+        }
+        boolean large = (flags & FLAG_LARGE) != 0;
+        int headerSize = large ? LARGE_HEADER_SIZE : HEADER_SIZE;
+        if (available < headerSize) {
+            return -1;
+        }
+        ByteBuffer header = ByteBuffer.wrap(buffer, offset + MAGIC.length + 1, headerSize - MAGIC.length - 1)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        long bodyLength = large ? header.getLong() : Integer.toUnsignedLong(header.getInt());
+        if (bodyLength < 0) {
+            throw new FrameException("invalid body length " + bodyLength);
+        }
+        return headerSize + bodyLength;
+    }
+
+    /**
+     * Header size of the frame starting at {@code offset}, whose header has been received.
+     */
+    public static int headerSize(byte[] buffer, int offset) {
+        return (buffer[offset + MAGIC.length] & FLAG_LARGE) != 0 ? LARGE_HEADER_SIZE : HEADER_SIZE;
+    }
+
+    /**
+     * Parses a {@code sender data} (or {@code agent data}) body and appends its numeric samples to
+     * {@code samples}. Samples without a clock get the frame's clock, or {@code nowMillis}.
+     *
+     * @return The number of items that were skipped because their value is not numeric.
+     * @throws FrameException if the body is not a sender data request.
+     */
+    public static int parse(JsonFactory jsonFactory, byte[] buffer, int offset, int length, long nowMillis,
+                            SampleBatch samples) throws IOException {
+        int first = samples.size();
+        int failed = 0;
+        String request = null;
+        long frameClock = -1;
+        long frameNs = 0;
+        try (JsonParser parser = jsonFactory.createParser(buffer, offset, length)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new FrameException("body is not a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken token = parser.nextToken();
+                switch (field) {
+                    case "request" -> request = parser.getText();
+                    case "clock" -> frameClock = parser.getValueAsLong();
+                    case "ns" -> frameNs = parser.getValueAsLong();
+                    case "data" -> {
+                        if (token != JsonToken.START_ARRAY) {
+                            throw new FrameException("\"data\" is not an array");
+                        }
+                        while (parser.nextToken() == JsonToken.START_OBJECT) {
+                            if (!parseItem(parser, samples)) {
+                                failed++;
+                            }
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+        if (!"sender data".equals(request) && !"agent data".equals(request)) {
+            samples.clearFrom(first);
+            throw new FrameException("unsupported request " + request);
+        }
+        long defaultMillis = frameClock >= 0 ? frameClock * 1000 + frameNs / 1_000_000 : nowMillis;
+        for (int i = first; i < samples.size(); i++) {
+            if (samples.timestampMillis(i) < 0) {
+                samples.setTimestampMillis(i, defaultMillis);
+            }
+        }
+        return failed;
+    }
+
+    private static boolean parseItem(JsonParser parser, SampleBatch samples) throws IOException {
+        String host = null;
+        String key = null;
+        double value = Double.NaN;
+        long clock = -1;
+        long ns = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            switch (field) {
+                case "host" -> host = parser.getText();
+                case "key" -> key = parser.getText();
+                case "value" -> value = numericValue(parser, token);
+                case "clock" -> clock = parser.getValueAsLong(-1);
+                case "ns" -> ns = parser.getValueAsLong();
+                default -> parser.skipChildren();
+            }
+        }
+        if (host == null || key == null || Double.isNaN(value)) {
+            return false;
+        }
+        samples.add(host, key, clock >= 0 ? clock * 1000 + ns / 1_000_000 : -1, value);
+        return true;
+    }
+
+    private static double numericValue(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+            return parser.getDoubleValue();
+        }
+        if (token != JsonToken.VALUE_STRING) {
+            parser.skipChildren();
+            return Double.NaN;
+        }
+        try {
+            return Double.parseDouble(parser.getText());
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Writes a frame with the given JSON body into {@code out} (in write mode).
+     *
+     * @return {@code false} if {@code out} has too little room; nothing is written then.
+     */
+    public static boolean write(ByteBuffer out, byte[] body) {
+        if (out.remaining() < HEADER_SIZE + body.length) {
+            return false;
+        }
+        out.put(MAGIC).put(FLAG_PROTOCOL)
+                .order(ByteOrder.LITTLE_ENDIAN).putInt(body.length).putInt(0)
+                .order(ByteOrder.BIG_ENDIAN).put(body);
+        return true;
+    }
+
+    /**
+     * A complete frame for {@code json}, e.g. to send from a load generator.
+     */
+    public static byte[] encode(String json) {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer frame = ByteBuffer.allocate(HEADER_SIZE + body.length);
+        write(frame, body);
+        return frame.array();
+    }
+
+    /**
+     * The body of the answer to a sender data request, in the format {@code zabbix_sender} prints.
+     */
+    public static byte[] response(boolean success, String info) {
+        String json = "{\"response\":\"" + (success ? "success" : "failed") + "\",\"info\":\""
+                + info.replace("\\", "\\\\").replace("\"", "\\\"") + "\"}";
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static String info(int processed, int failed, long nanosSpent) {
+        return String.format(Locale.ROOT, "processed: %d; failed: %d; total: %d; seconds spent: %.6f",
+                processed, failed, processed + failed, nanosSpent / 1e9);
+    }
+}
@@ -0,0 +1,16 @@
+package io.zabbixplus.framework.core.ingest;
+
+/**
+ * Receives the samples accepted by {@link ZabbixSenderListener}. Every {@code SenderSampleSink}
+ * bean gets every batch, in order, on the listener's single sink thread. While a sink is busy, batches
+ * queue up to {@code framework.ingest.sender.queued-batches}; after that the listener stops reading
+ * from senders until a batch has been delivered.
+ */
+@FunctionalInterface
+public interface SenderSampleSink {
+
+    /**
+     * @param batch Valid only for the duration of the call; the listener reuses it afterwards.
+     */
+    void accept(SampleBatch batch);
+}
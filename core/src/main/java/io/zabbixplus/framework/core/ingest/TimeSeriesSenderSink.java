@@ -0,0 +1,44 @@
+package io.zabbixplus.framework.core.ingest;
+
+import io.zabbixplus.framework.plugin.timeseries.TimeSeriesService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stores sender samples in the time-series store under {@code "host:item.key"}.
+ */
+@Component
+public class TimeSeriesSenderSink implements SenderSampleSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimeSeriesSenderSink.class);
+
+    private final TimeSeriesService timeSeriesService;
+    private final AtomicLong outOfOrder = new AtomicLong();
+
+    @Autowired
+    public TimeSeriesSenderSink(TimeSeriesService timeSeriesService) {
+        this.timeSeriesService = timeSeriesService;
+    }
+
+    @Override
+    public void accept(SampleBatch batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            try {
+                timeSeriesService.append(batch.host(i) + ":" + batch.key(i), batch.timestampMillis(i), batch.value(i));
+            } catch (IllegalArgumentException e) {
+                // Older than the last sample of the series (or a reserved key); Zabbix drops those too
+                if (outOfOrder.incrementAndGet() % 1000 == 1) {
+                    logger.debug("Dropped sender sample for {}:{}: {}", batch.host(i), batch.key(i), e.getMessage());
+                }
+            }
+        }
+    }
+
+    public long getDroppedCount() {
+        return outOfOrder.get();
+    }
+}
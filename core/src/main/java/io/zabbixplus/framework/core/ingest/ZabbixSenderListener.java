@@ -0,0 +1,467 @@
+package io.zabbixplus.framework.core.ingest;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import io.zabbixplus.framework.core.concurrent.VirtualThreads;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Accepts metrics pushed with the Zabbix sender/trapper protocol ({@code zabbix_sender}, agent
+ * scripts) on {@code framework.ingest.sender.port}, without going through the REST API.
+ * <p>
+ * One selector thread serves all connections. Each connection reads into a heap buffer taken from
+ * a pool of {@code buffer-size} buffers, and frames are parsed in place from the buffer's array;
+ * only frames larger than a pooled buffer get a buffer of their own, up to {@code max-frame-size}.
+ * Numeric samples go to the {@link SenderSampleSink} beans in batches. When the sinks fall
+ * behind, a connection whose frame does not fit is no longer read until there is room again, so TCP
+ * flow control slows the sender down; its frame is acknowledged only once accepted.
+ */
+@Component
+public class ZabbixSenderListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ZabbixSenderListener.class);
+
+    private static final long IDLE_CHECK_INTERVAL_NANOS = 1_000_000_000L;
+
+    private final boolean enabled;
+    private final String bindAddress;
+    private final int port;
+    private final int bufferSize;
+    private final long maxFrameBytes;
+    private final long idleTimeoutNanos;
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final BufferPool bufferPool;
+    private final SampleBatcher batcher;
+
+    // Touched only by the selector thread
+    private final SampleBatch staging;
+    private final List<Connection> paused = new ArrayList<>();
+    private final AtomicBoolean capacityFreed = new AtomicBoolean();
+
+    private volatile Selector selector;
+    private volatile ServerSocketChannel serverChannel;
+    private volatile boolean running;
+    private Thread selectorThread;
+
+    private final AtomicLong openConnections = new AtomicLong();
+    private final AtomicLong frames = new AtomicLong();
+    private final AtomicLong rejectedFrames = new AtomicLong();
+    private final AtomicLong acceptedSamples = new AtomicLong();
+    private final AtomicLong failedItems = new AtomicLong();
+
+    @Autowired
+    public ZabbixSenderListener(@Value("${framework.ingest.sender.enabled:false}") boolean enabled,
+                                @Value("${framework.ingest.sender.bind-address:0.0.0.0}") String bindAddress,
+                                @Value("${framework.ingest.sender.port:10051}") int port,
+                                @Value("${framework.ingest.sender.buffer-size:64KB}") DataSize bufferSize,
+                                @Value("${framework.ingest.sender.max-frame-size:16MB}") DataSize maxFrameSize,
+                                @Value("${framework.ingest.sender.batch-size:1000}") int batchSize,
+                                @Value("${framework.ingest.sender.queued-batches:16}") int queuedBatches,
+                                @Value("${framework.ingest.sender.flush-interval:200ms}") Duration flushInterval,
+                                @Value("${framework.ingest.sender.idle-timeout:30s}") Duration idleTimeout,
+                                List<SenderSampleSink> sinks) {
+        this.enabled = enabled;
+        this.bindAddress = bindAddress;
+        this.port = port;
+        this.bufferSize = (int) Math.min(bufferSize.toBytes(), Integer.MAX_VALUE);
+        this.maxFrameBytes = Math.min(maxFrameSize.toBytes(), Integer.MAX_VALUE - 8);
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.bufferPool = new BufferPool(this.bufferSize, 256);
+        this.batcher = new SampleBatcher(batchSize, queuedBatches, flushInterval.toNanos(), sinks, this::onCapacity);
+        this.staging = new SampleBatch(batchSize);
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (enabled) {
+            start();
+        }
+    }
+
+    /**
+     * Binds the port and starts the selector and sink threads.
+     */
+    public synchronized void start() throws IOException {
+        if (running) {
+            return;
+        }
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(bindAddress, port), 1024);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        running = true;
+        batcher.start(VirtualThreads.platformFactory("zabbix-sender-sink"));
+        selectorThread = VirtualThreads.platformFactory("zabbix-sender").newThread(this::run);
+        selectorThread.start();
+        logger.info("Listening for Zabbix sender data on {}.", serverChannel.getLocalAddress());
+    }
+
+    /**
+     * The bound port, e.g. when configured as 0; -1 when not listening.
+     */
+    public int getPort() {
+        ServerSocketChannel channel = serverChannel;
+        return channel != null && channel.isOpen() ? channel.socket().getLocalPort() : -1;
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        Thread thread;
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            running = false;
+            thread = selectorThread;
+        }
+        selector.wakeup();
+        thread.join(10_000);
+        batcher.stop();
+    }
+
+    private void run() {
+        long lastIdleCheck = System.nanoTime();
+        try {
+            while (running) {
+                selector.select(1000);
+                if (capacityFreed.getAndSet(false)) {
+                    resumePaused();
+                }
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else if (key.attachment() instanceof Connection connection) {
+                        if (key.isReadable()) {
+                            read(connection);
+                        } else if (key.isWritable()) {
+                            write(connection);
+                        }
+                    }
+                }
+                long now = System.nanoTime();
+                if (now - lastIdleCheck >= IDLE_CHECK_INTERVAL_NANOS) {
+                    closeIdle(now);
+                    lastIdleCheck = now;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.error("Zabbix sender listener stopped.", e);
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                if (key.attachment() instanceof Connection connection) {
+                    close(connection);
+                }
+            }
+            try {
+                serverChannel.close();
+                selector.close();
+            } catch (IOException e) {
+                logger.debug("Could not close the sender listener socket.", e);
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            Connection connection = new Connection(channel, bufferPool.acquire());
+            connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+            openConnections.incrementAndGet();
+        }
+    }
+
+    private void read(Connection connection) {
+        try {
+            int read = connection.channel.read(connection.in);
+            if (read < 0) {
+                close(connection);
+                return;
+            }
+            connection.lastActive = System.nanoTime();
+            processFrames(connection);
+        } catch (IOException e) {
+            logger.debug("Closing sender connection after read error: {}", e.getMessage());
+            close(connection);
+        }
+    }
+
+    /**
+     * Handles every complete frame in the connection's buffer, one at a time: the next frame is
+     * looked at only after the answer to the previous one has been written.
+     */
+    private void processFrames(Connection connection) throws IOException {
+        while (!connection.paused && !connection.writing && connection.key.isValid()) {
+            ByteBuffer in = connection.in;
+            int held = in.position();
+            long frameLength;
+            try {
+                frameLength = SenderFrames.frameLength(in.array(), 0, held);
+            } catch (SenderFrames.FrameException e) {
+                reject(connection, e.getMessage());
+                return;
+            }
+            if (frameLength < 0) {
+                return;
+            }
+            if (frameLength > maxFrameBytes) {
+                reject(connection, "frame of " + frameLength + " bytes exceeds the limit of " + maxFrameBytes);
+                return;
+            }
+            if (held < frameLength) {
+                if (frameLength > in.capacity()) {
+                    // The one copy on this path: a frame larger than a pooled buffer moves to a buffer of its size
+                    ByteBuffer large = ByteBuffer.allocate((int) frameLength);
+                    large.put(in.array(), 0, held);
+                    bufferPool.release(in);
+                    connection.in = large;
+                }
+                return;
+            }
+            if (!handleFrame(connection, (int) frameLength)) {
+                pause(connection);
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return {@code false} if the sinks have no room for the frame's samples yet.
+     */
+    private boolean handleFrame(Connection connection, int frameLength) throws IOException {
+        long started = System.nanoTime();
+        byte[] array = connection.in.array();
+        int headerSize = SenderFrames.headerSize(array, 0);
+        staging.clear();
+        int failed;
+        try {
+            failed = SenderFrames.parse(jsonFactory, array, headerSize, frameLength - headerSize,
+                    System.currentTimeMillis(), staging);
+        } catch (IOException | SenderFrames.FrameException e) {
+            reject(connection, e.getMessage());
+            return true;
+        }
+        if (staging.size() > batcher.capacity()) {
+            reject(connection, "frame has " + staging.size() + " samples, more than the " + batcher.capacity() + " that can be queued");
+            return true;
+        }
+        if (!batcher.offer(staging)) {
+            return false;
+        }
+        int processed = staging.size();
+        staging.clear();
+        consume(connection, frameLength);
+        frames.incrementAndGet();
+        acceptedSamples.addAndGet(processed);
+        failedItems.addAndGet(failed);
+        respond(connection, SenderFrames.response(true, SenderFrames.info(processed, failed, System.nanoTime() - started)), false);
+        return true;
+    }
+
+    private void consume(Connection connection, int frameLength) {
+        ByteBuffer in = connection.in;
+        in.flip();
+        in.position(frameLength);
+        if (in.hasRemaining() || in.capacity() == bufferSize) {
+            in.compact();
+        } else {
+            // The frame needed a larger buffer; go back to a pooled one
+            connection.in = bufferPool.acquire();
+        }
+    }
+
+    private void reject(Connection connection, String reason) throws IOException {
+        rejectedFrames.incrementAndGet();
+        logger.debug("Rejecting sender frame from {}: {}", connection.channel.getRemoteAddress(), reason);
+        connection.in.clear();
+        respond(connection, SenderFrames.response(false, reason), true);
+    }
+
+    private void respond(Connection connection, byte[] body, boolean close) throws IOException {
+        ByteBuffer out = connection.out;
+        out.clear();
+        if (!SenderFrames.write(out, body)) {
+            out = ByteBuffer.allocate(body.length + 32);
+            SenderFrames.write(out, body);
+        }
+        out.flip();
+        connection.pending = out;
+        connection.closeAfterWrite = close;
+        connection.writing = true;
+        write(connection);
+    }
+
+    private void write(Connection connection) {
+        try {
+            connection.channel.write(connection.pending);
+            if (connection.pending.hasRemaining()) {
+                connection.key.interestOps(SelectionKey.OP_WRITE);
+                return;
+            }
+            connection.writing = false;
+            connection.lastActive = System.nanoTime();
+            if (connection.closeAfterWrite) {
+                close(connection);
+                return;
+            }
+            connection.key.interestOps(SelectionKey.OP_READ);
+            processFrames(connection);
+        } catch (IOException e) {
+            logger.debug("Closing sender connection after write error: {}", e.getMessage());
+            close(connection);
+        }
+    }
+
+    private void pause(Connection connection) {
+        connection.paused = true;
+        connection.key.interestOps(0);
+        paused.add(connection);
+    }
+
+    private void onCapacity() {
+        capacityFreed.set(true);
+        Selector current = selector;
+        if (current != null) {
+            current.wakeup();
+        }
+    }
+
+    private void resumePaused() throws IOException {
+        List<Connection> waiting = new ArrayList<>(paused);
+        paused.clear();
+        for (Connection connection : waiting) {
+            if (!connection.key.isValid()) {
+                continue;
+            }
+            connection.paused = false;
+            connection.key.interestOps(SelectionKey.OP_READ);
+            processFrames(connection);
+        }
+    }
+
+    private void closeIdle(long now) {
+        for (SelectionKey key : selector.keys()) {
+            if (key.attachment() instanceof Connection connection && !connection.paused
+                    && now - connection.lastActive > idleTimeoutNanos) {
+                close(connection);
+            }
+        }
+    }
+
+    private void close(Connection connection) {
+        if (connection.closed) {
+            return;
+        }
+        connection.closed = true;
+        connection.key.cancel();
+        paused.remove(connection);
+        try {
+            connection.channel.close();
+        } catch (IOException e) {
+            logger.debug("Could not close sender connection.", e);
+        }
+        bufferPool.release(connection.in);
+        openConnections.decrementAndGet();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("listening", running);
+        stats.put("port", getPort());
+        stats.put("openConnections", openConnections.get());
+        stats.put("frames", frames.get());
+        stats.put("rejectedFrames", rejectedFrames.get());
+        stats.put("acceptedSamples", acceptedSamples.get());
+        stats.put("failedItems", failedItems.get());
+        stats.put("deliveredBatches", batcher.getDeliveredBatches());
+        stats.put("deliveredSamples", batcher.getDeliveredSamples());
+        stats.put("sinkFailures", batcher.getSinkFailures());
+        stats.put("backpressurePauses", batcher.getRefusals());
+        stats.put("pooledBuffersAllocated", bufferPool.getAllocated());
+        return stats;
+    }
+
+    private static final class Connection {
+        final SocketChannel channel;
+        final ByteBuffer out = ByteBuffer.allocate(256);
+        SelectionKey key;
+        ByteBuffer in;
+        ByteBuffer pending;
+        long lastActive = System.nanoTime();
+        boolean writing;
+        boolean paused;
+        boolean closeAfterWrite;
+        boolean closed;
+
+        Connection(SocketChannel channel, ByteBuffer in) {
+            this.channel = channel;
+            this.in = in;
+        }
+    }
+
+    /**
+     * Receive buffers of one size, reused across connections. Only the selector thread uses it.
+     */
+    private static final class BufferPool {
+        private final int bufferSize;
+        private final int maxPooled;
+        private final ArrayDeque<ByteBuffer> free = new ArrayDeque<>();
+        private final AtomicLong allocated = new AtomicLong();
+
+        BufferPool(int bufferSize, int maxPooled) {
+            this.bufferSize = bufferSize;
+            this.maxPooled = maxPooled;
+        }
+
+        ByteBuffer acquire() {
+            ByteBuffer buffer = free.poll();
+            if (buffer == null) {
+                allocated.incrementAndGet();
+                buffer = ByteBuffer.allocate(bufferSize);
+            }
+            return buffer;
+        }
+
+        void release(ByteBuffer buffer) {
+            if (buffer.capacity() == bufferSize && free.size() < maxPooled) {
+                buffer.clear();
+                free.push(buffer);
+            }
+        }
+
+        long getAllocated() {
+            return allocated.get();
+        }
+    }
+}
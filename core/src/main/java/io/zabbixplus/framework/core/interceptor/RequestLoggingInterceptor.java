@@ -1,40 +1,125 @@
 package io.zabbixplus.framework.core.interceptor; // Updated package
 
+import io.zabbixplus.framework.core.jfr.HttpRequestEvent;
+import io.zabbixplus.framework.core.metrics.PrometheusMetricsRegistry;
+import io.zabbixplus.framework.core.metrics.RequestProfile;
+import io.zabbixplus.framework.core.metrics.RouteMetrics;
+import io.zabbixplus.framework.core.metrics.SlowRequestRecorder;
+import io.zabbixplus.framework.plugin.metrics.Timer;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import org.springframework.web.servlet.HandlerInterceptor;
-import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records every request's latency in {@link RouteMetrics}, hands slow ones to the
+ * {@link SlowRequestRecorder}, emits an {@link HttpRequestEvent} to running JFR recordings, times
+ * requests served by plugins per plugin in the {@link PrometheusMetricsRegistry} and writes an
+ * access log line for a sample of requests ({@code framework.access-log.sample-rate}) plus every
+ * failed one.
+ */
 @Component
-public class RequestLoggingInterceptor implements HandlerInterceptor {
+public class RequestLoggingInterceptor implements AsyncHandlerInterceptor {
 
     private static final Logger logger = LoggerFactory.getLogger(RequestLoggingInterceptor.class);
 
+    static final String PROFILE_ATTRIBUTE = RequestLoggingInterceptor.class.getName() + ".profile";
+    static final String EVENT_ATTRIBUTE = RequestLoggingInterceptor.class.getName() + ".event";
+    static final String PLUGIN_REQUESTS_METRIC = "zabbixplus_plugin_requests_seconds";
+    static final String PLUGIN_ERRORS_METRIC = "zabbixplus_plugin_request_errors_total";
+
+    private final RouteMetrics routeMetrics;
+    private final SlowRequestRecorder slowRequestRecorder;
+    private final PrometheusMetricsRegistry metricsRegistry;
+    private final double sampleRate;
+    private final Map<String, Timer> pluginTimers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RequestLoggingInterceptor(RouteMetrics routeMetrics, SlowRequestRecorder slowRequestRecorder,
+                                     PrometheusMetricsRegistry metricsRegistry,
+                                     @Value("${framework.access-log.sample-rate:0.01}") double sampleRate) {
+        this.routeMetrics = routeMetrics;
+        this.slowRequestRecorder = slowRequestRecorder;
+        this.metricsRegistry = metricsRegistry;
+        this.sampleRate = sampleRate;
+    }
+
     @Override
-    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
-        long startTime = System.currentTimeMillis();
-        request.setAttribute("startTime", startTime);
-        logger.info("Request URL::{} Request Method::{} ", request.getRequestURL().toString(), request.getMethod());
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(PROFILE_ATTRIBUTE) instanceof RequestProfile) {
+            // Async re-dispatch of a request that is already being timed
+            RequestProfile.bind((RequestProfile) request.getAttribute(PROFILE_ATTRIBUTE));
+            return true;
+        }
+        RequestProfile profile = new RequestProfile(Thread.currentThread(), System.nanoTime());
+        request.setAttribute(PROFILE_ATTRIBUTE, profile);
+        request.setAttribute(EVENT_ATTRIBUTE, HttpRequestEvent.start());
+        RequestProfile.bind(profile);
+        slowRequestRecorder.started(profile);
         return true;
     }
 
     @Override
-    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, ModelAndView modelAndView) throws Exception {
-        // Can log response details here if needed, but be careful with sensitive data in response body
-        // logger.info("Response Status::{}", response.getStatus());
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // The request continues on another thread; don't leave it bound to this pooled one
+        RequestProfile.bind(null);
     }
 
     @Override
-    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) throws Exception {
-        long startTime = (Long) request.getAttribute("startTime");
-        long endTime = System.currentTimeMillis();
-        long executeTime = endTime - startTime;
-        logger.info("Request URL::{} Status::{} Time Taken::{}ms", request.getRequestURL().toString(), response.getStatus(), executeTime);
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object attribute = request.getAttribute(PROFILE_ATTRIBUTE);
+        if (!(attribute instanceof RequestProfile)) {
+            return;
+        }
+        RequestProfile profile = (RequestProfile) attribute;
+        RequestProfile.bind(null);
+        long elapsedNanos = System.nanoTime() - profile.getStartNanos();
+        int status = response.getStatus();
+        String route = routeOf(request);
+        routeMetrics.record(request.getMethod(), route, status, elapsedNanos);
+        slowRequestRecorder.completed(profile, request.getMethod(), route, request.getRequestURI(), status, handler, elapsedNanos);
+        String plugin = slowRequestRecorder.pluginOf(handler, route);
+        if (plugin != null) {
+            recordPluginRequest(plugin, status, elapsedNanos);
+        }
+        Object event = request.getAttribute(EVENT_ATTRIBUTE);
+        if (event instanceof HttpRequestEvent && ((HttpRequestEvent) event).complete()) {
+            ((HttpRequestEvent) event).finish(request.getMethod(), route, status, plugin, profile.getDbCalls(), profile.getDbNanos());
+        }
+
         if (ex != null) {
-            logger.error("Error during request processing: ", ex);
+            logger.error("{} {} -> {} in {} ms", request.getMethod(), request.getRequestURI(), status, elapsedNanos / 1_000_000, ex);
+        } else if (status >= 500) {
+            logger.warn("{} {} -> {} in {} ms", request.getMethod(), request.getRequestURI(), status, elapsedNanos / 1_000_000);
+        } else if (logger.isInfoEnabled() && sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            logger.info("{} {} -> {} in {} ms", request.getMethod(), request.getRequestURI(), status, elapsedNanos / 1_000_000);
         }
     }
+
+    private void recordPluginRequest(String plugin, int status, long elapsedNanos) {
+        pluginTimers.computeIfAbsent(plugin, id -> metricsRegistry.timer(PLUGIN_REQUESTS_METRIC,
+                "Requests served by a plugin's controllers.", "plugin", id)).record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (status >= 500) {
+            metricsRegistry.counter(PLUGIN_ERRORS_METRIC, "Requests served by a plugin that failed with a 5xx status.",
+                    "plugin", plugin).increment();
+        }
+    }
+
+    /**
+     * The matched handler pattern, so {@code /api/test/found/1} and {@code /api/test/found/2} share a histogram.
+     */
+    static String routeOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : RouteMetrics.UNMATCHED;
+    }
 }
@@ -0,0 +1,20 @@
+package io.zabbixplus.framework.core.inventory;
+
+public class InventoryGroup {
+
+    private final long id;
+    private final String name;
+
+    public InventoryGroup(long id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
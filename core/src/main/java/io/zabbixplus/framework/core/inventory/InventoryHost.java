@@ -0,0 +1,50 @@
+package io.zabbixplus.framework.core.inventory;
+
+import java.util.List;
+
+public class InventoryHost {
+
+    private final long id;
+    private final String host;
+    private final String name;
+    private final boolean enabled;
+    private final List<Long> groupIds;
+    private final List<InventoryTag> tags;
+
+    /**
+     * @param host The technical name, as used by agents and {@code zabbix_sender}.
+     * @param name The visible name.
+     */
+    public InventoryHost(long id, String host, String name, boolean enabled, List<Long> groupIds, List<InventoryTag> tags) {
+        this.id = id;
+        this.host = host;
+        this.name = name;
+        this.enabled = enabled;
+        this.groupIds = List.copyOf(groupIds);
+        this.tags = List.copyOf(tags);
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public List<Long> getGroupIds() {
+        return groupIds;
+    }
+
+    public List<InventoryTag> getTags() {
+        return tags;
+    }
+}
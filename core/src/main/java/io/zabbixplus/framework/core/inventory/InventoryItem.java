@@ -0,0 +1,53 @@
+package io.zabbixplus.framework.core.inventory;
+
+public class InventoryItem {
+
+    private final long id;
+    private final long hostId;
+    private final String key;
+    private final String name;
+    private final int valueType;
+    private final String units;
+    private final boolean enabled;
+
+    /**
+     * @param valueType Zabbix value type: 0 float, 1 character, 2 log, 3 unsigned, 4 text.
+     */
+    public InventoryItem(long id, long hostId, String key, String name, int valueType, String units, boolean enabled) {
+        this.id = id;
+        this.hostId = hostId;
+        this.key = key;
+        this.name = name;
+        this.valueType = valueType;
+        this.units = units;
+        this.enabled = enabled;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public long getHostId() {
+        return hostId;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getValueType() {
+        return valueType;
+    }
+
+    public String getUnits() {
+        return units;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
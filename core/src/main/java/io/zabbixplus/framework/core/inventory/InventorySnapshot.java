@@ -0,0 +1,278 @@
+package io.zabbixplus.framework.core.inventory;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable view of the Zabbix inventory at one point in time. Lookups are in-memory map reads;
+ * {@link ZabbixInventory} replaces the whole snapshot after each sync, so a page render that keeps
+ * one snapshot sees consistent hosts, items and triggers throughout.
+ */
+public final class InventorySnapshot {
+
+    private static final long[] NONE = new long[0];
+
+    static final InventorySnapshot EMPTY = new Builder(null).build(0, Instant.EPOCH);
+
+    private final long version;
+    private final Instant syncedAt;
+    private final LongObjectMap<InventoryHost> hosts;
+    private final LongObjectMap<InventoryGroup> groups;
+    private final LongObjectMap<InventoryItem> items;
+    private final LongObjectMap<InventoryTrigger> triggers;
+
+    // Secondary indexes, rebuilt with every snapshot
+    private final Map<String, Long> hostIdsByName;
+    private final LongObjectMap<long[]> hostIdsByGroup;
+    private final Map<String, long[]> hostIdsByTag;
+    private final LongObjectMap<long[]> itemIdsByHost;
+    private final LongObjectMap<long[]> triggerIdsByHost;
+
+    private InventorySnapshot(Builder builder, long version, Instant syncedAt) {
+        this.version = version;
+        this.syncedAt = syncedAt;
+        this.hosts = builder.hosts;
+        this.groups = builder.groups;
+        this.items = builder.items;
+        this.triggers = builder.triggers;
+
+        hostIdsByName = new HashMap<>(hosts.size() * 2);
+        Map<Long, LongList> byGroup = new HashMap<>();
+        Map<String, LongList> byTag = new HashMap<>();
+        hosts.forEach((id, host) -> {
+            hostIdsByName.put(host.getHost(), id);
+            for (Long groupId : host.getGroupIds()) {
+                byGroup.computeIfAbsent(groupId, key -> new LongList()).add(id);
+            }
+            for (InventoryTag tag : host.getTags()) {
+                byTag.computeIfAbsent(tag.getTag(), key -> new LongList()).addDistinct(id);
+                byTag.computeIfAbsent(tagKey(tag.getTag(), tag.getValue()), key -> new LongList()).addDistinct(id);
+            }
+        });
+        hostIdsByGroup = toIndex(byGroup);
+        hostIdsByTag = new HashMap<>(byTag.size() * 2);
+        byTag.forEach((tag, ids) -> hostIdsByTag.put(tag, ids.toArray()));
+
+        Map<Long, LongList> byHost = new HashMap<>();
+        items.forEach((id, item) -> byHost.computeIfAbsent(item.getHostId(), key -> new LongList()).add(id));
+        itemIdsByHost = toIndex(byHost);
+
+        byHost.clear();
+        triggers.forEach((id, trigger) -> {
+            for (Long hostId : trigger.getHostIds()) {
+                byHost.computeIfAbsent(hostId, key -> new LongList()).add(id);
+            }
+        });
+        triggerIdsByHost = toIndex(byHost);
+    }
+
+    private static LongObjectMap<long[]> toIndex(Map<Long, LongList> lists) {
+        LongObjectMap<long[]> index = new LongObjectMap<>(lists.size());
+        lists.forEach((key, ids) -> index.put(key, ids.toArray()));
+        return index;
+    }
+
+    private static String tagKey(String tag, String value) {
+        return tag + '\u0000' + value;
+    }
+
+    /**
+     * Increases with every sync that changed something; 0 before the first sync.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public Instant getSyncedAt() {
+        return syncedAt;
+    }
+
+    public int getHostCount() {
+        return hosts.size();
+    }
+
+    public int getItemCount() {
+        return items.size();
+    }
+
+    public int getTriggerCount() {
+        return triggers.size();
+    }
+
+    public InventoryHost getHost(long hostId) {
+        return hosts.get(hostId);
+    }
+
+    /**
+     * @param host The technical host name.
+     */
+    public InventoryHost getHostByName(String host) {
+        Long id = hostIdsByName.get(host);
+        return id != null ? hosts.get(id) : null;
+    }
+
+    public InventoryGroup getGroup(long groupId) {
+        return groups.get(groupId);
+    }
+
+    public InventoryItem getItem(long itemId) {
+        return items.get(itemId);
+    }
+
+    public InventoryTrigger getTrigger(long triggerId) {
+        return triggers.get(triggerId);
+    }
+
+    public List<InventoryHost> getHosts() {
+        return Collections.unmodifiableList(hosts.values());
+    }
+
+    public List<InventoryGroup> getGroups() {
+        return Collections.unmodifiableList(groups.values());
+    }
+
+    public List<InventoryHost> getHostsInGroup(long groupId) {
+        return resolve(hostIdsByGroup.get(groupId), hosts);
+    }
+
+    /**
+     * Hosts that have the tag, with any value.
+     */
+    public List<InventoryHost> getHostsWithTag(String tag) {
+        return resolve(hostIdsByTag.get(tag), hosts);
+    }
+
+    public List<InventoryHost> getHostsWithTag(String tag, String value) {
+        return resolve(hostIdsByTag.get(tagKey(tag, value)), hosts);
+    }
+
+    public List<InventoryItem> getItemsOfHost(long hostId) {
+        return resolve(itemIdsByHost.get(hostId), items);
+    }
+
+    public InventoryItem getItemByKey(long hostId, String key) {
+        for (long itemId : orNone(itemIdsByHost.get(hostId))) {
+            InventoryItem item = items.get(itemId);
+            if (item.getKey().equals(key)) {
+                return item;
+            }
+        }
+        return null;
+    }
+
+    public List<InventoryTrigger> getTriggersOfHost(long hostId) {
+        return resolve(triggerIdsByHost.get(hostId), triggers);
+    }
+
+    /**
+     * Enabled triggers in the problem state, most severe first.
+     */
+    public List<InventoryTrigger> getProblems() {
+        List<InventoryTrigger> problems = new ArrayList<>();
+        triggers.forEach((id, trigger) -> {
+            if (trigger.isProblem() && trigger.isEnabled()) {
+                problems.add(trigger);
+            }
+        });
+        problems.sort((a, b) -> a.getPriority() != b.getPriority()
+                ? Integer.compare(b.getPriority(), a.getPriority())
+                : Long.compare(b.getLastChange(), a.getLastChange()));
+        return Collections.unmodifiableList(problems);
+    }
+
+    private static <T> List<T> resolve(long[] ids, LongObjectMap<T> source) {
+        if (ids == null) {
+            return List.of();
+        }
+        List<T> resolved = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            resolved.add(source.get(id));
+        }
+        return Collections.unmodifiableList(resolved);
+    }
+
+    private static long[] orNone(long[] ids) {
+        return ids != null ? ids : NONE;
+    }
+
+    /**
+     * Starts from a copy of a snapshot's maps, so the snapshot itself stays untouched.
+     */
+    static final class Builder {
+        final LongObjectMap<InventoryHost> hosts;
+        final LongObjectMap<InventoryGroup> groups;
+        final LongObjectMap<InventoryItem> items;
+        final LongObjectMap<InventoryTrigger> triggers;
+
+        Builder(InventorySnapshot base) {
+            hosts = base != null ? base.hosts.copy() : new LongObjectMap<>();
+            groups = base != null ? base.groups.copy() : new LongObjectMap<>();
+            items = base != null ? base.items.copy() : new LongObjectMap<>();
+            triggers = base != null ? base.triggers.copy() : new LongObjectMap<>();
+        }
+
+        /**
+         * Removes a host together with its items; triggers lose the host and go when none is left.
+         */
+        void removeHost(long hostId) {
+            if (hosts.remove(hostId) == null) {
+                return;
+            }
+            List<Long> orphanItems = new ArrayList<>();
+            items.forEach((id, item) -> {
+                if (item.getHostId() == hostId) {
+                    orphanItems.add(id);
+                }
+            });
+            orphanItems.forEach(items::remove);
+            List<InventoryTrigger> affected = new ArrayList<>();
+            triggers.forEach((id, trigger) -> {
+                if (trigger.getHostIds().contains(hostId)) {
+                    affected.add(trigger);
+                }
+            });
+            for (InventoryTrigger trigger : affected) {
+                List<Long> remaining = new ArrayList<>(trigger.getHostIds());
+                remaining.remove(hostId);
+                if (remaining.isEmpty()) {
+                    triggers.remove(trigger.getId());
+                } else {
+                    triggers.put(trigger.getId(), new InventoryTrigger(trigger.getId(), trigger.getDescription(),
+                            trigger.getPriority(), trigger.isProblem(), trigger.getLastChange(), trigger.isEnabled(), remaining));
+                }
+            }
+        }
+
+        InventorySnapshot build(long version, Instant syncedAt) {
+            return new InventorySnapshot(this, version, syncedAt);
+        }
+    }
+
+    private static final class LongList {
+        private long[] values = new long[4];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        // A host can carry the same tag with several values
+        void addDistinct(long value) {
+            if (size == 0 || values[size - 1] != value) {
+                add(value);
+            }
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package io.zabbixplus.framework.core.inventory;
+
+/**
+ * A host tag; Zabbix allows the same tag name several times with different values.
+ */
+public class InventoryTag {
+
+    private final String tag;
+    private final String value;
+
+    public InventoryTag(String tag, String value) {
+        this.tag = tag;
+        this.value = value;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+
+    public String getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,58 @@
+package io.zabbixplus.framework.core.inventory;
+
+import java.util.List;
+
+public class InventoryTrigger {
+
+    private final long id;
+    private final String description;
+    private final int priority;
+    private final boolean problem;
+    private final long lastChange;
+    private final boolean enabled;
+    private final List<Long> hostIds;
+
+    /**
+     * @param priority   Zabbix severity, 0 (not classified) to 5 (disaster).
+     * @param problem    Whether the trigger is in the problem state.
+     * @param lastChange Unix time (seconds) of the last state change.
+     */
+    public InventoryTrigger(long id, String description, int priority, boolean problem, long lastChange,
+                            boolean enabled, List<Long> hostIds) {
+        this.id = id;
+        this.description = description;
+        this.priority = priority;
+        this.problem = problem;
+        this.lastChange = lastChange;
+        this.enabled = enabled;
+        this.hostIds = List.copyOf(hostIds);
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public boolean isProblem() {
+        return problem;
+    }
+
+    public long getLastChange() {
+        return lastChange;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public List<Long> getHostIds() {
+        return hostIds;
+    }
+}
@@ -0,0 +1,161 @@
+package io.zabbixplus.framework.core.inventory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Hash map from {@code long} keys to non-null values, using open addressing with linear probing
+ * over two parallel arrays, so Zabbix ids are neither boxed nor wrapped in entry objects.
+ * Not thread-safe; the inventory only reads maps once they are published in a snapshot.
+ */
+final class LongObjectMap<V> {
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int threshold;
+    private int size;
+
+    LongObjectMap() {
+        this(8);
+    }
+
+    LongObjectMap(int expectedSize) {
+        int capacity = 8;
+        while (capacity * LOAD_FACTOR < expectedSize) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+
+    private LongObjectMap(LongObjectMap<V> other) {
+        keys = other.keys.clone();
+        values = other.values.clone();
+        mask = other.mask;
+        threshold = other.threshold;
+        size = other.size;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private int slot(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        for (int i = slot(key); ; i = (i + 1) & mask) {
+            Object value = values[i];
+            if (value == null) {
+                return null;
+            }
+            if (keys[i] == key) {
+                return (V) value;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    V put(long key, V value) {
+        Objects.requireNonNull(value);
+        if (size >= threshold) {
+            resize();
+        }
+        for (int i = slot(key); ; i = (i + 1) & mask) {
+            Object current = values[i];
+            if (current == null) {
+                keys[i] = key;
+                values[i] = value;
+                size++;
+                return null;
+            }
+            if (keys[i] == key) {
+                values[i] = value;
+                return (V) current;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    V remove(long key) {
+        int i = slot(key);
+        while (values[i] != null && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        Object removed = values[i];
+        if (removed == null) {
+            return null;
+        }
+        values[i] = null;
+        size--;
+        // Shift later entries of the probe sequence back, so lookups never stop at the new hole
+        int gap = i;
+        for (int j = (gap + 1) & mask; values[j] != null; j = (j + 1) & mask) {
+            int home = slot(keys[j]);
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                keys[gap] = keys[j];
+                values[gap] = values[j];
+                values[j] = null;
+                gap = j;
+            }
+        }
+        return (V) removed;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(keys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = slot(oldKeys[i]);
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface EntryConsumer<V> {
+        void accept(long key, V value);
+    }
+
+    @SuppressWarnings("unchecked")
+    void forEach(EntryConsumer<? super V> consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (values[i] != null) {
+                consumer.accept(keys[i], (V) values[i]);
+            }
+        }
+    }
+
+    List<V> values() {
+        List<V> list = new ArrayList<>(size);
+        forEach((key, value) -> list.add(value));
+        return list;
+    }
+
+    LongObjectMap<V> copy() {
+        return new LongObjectMap<>(this);
+    }
+}
@@ -0,0 +1,379 @@
+package io.zabbixplus.framework.core.inventory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.zabbixplus.framework.core.concurrent.VirtualThreads;
+import io.zabbixplus.framework.core.zabbix.ZabbixApiClient;
+import io.zabbixplus.framework.core.zabbix.ZabbixApiException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory mirror of the Zabbix hosts, host groups, items and triggers, so plugins render pages
+ * from {@link #snapshot()} instead of calling the Zabbix API. Plugins get it through
+ * {@code PluginContext.getService(ZabbixInventory.class)}.
+ * <p>
+ * The first sync loads everything (one JSON-RPC batch of four calls). Later syncs, every
+ * {@code framework.inventory.refresh-interval-ms}, only fetch what changed: configuration changes
+ * found in {@code auditlog.get} since the last sync, and triggers whose state changed since then
+ * ({@code lastChangeSince}). A full resync every {@code framework.inventory.full-resync-interval}
+ * picks up anything the audit log missed, or everything if the API user may not read the audit log.
+ * <p>
+ * Syncs run on their own thread rather than Spring's shared scheduler: one can wait on the Zabbix API
+ * for up to two request timeouts, which must not hold up the other {@code @Scheduled} jobs.
+ */
+@Component
+public class ZabbixInventory {
+
+    private static final Logger logger = LoggerFactory.getLogger(ZabbixInventory.class);
+
+    // auditlog.get resource types
+    private static final int RESOURCE_HOST = 4;
+    private static final int RESOURCE_TRIGGER = 13;
+    private static final int RESOURCE_HOST_GROUP = 14;
+    private static final int RESOURCE_ITEM = 15;
+
+    // Audit entries are matched by Zabbix server time; overlap in case its clock is ahead of ours
+    private static final long AUDIT_OVERLAP_SECONDS = 60;
+    // Beyond this many changed objects a full sync is cheaper than fetching them by id
+    private static final int MAX_INCREMENTAL_CHANGES = 5000;
+
+    private static final List<String> HOST_FIELDS = List.of("hostid", "host", "name", "status");
+    private static final List<String> ITEM_FIELDS = List.of("itemid", "hostid", "key_", "name", "value_type", "units", "status");
+    private static final List<String> TRIGGER_FIELDS = List.of("triggerid", "description", "priority", "value", "lastchange", "status");
+
+    private final ZabbixApiClient client;
+    private final boolean enabled;
+    private final long fullResyncMillis;
+    private final long initialDelayMillis;
+    private final long refreshIntervalMillis;
+    private ScheduledExecutorService syncScheduler;
+
+    private volatile InventorySnapshot snapshot = InventorySnapshot.EMPTY;
+
+    // Guarded by this
+    private long auditWatermark;
+    private long triggerWatermark;
+    private long lastFullSync;
+    private volatile boolean auditLogReadable = true;
+
+    private final AtomicLong fullSyncs = new AtomicLong();
+    private final AtomicLong incrementalSyncs = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile String lastError;
+    private volatile long lastSyncMillis;
+
+    @Autowired
+    public ZabbixInventory(ZabbixApiClient client,
+                           @Value("${framework.inventory.enabled:true}") boolean enabled,
+                           @Value("${framework.inventory.full-resync-interval:1h}") Duration fullResyncInterval,
+                           @Value("${framework.inventory.initial-delay-ms:5000}") long initialDelayMillis,
+                           @Value("${framework.inventory.refresh-interval-ms:60000}") long refreshIntervalMillis) {
+        this.client = client;
+        this.enabled = enabled;
+        this.fullResyncMillis = fullResyncInterval.toMillis();
+        this.initialDelayMillis = initialDelayMillis;
+        this.refreshIntervalMillis = refreshIntervalMillis;
+    }
+
+    ZabbixInventory(ZabbixApiClient client, boolean enabled, Duration fullResyncInterval) {
+        this(client, enabled, fullResyncInterval, 5000, 60000);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        syncScheduler = Executors.newSingleThreadScheduledExecutor(VirtualThreads.platformFactory("inventory-sync"));
+        syncScheduler.scheduleWithFixedDelay(this::refresh, initialDelayMillis, refreshIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (syncScheduler != null) {
+            syncScheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * The current inventory; never blocks. Empty (version 0) until the first sync has finished.
+     */
+    public InventorySnapshot snapshot() {
+        return snapshot;
+    }
+
+    public void refresh() {
+        if (!enabled || !client.isConfigured()) {
+            return;
+        }
+        try {
+            sync();
+            lastError = null;
+        } catch (RuntimeException e) {
+            failures.incrementAndGet();
+            lastError = e.getMessage();
+            logger.warn("Inventory sync failed; keeping the snapshot from {}.", snapshot.getSyncedAt(), e);
+        }
+    }
+
+    synchronized void sync() {
+        long started = System.currentTimeMillis();
+        if (snapshot.getVersion() == 0 || started - lastFullSync >= fullResyncMillis) {
+            fullSync(started);
+        } else {
+            incrementalSync(started);
+        }
+        lastSyncMillis = System.currentTimeMillis() - started;
+    }
+
+    private void fullSync(long now) {
+        CompletableFuture<JsonNode> groups = client.call("hostgroup.get", Map.of("output", List.of("groupid", "name")));
+        CompletableFuture<JsonNode> hosts = client.call("host.get", hostParams("hostids", null));
+        CompletableFuture<JsonNode> items = client.call("item.get", itemParams("itemids", null));
+        CompletableFuture<JsonNode> triggers = client.call("trigger.get", triggerParams("triggerids", null));
+
+        InventorySnapshot.Builder builder = new InventorySnapshot.Builder(null);
+        await(groups).forEach(group -> builder.groups.put(id(group, "groupid"), toGroup(group)));
+        await(hosts).forEach(host -> builder.hosts.put(id(host, "hostid"), toHost(host)));
+        await(items).forEach(item -> builder.items.put(id(item, "itemid"), toItem(item)));
+        long latestChange = 0;
+        for (JsonNode trigger : await(triggers)) {
+            InventoryTrigger mirrored = toTrigger(trigger);
+            builder.triggers.put(mirrored.getId(), mirrored);
+            latestChange = Math.max(latestChange, mirrored.getLastChange());
+        }
+
+        snapshot = builder.build(snapshot.getVersion() + 1, Instant.ofEpochMilli(now));
+        auditWatermark = now / 1000 - AUDIT_OVERLAP_SECONDS;
+        triggerWatermark = latestChange;
+        lastFullSync = now;
+        fullSyncs.incrementAndGet();
+        logger.info("Loaded Zabbix inventory: {} hosts, {} items, {} triggers.",
+                snapshot.getHostCount(), snapshot.getItemCount(), snapshot.getTriggerCount());
+    }
+
+    private void incrementalSync(long now) {
+        Set<Long> groupIds = new HashSet<>();
+        Set<Long> hostIds = new HashSet<>();
+        Set<Long> itemIds = new HashSet<>();
+        Set<Long> triggerIds = new HashSet<>();
+        long latestAudit = auditWatermark;
+        if (auditLogReadable) {
+            JsonNode entries;
+            try {
+                entries = await(client.call("auditlog.get", Map.of(
+                        "output", List.of("resourcetype", "resourceid", "clock"),
+                        "filter", Map.of("resourcetype", List.of(RESOURCE_HOST, RESOURCE_TRIGGER, RESOURCE_HOST_GROUP, RESOURCE_ITEM)),
+                        "time_from", auditWatermark,
+                        "sortfield", "clock",
+                        "sortorder", "ASC")));
+            } catch (ZabbixApiException e) {
+                if (e.getCode() == 0) {
+                    throw e;
+                }
+                auditLogReadable = false;
+                logger.warn("Cannot read the Zabbix audit log ({}); host, group and item changes will only be picked up "
+                        + "by the full resync every {} ms.", e.getMessage(), fullResyncMillis);
+                entries = null;
+            }
+            if (entries != null) {
+                for (JsonNode entry : entries) {
+                    long resourceId = id(entry, "resourceid");
+                    switch (entry.path("resourcetype").asInt()) {
+                        case RESOURCE_HOST -> hostIds.add(resourceId);
+                        case RESOURCE_HOST_GROUP -> groupIds.add(resourceId);
+                        case RESOURCE_ITEM -> itemIds.add(resourceId);
+                        case RESOURCE_TRIGGER -> triggerIds.add(resourceId);
+                        default -> {
+                        }
+                    }
+                    latestAudit = Math.max(latestAudit, entry.path("clock").asLong());
+                }
+            }
+        }
+        if (groupIds.size() + hostIds.size() + itemIds.size() + triggerIds.size() > MAX_INCREMENTAL_CHANGES) {
+            fullSync(now);
+            return;
+        }
+
+        // All of these go out in one batch
+        CompletableFuture<JsonNode> groups = groupIds.isEmpty() ? null
+                : client.call("hostgroup.get", Map.of("output", List.of("groupid", "name"), "groupids", groupIds));
+        CompletableFuture<JsonNode> hosts = hostIds.isEmpty() ? null : client.call("host.get", hostParams("hostids", hostIds));
+        CompletableFuture<JsonNode> items = itemIds.isEmpty() ? null : client.call("item.get", itemParams("itemids", itemIds));
+        CompletableFuture<JsonNode> triggers = triggerIds.isEmpty() ? null
+                : client.call("trigger.get", triggerParams("triggerids", triggerIds));
+        // lastChangeSince is exclusive and lastchange has one-second resolution: a change in the same second
+        // as the watermark, but after the previous sync, would be missed. Re-read that second; what was
+        // already mirrored is skipped below.
+        CompletableFuture<JsonNode> stateChanges = client.call("trigger.get",
+                triggerParams("lastChangeSince", Math.max(0L, triggerWatermark - 1)));
+
+        InventorySnapshot.Builder builder = new InventorySnapshot.Builder(snapshot);
+        boolean changed = false;
+        if (groups != null) {
+            for (JsonNode group : await(groups)) {
+                groupIds.remove(id(group, "groupid"));
+                builder.groups.put(id(group, "groupid"), toGroup(group));
+            }
+            groupIds.forEach(builder.groups::remove);
+            changed = true;
+        }
+        if (hosts != null) {
+            for (JsonNode host : await(hosts)) {
+                hostIds.remove(id(host, "hostid"));
+                builder.hosts.put(id(host, "hostid"), toHost(host));
+            }
+            // Not returned any more: deleted
+            hostIds.forEach(builder::removeHost);
+            changed = true;
+        }
+        if (items != null) {
+            for (JsonNode item : await(items)) {
+                itemIds.remove(id(item, "itemid"));
+                builder.items.put(id(item, "itemid"), toItem(item));
+            }
+            itemIds.forEach(builder.items::remove);
+            changed = true;
+        }
+        if (triggers != null) {
+            for (JsonNode trigger : await(triggers)) {
+                triggerIds.remove(id(trigger, "triggerid"));
+                builder.triggers.put(id(trigger, "triggerid"), toTrigger(trigger));
+            }
+            triggerIds.forEach(builder.triggers::remove);
+            changed = true;
+        }
+        long latestChange = triggerWatermark;
+        for (JsonNode trigger : await(stateChanges)) {
+            InventoryTrigger mirrored = toTrigger(trigger);
+            InventoryTrigger known = snapshot.getTrigger(mirrored.getId());
+            if (known != null && known.getLastChange() == mirrored.getLastChange() && known.isProblem() == mirrored.isProblem()
+                    && known.isEnabled() == mirrored.isEnabled()) {
+                continue;
+            }
+            builder.triggers.put(mirrored.getId(), mirrored);
+            latestChange = Math.max(latestChange, mirrored.getLastChange());
+            changed = true;
+        }
+
+        if (changed) {
+            snapshot = builder.build(snapshot.getVersion() + 1, Instant.ofEpochMilli(now));
+        }
+        auditWatermark = latestAudit;
+        triggerWatermark = latestChange;
+        incrementalSyncs.incrementAndGet();
+    }
+
+    private static Map<String, Object> hostParams(String filter, Object value) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("output", HOST_FIELDS);
+        params.put("selectHostGroups", List.of("groupid"));
+        params.put("selectTags", List.of("tag", "value"));
+        if (value != null) {
+            params.put(filter, value);
+        }
+        return params;
+    }
+
+    private static Map<String, Object> itemParams(String filter, Object value) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("output", ITEM_FIELDS);
+        params.put("templated", false);
+        params.put("webitems", true);
+        if (value != null) {
+            params.put(filter, value);
+        }
+        return params;
+    }
+
+    private static Map<String, Object> triggerParams(String filter, Object value) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("output", TRIGGER_FIELDS);
+        params.put("selectHosts", List.of("hostid"));
+        params.put("expandDescription", true);
+        params.put("templated", false);
+        if (value != null) {
+            params.put(filter, value);
+        }
+        return params;
+    }
+
+    private static long id(JsonNode node, String field) {
+        // Zabbix returns ids as strings
+        return node.path(field).asLong();
+    }
+
+    private static InventoryGroup toGroup(JsonNode node) {
+        return new InventoryGroup(id(node, "groupid"), node.path("name").asText());
+    }
+
+    private static InventoryHost toHost(JsonNode node) {
+        // "hostgroups" since Zabbix 6.2, "groups" before
+        JsonNode groupNodes = node.has("hostgroups") ? node.get("hostgroups") : node.path("groups");
+        List<Long> groupIds = new ArrayList<>(groupNodes.size());
+        groupNodes.forEach(group -> groupIds.add(id(group, "groupid")));
+        List<InventoryTag> tags = new ArrayList<>();
+        node.path("tags").forEach(tag -> tags.add(new InventoryTag(tag.path("tag").asText(), tag.path("value").asText())));
+        return new InventoryHost(id(node, "hostid"), node.path("host").asText(), node.path("name").asText(),
+                node.path("status").asInt() == 0, groupIds, tags);
+    }
+
+    private static InventoryItem toItem(JsonNode node) {
+        return new InventoryItem(id(node, "itemid"), id(node, "hostid"), node.path("key_").asText(), node.path("name").asText(),
+                node.path("value_type").asInt(), node.path("units").asText(), node.path("status").asInt() == 0);
+    }
+
+    private static InventoryTrigger toTrigger(JsonNode node) {
+        List<Long> hostIds = new ArrayList<>();
+        node.path("hosts").forEach(host -> hostIds.add(id(host, "hostid")));
+        return new InventoryTrigger(id(node, "triggerid"), node.path("description").asText(), node.path("priority").asInt(),
+                node.path("value").asInt() == 1, node.path("lastchange").asLong(), node.path("status").asInt() == 0, hostIds);
+    }
+
+    private static JsonNode await(CompletableFuture<JsonNode> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : e;
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        InventorySnapshot current = snapshot;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("version", current.getVersion());
+        stats.put("syncedAt", current.getSyncedAt().toString());
+        stats.put("hosts", current.getHostCount());
+        stats.put("items", current.getItemCount());
+        stats.put("triggers", current.getTriggerCount());
+        stats.put("fullSyncs", fullSyncs.get());
+        stats.put("incrementalSyncs", incrementalSyncs.get());
+        stats.put("failures", failures.get());
+        stats.put("lastError", lastError);
+        stats.put("lastSyncMillis", lastSyncMillis);
+        stats.put("auditLogReadable", auditLogReadable);
+        return stats;
+    }
+}
@@ -0,0 +1,67 @@
+package io.zabbixplus.framework.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One service-level database operation, such as {@code ExampleTableService.getRecords}, with the
+ * number of rows it read or wrote. Stack traces are off by default; enable them in a custom
+ * {@code .jfc} to see which caller (often a plugin) issued the call.
+ */
+@Name(DatabaseCallEvent.NAME)
+@Label("Database Call")
+@Category({"Zabbix Plus", "Database"})
+@Description("A database operation of a framework service")
+@StackTrace(false)
+public class DatabaseCallEvent extends Event {
+
+    public static final String NAME = "io.zabbixplus.DatabaseCall";
+
+    @Label("Table")
+    String table;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Rows")
+    @Description("Rows returned, inserted, updated or deleted")
+    long rows;
+
+    @Label("Succeeded")
+    @Description("False if the operation threw")
+    boolean succeeded;
+
+    /**
+     * Creates the event and starts its clock.
+     */
+    public static DatabaseCallEvent start(String table, String operation) {
+        DatabaseCallEvent event = new DatabaseCallEvent();
+        event.table = table;
+        event.operation = operation;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Records how many rows the operation returned or changed.
+     */
+    public void setRows(long rows) {
+        this.rows = rows;
+    }
+
+    /**
+     * Stops the clock and commits the event if a recording wants it. Call it from a
+     * {@code finally} block, so failed operations are recorded too.
+     */
+    public void finish(boolean succeeded) {
+        end();
+        if (shouldCommit()) {
+            this.succeeded = succeeded;
+            commit();
+        }
+    }
+}
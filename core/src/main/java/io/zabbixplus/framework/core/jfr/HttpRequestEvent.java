@@ -0,0 +1,73 @@
+package io.zabbixplus.framework.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * One HTTP request handled by a controller, from the interceptor's {@code preHandle} to
+ * {@code afterCompletion}, with its route pattern and the plugin whose controller served it.
+ * Async requests are committed on the thread that completes them.
+ */
+@Name(HttpRequestEvent.NAME)
+@Label("HTTP Request")
+@Category({"Zabbix Plus", "HTTP"})
+@Description("A request handled by a framework or plugin controller")
+@StackTrace(false)
+public class HttpRequestEvent extends Event {
+
+    public static final String NAME = "io.zabbixplus.HttpRequest";
+
+    @Label("Method")
+    String method;
+
+    @Label("Route")
+    @Description("Matched handler pattern, e.g. /api/test/found/{id}")
+    String route;
+
+    @Label("Status")
+    int status;
+
+    @Label("Plugin")
+    @Description("Id of the plugin that handled the request; empty for framework routes")
+    String plugin;
+
+    @Label("Database Calls")
+    long dbCalls;
+
+    @Label("Database Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long dbTime;
+
+    /**
+     * Creates the event and starts its clock.
+     */
+    public static HttpRequestEvent start() {
+        HttpRequestEvent event = new HttpRequestEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Stops the clock. Returns whether the event is to be recorded; only then does the caller
+     * need to resolve the details and call {@link #finish}.
+     */
+    public boolean complete() {
+        end();
+        return shouldCommit();
+    }
+
+    public void finish(String method, String route, int status, String plugin, long dbCalls, long dbNanos) {
+        this.method = method;
+        this.route = route;
+        this.status = status;
+        this.plugin = plugin;
+        this.dbCalls = dbCalls;
+        this.dbTime = dbNanos;
+        commit();
+    }
+}
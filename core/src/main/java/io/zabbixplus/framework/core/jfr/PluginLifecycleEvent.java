@@ -0,0 +1,67 @@
+package io.zabbixplus.framework.core.jfr;
+
+import io.zabbixplus.framework.plugin.Plugin;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One plugin lifecycle step ({@code load}, {@code init} or {@code unload}) as seen by
+ * {@code PluginService}; the event duration is the time spent in the plugin's method.
+ */
+@Name(PluginLifecycleEvent.NAME)
+@Label("Plugin Lifecycle")
+@Category({"Zabbix Plus", "Plugins"})
+@Description("A plugin's load(), init() or unload() call")
+@StackTrace(false)
+public class PluginLifecycleEvent extends Event {
+
+    public static final String NAME = "io.zabbixplus.PluginLifecycle";
+
+    public static final String LOAD = "load";
+    public static final String INIT = "init";
+    public static final String UNLOAD = "unload";
+
+    @Label("Plugin Id")
+    String pluginId;
+
+    @Label("Plugin Name")
+    String pluginName;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Source")
+    @Description("Jar file the plugin was loaded from, if known")
+    String source;
+
+    @Label("Succeeded")
+    boolean succeeded;
+
+    /**
+     * Creates the event and starts its clock.
+     */
+    public static PluginLifecycleEvent start(String phase, Plugin plugin, String source) {
+        PluginLifecycleEvent event = new PluginLifecycleEvent();
+        event.phase = phase;
+        event.pluginId = plugin.getPluginId();
+        event.pluginName = plugin.getPluginName();
+        event.source = source;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Stops the clock and commits the event if a recording wants it.
+     */
+    public void finish(boolean succeeded) {
+        end();
+        if (shouldCommit()) {
+            this.succeeded = succeeded;
+            commit();
+        }
+    }
+}
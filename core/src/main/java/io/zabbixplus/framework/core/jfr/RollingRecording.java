@@ -0,0 +1,171 @@
+package io.zabbixplus.framework.core.jfr;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Continuous, size- and age-bounded JFR recording of the JDK's low-overhead {@code default}
+ * settings plus the framework's own events ({@link PluginLifecycleEvent},
+ * {@link DatabaseCallEvent}, {@link HttpRequestEvent}). Nothing is written out until
+ * {@link #dump()} is called, e.g. through {@code POST /api/diagnostics/jfr/dump} right after an
+ * incident; the file then covers the last {@code framework.jfr.max-age}. Only the newest
+ * {@code framework.jfr.max-dumps} files are kept, so repeated dumps cannot fill the disk.
+ */
+@Component
+public class RollingRecording {
+
+    private static final Logger logger = LoggerFactory.getLogger(RollingRecording.class);
+
+    static final String RECORDING_NAME = "zabbix-plus";
+    private static final List<Class<? extends Event>> EVENTS =
+            List.of(PluginLifecycleEvent.class, DatabaseCallEvent.class, HttpRequestEvent.class);
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private final boolean enabled;
+    private final String settings;
+    private final Duration maxAge;
+    private final DataSize maxSize;
+    private final Path dumpDirectory;
+    private final int maxDumps;
+    private Recording recording;
+
+    @Autowired
+    public RollingRecording(@Value("${framework.jfr.enabled:true}") boolean enabled,
+                            @Value("${framework.jfr.settings:default}") String settings,
+                            @Value("${framework.jfr.max-age:15m}") Duration maxAge,
+                            @Value("${framework.jfr.max-size:100MB}") DataSize maxSize,
+                            @Value("${framework.jfr.dump-directory:./data/jfr}") String dumpDirectory,
+                            @Value("${framework.jfr.max-dumps:5}") int maxDumps) {
+        this.enabled = enabled;
+        this.settings = settings;
+        this.maxAge = maxAge;
+        this.maxSize = maxSize;
+        this.dumpDirectory = Path.of(dumpDirectory);
+        this.maxDumps = Math.max(1, maxDumps);
+    }
+
+    /**
+     * Starts the recording. Does nothing (and reports inactive) when disabled or when the runtime
+     * has no Flight Recorder.
+     */
+    @PostConstruct
+    public synchronized void start() {
+        if (recording != null || !enabled) {
+            return;
+        }
+        if (!FlightRecorder.isAvailable()) {
+            logger.warn("framework.jfr.enabled is set but this JVM has no Flight Recorder; no rolling recording.");
+            return;
+        }
+        try {
+            Recording started = new Recording(configuration());
+            started.setName(RECORDING_NAME);
+            started.setToDisk(true);
+            started.setMaxAge(maxAge);
+            started.setMaxSize(maxSize.toBytes());
+            for (Class<? extends Event> event : EVENTS) {
+                FlightRecorder.register(event);
+                started.enable(event).withoutStackTrace();
+            }
+            started.start();
+            recording = started;
+            logger.info("Rolling JFR recording '{}' started ({} settings, last {} / {}).", RECORDING_NAME, settings, maxAge, maxSize);
+        } catch (IOException | ParseException | RuntimeException e) {
+            logger.warn("Could not start the rolling JFR recording.", e);
+        }
+    }
+
+    /**
+     * {@code framework.jfr.settings} is either the path of a {@code .jfc} file or the name of a
+     * configuration shipped with the JDK, such as {@code default} or {@code profile}.
+     */
+    private Configuration configuration() throws IOException, ParseException {
+        if (settings.endsWith(".jfc") || Files.isRegularFile(Path.of(settings))) {
+            return Configuration.create(Path.of(settings));
+        }
+        return Configuration.getConfiguration(settings);
+    }
+
+    public synchronized boolean isActive() {
+        return recording != null;
+    }
+
+    /**
+     * Writes what the recording currently holds to a new file in the dump directory, then deletes
+     * the oldest dumps beyond {@code framework.jfr.max-dumps}.
+     *
+     * @throws IllegalStateException if the recording is not running.
+     */
+    public synchronized Map<String, Object> dump() throws IOException {
+        if (recording == null) {
+            throw new IllegalStateException("The rolling JFR recording is not running (framework.jfr.enabled=" + enabled + ")");
+        }
+        Files.createDirectories(dumpDirectory);
+        Path file = dumpDirectory.resolve(RECORDING_NAME + "-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr").toAbsolutePath();
+        recording.dump(file);
+        logger.info("Dumped rolling JFR recording to {}.", file);
+        List<String> deleted = deleteOldDumps();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("file", file.toString());
+        result.put("bytes", Files.size(file));
+        result.put("maxAgeSeconds", maxAge.toSeconds());
+        result.put("settings", settings);
+        result.put("deleted", deleted);
+        return result;
+    }
+
+    private List<String> deleteOldDumps() throws IOException {
+        List<Path> dumps;
+        try (Stream<Path> files = Files.list(dumpDirectory)) {
+            // The timestamp in the file name sorts oldest first
+            dumps = files.filter(RollingRecording::isDump).sorted().toList();
+        }
+        List<String> deleted = new ArrayList<>();
+        for (Path old : dumps.subList(0, Math.max(0, dumps.size() - maxDumps))) {
+            if (Files.deleteIfExists(old)) {
+                deleted.add(old.toAbsolutePath().toString());
+            }
+        }
+        if (!deleted.isEmpty()) {
+            logger.info("Deleted {} old JFR dump(s), keeping the newest {}.", deleted.size(), maxDumps);
+        }
+        return deleted;
+    }
+
+    private static boolean isDump(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(RECORDING_NAME + "-") && name.endsWith(".jfr") && Files.isRegularFile(file);
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package io.zabbixplus.framework.core.metrics;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.zabbixplus.framework.core.concurrent.DatabaseExecutor;
+import io.zabbixplus.framework.core.config.VirtualThreadConfig;
+import io.zabbixplus.framework.core.plugin.PluginService;
+import io.zabbixplus.framework.core.web.BatchDispatcher;
+import io.zabbixplus.framework.core.web.DashboardAggregator;
+import io.zabbixplus.framework.plugin.Plugin;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Registers the metrics the core publishes about itself: JVM and GC ({@link JvmMetrics}), the
+ * platform thread pools ({@code executor_*}, tagged with {@code pool}: {@code http}, {@code async},
+ * {@code plugin}, {@code dashboard}, {@code batch}), the JDBC connection pool ({@code hikaricp_*})
+ * and the database executor, and the loaded plugins. Pools that run on virtual threads have no
+ * pool metrics. Request metrics per plugin are recorded by {@code RequestLoggingInterceptor}.
+ */
+@Component
+public class BuiltInMetrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(BuiltInMetrics.class);
+
+    private final PrometheusMetricsRegistry registry;
+    private final PluginService pluginService;
+    private final VirtualThreadConfig virtualThreadConfig;
+    private final DatabaseExecutor databaseExecutor;
+    private final DashboardAggregator dashboardAggregator;
+    private final BatchDispatcher batchDispatcher;
+    private final ObjectProvider<DataSource> dataSource;
+
+    @Autowired
+    public BuiltInMetrics(PrometheusMetricsRegistry registry, PluginService pluginService,
+                          VirtualThreadConfig virtualThreadConfig, DatabaseExecutor databaseExecutor,
+                          DashboardAggregator dashboardAggregator, BatchDispatcher batchDispatcher,
+                          ObjectProvider<DataSource> dataSource) {
+        this.registry = registry;
+        this.pluginService = pluginService;
+        this.virtualThreadConfig = virtualThreadConfig;
+        this.databaseExecutor = databaseExecutor;
+        this.dashboardAggregator = dashboardAggregator;
+        this.batchDispatcher = batchDispatcher;
+        this.dataSource = dataSource;
+    }
+
+    @PostConstruct
+    public void bind() {
+        JvmMetrics.bind(registry);
+
+        if (!virtualThreadConfig.isVirtual()) {
+            bindPool("async", virtualThreadConfig::getAsyncPool);
+            bindPool("plugin", virtualThreadConfig::getPluginPool);
+        }
+        bindPool("dashboard", dashboardAggregator.getExecutor());
+        bindPool("batch", batchDispatcher.getExecutor());
+
+        registry.gauge("zabbixplus_db_executor_active", "Database executor tasks holding a permit.",
+                databaseExecutor::getActiveCount);
+        registry.gauge("zabbixplus_db_executor_queued", "Database executor tasks waiting for a permit.",
+                databaseExecutor::getQueuedCount);
+        registry.gauge("zabbixplus_db_executor_max_concurrency", "Database executor permits.",
+                databaseExecutor::getMaxConcurrency);
+        bindConnectionPool();
+
+        registry.gauge("zabbixplus_plugins_loaded", "Plugins currently loaded.",
+                () -> pluginService.getLoadedPlugins().size());
+        for (Plugin plugin : pluginService.getLoadedPlugins().values()) {
+            registry.gauge("zabbixplus_plugin_info", "A loaded plugin, with its name and version; 0 once unloaded.",
+                    () -> pluginService.getLoadedPlugins().containsValue(plugin) ? 1 : 0,
+                    "plugin", plugin.getPluginId(), "name", plugin.getPluginName(), "version", plugin.getVersion());
+        }
+    }
+
+    /**
+     * Tomcat creates its worker pool when the connector starts, so it is bound once the server runs.
+     */
+    @EventListener
+    public void onWebServerInitialized(WebServerInitializedEvent event) {
+        if (!(event.getWebServer() instanceof TomcatWebServer tomcat)) {
+            return;
+        }
+        Executor executor = tomcat.getTomcat().getConnector().getProtocolHandler().getExecutor();
+        if (executor instanceof org.apache.tomcat.util.threads.ThreadPoolExecutor pool) {
+            bindPool("http", pool::getPoolSize, pool::getMaximumPoolSize, pool::getActiveCount,
+                    () -> pool.getQueue().size(), pool::getCompletedTaskCount);
+        } else if (executor instanceof ThreadPoolExecutor pool) {
+            bindPool("http", () -> pool);
+        }
+    }
+
+    private void bindPool(String pool, ExecutorService executor) {
+        if (executor instanceof ThreadPoolExecutor threadPool) {
+            bindPool(pool, () -> threadPool);
+        }
+    }
+
+    /**
+     * Binds a pool that may not exist yet; until it does, it reports zero threads.
+     */
+    private void bindPool(String pool, Supplier<ThreadPoolExecutor> executor) {
+        bindPool(pool,
+                () -> read(executor.get(), ThreadPoolExecutor::getPoolSize),
+                () -> read(executor.get(), ThreadPoolExecutor::getMaximumPoolSize),
+                () -> read(executor.get(), ThreadPoolExecutor::getActiveCount),
+                () -> read(executor.get(), threadPool -> threadPool.getQueue().size()),
+                () -> read(executor.get(), ThreadPoolExecutor::getCompletedTaskCount));
+    }
+
+    private void bindPool(String pool, DoubleSupplier size, DoubleSupplier max, DoubleSupplier active,
+                          DoubleSupplier queued, DoubleSupplier completed) {
+        registry.gauge("executor_pool_size_threads", "Threads currently in the pool.", size, "pool", pool);
+        registry.gauge("executor_pool_max_threads", "Maximum threads of the pool.", max, "pool", pool);
+        registry.gauge("executor_active_threads", "Threads of the pool running a task.", active, "pool", pool);
+        registry.gauge("executor_queued_tasks", "Tasks waiting for a thread of the pool.", queued, "pool", pool);
+        registry.counter("executor_completed_tasks_total", "Tasks the pool has completed.", completed, "pool", pool);
+    }
+
+    private static double read(ThreadPoolExecutor executor, ToLongFunction<ThreadPoolExecutor> value) {
+        return executor != null ? value.applyAsLong(executor) : 0;
+    }
+
+    private void bindConnectionPool() {
+        DataSource source = dataSource.getIfAvailable();
+        HikariDataSource hikari;
+        try {
+            if (source == null || !source.isWrapperFor(HikariDataSource.class)) {
+                return;
+            }
+            hikari = source.unwrap(HikariDataSource.class);
+        } catch (SQLException e) {
+            logger.debug("Could not unwrap the data source; no connection pool metrics.", e);
+            return;
+        }
+        String pool = hikari.getPoolName() != null ? hikari.getPoolName() : "default";
+        registry.gauge("hikaricp_connections_active", "Connections in use.",
+                () -> read(hikari, HikariPoolMXBean::getActiveConnections), "pool", pool);
+        registry.gauge("hikaricp_connections_idle", "Idle connections.",
+                () -> read(hikari, HikariPoolMXBean::getIdleConnections), "pool", pool);
+        registry.gauge("hikaricp_connections_pending", "Threads waiting for a connection.",
+                () -> read(hikari, HikariPoolMXBean::getThreadsAwaitingConnection), "pool", pool);
+        registry.gauge("hikaricp_connections", "Open connections, active and idle.",
+                () -> read(hikari, HikariPoolMXBean::getTotalConnections), "pool", pool);
+        registry.gauge("hikaricp_connections_max", "Maximum connections of the pool.",
+                hikari::getMaximumPoolSize, "pool", pool);
+    }
+
+    // The pool only exists after the first connection was requested
+    private static double read(HikariDataSource hikari, ToDoubleFunction<HikariPoolMXBean> value) {
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        return pool != null ? value.applyAsDouble(pool) : Double.NaN;
+    }
+}
@@ -0,0 +1,85 @@
+package io.zabbixplus.framework.core.metrics;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryUsage;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.RuntimeMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * JVM and process metrics read from the platform MXBeans at scrape time: heap and non-heap
+ * memory per pool, buffer pools, threads, loaded classes, collections and time per garbage
+ * collector, CPU time and uptime. Names follow the usual Prometheus JVM conventions.
+ */
+public final class JvmMetrics {
+
+    private JvmMetrics() {
+    }
+
+    public static void bind(PrometheusMetricsRegistry registry) {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        bindMemory(registry, "heap", memory::getHeapMemoryUsage);
+        bindMemory(registry, "nonheap", memory::getNonHeapMemoryUsage);
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            registry.gauge("jvm_memory_pool_used_bytes", "Used bytes of a JVM memory pool.",
+                    () -> usage(pool.getUsage(), MemoryUsage::getUsed), "pool", pool.getName());
+            registry.gauge("jvm_memory_pool_max_bytes", "Max bytes of a JVM memory pool.",
+                    () -> usage(pool.getUsage(), MemoryUsage::getMax), "pool", pool.getName());
+        }
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            registry.gauge("jvm_buffer_pool_used_bytes", "Bytes used by a JVM buffer pool (direct or mapped).",
+                    pool::getMemoryUsed, "pool", pool.getName());
+            registry.gauge("jvm_buffer_pool_capacity_bytes", "Total capacity of the buffers in a JVM buffer pool.",
+                    pool::getTotalCapacity, "pool", pool.getName());
+        }
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        registry.gauge("jvm_threads_live", "Live platform threads, daemon and non-daemon.", threads::getThreadCount);
+        registry.gauge("jvm_threads_daemon", "Live daemon platform threads.", threads::getDaemonThreadCount);
+        registry.gauge("jvm_threads_peak", "Peak live platform threads since JVM start.", threads::getPeakThreadCount);
+
+        ClassLoadingMXBean classes = ManagementFactory.getClassLoadingMXBean();
+        registry.gauge("jvm_classes_loaded", "Classes currently loaded.", classes::getLoadedClassCount);
+
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            registry.counter("jvm_gc_collections_total", "Collections run by a garbage collector.",
+                    () -> Math.max(gc.getCollectionCount(), 0), "gc", gc.getName());
+            registry.counter("jvm_gc_collection_seconds_total", "Time spent in a garbage collector.",
+                    () -> Math.max(gc.getCollectionTime(), 0) / 1e3, "gc", gc.getName());
+        }
+
+        RuntimeMXBean runtime = ManagementFactory.getRuntimeMXBean();
+        registry.gauge("process_start_time_seconds", "Start time of the process since the Unix epoch.",
+                () -> runtime.getStartTime() / 1e3);
+        registry.gauge("process_uptime_seconds", "Uptime of the JVM.", () -> runtime.getUptime() / 1e3);
+
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        registry.gauge("system_cpu_count", "Processors available to the JVM.", os::getAvailableProcessors);
+        registry.gauge("system_load_average_1m", "System load average over the last minute, negative if unavailable.",
+                os::getSystemLoadAverage);
+        if (os instanceof com.sun.management.OperatingSystemMXBean hotspot) {
+            registry.counter("process_cpu_seconds_total", "CPU time used by the process.",
+                    () -> hotspot.getProcessCpuTime() / 1e9);
+        }
+    }
+
+    private static void bindMemory(PrometheusMetricsRegistry registry, String area, Supplier<MemoryUsage> usage) {
+        registry.gauge("jvm_memory_used_bytes", "Used bytes of a JVM memory area.",
+                () -> usage(usage.get(), MemoryUsage::getUsed), "area", area);
+        registry.gauge("jvm_memory_committed_bytes", "Committed bytes of a JVM memory area.",
+                () -> usage(usage.get(), MemoryUsage::getCommitted), "area", area);
+        registry.gauge("jvm_memory_max_bytes", "Max bytes of a JVM memory area, -1 if undefined.",
+                () -> usage(usage.get(), MemoryUsage::getMax), "area", area);
+    }
+
+    private static double usage(MemoryUsage usage, ToLongFunction<MemoryUsage> value) {
+        return usage != null ? value.applyAsLong(usage) : Double.NaN;
+    }
+}
@@ -0,0 +1,512 @@
+package io.zabbixplus.framework.core.metrics;
+
+import io.zabbixplus.framework.plugin.metrics.Counter;
+import io.zabbixplus.framework.plugin.metrics.Gauge;
+import io.zabbixplus.framework.plugin.metrics.Histogram;
+import io.zabbixplus.framework.plugin.metrics.MetricsRegistry;
+import io.zabbixplus.framework.plugin.metrics.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * The core's {@link MetricsRegistry}, rendered in Prometheus text format (version 0.0.4) by
+ * {@link #scrape()} for {@code GET /api/metrics}.
+ * <p>
+ * Updates never lock: counters and histogram buckets are striped {@link LongAdder}/{@link DoubleAdder}
+ * cells, timers are {@link LatencyHistogram}s, and gauges are a single atomic or a callback. Lookups
+ * by name and tags go through concurrent maps, so hot paths should keep the returned meter.
+ * Plugins get a view from {@link #withTags} that adds their {@code plugin} tag; {@link #remove}
+ * drops what was registered through it once the plugin is unloaded.
+ * <p>
+ * Timer quantiles describe recent latency, the last one to two minutes, so a regression shows up
+ * in them instead of being diluted by everything since startup; {@code _sum} and {@code _count}
+ * stay cumulative, as Prometheus expects.
+ */
+@Component
+public class PrometheusMetricsRegistry implements MetricsRegistry {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final Pattern NAME = Pattern.compile("[a-zA-Z_:][a-zA-Z0-9_:]*");
+    private static final Pattern LABEL_NAME = Pattern.compile("[a-zA-Z_][a-zA-Z0-9_]*");
+    private static final Set<String> RESERVED_LABELS = Set.of("le", "quantile");
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+    private enum Type {
+        COUNTER, GAUGE, SUMMARY, HISTOGRAM;
+
+        String exposition() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final Map<String, Family> families = new ConcurrentHashMap<>();
+    private final LongSupplier nanoClock;
+
+    public PrometheusMetricsRegistry() {
+        this(System::nanoTime);
+    }
+
+    PrometheusMetricsRegistry(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public Counter counter(String name, String help, String... tags) {
+        return register(name, help, Type.COUNTER, null, tags, StripedCounter.class, StripedCounter::new);
+    }
+
+    /**
+     * A counter read from {@code value} at each scrape, for totals kept elsewhere (e.g. GC counts).
+     */
+    public void counter(String name, String help, DoubleSupplier value, String... tags) {
+        register(name, help, Type.COUNTER, null, tags, CallbackMetric.class, () -> new CallbackMetric(value));
+    }
+
+    @Override
+    public Gauge gauge(String name, String help, String... tags) {
+        return register(name, help, Type.GAUGE, null, tags, AtomicGauge.class, AtomicGauge::new);
+    }
+
+    @Override
+    public void gauge(String name, String help, DoubleSupplier value, String... tags) {
+        register(name, help, Type.GAUGE, null, tags, CallbackMetric.class, () -> new CallbackMetric(value));
+    }
+
+    @Override
+    public Timer timer(String name, String help, String... tags) {
+        return register(name, help, Type.SUMMARY, null, tags, LatencyTimer.class, () -> new LatencyTimer(nanoClock));
+    }
+
+    @Override
+    public Histogram histogram(String name, String help, double[] buckets, String... tags) {
+        double[] bounds = validateBuckets(buckets);
+        return register(name, help, Type.HISTOGRAM, bounds, tags, BucketHistogram.class, () -> new BucketHistogram(bounds));
+    }
+
+    /**
+     * A view of this registry that adds {@code tags} to everything registered through it. Its own
+     * callers may not set those tag keys again.
+     */
+    public MetricsRegistry withTags(String... tags) {
+        normalize(tags);
+        return new TaggedRegistry(this, tags.clone());
+    }
+
+    /**
+     * Removes every meter registered through {@code view}, a registry returned by {@link #withTags}.
+     * Called when a plugin is unloaded, so its callbacks no longer pin the plugin's class loader.
+     */
+    public void remove(MetricsRegistry view) {
+        if (!(view instanceof TaggedRegistry tagged)) {
+            return;
+        }
+        for (Child child : tagged.registered) {
+            Family family = families.get(child.name());
+            if (family != null) {
+                family.children.remove(child.labels());
+            }
+        }
+        tagged.registered.clear();
+    }
+
+    /**
+     * All metrics in Prometheus text format, families sorted by name.
+     */
+    public String scrape() {
+        List<Family> sorted = new ArrayList<>(families.values());
+        sorted.sort(Comparator.comparing(family -> family.name));
+        StringBuilder out = new StringBuilder(16 * 1024);
+        for (Family family : sorted) {
+            List<Map.Entry<Labels, Sample>> children = new ArrayList<>(family.children.entrySet());
+            if (children.isEmpty()) {
+                continue;
+            }
+            children.sort(Comparator.comparing(child -> child.getKey().rendered()));
+            out.append("# HELP ").append(family.name).append(' ').append(escapeHelp(family.help)).append('\n');
+            out.append("# TYPE ").append(family.name).append(' ').append(family.type.exposition()).append('\n');
+            for (Map.Entry<Labels, Sample> child : children) {
+                child.getValue().write(out, family.name, child.getKey().rendered());
+            }
+        }
+        return out.toString();
+    }
+
+    private <M> M register(String name, String help, Type type, double[] buckets, String[] tags,
+                           Class<M> kind, Supplier<? extends Sample> factory) {
+        if (name == null || !NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid metric name: " + name);
+        }
+        Labels labels = normalize(tags);
+        Family family = families.computeIfAbsent(name, key -> new Family(key, help, type, buckets));
+        if (family.type != type || !Arrays.equals(family.buckets, buckets)) {
+            throw new IllegalArgumentException("Metric " + name + " is already registered as a " + family.type.exposition()
+                    + (family.buckets != null ? " with buckets " + Arrays.toString(family.buckets) : ""));
+        }
+        Sample sample = family.children.computeIfAbsent(labels, key -> factory.get());
+        if (!kind.isInstance(sample)) {
+            throw new IllegalArgumentException("Metric " + name + labels.rendered() + " is already registered with a "
+                    + (sample instanceof CallbackMetric ? "callback" : "settable value"));
+        }
+        return kind.cast(sample);
+    }
+
+    /**
+     * Validates alternating tag keys and values and renders them sorted by key.
+     */
+    private static Labels normalize(String[] tags) {
+        if (tags == null || tags.length == 0) {
+            return Labels.NONE;
+        }
+        if (tags.length % 2 != 0) {
+            throw new IllegalArgumentException("Tags must be key/value pairs: " + Arrays.toString(tags));
+        }
+        String[][] pairs = new String[tags.length / 2][];
+        for (int i = 0; i < pairs.length; i++) {
+            String key = tags[2 * i];
+            String value = tags[2 * i + 1];
+            if (key == null || !LABEL_NAME.matcher(key).matches() || key.startsWith("__") || RESERVED_LABELS.contains(key)) {
+                throw new IllegalArgumentException("Invalid tag name: " + key);
+            }
+            pairs[i] = new String[]{key, value != null ? value : ""};
+        }
+        Arrays.sort(pairs, Comparator.comparing(pair -> pair[0]));
+        StringBuilder rendered = new StringBuilder();
+        for (int i = 0; i < pairs.length; i++) {
+            if (i > 0) {
+                if (pairs[i][0].equals(pairs[i - 1][0])) {
+                    throw new IllegalArgumentException("Duplicate tag: " + pairs[i][0]);
+                }
+                rendered.append(',');
+            }
+            rendered.append(pairs[i][0]).append("=\"").append(escapeLabelValue(pairs[i][1])).append('"');
+        }
+        return new Labels(rendered.toString());
+    }
+
+    private static double[] validateBuckets(double[] buckets) {
+        if (buckets == null || buckets.length == 0) {
+            throw new IllegalArgumentException("A histogram needs at least one bucket");
+        }
+        double[] bounds = buckets.clone();
+        for (int i = 0; i < bounds.length; i++) {
+            if (!Double.isFinite(bounds[i]) || (i > 0 && bounds[i] <= bounds[i - 1])) {
+                throw new IllegalArgumentException("Buckets must be finite and strictly increasing: " + Arrays.toString(buckets));
+            }
+        }
+        return bounds;
+    }
+
+    private static void line(StringBuilder out, String name, String labels, String extraLabel, double value) {
+        out.append(name);
+        if (!labels.isEmpty() || extraLabel != null) {
+            out.append('{').append(labels);
+            if (extraLabel != null) {
+                out.append(labels.isEmpty() ? "" : ",").append(extraLabel);
+            }
+            out.append('}');
+        }
+        out.append(' ').append(format(value)).append('\n');
+    }
+
+    static String format(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+
+    private static String escapeHelp(String help) {
+        return help == null ? "" : help.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+
+    private static String escapeLabelValue(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private record Labels(String rendered) {
+        static final Labels NONE = new Labels("");
+    }
+
+    private record Child(String name, Labels labels) {
+    }
+
+    private static final class Family {
+        final String name;
+        final String help;
+        final Type type;
+        final double[] buckets;
+        final Map<Labels, Sample> children = new ConcurrentHashMap<>();
+
+        Family(String name, String help, Type type, double[] buckets) {
+            this.name = name;
+            this.help = help;
+            this.type = type;
+            this.buckets = buckets;
+        }
+    }
+
+    /**
+     * One labelled child of a family, writing its own sample lines.
+     */
+    private interface Sample {
+        void write(StringBuilder out, String name, String labels);
+    }
+
+    private static final class StripedCounter implements Counter, Sample {
+        private final DoubleAdder count = new DoubleAdder();
+
+        @Override
+        public void increment() {
+            count.add(1);
+        }
+
+        @Override
+        public void increment(double amount) {
+            if (amount > 0) {
+                count.add(amount);
+            }
+        }
+
+        @Override
+        public double count() {
+            return count.sum();
+        }
+
+        @Override
+        public void write(StringBuilder out, String name, String labels) {
+            line(out, name, labels, null, count.sum());
+        }
+    }
+
+    private static final class AtomicGauge implements Gauge, Sample {
+        private final AtomicLong bits = new AtomicLong(Double.doubleToRawLongBits(0));
+
+        @Override
+        public void set(double value) {
+            bits.set(Double.doubleToRawLongBits(value));
+        }
+
+        @Override
+        public double value() {
+            return Double.longBitsToDouble(bits.get());
+        }
+
+        @Override
+        public void write(StringBuilder out, String name, String labels) {
+            line(out, name, labels, null, value());
+        }
+    }
+
+    private static final class CallbackMetric implements Sample {
+        private final DoubleSupplier value;
+
+        CallbackMetric(DoubleSupplier value) {
+            this.value = value;
+        }
+
+        @Override
+        public void write(StringBuilder out, String name, String labels) {
+            double current;
+            try {
+                current = value.getAsDouble();
+            } catch (RuntimeException e) {
+                current = Double.NaN;
+            }
+            line(out, name, labels, null, current);
+        }
+    }
+
+    private static final class LatencyTimer implements Timer, Sample {
+        private static final long ROTATION_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+        private final LongSupplier nanoClock;
+        private final LatencyHistogram total = new LatencyHistogram();
+        private final AtomicReference<Window> window;
+
+        LatencyTimer(LongSupplier nanoClock) {
+            this.nanoClock = nanoClock;
+            this.window = new AtomicReference<>(new Window(new LatencyHistogram(), new LatencyHistogram(),
+                    nanoClock.getAsLong() + ROTATION_NANOS));
+        }
+
+        @Override
+        public void record(long amount, TimeUnit unit) {
+            long nanos = unit.toNanos(amount);
+            Window current = currentWindow();
+            current.older().record(nanos);
+            current.newer().record(nanos);
+            total.record(nanos);
+        }
+
+        /**
+         * Every sample goes into both histograms of the window; each rotation drops the older one and
+         * starts a new one, so the older always holds between one and two rotations of samples.
+         */
+        private Window currentWindow() {
+            Window current = window.get();
+            long now = nanoClock.getAsLong();
+            if (now - current.rotateAtNanos() < 0) {
+                return current;
+            }
+            // After a whole rotation without samples, the newer histogram is out of date too
+            Window next = now - current.rotateAtNanos() < ROTATION_NANOS
+                    ? new Window(current.newer(), new LatencyHistogram(), current.rotateAtNanos() + ROTATION_NANOS)
+                    : new Window(new LatencyHistogram(), new LatencyHistogram(), now + ROTATION_NANOS);
+            // Losing the race means another thread rotated; its window is just as current
+            return window.compareAndSet(current, next) ? next : window.get();
+        }
+
+        @Override
+        public long count() {
+            return total.getCount();
+        }
+
+        @Override
+        public void write(StringBuilder out, String name, String labels) {
+            LatencyHistogram recent = currentWindow().older();
+            boolean empty = recent.getCount() == 0;
+            for (double quantile : QUANTILES) {
+                double seconds = empty ? Double.NaN : recent.getValueAtPercentile(quantile * 100) / 1e9;
+                line(out, name, labels, "quantile=\"" + quantile + "\"", seconds);
+            }
+            line(out, name + "_sum", labels, null, total.getTotalNanos() / 1e9);
+            line(out, name + "_count", labels, null, total.getCount());
+        }
+
+        private record Window(LatencyHistogram older, LatencyHistogram newer, long rotateAtNanos) {
+        }
+    }
+
+    private static final class BucketHistogram implements Histogram, Sample {
+        private final double[] bounds;
+        // One cell per bound plus +Inf; cumulated only when scraped
+        private final LongAdder[] counts;
+        private final DoubleAdder sum = new DoubleAdder();
+
+        BucketHistogram(double[] bounds) {
+            this.bounds = bounds;
+            this.counts = new LongAdder[bounds.length + 1];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = new LongAdder();
+            }
+        }
+
+        @Override
+        public void observe(double value) {
+            if (Double.isNaN(value)) {
+                return;
+            }
+            int index = Arrays.binarySearch(bounds, value);
+            counts[index >= 0 ? index : -index - 1].increment();
+            sum.add(value);
+        }
+
+        @Override
+        public long count() {
+            long count = 0;
+            for (LongAdder cell : counts) {
+                count += cell.sum();
+            }
+            return count;
+        }
+
+        @Override
+        public void write(StringBuilder out, String name, String labels) {
+            long cumulative = 0;
+            for (int i = 0; i < counts.length; i++) {
+                cumulative += counts[i].sum();
+                String le = i < bounds.length ? format(bounds[i]) : "+Inf";
+                line(out, name + "_bucket", labels, "le=\"" + le + "\"", cumulative);
+            }
+            line(out, name + "_sum", labels, null, sum.sum());
+            line(out, name + "_count", labels, null, cumulative);
+        }
+    }
+
+    /**
+     * Adds fixed tags to every registration, e.g. {@code plugin=<id>} for the registry handed to a plugin,
+     * and remembers what was registered so that {@link #remove} can drop it again.
+     */
+    private static final class TaggedRegistry implements MetricsRegistry {
+        private final PrometheusMetricsRegistry registry;
+        private final String[] fixedTags;
+        private final Set<Child> registered = ConcurrentHashMap.newKeySet();
+
+        TaggedRegistry(PrometheusMetricsRegistry registry, String[] fixedTags) {
+            this.registry = registry;
+            this.fixedTags = fixedTags;
+        }
+
+        private String[] tags(String[] tags) {
+            if (tags == null || tags.length == 0) {
+                return fixedTags;
+            }
+            String[] combined = Arrays.copyOf(fixedTags, fixedTags.length + tags.length);
+            System.arraycopy(tags, 0, combined, fixedTags.length, tags.length);
+            return combined;
+        }
+
+        /**
+         * Records a successful registration; registration is not a hot path, so normalizing twice is fine.
+         */
+        private <M> M track(String name, String[] tags, M meter) {
+            registered.add(new Child(name, normalize(tags)));
+            return meter;
+        }
+
+        @Override
+        public Counter counter(String name, String help, String... tags) {
+            String[] all = tags(tags);
+            return track(name, all, registry.counter(name, help, all));
+        }
+
+        @Override
+        public Gauge gauge(String name, String help, String... tags) {
+            String[] all = tags(tags);
+            return track(name, all, registry.gauge(name, help, all));
+        }
+
+        @Override
+        public void gauge(String name, String help, DoubleSupplier value, String... tags) {
+            String[] all = tags(tags);
+            registry.gauge(name, help, value, all);
+            track(name, all, value);
+        }
+
+        @Override
+        public Timer timer(String name, String help, String... tags) {
+            String[] all = tags(tags);
+            return track(name, all, registry.timer(name, help, all));
+        }
+
+        @Override
+        public Histogram histogram(String name, String help, double[] buckets, String... tags) {
+            String[] all = tags(tags);
+            return track(name, all, registry.histogram(name, help, buckets, all));
+        }
+    }
+}
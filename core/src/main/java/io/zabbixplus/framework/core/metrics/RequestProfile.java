@@ -0,0 +1,100 @@
+package io.zabbixplus.framework.core.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Timing of the request being handled on the current thread: when it started and how much of it
+ * was spent in the database. Created by {@code RequestLoggingInterceptor}; database calls are
+ * attributed through {@link #timeDb(Supplier)}, also from worker threads that
+ * {@link #runAs(RequestProfile, Runnable) run on behalf of} the request.
+ */
+public final class RequestProfile {
+
+    private static final ThreadLocal<RequestProfile> CURRENT = new ThreadLocal<>();
+
+    private final Thread thread;
+    private final long startNanos;
+    private final AtomicLong dbNanos = new AtomicLong();
+    private final AtomicLong dbCalls = new AtomicLong();
+    private volatile StackTraceElement[] sampledStack;
+
+    public RequestProfile(Thread thread, long startNanos) {
+        this.thread = thread;
+        this.startNanos = startNanos;
+    }
+
+    public static RequestProfile current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Makes {@code profile} the current request of this thread; {@code null} clears it.
+     */
+    public static void bind(RequestProfile profile) {
+        if (profile == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(profile);
+        }
+    }
+
+    /**
+     * Runs the given database work and adds its duration to the current request, if any.
+     */
+    public static <T> T timeDb(Supplier<T> work) {
+        RequestProfile profile = CURRENT.get();
+        if (profile == null) {
+            return work.get();
+        }
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            profile.dbNanos.addAndGet(System.nanoTime() - start);
+            profile.dbCalls.incrementAndGet();
+        }
+    }
+
+    /**
+     * Runs the task with {@code profile} as the current request, so that database time spent on
+     * an executor thread is attributed to the request that submitted it.
+     */
+    public static void runAs(RequestProfile profile, Runnable task) {
+        if (profile == null) {
+            task.run();
+            return;
+        }
+        RequestProfile previous = CURRENT.get();
+        CURRENT.set(profile);
+        try {
+            task.run();
+        } finally {
+            bind(previous);
+        }
+    }
+
+    public Thread getThread() {
+        return thread;
+    }
+
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    public long getDbNanos() {
+        return dbNanos.get();
+    }
+
+    public long getDbCalls() {
+        return dbCalls.get();
+    }
+
+    public StackTraceElement[] getSampledStack() {
+        return sampledStack;
+    }
+
+    void setSampledStack(StackTraceElement[] sampledStack) {
+        this.sampledStack = sampledStack;
+    }
+}
@@ -0,0 +1,123 @@
+package io.zabbixplus.framework.core.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Request latency histograms keyed by HTTP method, route pattern (e.g. {@code /api/test/found/{id}},
+ * never the raw URL) and status code. The number of keys is capped; once full, new combinations
+ * are counted under the {@value #OVERFLOW} route.
+ */
+@Component
+public class RouteMetrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(RouteMetrics.class);
+
+    public static final String UNMATCHED = "UNMATCHED";
+    static final String OVERFLOW = "OTHER";
+
+    private final int maxRoutes;
+    private final Map<RouteKey, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final AtomicBoolean overflowLogged = new AtomicBoolean();
+
+    @Autowired
+    public RouteMetrics(@Value("${framework.metrics.max-routes:1000}") int maxRoutes) {
+        this.maxRoutes = maxRoutes;
+    }
+
+    public void record(String method, String route, int status, long nanos) {
+        RouteKey key = new RouteKey(method, route, status);
+        LatencyHistogram histogram = histograms.get(key);
+        if (histogram == null) {
+            if (histograms.size() >= maxRoutes) {
+                if (overflowLogged.compareAndSet(false, true)) {
+                    logger.warn("More than {} route/method/status combinations; further ones are counted as '{}'.", maxRoutes, OVERFLOW);
+                }
+                key = new RouteKey(method, OVERFLOW, status);
+            }
+            histogram = histograms.computeIfAbsent(key, k -> new LatencyHistogram());
+        }
+        histogram.record(nanos);
+    }
+
+    /**
+     * Count, mean, p50/p90/p99/p99.9 and max (milliseconds) per route, busiest first.
+     */
+    public List<Map<String, Object>> snapshot() {
+        List<Map.Entry<RouteKey, LatencyHistogram>> entries = new ArrayList<>(histograms.entrySet());
+        entries.sort(Comparator.comparingLong((Map.Entry<RouteKey, LatencyHistogram> e) -> e.getValue().getCount()).reversed());
+        List<Map<String, Object>> result = new ArrayList<>(entries.size());
+        for (Map.Entry<RouteKey, LatencyHistogram> entry : entries) {
+            LatencyHistogram histogram = entry.getValue();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("method", entry.getKey().method);
+            row.put("route", entry.getKey().route);
+            row.put("status", entry.getKey().status);
+            row.put("count", histogram.getCount());
+            row.put("meanMillis", toMillis(histogram.getMeanNanos()));
+            row.put("p50Millis", toMillis(histogram.getValueAtPercentile(50)));
+            row.put("p90Millis", toMillis(histogram.getValueAtPercentile(90)));
+            row.put("p99Millis", toMillis(histogram.getValueAtPercentile(99)));
+            row.put("p999Millis", toMillis(histogram.getValueAtPercentile(99.9)));
+            row.put("maxMillis", toMillis(histogram.getMaxNanos()));
+            result.add(row);
+        }
+        return result;
+    }
+
+    LatencyHistogram getHistogram(String method, String route, int status) {
+        return histograms.get(new RouteKey(method, route, status));
+    }
+
+    public void reset() {
+        histograms.clear();
+        overflowLogged.set(false);
+    }
+
+    private static double toMillis(double nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+
+    private static final class RouteKey {
+        final String method;
+        final String route;
+        final int status;
+        private final int hash;
+
+        RouteKey(String method, String route, int status) {
+            this.method = method;
+            this.route = route;
+            this.status = status;
+            this.hash = Objects.hash(method, route, status);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof RouteKey)) {
+                return false;
+            }
+            RouteKey other = (RouteKey) o;
+            return status == other.status && method.equals(other.method) && route.equals(other.route);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package io.zabbixplus.framework.core.metrics;
+
+import io.zabbixplus.framework.core.plugin.PluginService;
+import io.zabbixplus.framework.plugin.Plugin;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Flight recorder for slow requests: a fixed-size ring buffer holding the most recent requests
+ * that took longer than {@code framework.diagnostics.slow-requests.threshold}. Requests below the
+ * threshold cost one comparison; recording a slow one is a single slot write, so the buffer is
+ * lock-free and never grows.
+ * <p>
+ * With stack sampling enabled, in-flight requests are tracked and a background sampler captures
+ * the stack of any request still running past the threshold, showing where it was stuck.
+ */
+@Component
+public class SlowRequestRecorder {
+
+    static final int STACK_DEPTH = 32;
+
+    private final long thresholdNanos;
+    private final boolean stackSampling;
+    private final ObjectProvider<PluginService> pluginService;
+
+    private final AtomicReferenceArray<SlowRequest> ring;
+    private final AtomicLong cursor = new AtomicLong();
+    private final Set<RequestProfile> inFlight = ConcurrentHashMap.newKeySet();
+    private volatile PluginLoaders pluginLoaders;
+
+    @Autowired
+    public SlowRequestRecorder(@Value("${framework.diagnostics.slow-requests.threshold:500ms}") Duration threshold,
+                               @Value("${framework.diagnostics.slow-requests.capacity:128}") int capacity,
+                               @Value("${framework.diagnostics.slow-requests.stack-sampling:false}") boolean stackSampling,
+                               ObjectProvider<PluginService> pluginService) {
+        this.thresholdNanos = threshold.toNanos();
+        this.stackSampling = stackSampling;
+        this.pluginService = pluginService;
+        this.ring = new AtomicReferenceArray<>(capacity);
+    }
+
+    public void started(RequestProfile profile) {
+        if (stackSampling) {
+            inFlight.add(profile);
+        }
+    }
+
+    /**
+     * Records the request if it was slow. {@code handler} is used to find the plugin that served it.
+     */
+    public void completed(RequestProfile profile, String method, String route, String uri, int status,
+                          Object handler, long elapsedNanos) {
+        if (stackSampling) {
+            inFlight.remove(profile);
+        }
+        if (elapsedNanos < thresholdNanos) {
+            return;
+        }
+        SlowRequest entry = new SlowRequest(Instant.now(), method, route, uri, status, pluginOf(handler, route),
+                elapsedNanos, profile.getDbNanos(), profile.getDbCalls(), profile.getThread().getName(),
+                profile.getSampledStack());
+        ring.set((int) (cursor.getAndIncrement() % ring.length()), entry);
+    }
+
+    /**
+     * Captures the stack of each in-flight request that has been running longer than the threshold.
+     */
+    @Scheduled(fixedDelayString = "${framework.diagnostics.slow-requests.sample-interval:100}")
+    public void sampleStacks() {
+        if (!stackSampling || inFlight.isEmpty()) {
+            return;
+        }
+        long now = System.nanoTime();
+        for (RequestProfile profile : inFlight) {
+            if (profile.getSampledStack() == null && now - profile.getStartNanos() >= thresholdNanos) {
+                StackTraceElement[] stack = profile.getThread().getStackTrace();
+                profile.setSampledStack(Arrays.copyOf(stack, Math.min(stack.length, STACK_DEPTH)));
+            }
+        }
+    }
+
+    /**
+     * Recorded slow requests, slowest first.
+     */
+    public List<Map<String, Object>> snapshot() {
+        List<SlowRequest> entries = new ArrayList<>(ring.length());
+        for (int i = 0; i < ring.length(); i++) {
+            SlowRequest entry = ring.get(i);
+            if (entry != null) {
+                entries.add(entry);
+            }
+        }
+        entries.sort(Comparator.comparingLong((SlowRequest e) -> e.totalNanos).reversed());
+        List<Map<String, Object>> result = new ArrayList<>(entries.size());
+        for (SlowRequest entry : entries) {
+            result.add(entry.toMap());
+        }
+        return result;
+    }
+
+    public long getRecordedCount() {
+        return cursor.get();
+    }
+
+    public Duration getThreshold() {
+        return Duration.ofNanos(thresholdNanos);
+    }
+
+    /**
+     * Id of the plugin whose controller handled the request, or {@code null} for framework routes.
+     */
+    public String pluginOf(Object handler, String route) {
+        PluginService plugins = pluginService.getIfAvailable();
+        if (handler instanceof HandlerMethod && plugins != null) {
+            ClassLoader loader = ((HandlerMethod) handler).getBeanType().getClassLoader();
+            String pluginId = pluginLoaders(plugins).get(loader);
+            if (pluginId != null) {
+                return pluginId;
+            }
+        }
+        // Plugin APIs live under /api/plugins/<id>/ by convention
+        if (route != null && route.startsWith("/api/plugins/")) {
+            int end = route.indexOf('/', "/api/plugins/".length());
+            return end > 0 ? route.substring("/api/plugins/".length(), end) : null;
+        }
+        return null;
+    }
+
+    /**
+     * Plugin ids by class loader, rebuilt when the plugin set changes, so resolving the plugin of
+     * a request does not copy and scan the loaded plugins each time.
+     */
+    private Map<ClassLoader, String> pluginLoaders(PluginService plugins) {
+        long version = plugins.getPluginSetVersion();
+        PluginLoaders current = pluginLoaders;
+        if (current == null || current.version() != version) {
+            Map<ClassLoader, String> byLoader = new HashMap<>();
+            for (Plugin plugin : plugins.getLoadedPlugins().values()) {
+                byLoader.putIfAbsent(plugin.getClass().getClassLoader(), plugin.getPluginId());
+            }
+            current = new PluginLoaders(version, byLoader);
+            pluginLoaders = current;
+        }
+        return current.byLoader();
+    }
+
+    private record PluginLoaders(long version, Map<ClassLoader, String> byLoader) {
+    }
+
+    private static final class SlowRequest {
+        final Instant timestamp;
+        final String method;
+        final String route;
+        final String uri;
+        final int status;
+        final String plugin;
+        final long totalNanos;
+        final long dbNanos;
+        final long dbCalls;
+        final String thread;
+        final StackTraceElement[] stack;
+
+        SlowRequest(Instant timestamp, String method, String route, String uri, int status, String plugin,
+                    long totalNanos, long dbNanos, long dbCalls, String thread, StackTraceElement[] stack) {
+            this.timestamp = timestamp;
+            this.method = method;
+            this.route = route;
+            this.uri = uri;
+            this.status = status;
+            this.plugin = plugin;
+            this.totalNanos = totalNanos;
+            this.dbNanos = dbNanos;
+            this.dbCalls = dbCalls;
+            this.thread = thread;
+            this.stack = stack;
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("timestamp", timestamp.toString());
+            map.put("method", method);
+            map.put("route", route);
+            map.put("uri", uri);
+            map.put("status", status);
+            map.put("plugin", plugin);
+            map.put("totalMillis", totalNanos / 1_000_000.0);
+            map.put("dbMillis", dbNanos / 1_000_000.0);
+            map.put("dbCalls", dbCalls);
+            map.put("thread", thread);
+            if (stack != null) {
+                List<String> frames = new ArrayList<>(stack.length);
+                for (StackTraceElement frame : stack) {
+                    frames.add(frame.toString());
+                }
+                map.put("stack", frames);
+            }
+            return map;
+        }
+    }
+}
@@ -1,11 +1,16 @@
 package io.zabbixplus.framework.core.plugin; // Updated package
 
+import io.zabbixplus.framework.core.jfr.PluginLifecycleEvent;
+import io.zabbixplus.framework.core.startup.StartupReport;
 import io.zabbixplus.framework.plugin.Plugin; // Updated import from plugin-api
 import io.zabbixplus.framework.plugin.PluginContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.stereotype.Service;
 import org.yaml.snakeyaml.Yaml;
 
@@ -18,9 +23,11 @@ import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.ServiceLoader;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.Map;
 
 @Service
@@ -28,17 +35,33 @@ public class PluginService {
     private static final Logger logger = LoggerFactory.getLogger(PluginService.class);
     private final Map<String, Plugin> loadedPlugins = new ConcurrentHashMap<>();
     private final List<URLClassLoader> pluginClassLoaders = new ArrayList<>();
+    // Bumped whenever the set of loaded plugins changes, so derived data (e.g. UI metadata) can be cached
+    private final AtomicLong pluginSetVersion = new AtomicLong();
     private final ApplicationContext applicationContext;
+    // Records plugin scan and per-plugin load/init times for StartupReport
+    private final ApplicationStartup applicationStartup;
 
     @Value("${framework.plugin.directory:./plugins}")
     private String pluginDirectoryPath;
 
     public PluginService(ApplicationContext applicationContext) {
         this.applicationContext = applicationContext;
+        this.applicationStartup = applicationContext instanceof ConfigurableApplicationContext configurable
+                ? configurable.getApplicationStartup() : ApplicationStartup.DEFAULT;
     }
 
     @PostConstruct
     public void loadPlugins() {
+        StartupStep step = applicationStartup.start(StartupReport.PLUGINS_STEP).tag("directory", pluginDirectoryPath);
+        try {
+            loadPluginsFromDirectory();
+        } finally {
+            step.tag("loaded", String.valueOf(loadedPlugins.size()));
+            step.end();
+        }
+    }
+
+    private void loadPluginsFromDirectory() {
         File pluginDir = new File(pluginDirectoryPath);
         if (!pluginDir.exists() || !pluginDir.isDirectory()) {
             logger.warn("Plugin directory '{}' does not exist or is not a directory. Creating it.", pluginDirectoryPath);
@@ -68,18 +91,25 @@ public class PluginService {
                         logger.warn("Plugin with name '{}' already loaded. Skipping duplicate from {}.", plugin.getPluginName(), pluginFile.getName());
                         continue;
                     }
-                    plugin.load(); // Existing load call
+                    String source = pluginFile.getName();
+                    runPhase(PluginLifecycleEvent.LOAD, plugin, source, plugin::load);
 
                     // Attempt to load plugin-specific configuration
                     Map<String, Object> pluginConfig = loadPluginConfiguration(pluginClassLoader);
 
-                    // Create PluginContext
-                    PluginContext pluginContext = new PluginContext(applicationContext, pluginConfig);
+                    // Create PluginContext with the framework services exposed to plugins
+                    PluginContext pluginContext = new PluginContext(applicationContext, pluginConfig, resolvePluginServices(plugin));
 
                     // Initialize plugin with context
-                    plugin.init(pluginContext);
+                    try {
+                        runPhase(PluginLifecycleEvent.INIT, plugin, source, () -> plugin.init(pluginContext));
+                    } catch (RuntimeException e) {
+                        releasePluginServices(plugin);
+                        throw e;
+                    }
 
                     loadedPlugins.put(plugin.getPluginName(), plugin);
+                    pluginSetVersion.incrementAndGet();
                     logger.info("Successfully loaded and initialized plugin: {} - {}", plugin.getPluginName(), plugin.getDescription());
                 }
             } catch (Exception e) {
@@ -88,6 +118,61 @@ public class PluginService {
         }
     }
 
+    /**
+     * Runs one lifecycle call of a plugin, recorded as a {@link PluginLifecycleEvent} and as a
+     * startup step.
+     */
+    private void runPhase(String phase, Plugin plugin, String source, Runnable call) {
+        StartupStep step = applicationStartup.start(StartupReport.PLUGIN_STEP_PREFIX + phase).tag("plugin", plugin.getPluginId());
+        if (source != null) {
+            step.tag("source", source);
+        }
+        PluginLifecycleEvent event = PluginLifecycleEvent.start(phase, plugin, source);
+        boolean succeeded = false;
+        try {
+            call.run();
+            succeeded = true;
+        } finally {
+            event.finish(succeeded);
+            step.tag("succeeded", String.valueOf(succeeded));
+            step.end();
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    private Map<Class<?>, Object> resolvePluginServices(Plugin plugin) {
+        Map<Class<?>, Object> services = new HashMap<>();
+        Map<String, PluginServiceProvider> providers = applicationContext.getBeansOfType(PluginServiceProvider.class);
+        if (providers == null) {
+            return services;
+        }
+        for (PluginServiceProvider<?> provider : providers.values()) {
+            Object service = provider.getService(plugin);
+            if (service != null) {
+                services.put(provider.getServiceType(), service);
+            }
+        }
+        return services;
+    }
+
+    /**
+     * Lets every {@link PluginServiceProvider} drop what it created for the plugin, e.g. its metrics.
+     */
+    @SuppressWarnings("rawtypes")
+    private void releasePluginServices(Plugin plugin) {
+        Map<String, PluginServiceProvider> providers = applicationContext.getBeansOfType(PluginServiceProvider.class);
+        if (providers == null) {
+            return;
+        }
+        for (PluginServiceProvider<?> provider : providers.values()) {
+            try {
+                provider.release(plugin);
+            } catch (RuntimeException e) {
+                logger.warn("Failed to release {} of plugin {}", provider.getServiceType().getSimpleName(), plugin.getPluginId(), e);
+            }
+        }
+    }
+
     private Map<String, Object> loadPluginConfiguration(URLClassLoader pluginClassLoader) {
         Yaml yaml = new Yaml();
         InputStream configStream = pluginClassLoader.getResourceAsStream("config.yml");
@@ -117,6 +202,10 @@ public class PluginService {
         return loadedPlugins.get(name);
     }
 
+    public long getPluginSetVersion() {
+        return pluginSetVersion.get();
+    }
+
     public String getPluginDirectoryPath() {
         return pluginDirectoryPath;
     }
@@ -126,13 +215,15 @@ public class PluginService {
         logger.info("Unloading all plugins...");
         loadedPlugins.forEach((name, plugin) -> {
             try {
-                plugin.unload();
+                runPhase(PluginLifecycleEvent.UNLOAD, plugin, null, plugin::unload);
                 logger.info("Unloaded plugin: {}", name);
             } catch (Exception e) {
                 logger.error("Error unloading plugin: " + name, e);
             }
+            releasePluginServices(plugin);
         });
         loadedPlugins.clear();
+        pluginSetVersion.incrementAndGet();
         for (URLClassLoader classLoader : pluginClassLoaders) {
             try {
                 classLoader.close();
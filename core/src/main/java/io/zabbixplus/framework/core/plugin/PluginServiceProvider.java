@@ -0,0 +1,44 @@
+package io.zabbixplus.framework.core.plugin;
+
+import io.zabbixplus.framework.plugin.Plugin;
+
+/**
+ * Supplies a framework service to plugins through {@link io.zabbixplus.framework.plugin.PluginContext#getService(Class)}.
+ * Any Spring bean of this type is picked up by {@link PluginService} when a plugin is initialized.
+ *
+ * @param <T> The service interface, defined in the plugin-api module.
+ */
+public interface PluginServiceProvider<T> {
+
+    Class<T> getServiceType();
+
+    /**
+     * Returns the service instance handed to the given plugin. Implementations may return a shared
+     * instance or a plugin-specific view (e.g. one that tags everything with the plugin id).
+     */
+    T getService(Plugin plugin);
+
+    /**
+     * Called after the plugin has been unloaded, to drop anything {@link #getService} created or
+     * registered for it. Does nothing by default.
+     */
+    default void release(Plugin plugin) {
+    }
+
+    /**
+     * Creates a provider that hands the same instance to every plugin.
+     */
+    static <T> PluginServiceProvider<T> shared(Class<T> serviceType, T service) {
+        return new PluginServiceProvider<>() {
+            @Override
+            public Class<T> getServiceType() {
+                return serviceType;
+            }
+
+            @Override
+            public T getService(Plugin plugin) {
+                return service;
+            }
+        };
+    }
+}
@@ -0,0 +1,96 @@
+package io.zabbixplus.framework.core.rules;
+
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * A condition evaluated by the {@link RuleEngine} on every sample of the series matching
+ * {@code seriesPattern}, a glob over series keys ({@code *} and {@code ?}, e.g.
+ * {@code "web*:system.cpu.load*"}). The expression is compiled here, once, so an invalid rule
+ * fails on construction rather than on its first sample.
+ * <p>
+ * A series enters the problem state when {@code expression} becomes true and leaves it when
+ * {@code recoveryExpression} becomes true, or, without one, when {@code expression} becomes false.
+ * For example {@code new AlertRule("cpu-high", "*:system.cpu.util", "avg(10) > 90", "avg(10) < 70")}.
+ * See {@link RuleExpression} for the syntax.
+ */
+public final class AlertRule {
+
+    private final String id;
+    private final String seriesPattern;
+    private final String expression;
+    private final String recoveryExpression;
+    private final Pattern seriesRegex;
+    private final RuleExpression problem;
+    private final RuleExpression recovery;
+
+    public AlertRule(String id, String seriesPattern, String expression) {
+        this(id, seriesPattern, expression, null);
+    }
+
+    /**
+     * @throws IllegalArgumentException if an expression does not parse.
+     */
+    public AlertRule(String id, String seriesPattern, String expression, String recoveryExpression) {
+        this.id = Objects.requireNonNull(id, "id");
+        this.seriesPattern = Objects.requireNonNull(seriesPattern, "seriesPattern");
+        this.expression = Objects.requireNonNull(expression, "expression");
+        this.recoveryExpression = recoveryExpression;
+        this.seriesRegex = globToRegex(seriesPattern);
+        this.problem = RuleExpression.compile(expression);
+        this.recovery = recoveryExpression != null ? RuleExpression.compile(recoveryExpression) : null;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getSeriesPattern() {
+        return seriesPattern;
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    public String getRecoveryExpression() {
+        return recoveryExpression;
+    }
+
+    boolean matches(String seriesKey) {
+        return seriesRegex.matcher(seriesKey).matches();
+    }
+
+    RuleExpression getProblem() {
+        return problem;
+    }
+
+    RuleExpression getRecovery() {
+        return recovery;
+    }
+
+    private static Pattern globToRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        StringBuilder literal = new StringBuilder();
+        for (char c : glob.toCharArray()) {
+            if (c == '*' || c == '?') {
+                if (literal.length() > 0) {
+                    regex.append(Pattern.quote(literal.toString()));
+                    literal.setLength(0);
+                }
+                regex.append(c == '*' ? ".*" : ".");
+            } else {
+                literal.append(c);
+            }
+        }
+        if (literal.length() > 0) {
+            regex.append(Pattern.quote(literal.toString()));
+        }
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+
+    @Override
+    public String toString() {
+        return id + " [" + seriesPattern + ": " + expression + "]";
+    }
+}
@@ -0,0 +1,452 @@
+package io.zabbixplus.framework.core.rules;
+
+import io.zabbixplus.framework.core.concurrent.VirtualThreads;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Evaluates {@link AlertRule}s incrementally as samples arrive, instead of plugins re-querying
+ * history on a timer. Every sample appended to the time-series store is submitted here.
+ * <p>
+ * Series are spread over {@code framework.rules.partitions} worker threads by key hash, so all
+ * samples of a series are evaluated in order by the same thread, which owns that series' state
+ * without locking: the matching rules (resolved once per series and rule change) and a
+ * {@link SeriesWindow} holding the running aggregates the rules use. Each sample then costs
+ * O(1) per matching rule. State changes update {@link #getProblems()} and are handed to the
+ * {@link RuleStateListener}s on a separate event thread, so a slow listener never stalls evaluation.
+ * When a partition's queue is full, {@link #submit} blocks, pushing back on ingest like the rollup
+ * pipeline does.
+ * <p>
+ * Windows count samples, not time: {@code avg(5)} is the average of the last five samples.
+ * Window state lives in memory only and is rebuilt from new samples after a restart.
+ */
+@Component
+public class RuleEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(RuleEngine.class);
+
+    private static final int DRAIN_BATCH = 1024;
+
+    private final boolean enabled;
+    private final Partition[] partitions;
+    private final BlockingQueue<RuleStateChange> events;
+    private final List<RuleStateListener> listeners = new CopyOnWriteArrayList<>();
+    private final Map<String, RuleStateChange> problems = new ConcurrentHashMap<>();
+
+    private final Object rulesLock = new Object();
+    private volatile Rules rules = new Rules(0, List.of());
+
+    private volatile boolean running;
+    private Thread eventThread;
+
+    private final AtomicLong stateChanges = new AtomicLong();
+    private final AtomicLong droppedEvents = new AtomicLong();
+    private final AtomicLong listenerFailures = new AtomicLong();
+    private final AtomicLong evaluationFailures = new AtomicLong();
+    private final AtomicLong rejectedSamples = new AtomicLong();
+
+    @Autowired
+    public RuleEngine(@Value("${framework.rules.enabled:true}") boolean enabled,
+                      @Value("${framework.rules.partitions:0}") int partitions,
+                      @Value("${framework.rules.queue-capacity:16384}") int queueCapacity,
+                      @Value("${framework.rules.event-queue-capacity:10000}") int eventQueueCapacity) {
+        this.enabled = enabled;
+        int count = partitions > 0 ? partitions : Runtime.getRuntime().availableProcessors();
+        this.partitions = new Partition[count];
+        for (int i = 0; i < count; i++) {
+            this.partitions[i] = new Partition(queueCapacity);
+        }
+        this.events = new ArrayBlockingQueue<>(eventQueueCapacity);
+    }
+
+    @PostConstruct
+    public void open() {
+        if (enabled) {
+            start();
+        }
+    }
+
+    /**
+     * Starts the partition and event threads.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        ThreadFactory factory = VirtualThreads.platformFactory("rule-partition");
+        for (Partition partition : partitions) {
+            partition.thread = factory.newThread(partition);
+            partition.thread.start();
+        }
+        eventThread = VirtualThreads.platformFactory("rule-events").newThread(this::dispatchEvents);
+        eventThread.start();
+        logger.info("Rule engine started with {} partition(s).", partitions.length);
+    }
+
+    /**
+     * Stops evaluation. Samples still queued are discarded.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            running = false;
+            for (Partition partition : partitions) {
+                threads.add(partition.thread);
+            }
+            threads.add(eventThread);
+        }
+        for (Thread thread : threads) {
+            thread.interrupt();
+        }
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    /**
+     * Adds a rule, or replaces the rule with the same id. A replaced rule's problems are forgotten
+     * without recovery events.
+     */
+    public void register(AlertRule rule) {
+        synchronized (rulesLock) {
+            List<AlertRule> list = new ArrayList<>(rules.list());
+            boolean replaced = list.removeIf(existing -> existing.getId().equals(rule.getId()));
+            list.add(rule);
+            rules = new Rules(rules.version() + 1, List.copyOf(list));
+            if (replaced) {
+                forgetProblems(rule.getId());
+            }
+        }
+        logger.info("Registered alert rule {}.", rule);
+    }
+
+    /**
+     * Removes a rule and forgets its problems, without recovery events.
+     *
+     * @return {@code false} if no rule has this id.
+     */
+    public boolean unregister(String ruleId) {
+        synchronized (rulesLock) {
+            List<AlertRule> list = new ArrayList<>(rules.list());
+            if (!list.removeIf(existing -> existing.getId().equals(ruleId))) {
+                return false;
+            }
+            rules = new Rules(rules.version() + 1, List.copyOf(list));
+            forgetProblems(ruleId);
+        }
+        logger.info("Unregistered alert rule '{}'.", ruleId);
+        return true;
+    }
+
+    public List<AlertRule> getRules() {
+        return rules.list();
+    }
+
+    public void addListener(RuleStateListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(RuleStateListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Queues a sample for evaluation; returns at once when no rules are registered. NaN and infinite
+     * values are dropped: one of them would leave every running sum over the series NaN for good.
+     */
+    public void submit(String seriesKey, long timestampMillis, double value) {
+        if (!running || rules.list().isEmpty()) {
+            return;
+        }
+        if (!Double.isFinite(value)) {
+            rejectedSamples.incrementAndGet();
+            return;
+        }
+        Partition partition = partitions[partitionOf(seriesKey)];
+        try {
+            partition.queue.put(new Sample(seriesKey, timestampMillis, value));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Interrupted while queueing sample of '{}' for rule evaluation.", seriesKey);
+        }
+    }
+
+    /**
+     * Series currently in the problem state of a rule, oldest first.
+     */
+    public List<RuleStateChange> getProblems() {
+        List<RuleStateChange> result = new ArrayList<>(problems.values());
+        result.sort(Comparator.comparingLong(RuleStateChange::getTimestampMillis));
+        return result;
+    }
+
+    /**
+     * Samples evaluated so far, across all partitions.
+     */
+    public long getEvaluatedCount() {
+        long total = 0;
+        for (Partition partition : partitions) {
+            total += partition.evaluated.get();
+        }
+        return total;
+    }
+
+    public Map<String, Object> getStats() {
+        long series = 0;
+        long queued = 0;
+        for (Partition partition : partitions) {
+            series += partition.seriesCount;
+            queued += partition.queue.size();
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("running", running);
+        stats.put("partitions", partitions.length);
+        stats.put("rules", rules.list().size());
+        stats.put("series", series);
+        stats.put("evaluated", getEvaluatedCount());
+        stats.put("rejected", rejectedSamples.get());
+        stats.put("queued", queued);
+        stats.put("problems", problems.size());
+        stats.put("stateChanges", stateChanges.get());
+        stats.put("queuedEvents", events.size());
+        stats.put("droppedEvents", droppedEvents.get());
+        stats.put("listenerFailures", listenerFailures.get());
+        stats.put("evaluationFailures", evaluationFailures.get());
+        return stats;
+    }
+
+    private int partitionOf(String seriesKey) {
+        int hash = seriesKey.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), partitions.length);
+    }
+
+    private void forgetProblems(String ruleId) {
+        String prefix = ruleId + '\0';
+        problems.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    private void publish(AlertRule rule, String seriesKey, boolean problem, long timestampMillis, double value) {
+        RuleStateChange change = new RuleStateChange(rule.getId(), seriesKey, problem, timestampMillis, value);
+        String key = rule.getId() + '\0' + seriesKey;
+        if (problem) {
+            problems.put(key, change);
+        } else {
+            problems.remove(key);
+        }
+        stateChanges.incrementAndGet();
+        if (!listeners.isEmpty() && !events.offer(change)) {
+            if (droppedEvents.incrementAndGet() % 1000 == 1) {
+                logger.warn("Rule event queue is full; dropped {} state change event(s) so far.", droppedEvents.get());
+            }
+        }
+    }
+
+    private void dispatchEvents() {
+        while (running) {
+            RuleStateChange change;
+            try {
+                change = events.take();
+            } catch (InterruptedException e) {
+                break;
+            }
+            for (RuleStateListener listener : listeners) {
+                try {
+                    listener.onStateChange(change);
+                } catch (RuntimeException e) {
+                    listenerFailures.incrementAndGet();
+                    logger.warn("Rule state listener {} failed on {}", listener.getClass().getName(), change, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * One evaluation thread and the state of the series hashed to it.
+     */
+    private final class Partition implements Runnable {
+        private final BlockingQueue<Sample> queue;
+        private final Map<String, SeriesState> series = new HashMap<>();
+        private final AtomicLong evaluated = new AtomicLong();
+        private volatile int seriesCount;
+        private Thread thread;
+
+        Partition(int queueCapacity) {
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+
+        @Override
+        public void run() {
+            List<Sample> batch = new ArrayList<>(DRAIN_BATCH);
+            while (running) {
+                try {
+                    batch.add(queue.take());
+                } catch (InterruptedException e) {
+                    break;
+                }
+                queue.drainTo(batch, DRAIN_BATCH - 1);
+                Rules current = rules;
+                for (Sample sample : batch) {
+                    try {
+                        evaluate(current, sample);
+                    } catch (RuntimeException e) {
+                        evaluationFailures.incrementAndGet();
+                        logger.error("Rule evaluation failed for series '{}'", sample.key(), e);
+                    }
+                }
+                evaluated.addAndGet(batch.size());
+                batch.clear();
+            }
+        }
+
+        private void evaluate(Rules current, Sample sample) {
+            SeriesState state = series.get(sample.key());
+            if (state == null) {
+                state = new SeriesState();
+                series.put(sample.key(), state);
+                seriesCount = series.size();
+            }
+            if (state.version != current.version()) {
+                state.rebuild(current, sample.key());
+            }
+            if (state.rules.length == 0) {
+                return;
+            }
+            state.window.add(sample.value());
+            for (int i = 0; i < state.rules.length; i++) {
+                BoundRule bound = state.rules[i];
+                boolean problem = state.problem[i];
+                boolean changed;
+                if (!problem) {
+                    changed = bound.rule.getProblem().evaluate(bound.problemValues) == 1;
+                } else if (bound.recoveryValues != null) {
+                    changed = bound.rule.getRecovery().evaluate(bound.recoveryValues) == 1;
+                } else {
+                    changed = bound.rule.getProblem().evaluate(bound.problemValues) == 0;
+                }
+                if (changed) {
+                    state.problem[i] = !problem;
+                    publish(bound.rule, sample.key(), !problem, sample.timestamp(), sample.value());
+                }
+            }
+        }
+    }
+
+    /**
+     * The rules matching one series, their problem flags, and the shared window they read.
+     */
+    private final class SeriesState {
+        private long version = -1;
+        private BoundRule[] rules = new BoundRule[0];
+        private boolean[] problem = new boolean[0];
+        private List<RuleExpression.Window> windows = List.of();
+        private SeriesWindow window;
+
+        void rebuild(Rules current, String seriesKey) {
+            List<AlertRule> matched = new ArrayList<>();
+            for (AlertRule rule : current.list()) {
+                if (rule.matches(seriesKey)) {
+                    matched.add(rule);
+                }
+            }
+            List<RuleExpression.Window> union = new ArrayList<>();
+            for (AlertRule rule : matched) {
+                addWindows(union, rule.getProblem());
+                addWindows(union, rule.getRecovery());
+            }
+            // Keep the history when the rule change did not alter the windows this series needs
+            SeriesWindow nextWindow = union.equals(windows) && window != null ? window : new SeriesWindow(union);
+
+            BoundRule[] nextRules = new BoundRule[matched.size()];
+            boolean[] nextProblem = new boolean[matched.size()];
+            for (int i = 0; i < nextRules.length; i++) {
+                AlertRule rule = matched.get(i);
+                nextRules[i] = new BoundRule(rule, nextWindow, union);
+                nextProblem[i] = wasProblem(rule);
+            }
+            for (int i = 0; i < rules.length; i++) {
+                if (problem[i] && !matched.contains(rules[i].rule)) {
+                    problems.remove(rules[i].rule.getId() + '\0' + seriesKey);
+                }
+            }
+            this.rules = nextRules;
+            this.problem = nextProblem;
+            this.windows = union;
+            this.window = nextRules.length > 0 ? nextWindow : null;
+            this.version = current.version();
+        }
+
+        private boolean wasProblem(AlertRule rule) {
+            for (int i = 0; i < rules.length; i++) {
+                if (rules[i].rule == rule) {
+                    return problem[i];
+                }
+            }
+            return false;
+        }
+
+        private void addWindows(List<RuleExpression.Window> union, RuleExpression expression) {
+            if (expression == null) {
+                return;
+            }
+            for (RuleExpression.Window window : expression.getWindows()) {
+                if (!union.contains(window)) {
+                    union.add(window);
+                }
+            }
+        }
+    }
+
+    /**
+     * A rule's expressions wired to the slots of its series' window.
+     */
+    private static final class BoundRule {
+        private final AlertRule rule;
+        private final RuleExpression.Values problemValues;
+        private final RuleExpression.Values recoveryValues;
+
+        BoundRule(AlertRule rule, SeriesWindow window, List<RuleExpression.Window> slots) {
+            this.rule = rule;
+            this.problemValues = values(rule.getProblem(), window, slots);
+            this.recoveryValues = rule.getRecovery() != null ? values(rule.getRecovery(), window, slots) : null;
+        }
+
+        private static RuleExpression.Values values(RuleExpression expression, SeriesWindow window, List<RuleExpression.Window> slots) {
+            List<RuleExpression.Window> used = expression.getWindows();
+            int[] mapping = new int[used.size()];
+            for (int i = 0; i < mapping.length; i++) {
+                mapping[i] = slots.indexOf(used.get(i));
+            }
+            return slot -> window.value(mapping[slot]);
+        }
+    }
+
+    private record Rules(long version, List<AlertRule> list) {
+    }
+
+    private record Sample(String key, long timestamp, double value) {
+    }
+}
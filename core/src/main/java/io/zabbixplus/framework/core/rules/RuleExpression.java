@@ -0,0 +1,308 @@
+package io.zabbixplus.framework.core.rules;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A compiled rule condition such as {@code avg(5) > 90 and last() > 80}.
+ * <p>
+ * Grammar: comparisons ({@code > >= < <= = <>}) of arithmetic terms ({@code + - * /}, parentheses),
+ * combined with {@code and} / {@code or}. Terms are numbers or window functions over the series'
+ * last {@code N} samples: {@code last()}, {@code avg(N)}, {@code min(N)}, {@code max(N)},
+ * {@code sum(N)}. A condition is unknown (NaN) until every window it uses is full; unknown never
+ * changes a rule's state.
+ */
+final class RuleExpression {
+
+    static final int MAX_WINDOW = 100_000;
+
+    enum Function {
+        LAST, AVG, MIN, MAX, SUM
+    }
+
+    /**
+     * A window function the expression uses; its position in {@link #getWindows()} is its slot.
+     */
+    record Window(Function function, int size) {
+    }
+
+    /**
+     * Supplies the current value of each window slot.
+     */
+    interface Values {
+        double value(int slot);
+    }
+
+    interface Node {
+        double eval(Values values);
+    }
+
+    private final String source;
+    private final Node root;
+    private final List<Window> windows;
+
+    private RuleExpression(String source, Node root, List<Window> windows) {
+        this.source = source;
+        this.root = root;
+        this.windows = List.copyOf(windows);
+    }
+
+    static RuleExpression compile(String source) {
+        Parser parser = new Parser(source);
+        Node root = parser.parseOr();
+        if (parser.position < parser.tokens.size()) {
+            throw parser.error("unexpected '" + parser.tokens.get(parser.position) + "'");
+        }
+        return new RuleExpression(source, root, parser.windows);
+    }
+
+    /**
+     * @return 1 (true), 0 (false) or NaN (not enough data yet).
+     */
+    double evaluate(Values values) {
+        return root.eval(values);
+    }
+
+    List<Window> getWindows() {
+        return windows;
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+
+    private static double truth(boolean value) {
+        return value ? 1 : 0;
+    }
+
+    private static final class Parser {
+        private final String source;
+        private final List<String> tokens;
+        private final List<Window> windows = new ArrayList<>();
+        private int position;
+
+        Parser(String source) {
+            this.source = source;
+            this.tokens = tokenize(source);
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("Invalid rule expression '" + source + "': " + message);
+        }
+
+        private List<String> tokenize(String text) {
+            List<String> result = new ArrayList<>();
+            int i = 0;
+            while (i < text.length()) {
+                char c = text.charAt(i);
+                if (Character.isWhitespace(c)) {
+                    i++;
+                } else if (Character.isDigit(c) || c == '.') {
+                    int start = i;
+                    while (i < text.length() && (Character.isDigit(text.charAt(i)) || text.charAt(i) == '.'
+                            || text.charAt(i) == 'e' || text.charAt(i) == 'E'
+                            || ((text.charAt(i) == '-' || text.charAt(i) == '+') && (text.charAt(i - 1) == 'e' || text.charAt(i - 1) == 'E')))) {
+                        i++;
+                    }
+                    result.add(text.substring(start, i));
+                } else if (Character.isLetter(c)) {
+                    int start = i;
+                    while (i < text.length() && Character.isLetter(text.charAt(i))) {
+                        i++;
+                    }
+                    result.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                } else if ((c == '>' || c == '<' || c == '!') && i + 1 < text.length() && text.charAt(i + 1) == '=') {
+                    result.add(text.substring(i, i + 2));
+                    i += 2;
+                } else if (c == '<' && i + 1 < text.length() && text.charAt(i + 1) == '>') {
+                    result.add("<>");
+                    i += 2;
+                } else if ("()<>=+-*/,".indexOf(c) >= 0) {
+                    result.add(String.valueOf(c));
+                    i++;
+                } else {
+                    throw error("unexpected character '" + c + "'");
+                }
+            }
+            return result;
+        }
+
+        private String peek() {
+            return position < tokens.size() ? tokens.get(position) : null;
+        }
+
+        private boolean accept(String token) {
+            if (token.equals(peek())) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(String token) {
+            if (!accept(token)) {
+                throw error("expected '" + token + "'" + (peek() != null ? " but found '" + peek() + "'" : " at the end"));
+            }
+        }
+
+        Node parseOr() {
+            Node left = parseAnd();
+            while (accept("or")) {
+                Node a = left;
+                Node b = parseAnd();
+                left = values -> {
+                    double x = a.eval(values);
+                    double y = b.eval(values);
+                    // One true side decides even if the other is still unknown
+                    if (x == 1 || y == 1) {
+                        return 1;
+                    }
+                    return Double.isNaN(x) || Double.isNaN(y) ? Double.NaN : 0;
+                };
+            }
+            return left;
+        }
+
+        private Node parseAnd() {
+            Node left = parseComparison();
+            while (accept("and")) {
+                Node a = left;
+                Node b = parseComparison();
+                left = values -> {
+                    double x = a.eval(values);
+                    double y = b.eval(values);
+                    if (x == 0 || y == 0) {
+                        return 0;
+                    }
+                    return Double.isNaN(x) || Double.isNaN(y) ? Double.NaN : 1;
+                };
+            }
+            return left;
+        }
+
+        private Node parseComparison() {
+            Node left = parseSum();
+            String operator = peek();
+            if (operator == null || !List.of(">", ">=", "<", "<=", "=", "<>", "!=").contains(operator)) {
+                return left;
+            }
+            position++;
+            Node right = parseSum();
+            return switch (operator) {
+                case ">" -> values -> compare(left, right, values, 1, false);
+                case ">=" -> values -> compare(left, right, values, 1, true);
+                case "<" -> values -> compare(left, right, values, -1, false);
+                case "<=" -> values -> compare(left, right, values, -1, true);
+                case "=" -> values -> compare(left, right, values, 0, true);
+                default -> values -> {
+                    double equal = compare(left, right, values, 0, true);
+                    return Double.isNaN(equal) ? equal : 1 - equal;
+                };
+            };
+        }
+
+        private static double compare(Node left, Node right, Values values, int direction, boolean orEqual) {
+            double x = left.eval(values);
+            double y = right.eval(values);
+            if (Double.isNaN(x) || Double.isNaN(y)) {
+                return Double.NaN;
+            }
+            int comparison = Double.compare(x, y);
+            return truth((orEqual && comparison == 0) || (direction != 0 && Integer.signum(comparison) == direction));
+        }
+
+        private Node parseSum() {
+            Node left = parseProduct();
+            while (true) {
+                Node a = left;
+                if (accept("+")) {
+                    Node b = parseProduct();
+                    left = values -> a.eval(values) + b.eval(values);
+                } else if (accept("-")) {
+                    Node b = parseProduct();
+                    left = values -> a.eval(values) - b.eval(values);
+                } else {
+                    return left;
+                }
+            }
+        }
+
+        private Node parseProduct() {
+            Node left = parseUnary();
+            while (true) {
+                Node a = left;
+                if (accept("*")) {
+                    Node b = parseUnary();
+                    left = values -> a.eval(values) * b.eval(values);
+                } else if (accept("/")) {
+                    Node b = parseUnary();
+                    left = values -> a.eval(values) / b.eval(values);
+                } else {
+                    return left;
+                }
+            }
+        }
+
+        private Node parseUnary() {
+            if (accept("-")) {
+                Node operand = parseUnary();
+                return values -> -operand.eval(values);
+            }
+            return parsePrimary();
+        }
+
+        private Node parsePrimary() {
+            String token = peek();
+            if (token == null) {
+                throw error("unexpected end");
+            }
+            if (accept("(")) {
+                Node inner = parseOr();
+                expect(")");
+                return inner;
+            }
+            if (Character.isDigit(token.charAt(0)) || token.charAt(0) == '.') {
+                position++;
+                double constant;
+                try {
+                    constant = Double.parseDouble(token);
+                } catch (NumberFormatException e) {
+                    throw error("bad number '" + token + "'");
+                }
+                return values -> constant;
+            }
+            Function function;
+            try {
+                function = Function.valueOf(token.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw error("unknown function '" + token + "'");
+            }
+            position++;
+            expect("(");
+            int size = 1;
+            if (function != Function.LAST) {
+                String argument = peek();
+                try {
+                    size = Integer.parseInt(argument == null ? "" : argument);
+                } catch (NumberFormatException e) {
+                    throw error(token + "() needs a sample count");
+                }
+                if (size < 1 || size > MAX_WINDOW) {
+                    throw error(token + "(" + size + "): the window must be 1.." + MAX_WINDOW + " samples");
+                }
+                position++;
+            }
+            expect(")");
+            Window window = new Window(function, size);
+            int slot = windows.indexOf(window);
+            if (slot < 0) {
+                slot = windows.size();
+                windows.add(window);
+            }
+            int index = slot;
+            return values -> values.value(index);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package io.zabbixplus.framework.core.rules;
+
+/**
+ * A series entering or leaving the problem state of an {@link AlertRule}.
+ */
+public final class RuleStateChange {
+
+    private final String ruleId;
+    private final String seriesKey;
+    private final boolean problem;
+    private final long timestampMillis;
+    private final double value;
+
+    public RuleStateChange(String ruleId, String seriesKey, boolean problem, long timestampMillis, double value) {
+        this.ruleId = ruleId;
+        this.seriesKey = seriesKey;
+        this.problem = problem;
+        this.timestampMillis = timestampMillis;
+        this.value = value;
+    }
+
+    public String getRuleId() {
+        return ruleId;
+    }
+
+    public String getSeriesKey() {
+        return seriesKey;
+    }
+
+    /**
+     * @return {@code true} when the series entered the problem state, {@code false} when it recovered.
+     */
+    public boolean isProblem() {
+        return problem;
+    }
+
+    /**
+     * Timestamp of the sample that caused the change.
+     */
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    /**
+     * Value of the sample that caused the change.
+     */
+    public double getValue() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return (problem ? "PROBLEM " : "OK ") + ruleId + " on " + seriesKey + " at " + timestampMillis + " (" + value + ")";
+    }
+}
@@ -0,0 +1,12 @@
+package io.zabbixplus.framework.core.rules;
+
+/**
+ * Notified of rule state changes, in order per series, on the engine's single event thread.
+ * Listeners should return quickly; while they are busy, events queue up to
+ * {@code framework.rules.event-queue-capacity} and further ones are dropped (and counted).
+ */
+@FunctionalInterface
+public interface RuleStateListener {
+
+    void onStateChange(RuleStateChange change);
+}
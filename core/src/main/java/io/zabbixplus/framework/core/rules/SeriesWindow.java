@@ -0,0 +1,155 @@
+package io.zabbixplus.framework.core.rules;
+
+import java.util.List;
+
+/**
+ * Sliding-window state of one series: the last {@code N} values for every {@code (function, N)}
+ * the series' rules use. Each sample updates every aggregate in amortized O(1): sums are kept
+ * running (the value leaving the window is subtracted, and the sum is recomputed from the ring once
+ * per window length so rounding errors cannot accumulate), min and max use monotonic deques. Values
+ * must be finite. Owned by one partition thread.
+ */
+final class SeriesWindow {
+
+    private final double[] ring;
+    private final Aggregate[] aggregates;
+    private long count;
+
+    SeriesWindow(List<RuleExpression.Window> windows) {
+        int capacity = 1;
+        for (RuleExpression.Window window : windows) {
+            capacity = Math.max(capacity, window.size());
+        }
+        this.ring = new double[capacity];
+        this.aggregates = new Aggregate[windows.size()];
+        for (int i = 0; i < aggregates.length; i++) {
+            RuleExpression.Window window = windows.get(i);
+            aggregates[i] = switch (window.function()) {
+                case LAST -> new Last();
+                case SUM, AVG -> new Sum(window.size(), window.function() == RuleExpression.Function.AVG);
+                case MIN -> new Extreme(window.size(), false);
+                case MAX -> new Extreme(window.size(), true);
+            };
+        }
+    }
+
+    void add(double value) {
+        int slot = (int) (count % ring.length);
+        for (Aggregate aggregate : aggregates) {
+            aggregate.add(value, count, ring, slot);
+        }
+        ring[slot] = value;
+        count++;
+    }
+
+    /**
+     * Value of aggregate {@code index}, or NaN until the series has enough samples for its window.
+     */
+    double value(int index) {
+        return aggregates[index].value(count);
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    private interface Aggregate {
+        /**
+         * Called before {@code value} is written to {@code ring[slot]}, so the slot still holds the value
+         * that is {@code ring.length} samples old.
+         */
+        void add(double value, long index, double[] ring, int slot);
+
+        double value(long count);
+    }
+
+    private final class Last implements Aggregate {
+        @Override
+        public void add(double value, long index, double[] ring, int slot) {
+        }
+
+        @Override
+        public double value(long count) {
+            return count == 0 ? Double.NaN : ring[(int) ((count - 1) % ring.length)];
+        }
+    }
+
+    private static final class Sum implements Aggregate {
+        private final int size;
+        private final boolean average;
+        private double sum;
+
+        Sum(int size, boolean average) {
+            this.size = size;
+            this.average = average;
+        }
+
+        @Override
+        public void add(double value, long index, double[] ring, int slot) {
+            if ((index + 1) % size == 0) {
+                // The window has wrapped: start again from its exact contents instead of the running sum
+                sum = value;
+                for (long i = index - size + 1; i < index; i++) {
+                    sum += ring[(int) (i % ring.length)];
+                }
+                return;
+            }
+            sum += value;
+            if (index >= size) {
+                sum -= ring[(int) ((index - size) % ring.length)];
+            }
+        }
+
+        @Override
+        public double value(long count) {
+            if (count < size) {
+                return Double.NaN;
+            }
+            return average ? sum / size : sum;
+        }
+    }
+
+    /**
+     * Monotonic deque: values that can never become the window's extreme are dropped on arrival,
+     * so the head is always the extreme of the current window.
+     */
+    private static final class Extreme implements Aggregate {
+        private final int size;
+        private final boolean max;
+        private final double[] values;
+        private final long[] indexes;
+        private int head;
+        private int length;
+
+        Extreme(int size, boolean max) {
+            this.size = size;
+            this.max = max;
+            this.values = new double[size];
+            this.indexes = new long[size];
+        }
+
+        @Override
+        public void add(double value, long index, double[] ring, int slot) {
+            if (length > 0 && indexes[head] <= index - size) {
+                head = (head + 1) % size;
+                length--;
+            }
+            while (length > 0) {
+                double tail = values[(head + length - 1) % size];
+                if (max ? tail > value : tail < value) {
+                    break;
+                }
+                length--;
+            }
+            int position = (head + length) % size;
+            values[position] = value;
+            indexes[position] = index;
+            length++;
+        }
+
+        @Override
+        public double value(long count) {
+            return count < size ? Double.NaN : values[head];
+        }
+    }
+}
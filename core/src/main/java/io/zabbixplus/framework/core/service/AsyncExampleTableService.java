@@ -0,0 +1,55 @@
+package io.zabbixplus.framework.core.service;
+
+import io.zabbixplus.framework.core.concurrent.DatabaseExecutor;
+import io.zabbixplus.framework.core.entity.ExampleEntity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Non-blocking variants of the {@link ExampleTableService} operations.
+ * <p>
+ * Every call is dispatched to the {@link DatabaseExecutor} and delegates to the transactional
+ * {@link ExampleTableService} proxy, so each operation still runs in its own transaction on the
+ * executor thread. Independent lookups can therefore be combined with
+ * {@link CompletableFuture#allOf(CompletableFuture[])} and returned from controllers as async results.
+ */
+@Service
+public class AsyncExampleTableService {
+
+    private final ExampleTableService exampleTableService;
+    private final Executor databaseExecutor;
+
+    @Autowired
+    public AsyncExampleTableService(ExampleTableService exampleTableService, DatabaseExecutor databaseExecutor) {
+        this(exampleTableService, (Executor) databaseExecutor);
+    }
+
+    AsyncExampleTableService(ExampleTableService exampleTableService, Executor databaseExecutor) {
+        this.exampleTableService = exampleTableService;
+        this.databaseExecutor = databaseExecutor;
+    }
+
+    public CompletableFuture<ExampleEntity> createRecordAsync(String name) {
+        return CompletableFuture.supplyAsync(() -> exampleTableService.createRecord(name), databaseExecutor);
+    }
+
+    public CompletableFuture<List<ExampleEntity>> getRecordsAsync() {
+        return CompletableFuture.supplyAsync(exampleTableService::getRecords, databaseExecutor);
+    }
+
+    public CompletableFuture<ExampleEntity> getRecordByIdAsync(Long id) {
+        return CompletableFuture.supplyAsync(() -> exampleTableService.getRecordById(id), databaseExecutor);
+    }
+
+    public CompletableFuture<ExampleEntity> updateRecordAsync(Long id, String newName) {
+        return CompletableFuture.supplyAsync(() -> exampleTableService.updateRecord(id, newName), databaseExecutor);
+    }
+
+    public CompletableFuture<Boolean> deleteRecordAsync(Long id) {
+        return CompletableFuture.supplyAsync(() -> exampleTableService.deleteRecord(id), databaseExecutor);
+    }
+}
@@ -1,42 +1,139 @@
 package io.zabbixplus.framework.core.service;
 
 import io.ebean.DB;
+import io.ebean.Transaction;
 import io.zabbixplus.framework.core.entity.ExampleEntity;
+import io.zabbixplus.framework.core.jfr.DatabaseCallEvent;
+import io.zabbixplus.framework.core.metrics.RequestProfile;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
 public class ExampleTableService {
 
-    // DSLContext and its @Autowired constructor are removed
+    public static final String TABLE_NAME = "example_table";
+
+    private final TableChangeTracker changeTracker;
+    private final RecordChangeFeed changeFeed;
+
+    @Autowired
+    public ExampleTableService(TableChangeTracker changeTracker, RecordChangeFeed changeFeed) {
+        this.changeTracker = changeTracker;
+        this.changeFeed = changeFeed;
+    }
 
     @Transactional
     public ExampleEntity createRecord(String name) {
         ExampleEntity newEntity = new ExampleEntity();
         newEntity.setName(name);
         // createdAt will be set automatically by @WhenCreated
-        DB.save(newEntity);
+        DatabaseCallEvent event = DatabaseCallEvent.start(TABLE_NAME, "createRecord");
+        boolean succeeded = false;
+        try {
+            RequestProfile.timeDb(() -> {
+                DB.save(newEntity);
+                return newEntity;
+            });
+            event.setRows(1);
+            succeeded = true;
+        } finally {
+            event.finish(succeeded);
+        }
+        changeTracker.markChanged(TABLE_NAME);
+        changeFeed.created(newEntity);
         return newEntity;
     }
 
+    /**
+     * Inserts all names in a single JDBC-batched transaction. Used by bulk import, where one
+     * transaction per row would dominate the cost. Nothing is published to the change feed; the
+     * importer signals one reload once the whole import is done.
+     */
+    public int createRecords(List<String> names) {
+        if (names.isEmpty()) {
+            return 0;
+        }
+        List<ExampleEntity> entities = new ArrayList<>(names.size());
+        for (String name : names) {
+            ExampleEntity entity = new ExampleEntity();
+            entity.setName(name);
+            entities.add(entity);
+        }
+        DatabaseCallEvent event = DatabaseCallEvent.start(TABLE_NAME, "createRecords");
+        boolean succeeded = false;
+        try (Transaction transaction = DB.beginTransaction()) {
+            transaction.setBatchMode(true);
+            transaction.setBatchSize(names.size());
+            // Generated ids are not needed by callers; skipping them keeps the batch a plain executeBatch
+            transaction.setGetGeneratedKeys(false);
+            RequestProfile.timeDb(() -> {
+                DB.saveAll(entities);
+                transaction.commit();
+                return entities;
+            });
+            event.setRows(entities.size());
+            succeeded = true;
+        } finally {
+            event.finish(succeeded);
+        }
+        changeTracker.markChanged(TABLE_NAME);
+        return entities.size();
+    }
+
     @Transactional(readOnly = true)
     public List<ExampleEntity> getRecords() {
-        return DB.find(ExampleEntity.class).findList();
+        DatabaseCallEvent event = DatabaseCallEvent.start(TABLE_NAME, "getRecords");
+        boolean succeeded = false;
+        try {
+            List<ExampleEntity> records = RequestProfile.timeDb(() -> DB.find(ExampleEntity.class).findList());
+            event.setRows(records.size());
+            succeeded = true;
+            return records;
+        } finally {
+            event.finish(succeeded);
+        }
     }
 
     @Transactional(readOnly = true)
     public ExampleEntity getRecordById(Long id) {
-        return DB.find(ExampleEntity.class, id);
+        DatabaseCallEvent event = DatabaseCallEvent.start(TABLE_NAME, "getRecordById");
+        boolean succeeded = false;
+        try {
+            ExampleEntity entity = RequestProfile.timeDb(() -> DB.find(ExampleEntity.class, id));
+            event.setRows(entity != null ? 1 : 0);
+            succeeded = true;
+            return entity;
+        } finally {
+            event.finish(succeeded);
+        }
     }
 
     @Transactional
     public ExampleEntity updateRecord(Long id, String newName) {
-        ExampleEntity existingEntity = DB.find(ExampleEntity.class, id);
+        DatabaseCallEvent event = DatabaseCallEvent.start(TABLE_NAME, "updateRecord");
+        ExampleEntity existingEntity;
+        boolean succeeded = false;
+        try {
+            existingEntity = RequestProfile.timeDb(() -> DB.find(ExampleEntity.class, id));
+            if (existingEntity != null) {
+                existingEntity.setName(newName);
+                RequestProfile.timeDb(() -> {
+                    DB.update(existingEntity); // or DB.save(existingEntity);
+                    return existingEntity;
+                });
+                event.setRows(1);
+            }
+            succeeded = true;
+        } finally {
+            event.finish(succeeded);
+        }
         if (existingEntity != null) {
-            existingEntity.setName(newName);
-            DB.update(existingEntity); // or DB.save(existingEntity);
+            changeTracker.markChanged(TABLE_NAME);
+            changeFeed.updated(existingEntity);
             return existingEntity;
         }
         return null; // Or throw an exception e.g., ResourceNotFoundException
@@ -48,7 +145,20 @@ public class ExampleTableService {
         // For a simple boolean, we can check if the entity exists first, then delete,
         // or rely on the returned count from a direct delete.
         // Direct delete is often more efficient if just checking for > 0.
-        int rowsDeleted = DB.delete(ExampleEntity.class, id);
+        DatabaseCallEvent event = DatabaseCallEvent.start(TABLE_NAME, "deleteRecord");
+        int rowsDeleted;
+        boolean succeeded = false;
+        try {
+            rowsDeleted = RequestProfile.timeDb(() -> DB.delete(ExampleEntity.class, id));
+            event.setRows(rowsDeleted);
+            succeeded = true;
+        } finally {
+            event.finish(succeeded);
+        }
+        if (rowsDeleted > 0) {
+            changeTracker.markChanged(TABLE_NAME);
+            changeFeed.deleted(id);
+        }
         return rowsDeleted > 0;
         // Alternative:
         // ExampleEntity entityToDelete = DB.find(ExampleEntity.class, id);
@@ -0,0 +1,327 @@
+package io.zabbixplus.framework.core.service;
+
+import io.zabbixplus.framework.core.concurrent.VirtualThreads;
+import io.zabbixplus.framework.core.config.VirtualThreadConfig;
+import io.zabbixplus.framework.core.entity.ExampleEntity;
+import io.zabbixplus.framework.core.web.dto.RecordChange;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fan-out of committed {@code example_table} changes to push subscribers (the SSE stream).
+ * <ul>
+ *     <li>Every change gets a sequence number and is kept in a replay ring of
+ *     {@code framework.records.stream.replay-size} entries, so a reconnecting client resumes from
+ *     its last event id. A client that is further behind is told to reload instead.</li>
+ *     <li>Each subscriber has a bounded queue. Queues are drained once per coalesce window, and
+ *     several changes to the same record within a window collapse into one.</li>
+ *     <li>A subscriber whose queue overflows because its sends do not keep up is a slow consumer.
+ *     It is disconnected rather than buffered further; it can reconnect and replay. So is one whose
+ *     send has been blocked for longer than {@code framework.records.stream.send-timeout}.</li>
+ * </ul>
+ * Sends block on the client's socket, so each one runs on its own thread (virtual when enabled): a
+ * stalled connection ties up only its own sender, never the other subscribers'.
+ */
+@Component
+public class RecordChangeFeed {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecordChangeFeed.class);
+
+    /**
+     * Receives coalesced batches of changes for one subscriber.
+     */
+    public interface Sink {
+        /**
+         * @param lastSeq Sequence number of the last change in the batch (the event id to resume from).
+         * @param changes The coalesced changes; empty for a keep-alive.
+         * @return false if the subscriber is gone.
+         */
+        boolean send(long lastSeq, List<RecordChange> changes);
+
+        /**
+         * Tells the subscriber to drop its state and reload, because changes it missed are no longer available.
+         */
+        boolean reset(long currentSeq);
+
+        void close(String reason);
+    }
+
+    private final int perSubscriberBuffer;
+    private final long heartbeatNanos;
+    private final long sendTimeoutNanos;
+    private final RecordChange[] ring;
+    // Distinguishes event ids of this process from those of a previous run
+    private final long epoch = System.currentTimeMillis();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService sender;
+    private long seq;
+
+    @Autowired
+    public RecordChangeFeed(@Value("${framework.records.stream.replay-size:1024}") int replaySize,
+                            @Value("${framework.records.stream.buffer-per-connection:256}") int perSubscriberBuffer,
+                            @Value("${framework.records.stream.heartbeat:15s}") Duration heartbeat,
+                            @Value("${framework.records.stream.send-timeout:10s}") Duration sendTimeout,
+                            VirtualThreadConfig virtualThreadConfig) {
+        this.ring = new RecordChange[Math.max(1, replaySize)];
+        this.perSubscriberBuffer = perSubscriberBuffer;
+        this.heartbeatNanos = heartbeat.toNanos();
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        // Unbounded, but each subscriber has at most one send in flight plus its close
+        this.sender = virtualThreadConfig.isVirtual()
+                ? VirtualThreads.newThreadPerTaskExecutor("record-stream")
+                : Executors.newCachedThreadPool(VirtualThreads.platformFactory("record-stream"));
+    }
+
+    public void created(ExampleEntity entity) {
+        publish(RecordChange.CREATED, entity.getId(), entity);
+    }
+
+    public void updated(ExampleEntity entity) {
+        publish(RecordChange.UPDATED, entity.getId(), entity);
+    }
+
+    public void deleted(Long id) {
+        publish(RecordChange.DELETED, id, null);
+    }
+
+    /**
+     * Signals a change too large to describe per record (bulk import); subscribers reload the list.
+     */
+    public void reloadAll() {
+        publish(RecordChange.RELOAD, null, null);
+    }
+
+    /**
+     * Publishes once the surrounding transaction (if any) has committed, so subscribers never see
+     * changes that are rolled back.
+     */
+    private void publish(String type, Long id, ExampleEntity entity) {
+        String name = entity != null ? entity.getName() : null;
+        String createdAt = entity != null && entity.getCreatedAt() != null ? entity.getCreatedAt().toInstant().toString() : null;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    append(type, id, name, createdAt);
+                }
+            });
+        } else {
+            append(type, id, name, createdAt);
+        }
+    }
+
+    void append(String type, Long id, String name, String createdAt) {
+        lock.lock();
+        try {
+            RecordChange change = new RecordChange(++seq, type, id, name, createdAt);
+            ring[(int) (change.getSeq() % ring.length)] = change;
+            for (Subscriber subscriber : subscribers) {
+                if (!subscriber.queue.offer(change)) {
+                    subscriber.overflowed = true;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Registers a subscriber. With a {@code lastEventId} from an earlier connection, the changes it
+     * missed are queued first; if they have left the replay ring (or the id is from before a
+     * restart), the sink is told to reset instead.
+     */
+    public Subscription subscribe(String lastEventId, Sink sink) {
+        Subscriber subscriber = new Subscriber(sink, perSubscriberBuffer);
+        boolean reset = false;
+        long current;
+        lock.lock();
+        try {
+            current = seq;
+            if (lastEventId != null) {
+                long from = parseEventId(lastEventId);
+                if (from < 0 || from > seq || seq - from > ring.length) {
+                    reset = true;
+                } else {
+                    for (long s = from + 1; s <= seq; s++) {
+                        if (!subscriber.queue.offer(ring[(int) (s % ring.length)])) {
+                            reset = true;
+                            subscriber.queue.clear();
+                            break;
+                        }
+                    }
+                }
+            }
+            subscribers.add(subscriber);
+        } finally {
+            lock.unlock();
+        }
+        if (reset) {
+            subscriber.sendStartedNanos = System.nanoTime();
+            subscriber.sending.set(true);
+            long resetSeq = current;
+            sender.execute(() -> {
+                if (!sink.reset(resetSeq)) {
+                    subscribers.remove(subscriber);
+                }
+                subscriber.sending.set(false);
+            });
+        }
+        return new Subscription(subscriber);
+    }
+
+    /**
+     * Drains every subscriber's queue as one coalesced batch. Runs once per coalesce window.
+     */
+    @Scheduled(fixedDelayString = "${framework.records.stream.coalesce-window:200}")
+    public void flush() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.overflowed) {
+                disconnect(subscriber, "Slow consumer: more than " + perSubscriberBuffer + " pending changes");
+                continue;
+            }
+            if (subscriber.sending.get() && now - subscriber.sendStartedNanos > sendTimeoutNanos) {
+                disconnect(subscriber, "Slow consumer: send blocked for more than "
+                        + TimeUnit.NANOSECONDS.toMillis(sendTimeoutNanos) + " ms");
+                continue;
+            }
+            boolean idle = subscriber.queue.isEmpty();
+            if (idle && now - subscriber.lastSendNanos < heartbeatNanos) {
+                continue;
+            }
+            if (!subscriber.sending.compareAndSet(false, true)) {
+                // Still busy with the previous batch; its queue absorbs the gap until it overflows
+                continue;
+            }
+            subscriber.sendStartedNanos = now;
+            List<RecordChange> drained = new ArrayList<>(subscriber.queue.size());
+            subscriber.queue.drainTo(drained);
+            List<RecordChange> batch = coalesce(drained);
+            long lastSeq = drained.isEmpty() ? -1 : drained.get(drained.size() - 1).getSeq();
+            subscriber.lastSendNanos = now;
+            sender.execute(() -> {
+                try {
+                    if (!subscriber.sink.send(lastSeq, batch)) {
+                        subscribers.remove(subscriber);
+                    }
+                } finally {
+                    subscriber.sending.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Keeps only the net effect per record, in sequence order: an update after a create is still
+     * a create (with the new name), anything followed by a delete is a delete, and a record
+     * created and deleted within the window is left out entirely.
+     */
+    static List<RecordChange> coalesce(List<RecordChange> changes) {
+        if (changes.size() < 2) {
+            return changes;
+        }
+        Map<Long, RecordChange> latest = new LinkedHashMap<>();
+        for (RecordChange change : changes) {
+            RecordChange previous = latest.remove(change.getId());
+            if (previous == null) {
+                latest.put(change.getId(), change);
+            } else if (RecordChange.CREATED.equals(previous.getType())) {
+                if (!RecordChange.DELETED.equals(change.getType())) {
+                    latest.put(change.getId(), new RecordChange(change.getSeq(), RecordChange.CREATED, change.getId(),
+                            change.getName(), change.getCreatedAt() != null ? change.getCreatedAt() : previous.getCreatedAt()));
+                }
+            } else {
+                latest.put(change.getId(), change);
+            }
+        }
+        return new ArrayList<>(latest.values());
+    }
+
+    public String eventId(long seqNumber) {
+        return Long.toString(epoch, 36) + "-" + seqNumber;
+    }
+
+    private long parseEventId(String eventId) {
+        int dash = eventId.indexOf('-');
+        try {
+            if (dash < 0 || Long.parseLong(eventId.substring(0, dash), 36) != epoch) {
+                return -1;
+            }
+            return Long.parseLong(eventId.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void disconnect(Subscriber subscriber, String reason) {
+        if (subscribers.remove(subscriber)) {
+            logger.debug("Disconnecting record stream subscriber: {}", reason);
+            sender.execute(() -> subscriber.sink.close(reason));
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.sink.close("Server shutting down");
+        }
+        subscribers.clear();
+        sender.shutdownNow();
+    }
+
+    /**
+     * Handle returned to the subscriber; cancel it when the connection ends.
+     */
+    public final class Subscription {
+        private final Subscriber subscriber;
+
+        private Subscription(Subscriber subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        public void cancel() {
+            subscribers.remove(subscriber);
+        }
+    }
+
+    private static final class Subscriber {
+        final Sink sink;
+        final BlockingQueue<RecordChange> queue;
+        final AtomicBoolean sending = new AtomicBoolean();
+        volatile boolean overflowed;
+        volatile long lastSendNanos = System.nanoTime();
+        volatile long sendStartedNanos;
+
+        Subscriber(Sink sink, int capacity) {
+            this.sink = sink;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+}
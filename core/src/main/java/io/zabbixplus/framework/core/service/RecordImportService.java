@@ -0,0 +1,369 @@
+package io.zabbixplus.framework.core.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zabbixplus.framework.core.web.dto.RecordImportResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Streams CSV or NDJSON rows from an input stream into {@code example_table}. Rows are validated one
+ * at a time and inserted in batches of {@code batchSize}, each batch in its own transaction, so
+ * memory use is bounded by the batch size regardless of the input length. Once the import ends,
+ * stream subscribers are told to reload a single time, however many batches it took.
+ */
+@Service
+public class RecordImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecordImportService.class);
+
+    public static final int MAX_BATCH_SIZE = 10_000;
+
+    public enum Format {
+        CSV, NDJSON;
+
+        /**
+         * Resolves the format from an explicit name or, failing that, the request content type.
+         * Returns {@code null} when neither identifies a supported format.
+         */
+        public static Format resolve(String name, String contentType) {
+            if (name != null && !name.isBlank()) {
+                try {
+                    return valueOf(name.trim().toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    return null;
+                }
+            }
+            if (contentType != null) {
+                String type = contentType.toLowerCase(Locale.ROOT);
+                if (type.contains("csv")) {
+                    return CSV;
+                }
+                if (type.contains("ndjson") || type.contains("jsonl") || type.contains("json-seq")) {
+                    return NDJSON;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final ExampleTableService exampleTableService;
+    private final RecordChangeFeed changeFeed;
+    private final ObjectMapper objectMapper;
+
+    @Value("${framework.import.batch-size:1000}")
+    private int defaultBatchSize = 1000;
+
+    @Value("${framework.import.max-errors:1000}")
+    private int maxErrors = 1000;
+
+    @Value("${framework.import.max-name-length:255}")
+    private int maxNameLength = 255;
+
+    @Autowired
+    public RecordImportService(ExampleTableService exampleTableService, RecordChangeFeed changeFeed, ObjectMapper objectMapper) {
+        this.exampleTableService = exampleTableService;
+        this.changeFeed = changeFeed;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Imports rows from {@code input}, skipping the first {@code offset} data rows.
+     *
+     * @param batchSize Rows per transaction, or {@code null} for the configured default.
+     */
+    public RecordImportResult importRecords(InputStream input, Format format, long offset, Integer batchSize) {
+        int size = Math.max(1, Math.min(MAX_BATCH_SIZE, batchSize != null ? batchSize : defaultBatchSize));
+        long skip = Math.max(0, offset);
+        RecordImportResult result = new RecordImportResult(skip);
+        List<String> batch = new ArrayList<>(size);
+        long row = 0;
+
+        Reader reader = new InputStreamReader(input, StandardCharsets.UTF_8);
+        RowReader rows = format == Format.CSV ? new CsvRowReader(reader) : new NdjsonRowReader(reader, objectMapper);
+        try {
+            ParsedRow parsed;
+            while ((parsed = rows.next(row >= skip)) != null) {
+                row++;
+                if (row <= skip) {
+                    continue;
+                }
+                String error = parsed.error != null ? parsed.error : validate(parsed.name);
+                if (error != null) {
+                    result.addError(row, error, maxErrors);
+                } else {
+                    batch.add(parsed.name.trim());
+                }
+                if (batch.size() >= size && !flush(batch, row, result)) {
+                    return finish(result, row, skip);
+                }
+            }
+            if (flush(batch, row, result)) {
+                result.setCompleted(true);
+            }
+        } catch (IOException e) {
+            // Typically a dropped upload: keep what was parsed so the client can resume from nextOffset
+            logger.warn("Import input ended unexpectedly after row {}: {}", row, e.getMessage());
+            if (flush(batch, row, result)) {
+                result.setAbortReason("Input stream failed: " + e.getMessage());
+            }
+        }
+        return finish(result, row, skip);
+    }
+
+    private RecordImportResult finish(RecordImportResult result, long row, long skip) {
+        result.setRowsRead(Math.max(0, row - skip));
+        if (result.getImported() > 0) {
+            // Ids are not fetched for batched inserts, so subscribers reload instead of applying deltas
+            changeFeed.reloadAll();
+        }
+        logger.info("Import finished: {} imported, {} rejected, next offset {}{}.", result.getImported(), result.getFailed(),
+                result.getNextOffset(), result.isCompleted() ? "" : " (incomplete)");
+        return result;
+    }
+
+    /**
+     * Inserts the pending batch; on success every row up to {@code row} counts as handled.
+     */
+    private boolean flush(List<String> batch, long row, RecordImportResult result) {
+        try {
+            result.addImported(exampleTableService.createRecords(batch));
+            result.setNextOffset(row);
+            return true;
+        } catch (RuntimeException e) {
+            logger.error("Import batch ending at row {} failed; rolled back.", row, e);
+            result.setAbortReason("Batch ending at row " + row + " failed: " + e.getMessage());
+            return false;
+        } finally {
+            batch.clear();
+        }
+    }
+
+    private String validate(String name) {
+        if (name == null || name.isBlank()) {
+            return "name is required";
+        }
+        if (name.trim().length() > maxNameLength) {
+            return "name exceeds " + maxNameLength + " characters";
+        }
+        return null;
+    }
+
+    static final class ParsedRow {
+        static final ParsedRow SKIPPED = new ParsedRow(null, null);
+
+        final String name;
+        final String error;
+
+        ParsedRow(String name, String error) {
+            this.name = name;
+            this.error = error;
+        }
+    }
+
+    interface RowReader {
+        /**
+         * Returns the next data row, or {@code null} at end of input. When {@code parse} is false the
+         * row only has to be consumed, not interpreted.
+         */
+        ParsedRow next(boolean parse) throws IOException;
+    }
+
+    /**
+     * RFC 4180 reader: the first record is a header that must contain a {@code name} column; quoted
+     * fields may contain separators, doubled quotes and line breaks. Blank lines are ignored.
+     */
+    static final class CsvRowReader implements RowReader {
+        private final Reader reader;
+        private final char[] buffer = new char[8192];
+        private int position;
+        private int limit;
+        private int nameColumn = -1;
+        private final List<String> fields = new ArrayList<>();
+        private final StringBuilder field = new StringBuilder();
+
+        CsvRowReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public ParsedRow next(boolean parse) throws IOException {
+            if (nameColumn < 0) {
+                readHeader();
+            }
+            String error = readRecord();
+            if (error == null && fields.isEmpty()) {
+                return null;
+            }
+            if (!parse) {
+                return ParsedRow.SKIPPED;
+            }
+            if (error != null) {
+                return new ParsedRow(null, error);
+            }
+            if (fields.size() <= nameColumn) {
+                return new ParsedRow(null, "expected at least " + (nameColumn + 1) + " columns, found " + fields.size());
+            }
+            return new ParsedRow(fields.get(nameColumn), null);
+        }
+
+        private void readHeader() throws IOException {
+            if (readRecord() != null || fields.isEmpty()) {
+                throw new IllegalArgumentException("CSV input must start with a header row containing a 'name' column");
+            }
+            for (int i = 0; i < fields.size(); i++) {
+                String column = fields.get(i).trim();
+                // Tolerate a UTF-8 byte order mark in front of the first header
+                if (i == 0 && !column.isEmpty() && column.charAt(0) == '\uFEFF') {
+                    column = column.substring(1);
+                }
+                if (column.equalsIgnoreCase("name")) {
+                    nameColumn = i;
+                    return;
+                }
+            }
+            throw new IllegalArgumentException("CSV header has no 'name' column: " + fields);
+        }
+
+        /**
+         * Reads one non-blank record into {@link #fields}; leaves it empty at end of input. Returns an
+         * error message for malformed records.
+         */
+        private String readRecord() throws IOException {
+            fields.clear();
+            field.setLength(0);
+            boolean quoted = false;
+            boolean afterQuote = false;
+            boolean any = false;
+            String error = null;
+            int c;
+            while ((c = read()) != -1) {
+                char ch = (char) c;
+                if (quoted) {
+                    if (ch == '"') {
+                        if (peek() == '"') {
+                            read();
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            afterQuote = true;
+                        }
+                    } else {
+                        field.append(ch);
+                    }
+                    continue;
+                }
+                if (ch == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                    afterQuote = false;
+                    any = true;
+                } else if (ch == '\n' || ch == '\r') {
+                    if (ch == '\r' && peek() == '\n') {
+                        read();
+                    }
+                    if (any || field.length() > 0 || afterQuote) {
+                        fields.add(field.toString());
+                        return error;
+                    }
+                    // Blank line: keep looking for the next record
+                } else if (ch == '"' && field.length() == 0 && !afterQuote) {
+                    quoted = true;
+                    any = true;
+                } else {
+                    if (afterQuote && error == null) {
+                        error = "unexpected character after closing quote";
+                    }
+                    field.append(ch);
+                    any = true;
+                }
+            }
+            if (quoted) {
+                error = "unterminated quoted field";
+            }
+            if (any || field.length() > 0) {
+                fields.add(field.toString());
+            }
+            return error;
+        }
+
+        private int read() throws IOException {
+            if (position == limit && !fill()) {
+                return -1;
+            }
+            return buffer[position++];
+        }
+
+        private int peek() throws IOException {
+            if (position == limit && !fill()) {
+                return -1;
+            }
+            return buffer[position];
+        }
+
+        private boolean fill() throws IOException {
+            int n = reader.read(buffer, 0, buffer.length);
+            if (n <= 0) {
+                return false;
+            }
+            position = 0;
+            limit = n;
+            return true;
+        }
+    }
+
+    /**
+     * One JSON object per line with a string {@code name} property. Blank lines are ignored.
+     */
+    static final class NdjsonRowReader implements RowReader {
+        private final BufferedReader reader;
+        private final ObjectMapper objectMapper;
+
+        NdjsonRowReader(Reader reader, ObjectMapper objectMapper) {
+            this.reader = new BufferedReader(reader, 8192);
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public ParsedRow next(boolean parse) throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+            if (!parse) {
+                return ParsedRow.SKIPPED;
+            }
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (JsonProcessingException e) {
+                return new ParsedRow(null, "invalid JSON: " + e.getOriginalMessage());
+            }
+            if (node == null || !node.isObject()) {
+                return new ParsedRow(null, "expected a JSON object");
+            }
+            JsonNode name = node.get("name");
+            if (name != null && !name.isNull() && !name.isTextual()) {
+                return new ParsedRow(null, "name must be a string");
+            }
+            return new ParsedRow(name != null && !name.isNull() ? name.asText() : null, null);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package io.zabbixplus.framework.core.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps a monotonic change version per table. Every write path bumps the version of the table it
+ * touched, so readers can tell whether a previously computed result is still current by comparing
+ * versions instead of re-running the query.
+ * <p>
+ * Inside a transaction the bump is deferred until after commit: bumping earlier would let a
+ * concurrent reader cache pre-commit data under the new version.
+ */
+@Component
+public class TableChangeTracker {
+
+    private final ConcurrentMap<String, AtomicLong> versions = new ConcurrentHashMap<>();
+    // Distinguishes versions handed out by this process from those of a previous run
+    private final long epoch = System.currentTimeMillis();
+
+    public long currentVersion(String table) {
+        AtomicLong version = versions.get(table);
+        return version != null ? version.get() : 0L;
+    }
+
+    public long getEpoch() {
+        return epoch;
+    }
+
+    public void markChanged(String table) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment(table);
+                }
+            });
+        } else {
+            increment(table);
+        }
+    }
+
+    private void increment(String table) {
+        versions.computeIfAbsent(table, t -> new AtomicLong()).incrementAndGet();
+    }
+}
@@ -0,0 +1,253 @@
+package io.zabbixplus.framework.core.startup;
+
+import io.ebean.DB;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline.TimelineEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Where startup time went: Spring's own startup steps (recorded by the
+ * {@link BufferingApplicationStartup} that {@code CoreApplication} installs), the slowest bean
+ * instantiations, Ebean initialization, and each plugin's {@code load()} and {@code init()} as
+ * recorded by {@code PluginService}. Built once the application is ready, logged as one summary
+ * line and served at {@code GET /api/diagnostics/startup}. The recorded steps are released once
+ * the report is built, and nothing is recorded after that.
+ * <p>
+ * Ebean creates its default database, running DDL, on first use. With
+ * {@code framework.startup.ebean-eager-init} (default) that happens during startup, in its own
+ * step, instead of in the first request that touches the database.
+ */
+@Component
+public class StartupReport implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupReport.class);
+
+    /** Startup step around the whole plugin directory scan. */
+    public static final String PLUGINS_STEP = "zabbixplus.plugins.load";
+    /** Prefix of the per-plugin startup steps, followed by the lifecycle phase ({@code load}, {@code init}). */
+    public static final String PLUGIN_STEP_PREFIX = "zabbixplus.plugin.";
+    public static final String EBEAN_STEP = "zabbixplus.ebean.init";
+
+    static final String BEAN_STEP = "spring.beans.instantiate";
+    static final String REFRESH_STEP = "spring.context.refresh";
+    private static final Map<String, String> SUMMARY_PHASES = Map.of(
+            REFRESH_STEP, "context refresh",
+            EBEAN_STEP, "Ebean init",
+            PLUGINS_STEP, "plugins");
+
+    private final ApplicationStartup applicationStartup;
+    private final boolean ebeanEagerInit;
+    private final int slowestBeans;
+    private volatile Map<String, Object> report;
+
+    @Autowired
+    public StartupReport(ApplicationStartup applicationStartup,
+                         @Value("${framework.startup.ebean-eager-init:true}") boolean ebeanEagerInit,
+                         @Value("${framework.startup.slowest-beans:20}") int slowestBeans) {
+        this.applicationStartup = applicationStartup;
+        this.ebeanEagerInit = ebeanEagerInit;
+        this.slowestBeans = slowestBeans;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!ebeanEagerInit) {
+            return;
+        }
+        StartupStep step = applicationStartup.start(EBEAN_STEP);
+        try {
+            DB.getDefault();
+        } catch (RuntimeException e) {
+            logger.warn("Ebean could not be initialized during startup; it will be retried on first use.", e);
+        } finally {
+            step.end();
+        }
+    }
+
+    @EventListener
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        Duration jvmUptime = Duration.ofMillis(ManagementFactory.getRuntimeMXBean().getUptime());
+        Duration timeToReady = event.getTimeTaken() != null ? event.getTimeTaken() : jvmUptime;
+        Map<String, Object> built = build(timeToReady, jvmUptime);
+        report = built;
+        logger.info(summary(built));
+    }
+
+    /**
+     * The report, or only {@code ready=false} while the application is still starting.
+     */
+    public Map<String, Object> getReport() {
+        Map<String, Object> current = report;
+        return current != null ? current : Map.of("ready", false);
+    }
+
+    private Map<String, Object> build(Duration timeToReady, Duration jvmUptime) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("ready", true);
+        result.put("timeToReadyMillis", timeToReady.toMillis());
+        result.put("jvmUptimeMillis", jvmUptime.toMillis());
+        if (!(applicationStartup instanceof BufferingApplicationStartup buffering)) {
+            result.put("stepsRecorded", 0);
+            return result;
+        }
+        // Drained, and later steps (e.g. plugin reloads) filtered out, so the buffer does not keep
+        // up to its capacity of events for the lifetime of the application
+        List<TimelineEvent> events = new ArrayList<>(buffering.drainBufferedTimeline().getEvents());
+        buffering.addFilter(step -> false);
+        // The buffer holds steps in the order they ended
+        events.sort(Comparator.comparing(TimelineEvent::getStartTime));
+        result.put("stepsRecorded", events.size());
+        result.put("phases", phases(events));
+        result.put("slowestBeans", slowestBeans(events, slowestBeans));
+        result.put("plugins", plugins(events));
+        return result;
+    }
+
+    /**
+     * Total time per step name, excluding bean instantiations and single plugins, in start order.
+     * Steps nest, so {@code spring.context.refresh} includes most of the others.
+     */
+    static List<Map<String, Object>> phases(List<TimelineEvent> events) {
+        Map<String, Map<String, Object>> byName = new LinkedHashMap<>();
+        for (TimelineEvent event : events) {
+            String name = event.getStartupStep().getName();
+            if (name.equals(BEAN_STEP) || name.startsWith(PLUGIN_STEP_PREFIX)) {
+                continue;
+            }
+            Map<String, Object> phase = byName.computeIfAbsent(name, key -> {
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("name", key);
+                row.put("count", 0);
+                row.put("nanos", 0L);
+                return row;
+            });
+            phase.put("count", (Integer) phase.get("count") + 1);
+            phase.put("nanos", (Long) phase.get("nanos") + event.getDuration().toNanos());
+        }
+        List<Map<String, Object>> result = new ArrayList<>(byName.values());
+        for (Map<String, Object> phase : result) {
+            phase.put("millis", toMillis((Long) phase.remove("nanos")));
+        }
+        return result;
+    }
+
+    /**
+     * The slowest bean instantiations. {@code millis} includes beans created as its dependencies,
+     * {@code selfMillis} does not.
+     */
+    static List<Map<String, Object>> slowestBeans(List<TimelineEvent> events, int limit) {
+        Map<Long, Long> childNanos = new HashMap<>();
+        for (TimelineEvent event : events) {
+            StartupStep step = event.getStartupStep();
+            if (step.getName().equals(BEAN_STEP) && step.getParentId() != null) {
+                childNanos.merge(step.getParentId(), event.getDuration().toNanos(), Long::sum);
+            }
+        }
+        return events.stream()
+                .filter(event -> event.getStartupStep().getName().equals(BEAN_STEP))
+                .sorted(Comparator.comparing(TimelineEvent::getDuration).reversed())
+                .limit(limit)
+                .map(event -> {
+                    long nanos = event.getDuration().toNanos();
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put("bean", tag(event.getStartupStep(), "beanName"));
+                    row.put("millis", toMillis(nanos));
+                    row.put("selfMillis", toMillis(nanos - childNanos.getOrDefault(event.getStartupStep().getId(), 0L)));
+                    return row;
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * One row per plugin with the time spent in each of its lifecycle phases.
+     */
+    static List<Map<String, Object>> plugins(List<TimelineEvent> events) {
+        Map<String, Map<String, Object>> byPlugin = new LinkedHashMap<>();
+        for (TimelineEvent event : events) {
+            StartupStep step = event.getStartupStep();
+            if (!step.getName().startsWith(PLUGIN_STEP_PREFIX)) {
+                continue;
+            }
+            String phase = step.getName().substring(PLUGIN_STEP_PREFIX.length());
+            Map<String, Object> row = byPlugin.computeIfAbsent(tag(step, "plugin"), plugin -> {
+                Map<String, Object> created = new LinkedHashMap<>();
+                created.put("plugin", plugin);
+                created.put("source", tag(step, "source"));
+                return created;
+            });
+            row.put(phase + "Millis", toMillis(event.getDuration().toNanos()));
+            if ("false".equals(tag(step, "succeeded"))) {
+                row.put("failedPhase", phase);
+            }
+        }
+        return new ArrayList<>(byPlugin.values());
+    }
+
+    @SuppressWarnings("unchecked")
+    static String summary(Map<String, Object> report) {
+        List<Map<String, Object>> phases = (List<Map<String, Object>>) report.getOrDefault("phases", List.of());
+        List<Map<String, Object>> plugins = (List<Map<String, Object>>) report.getOrDefault("plugins", List.of());
+        List<Map<String, Object>> beans = (List<Map<String, Object>>) report.getOrDefault("slowestBeans", List.of());
+
+        List<String> parts = new ArrayList<>();
+        for (Map<String, Object> phase : phases) {
+            String label = SUMMARY_PHASES.get((String) phase.get("name"));
+            if (label != null) {
+                parts.add(label + " " + phase.get("millis") + " ms");
+            }
+        }
+        if (!plugins.isEmpty()) {
+            parts.add(plugins.size() + (plugins.size() == 1 ? " plugin" : " plugins"));
+        }
+        StringBuilder line = new StringBuilder("Ready in ")
+                .append(seconds((Long) report.get("timeToReadyMillis")))
+                .append(" (JVM up ").append(seconds((Long) report.get("jvmUptimeMillis"))).append(")");
+        if (!parts.isEmpty()) {
+            line.append(": ").append(String.join(", ", parts));
+        }
+        if (!beans.isEmpty()) {
+            line.append("; slowest beans: ").append(beans.stream()
+                    .limit(3)
+                    .map(bean -> bean.get("bean") + " " + bean.get("millis") + " ms")
+                    .collect(Collectors.joining(", ")));
+        }
+        return line.append(". Details at GET /api/diagnostics/startup.").toString();
+    }
+
+    private static String tag(StartupStep step, String key) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if (tag.getKey().equals(key)) {
+                return tag.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 100_000.0) / 10.0;
+    }
+
+    private static String seconds(long millis) {
+        return String.format(Locale.ROOT, "%.1f s", millis / 1_000.0);
+    }
+}
@@ -0,0 +1,151 @@
+package io.zabbixplus.framework.core.timeseries;
+
+import io.zabbixplus.framework.timeseries.TimeSeriesStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Incrementally maintains min/max/sum/count buckets for every raw series and writes each bucket, as one
+ * record, to the store of its resolution once it is complete. Not thread-safe: it is driven by the single {@link RollupPipeline} worker.
+ * <p>
+ * A bucket is complete when a sample of a later bucket arrives, or when {@link #sealCompleted(long)}
+ * finds that its window ended more than the seal delay ago. A late sample for an already written
+ * bucket starts a new partial bucket with the same timestamp; readers merge such duplicates. A bucket
+ * the rollup store rejects is dropped and counted, so it cannot block the buckets that follow it.
+ */
+final class RollupAggregator {
+
+    private static final Logger logger = LoggerFactory.getLogger(RollupAggregator.class);
+    private static final RollupResolution[] RESOLUTIONS = RollupResolution.values();
+
+    private final TimeSeriesStore store;
+    private final RollupStores rollups;
+    private final long sealDelayMillis;
+    private final Map<String, SeriesState> states = new HashMap<>();
+    private final double[] record = new double[RollupResolution.FIELDS.length];
+    private long bucketsWritten;
+    private long bucketsDropped;
+
+    RollupAggregator(TimeSeriesStore store, RollupStores rollups, long sealDelayMillis) {
+        this.store = store;
+        this.rollups = rollups;
+        this.sealDelayMillis = sealDelayMillis;
+    }
+
+    void accept(String rawKey, long timestamp, double value) {
+        SeriesState state = states.computeIfAbsent(rawKey, SeriesState::new);
+        for (int r = 0; r < RESOLUTIONS.length; r++) {
+            add(state, r, timestamp, value);
+        }
+    }
+
+    /**
+     * Rebuilds the rollups of one series after a restart from the raw samples that are newer than the
+     * last written bucket of each resolution, up to and including {@code rawLast}.
+     */
+    void recover(String rawKey, long rawLast) {
+        SeriesState state = states.computeIfAbsent(rawKey, SeriesState::new);
+        long[] resumeFrom = new long[RESOLUTIONS.length];
+        long scanFrom = Long.MAX_VALUE;
+        for (int r = 0; r < RESOLUTIONS.length; r++) {
+            long lastBucket = rollups.get(RESOLUTIONS[r]).lastTimestamp(rawKey);
+            resumeFrom[r] = lastBucket == Long.MIN_VALUE ? Long.MIN_VALUE : lastBucket + RESOLUTIONS[r].getMillis();
+            scanFrom = Math.min(scanFrom, resumeFrom[r]);
+        }
+        if (scanFrom > rawLast) {
+            return;
+        }
+        store.scan(rawKey, scanFrom, rawLast, (timestamp, value) -> {
+            for (int r = 0; r < RESOLUTIONS.length; r++) {
+                if (timestamp >= resumeFrom[r]) {
+                    add(state, r, timestamp, value);
+                }
+            }
+        });
+    }
+
+    /**
+     * Writes every open bucket whose window ended more than the seal delay before {@code now}.
+     */
+    void sealCompleted(long now) {
+        for (SeriesState state : states.values()) {
+            for (int r = 0; r < RESOLUTIONS.length; r++) {
+                Bucket bucket = state.buckets[r];
+                if (bucket.count > 0 && bucket.start + RESOLUTIONS[r].getMillis() + sealDelayMillis <= now) {
+                    write(state, r);
+                }
+            }
+        }
+    }
+
+    long getBucketsWritten() {
+        return bucketsWritten;
+    }
+
+    long getBucketsDropped() {
+        return bucketsDropped;
+    }
+
+    int getOpenSeriesCount() {
+        return states.size();
+    }
+
+    private void add(SeriesState state, int r, long timestamp, double value) {
+        Bucket bucket = state.buckets[r];
+        long start = RESOLUTIONS[r].bucketStart(timestamp);
+        if (bucket.count > 0 && bucket.start != start) {
+            write(state, r);
+        }
+        if (bucket.count == 0) {
+            bucket.start = start;
+            bucket.min = value;
+            bucket.max = value;
+            bucket.sum = value;
+        } else {
+            bucket.min = Math.min(bucket.min, value);
+            bucket.max = Math.max(bucket.max, value);
+            bucket.sum += value;
+        }
+        bucket.count++;
+    }
+
+    private void write(SeriesState state, int r) {
+        Bucket bucket = state.buckets[r];
+        record[RollupResolution.MIN] = bucket.min;
+        record[RollupResolution.MAX] = bucket.max;
+        record[RollupResolution.SUM] = bucket.sum;
+        record[RollupResolution.COUNT] = bucket.count;
+        bucket.count = 0;
+        try {
+            rollups.get(RESOLUTIONS[r]).appendRecord(state.rawKey, bucket.start, record);
+            bucketsWritten++;
+        } catch (RuntimeException e) {
+            bucketsDropped++;
+            logger.warn("Dropped {} rollup bucket {} of series '{}': {}", RESOLUTIONS[r], bucket.start,
+                    state.rawKey, e.getMessage());
+        }
+    }
+
+    private static final class SeriesState {
+        final String rawKey;
+        final Bucket[] buckets = new Bucket[RESOLUTIONS.length];
+
+        SeriesState(String rawKey) {
+            this.rawKey = rawKey;
+            for (int r = 0; r < RESOLUTIONS.length; r++) {
+                buckets[r] = new Bucket();
+            }
+        }
+    }
+
+    private static final class Bucket {
+        long start;
+        double min;
+        double max;
+        double sum;
+        long count;
+    }
+}
@@ -0,0 +1,119 @@
+package io.zabbixplus.framework.core.timeseries;
+
+import io.zabbixplus.framework.timeseries.TimeSeriesStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background pipeline feeding appended samples into the {@link RollupAggregator}.
+ * <p>
+ * Appending threads only enqueue; a single worker thread owns the aggregator, so no locking is needed
+ * on the aggregation state. When the queue is full, appends block, which pushes back on ingest instead
+ * of silently losing samples from the rollups.
+ */
+final class RollupPipeline implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(RollupPipeline.class);
+
+    private final TimeSeriesStore store;
+    private final RollupAggregator aggregator;
+    private final BlockingQueue<Object> queue;
+    private final Map<String, Long> recoveryPoints = new HashMap<>();
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    RollupPipeline(TimeSeriesStore store, RollupStores rollups, long sealDelayMillis, int queueCapacity) {
+        this.store = store;
+        this.aggregator = new RollupAggregator(store, rollups, sealDelayMillis);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        // Captured before any new append so recovery and the queue never see the same sample
+        for (String key : store.seriesKeys()) {
+            recoveryPoints.put(key, store.lastTimestamp(key));
+        }
+        this.worker = new Thread(this::run, "ts-rollup");
+        this.worker.setDaemon(true);
+    }
+
+    void start() {
+        worker.start();
+    }
+
+    void submit(String rawKey, long timestamp, double value) {
+        try {
+            queue.put(new Sample(rawKey, timestamp, value));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Interrupted while queueing sample of '{}' for rollup.", rawKey);
+        }
+    }
+
+    /**
+     * Asks the worker to write buckets whose window has ended. Skipped if the queue is full,
+     * since the worker is busy anyway and the next tick will catch up.
+     */
+    void tick(long now) {
+        queue.offer(new Tick(now));
+    }
+
+    int getQueueSize() {
+        return queue.size();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        long started = System.nanoTime();
+        for (Map.Entry<String, Long> entry : recoveryPoints.entrySet()) {
+            try {
+                aggregator.recover(entry.getKey(), entry.getValue());
+            } catch (RuntimeException e) {
+                logger.error("Failed to recover rollups of series '{}'", entry.getKey(), e);
+            }
+        }
+        if (!recoveryPoints.isEmpty()) {
+            logger.info("Recovered rollup state of {} series in {} ms.", recoveryPoints.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        }
+        recoveryPoints.clear();
+
+        while (running) {
+            Object item;
+            try {
+                item = queue.take();
+            } catch (InterruptedException e) {
+                break;
+            }
+            try {
+                if (item instanceof Sample sample) {
+                    aggregator.accept(sample.key, sample.timestamp, sample.value);
+                } else if (item instanceof Tick tick) {
+                    aggregator.sealCompleted(tick.now);
+                }
+            } catch (RuntimeException e) {
+                logger.error("Rollup processing failed", e);
+            }
+        }
+        // Open buckets are not written on shutdown; recovery rebuilds them from raw data on next start
+    }
+
+    private record Sample(String key, long timestamp, double value) {
+    }
+
+    private record Tick(long now) {
+    }
+}
@@ -0,0 +1,87 @@
+package io.zabbixplus.framework.core.timeseries;
+
+import io.zabbixplus.framework.plugin.timeseries.AggregatePoint;
+import io.zabbixplus.framework.timeseries.TimeSeriesStore;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads a range at a given rollup resolution. Stored buckets are merged by timestamp (late samples can
+ * produce more than one entry per bucket), and the still-open tail of the range, which has not been
+ * written by the pipeline yet, is aggregated on the fly from raw samples.
+ */
+final class RollupQuery {
+
+    private RollupQuery() {
+    }
+
+    static List<AggregatePoint> read(TimeSeriesStore store, RollupStores rollups, String rawKey,
+                                     RollupResolution resolution, long from, long to) {
+        long alignedFrom = resolution.bucketStart(from);
+        Map<Long, double[]> buckets = new LinkedHashMap<>();
+        rollups.get(resolution).scanRecords(rawKey, alignedFrom, to, (timestamp, record) -> {
+            double[] b = buckets.get(timestamp);
+            if (b == null) {
+                buckets.put(timestamp, record.clone());
+                return;
+            }
+            b[RollupResolution.MIN] = Math.min(b[RollupResolution.MIN], record[RollupResolution.MIN]);
+            b[RollupResolution.MAX] = Math.max(b[RollupResolution.MAX], record[RollupResolution.MAX]);
+            b[RollupResolution.SUM] += record[RollupResolution.SUM];
+            b[RollupResolution.COUNT] += record[RollupResolution.COUNT];
+        });
+
+        long lastBucket = Long.MIN_VALUE;
+        List<AggregatePoint> points = new ArrayList<>(buckets.size() + 1);
+        for (Map.Entry<Long, double[]> entry : buckets.entrySet()) {
+            double[] b = entry.getValue();
+            long count = (long) b[RollupResolution.COUNT];
+            if (count > 0) {
+                points.add(new AggregatePoint(entry.getKey(), b[RollupResolution.MIN], b[RollupResolution.MAX],
+                        b[RollupResolution.SUM] / count, count));
+                lastBucket = entry.getKey();
+            }
+        }
+
+        long tailFrom = lastBucket == Long.MIN_VALUE ? alignedFrom : lastBucket + resolution.getMillis();
+        if (tailFrom <= to) {
+            appendRawTail(store, rawKey, resolution, Math.max(tailFrom, from), to, points);
+        }
+        return points;
+    }
+
+    private static void appendRawTail(TimeSeriesStore store, String rawKey, RollupResolution resolution,
+                                      long from, long to, List<AggregatePoint> points) {
+        double[] acc = new double[4];
+        long[] state = {Long.MIN_VALUE, 0}; // bucket start, count
+        store.scan(rawKey, from, to, (timestamp, value) -> {
+            long start = resolution.bucketStart(timestamp);
+            if (state[1] > 0 && start != state[0]) {
+                points.add(toPoint(state[0], acc, state[1]));
+                state[1] = 0;
+            }
+            if (state[1] == 0) {
+                state[0] = start;
+                acc[RollupResolution.MIN] = value;
+                acc[RollupResolution.MAX] = value;
+                acc[RollupResolution.SUM] = value;
+            } else {
+                acc[RollupResolution.MIN] = Math.min(acc[RollupResolution.MIN], value);
+                acc[RollupResolution.MAX] = Math.max(acc[RollupResolution.MAX], value);
+                acc[RollupResolution.SUM] += value;
+            }
+            state[1]++;
+        });
+        if (state[1] > 0) {
+            points.add(toPoint(state[0], acc, state[1]));
+        }
+    }
+
+    private static AggregatePoint toPoint(long start, double[] acc, long count) {
+        return new AggregatePoint(start, acc[RollupResolution.MIN], acc[RollupResolution.MAX],
+                acc[RollupResolution.SUM] / count, count);
+    }
+}
@@ -0,0 +1,74 @@
+package io.zabbixplus.framework.core.timeseries;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pre-aggregated resolutions maintained by the rollup pipeline, from finest to coarsest.
+ * Each resolution has its own store ({@link RollupStores}) holding one series per raw series, under the
+ * raw key, with one record per bucket: min, max, sum and count. Segment span and size grow with the
+ * bucket width, so a series costs about one segment file per day at every resolution combined.
+ */
+public enum RollupResolution {
+
+    MINUTE("1m", TimeUnit.MINUTES.toMillis(1), TimeUnit.DAYS.toMillis(1), 64 * 1024),
+    HOUR("1h", TimeUnit.HOURS.toMillis(1), TimeUnit.DAYS.toMillis(7), 8 * 1024),
+    DAY("1d", TimeUnit.DAYS.toMillis(1), TimeUnit.DAYS.toMillis(30), 4 * 1024);
+
+    static final String[] FIELDS = {"min", "max", "sum", "count"};
+    static final int MIN = 0;
+    static final int MAX = 1;
+    static final int SUM = 2;
+    static final int COUNT = 3;
+
+    private final String label;
+    private final long millis;
+    private final long segmentSpanMillis;
+    private final int segmentBytes;
+
+    RollupResolution(String label, long millis, long segmentSpanMillis, int segmentBytes) {
+        this.label = label;
+        this.millis = millis;
+        this.segmentSpanMillis = segmentSpanMillis;
+        this.segmentBytes = segmentBytes;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public long getMillis() {
+        return millis;
+    }
+
+    long getSegmentSpanMillis() {
+        return segmentSpanMillis;
+    }
+
+    int getSegmentBytes() {
+        return segmentBytes;
+    }
+
+    public long bucketStart(long timestamp) {
+        return Math.floorDiv(timestamp, millis) * millis;
+    }
+
+    /**
+     * Chooses the resolution for a query. Raw data is used when the estimated number of raw samples
+     * fits the point budget; otherwise the finest resolution whose bucket count fits is used, falling
+     * back to the coarsest one for ranges that exceed the budget even at daily buckets.
+     *
+     * @return the resolution to read, or {@code null} to read raw samples.
+     */
+    public static RollupResolution select(long estimatedRawCount, long rangeMillis, int maxPoints) {
+        if (estimatedRawCount <= maxPoints) {
+            return null;
+        }
+        for (RollupResolution resolution : values()) {
+            long buckets = rangeMillis / resolution.millis + 1;
+            if (buckets <= maxPoints) {
+                return resolution;
+            }
+        }
+        return DAY;
+    }
+}
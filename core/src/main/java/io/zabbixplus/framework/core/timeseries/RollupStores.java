@@ -0,0 +1,75 @@
+package io.zabbixplus.framework.core.timeseries;
+
+import io.zabbixplus.framework.timeseries.TimeSeriesStore;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * One {@link TimeSeriesStore} per {@link RollupResolution}, under {@code <directory>/rollup/<label>},
+ * next to the raw store. Each stores four values per record ({@link RollupResolution#FIELDS}) with the
+ * segment span and size of its resolution.
+ */
+final class RollupStores implements Closeable {
+
+    private final Map<RollupResolution, TimeSeriesStore> stores;
+
+    private RollupStores(Map<RollupResolution, TimeSeriesStore> stores) {
+        this.stores = stores;
+    }
+
+    static RollupStores open(Path directory) throws IOException {
+        Map<RollupResolution, TimeSeriesStore> stores = new EnumMap<>(RollupResolution.class);
+        try {
+            for (RollupResolution resolution : RollupResolution.values()) {
+                stores.put(resolution, TimeSeriesStore.open(directory.resolve("rollup").resolve(resolution.getLabel()),
+                        resolution.getSegmentBytes(), resolution.getSegmentSpanMillis(), RollupResolution.FIELDS.length));
+            }
+        } catch (IOException | RuntimeException e) {
+            for (TimeSeriesStore store : stores.values()) {
+                store.close();
+            }
+            throw e;
+        }
+        return new RollupStores(stores);
+    }
+
+    TimeSeriesStore get(RollupResolution resolution) {
+        return stores.get(resolution);
+    }
+
+    void flush() {
+        for (TimeSeriesStore store : stores.values()) {
+            store.flush();
+        }
+    }
+
+    /**
+     * @return the number of segment files deleted across all resolutions.
+     */
+    int dropBefore(long cutoff) {
+        int dropped = 0;
+        for (TimeSeriesStore store : stores.values()) {
+            dropped += store.dropBefore(cutoff);
+        }
+        return dropped;
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        for (TimeSeriesStore store : stores.values()) {
+            try {
+                store.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package io.zabbixplus.framework.core.timeseries;
+
+import io.zabbixplus.framework.core.rules.RuleEngine;
+import io.zabbixplus.framework.plugin.timeseries.AggregatePoint;
+import io.zabbixplus.framework.plugin.timeseries.DataPoint;
+import io.zabbixplus.framework.plugin.timeseries.SampleVisitor;
+import io.zabbixplus.framework.plugin.timeseries.TimeSeriesService;
+import io.zabbixplus.framework.timeseries.TimeSeriesStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Core service backed by the embedded {@link TimeSeriesStore}. Plugins reach it through
+ * {@code PluginContext.getService(TimeSeriesService.class)}.
+ * <p>
+ * Every appended sample is also fed to a background {@link RollupPipeline} that maintains 1 minute,
+ * 1 hour and 1 day aggregates in {@link RollupStores} next to the raw data; {@link #queryAggregated}
+ * picks the resolution.
+ * It is also submitted to the {@link RuleEngine} for alert rule evaluation.
+ */
+@Service
+public class TimeSeriesStoreService implements TimeSeriesService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimeSeriesStoreService.class);
+
+    @Value("${framework.timeseries.directory:./data/timeseries}")
+    private String directory;
+
+    @Value("${framework.timeseries.segment-bytes:65536}")
+    private int segmentBytes;
+
+    @Value("${framework.timeseries.segment-span:6h}")
+    private Duration segmentSpan;
+
+    @Value("${framework.timeseries.retention:30d}")
+    private Duration retention;
+
+    @Value("${framework.timeseries.rollup.seal-delay:2m}")
+    private Duration rollupSealDelay;
+
+    @Value("${framework.timeseries.rollup.queue-capacity:65536}")
+    private int rollupQueueCapacity;
+
+    @Autowired
+    private RuleEngine ruleEngine;
+
+    private TimeSeriesStore store;
+    private RollupStores rollupStores;
+    private RollupPipeline rollupPipeline;
+
+    @PostConstruct
+    public void open() throws IOException {
+        store = TimeSeriesStore.open(Paths.get(directory), segmentBytes, segmentSpan.toMillis());
+        rollupStores = RollupStores.open(Paths.get(directory));
+        rollupPipeline = new RollupPipeline(store, rollupStores, rollupSealDelay.toMillis(), rollupQueueCapacity);
+        rollupPipeline.start();
+        logger.info("Opened time-series store at '{}' with {} series (retention {}).",
+                store.getDirectory().toAbsolutePath(), store.seriesKeys().size(), retention);
+    }
+
+    @Override
+    public void append(String seriesKey, long timestampMillis, double value) {
+        // Submitted under the series' append lock: the rollups and rules must see samples in store order
+        store.append(seriesKey, timestampMillis, value, (timestamp, accepted) -> {
+            rollupPipeline.submit(seriesKey, timestamp, accepted);
+            ruleEngine.submit(seriesKey, timestamp, accepted);
+        });
+    }
+
+    @Override
+    public void scan(String seriesKey, long fromMillis, long toMillis, SampleVisitor visitor) {
+        store.scan(seriesKey, fromMillis, toMillis, visitor::visit);
+    }
+
+    @Override
+    public List<DataPoint> query(String seriesKey, long fromMillis, long toMillis) {
+        List<DataPoint> points = new ArrayList<>();
+        store.scan(seriesKey, fromMillis, toMillis, (timestamp, value) -> points.add(new DataPoint(timestamp, value)));
+        return points;
+    }
+
+    @Override
+    public List<AggregatePoint> queryAggregated(String seriesKey, long fromMillis, long toMillis, int maxPoints) {
+        if (maxPoints < 1) {
+            throw new IllegalArgumentException("maxPoints must be positive");
+        }
+        long estimate = store.estimateCount(seriesKey, fromMillis, toMillis);
+        RollupResolution resolution = RollupResolution.select(estimate, toMillis - fromMillis, maxPoints);
+        if (resolution != null) {
+            return RollupQuery.read(store, rollupStores, seriesKey, resolution, fromMillis, toMillis);
+        }
+        List<AggregatePoint> points = new ArrayList<>();
+        store.scan(seriesKey, fromMillis, toMillis,
+                (timestamp, value) -> points.add(new AggregatePoint(timestamp, value, value, value, 1)));
+        return points;
+    }
+
+    @Override
+    public Set<String> getSeriesKeys() {
+        return Set.copyOf(store.seriesKeys());
+    }
+
+    public TimeSeriesStore getStore() {
+        return store;
+    }
+
+    @Scheduled(fixedDelayString = "${framework.timeseries.flush-interval-ms:10000}")
+    public void flush() {
+        store.flush();
+        rollupStores.flush();
+    }
+
+    @Scheduled(fixedDelayString = "${framework.timeseries.rollup.tick-interval-ms:15000}")
+    public void sealCompletedRollups() {
+        rollupPipeline.tick(System.currentTimeMillis());
+    }
+
+    @Scheduled(fixedDelayString = "${framework.timeseries.retention-check-interval-ms:3600000}",
+            initialDelayString = "${framework.timeseries.retention-check-interval-ms:3600000}")
+    public void applyRetention() {
+        long cutoff = System.currentTimeMillis() - retention.toMillis();
+        int dropped = store.dropBefore(cutoff) + rollupStores.dropBefore(cutoff);
+        if (dropped > 0) {
+            logger.info("Time-series retention dropped {} segment(s) older than {}.", dropped, retention);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        rollupPipeline.close();
+        try {
+            rollupStores.close();
+            store.close();
+            logger.info("Closed time-series store.");
+        } catch (IOException e) {
+            logger.error("Error closing time-series store", e);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package io.zabbixplus.framework.core.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zabbixplus.framework.core.concurrent.AdaptiveConcurrencyLimit;
+import io.zabbixplus.framework.core.concurrent.AdaptiveConcurrencyLimit.Priority;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Admission control for {@code /api/}: a request is only let through to the dispatcher if
+ * {@link AdaptiveConcurrencyLimit} has room for its priority class; otherwise it is answered at
+ * once with {@code 503} and {@code Retry-After}, before any work is done for it.
+ * <p>
+ * Health routes are {@code CRITICAL} and never rejected, so health checks keep answering under
+ * overload; metadata and diagnostics routes are {@code HIGH}. Long-lived streams are exempt, as they
+ * would hold a slot for as long as the client stays connected. Requests that go async release
+ * their slot when the request thread returns and are not used as latency samples.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 100)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final List<String> criticalPaths;
+    private final List<String> highPaths;
+    private final List<String> exemptPaths;
+    private final String retryAfterSeconds;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Autowired
+    public AdmissionControlFilter(AdaptiveConcurrencyLimit concurrencyLimit,
+                                  ObjectMapper objectMapper,
+                                  @Value("${framework.admission.enabled:true}") boolean enabled,
+                                  @Value("${framework.admission.critical-paths:/api/health}") List<String> criticalPaths,
+                                  @Value("${framework.admission.high-paths:/api/ui/**,/api/diagnostics/**,/api/metrics}") List<String> highPaths,
+                                  @Value("${framework.admission.exempt-paths:/api/records/stream}") List<String> exemptPaths,
+                                  @Value("${framework.admission.retry-after:1s}") Duration retryAfter) {
+        this.concurrencyLimit = concurrencyLimit;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.criticalPaths = criticalPaths;
+        this.highPaths = highPaths;
+        this.exemptPaths = exemptPaths;
+        this.retryAfterSeconds = Long.toString(Math.max(1, retryAfter.toSeconds()));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled) {
+            return true;
+        }
+        String path = pathOf(request);
+        return !path.startsWith("/api/") || matches(exemptPaths, path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Priority priority = priorityOf(pathOf(request));
+        if (!concurrencyLimit.tryAcquire(priority)) {
+            reject(response);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            concurrencyLimit.release(System.nanoTime() - start, !request.isAsyncStarted());
+        }
+    }
+
+    /**
+     * Runs the admission check for a request dispatched in-process instead of through the servlet
+     * filter chain, such as a {@code POST /api/batch} item: it takes its own slot at the priority of
+     * its own path, or is answered with {@code 503} and {@code Retry-After}.
+     */
+    void admit(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (shouldNotFilter(request)) {
+            filterChain.doFilter(request, response);
+        } else {
+            doFilterInternal(request, response, filterChain);
+        }
+    }
+
+    Priority priorityOf(String path) {
+        if (matches(criticalPaths, path)) {
+            return Priority.CRITICAL;
+        }
+        if (matches(highPaths, path)) {
+            return Priority.HIGH;
+        }
+        return Priority.NORMAL;
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ApiResponse<Void>(HttpServletResponse.SC_SERVICE_UNAVAILABLE,
+                "Server is at capacity, retry after " + retryAfterSeconds + "s", null));
+    }
+
+    private boolean matches(List<String> patterns, String path) {
+        for (String pattern : patterns) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String pathOf(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
@@ -0,0 +1,286 @@
+package io.zabbixplus.framework.core.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zabbixplus.framework.core.concurrent.VirtualThreads;
+import io.zabbixplus.framework.core.config.VirtualThreadConfig;
+import io.zabbixplus.framework.core.web.dto.BatchItemResult;
+import io.zabbixplus.framework.core.web.dto.BatchRequest;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs the items of a {@code POST /api/batch} in parallel by handing each one, as its own
+ * request, straight to the {@link DispatcherServlet}. Items go through {@link ListResponseCacheFilter}
+ * and {@link SingleFlightFilter}, so cached list routes stay cached and identical items collapse.
+ * There is no loopback HTTP: no socket, no second parse of the batch, and interceptors run per
+ * item exactly as for a direct call.
+ * <p>
+ * Items carry the caller's credentials (the batch request's {@code Authorization}, {@code Cookie}
+ * and session), so each one is authorized on its own and can fail with its own 401/403 without
+ * affecting the others. Each item also passes {@link AdmissionControlFilter} with the priority of
+ * its own path, so a batch cannot get past the concurrency limit: items that find it full fail with
+ * their own {@code 503} and {@code Retry-After}. Only {@code /api/} paths can be batched, and
+ * batches cannot nest.
+ */
+@Component
+public class BatchDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchDispatcher.class);
+
+    static final String BATCH_PATH = "/api/batch";
+    private static final Set<String> METHODS = Set.of("GET", "HEAD", "POST", "PUT", "PATCH", "DELETE");
+    // Headers describing the batch request itself rather than the caller
+    private static final Set<String> NOT_INHERITED = Set.of("content-length", "content-type", "transfer-encoding",
+            "accept-encoding", "connection", "keep-alive", "expect", "upgrade", "te",
+            "if-none-match", "if-match", "if-modified-since", "if-unmodified-since");
+
+    private final ObjectProvider<DispatcherServlet> dispatcherServlet;
+    private final AdmissionControlFilter admissionControlFilter;
+    private final ListResponseCacheFilter listResponseCacheFilter;
+    private final SingleFlightFilter singleFlightFilter;
+    private final ObjectMapper objectMapper;
+    private final int maxItems;
+    private final long defaultTimeoutMillis;
+    private final long maxTimeoutMillis;
+    private final ExecutorService executor;
+
+    @Autowired
+    public BatchDispatcher(ObjectProvider<DispatcherServlet> dispatcherServlet,
+                           AdmissionControlFilter admissionControlFilter,
+                           ListResponseCacheFilter listResponseCacheFilter,
+                           SingleFlightFilter singleFlightFilter,
+                           ObjectMapper objectMapper,
+                           VirtualThreadConfig virtualThreadConfig,
+                           @Value("${framework.batch.max-items:25}") int maxItems,
+                           @Value("${framework.batch.default-timeout:10s}") Duration defaultTimeout,
+                           @Value("${framework.batch.max-timeout:30s}") Duration maxTimeout,
+                           @Value("${framework.batch.parallelism:8}") int parallelism) {
+        this.dispatcherServlet = dispatcherServlet;
+        this.admissionControlFilter = admissionControlFilter;
+        this.listResponseCacheFilter = listResponseCacheFilter;
+        this.singleFlightFilter = singleFlightFilter;
+        this.objectMapper = objectMapper;
+        this.maxItems = maxItems;
+        this.defaultTimeoutMillis = defaultTimeout.toMillis();
+        this.maxTimeoutMillis = maxTimeout.toMillis();
+        // Platform threads are pooled so a burst of batches cannot create unbounded threads
+        this.executor = virtualThreadConfig.isVirtual()
+                ? VirtualThreads.newThreadPerTaskExecutor("batch")
+                : Executors.newFixedThreadPool(parallelism, VirtualThreads.platformFactory("batch"));
+    }
+
+    public int getMaxItems() {
+        return maxItems;
+    }
+
+    /**
+     * The executor running batch items; a {@link java.util.concurrent.ThreadPoolExecutor} unless
+     * virtual threads are enabled.
+     */
+    public ExecutorService getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Dispatches all items and waits for them, each up to its own timeout. Results are in item order.
+     */
+    public List<BatchItemResult> execute(HttpServletRequest request, HttpServletResponse response, List<BatchRequest.Item> items) {
+        // Read everything items need from the batch request now: a timed-out item keeps running after
+        // this method returns, when the container may already have recycled the request
+        BatchSubRequest.Origin origin = BatchSubRequest.Origin.of(request);
+        Map<String, List<String>> inherited = inheritedHeaders(request);
+        long start = System.nanoTime();
+        List<Future<BatchItemResult>> futures = new ArrayList<>(items.size());
+        List<BatchItemResult> results = new ArrayList<>(Collections.nCopies(items.size(), null));
+
+        for (int i = 0; i < items.size(); i++) {
+            BatchRequest.Item item = items.get(i);
+            String error = validate(item);
+            if (error != null) {
+                results.set(i, BatchItemResult.failed(idOf(item, i), HttpServletResponse.SC_BAD_REQUEST, error, 0));
+                futures.add(null);
+                continue;
+            }
+            String id = idOf(item, i);
+            futures.add(executor.submit(() -> dispatch(origin, response, id, item, inherited)));
+        }
+
+        for (int i = 0; i < items.size(); i++) {
+            Future<BatchItemResult> future = futures.get(i);
+            if (future == null) {
+                continue;
+            }
+            String id = idOf(items.get(i), i);
+            long timeoutMillis = timeoutOf(items.get(i));
+            long remainingNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis) - (System.nanoTime() - start);
+            try {
+                results.set(i, future.get(Math.max(0L, remainingNanos), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                results.set(i, BatchItemResult.failed(id, HttpServletResponse.SC_GATEWAY_TIMEOUT,
+                        "Timed out after " + timeoutMillis + " ms", millisSince(start)));
+            } catch (ExecutionException e) {
+                logger.warn("Batch item '{}' failed.", id, e.getCause());
+                results.set(i, BatchItemResult.failed(id, HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+                        String.valueOf(e.getCause().getMessage()), millisSince(start)));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(f -> {
+                    if (f != null) {
+                        f.cancel(true);
+                    }
+                });
+                results.set(i, BatchItemResult.failed(id, HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Batch interrupted", millisSince(start)));
+            }
+        }
+        return results;
+    }
+
+    private BatchItemResult dispatch(BatchSubRequest.Origin origin, HttpServletResponse response, String id,
+                                     BatchRequest.Item item, Map<String, List<String>> inherited) throws IOException, ServletException {
+        long start = System.nanoTime();
+        Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        headers.putAll(inherited);
+        if (item.getHeaders() != null) {
+            item.getHeaders().forEach((name, value) -> headers.put(name, List.of(value)));
+        }
+        byte[] body = bodyOf(item, headers);
+
+        BatchSubRequest subRequest = new BatchSubRequest(origin, item.getMethod().toUpperCase(Locale.ROOT), item.getPath(), headers, body);
+        BatchSubResponse subResponse = new BatchSubResponse(response);
+        DispatcherServlet servlet = dispatcherServlet.getObject();
+        admissionControlFilter.admit(subRequest, subResponse,
+                (admittedRequest, admittedResponse) -> listResponseCacheFilter.doFilter(admittedRequest, admittedResponse,
+                        (cacheMissRequest, cacheMissResponse) -> singleFlightFilter.doFilter(cacheMissRequest, cacheMissResponse, servlet::service)));
+
+        Map<String, String> responseHeaders = new LinkedHashMap<>();
+        if (subResponse.getContentType() != null) {
+            responseHeaders.put(HttpHeaders.CONTENT_TYPE, subResponse.getContentType());
+        }
+        subResponse.getHeaderMap().forEach((name, values) -> responseHeaders.put(name, String.join(", ", values)));
+        return new BatchItemResult(id, subResponse.getStatus(), responseHeaders,
+                parseBody(subResponse), subResponse.getErrorMessage(), millisSince(start));
+    }
+
+    private byte[] bodyOf(BatchRequest.Item item, Map<String, List<String>> headers) throws JsonProcessingException {
+        JsonNode body = item.getBody();
+        if (body == null || body.isNull()) {
+            return null;
+        }
+        List<String> contentType = headers.get(HttpHeaders.CONTENT_TYPE);
+        if (contentType == null) {
+            headers.put(HttpHeaders.CONTENT_TYPE, List.of(MediaType.APPLICATION_JSON_VALUE));
+        } else if (body.isTextual() && !isJson(contentType.get(0))) {
+            return body.asText().getBytes(StandardCharsets.UTF_8);
+        }
+        return objectMapper.writeValueAsBytes(body);
+    }
+
+    private Object parseBody(BatchSubResponse subResponse) {
+        byte[] bytes = subResponse.getBody();
+        if (bytes.length == 0) {
+            return null;
+        }
+        if (isJson(subResponse.getContentType())) {
+            try {
+                return objectMapper.readTree(bytes);
+            } catch (IOException e) {
+                // Fall through and return it as text
+            }
+        }
+        return new String(bytes, charsetOf(subResponse));
+    }
+
+    private static Charset charsetOf(BatchSubResponse subResponse) {
+        try {
+            return Charset.forName(subResponse.getCharacterEncoding());
+        } catch (IllegalArgumentException e) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+
+    private static boolean isJson(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        String type = contentType.toLowerCase(Locale.ROOT);
+        return type.startsWith("application/json") || type.contains("+json");
+    }
+
+    static String validate(BatchRequest.Item item) {
+        String path = item.getPath();
+        if (path == null || !path.startsWith("/api/")) {
+            return "path must start with /api/";
+        }
+        String bare = path.indexOf('?') >= 0 ? path.substring(0, path.indexOf('?')) : path;
+        if (bare.equals(BATCH_PATH) || bare.startsWith(BATCH_PATH + "/") || bare.contains("/../") || bare.endsWith("/..")) {
+            return "path not allowed in a batch: " + bare;
+        }
+        if (item.getMethod() == null || !METHODS.contains(item.getMethod().toUpperCase(Locale.ROOT))) {
+            return "unsupported method: " + item.getMethod();
+        }
+        if (item.getTimeoutMillis() != null && item.getTimeoutMillis() <= 0) {
+            return "timeoutMillis must be positive";
+        }
+        return null;
+    }
+
+    private long timeoutOf(BatchRequest.Item item) {
+        return item.getTimeoutMillis() != null ? Math.min(item.getTimeoutMillis(), maxTimeoutMillis) : defaultTimeoutMillis;
+    }
+
+    private static String idOf(BatchRequest.Item item, int index) {
+        return item.getId() != null ? item.getId() : Integer.toString(index);
+    }
+
+    private static Map<String, List<String>> inheritedHeaders(HttpServletRequest request) {
+        Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (String name : Collections.list(request.getHeaderNames())) {
+            if (!NOT_INHERITED.contains(name.toLowerCase(Locale.ROOT))) {
+                headers.put(name, Collections.list(request.getHeaders(name)));
+            }
+        }
+        return headers;
+    }
+
+    private static double millisSince(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000.0;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
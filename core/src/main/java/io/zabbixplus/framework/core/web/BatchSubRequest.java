@@ -0,0 +1,586 @@
+package io.zabbixplus.framework.core.web;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.RequestDispatcher;
+import jakarta.servlet.ServletConnection;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletMapping;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import jakarta.servlet.http.HttpUpgradeHandler;
+import jakarta.servlet.http.Part;
+import jakarta.servlet.http.PushBuilder;
+import org.springframework.http.HttpHeaders;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * One item of a batch, presented to the {@code DispatcherServlet} as a request of its own. Method,
+ * URI, query, headers, body and attributes belong to the item; connection details (server name,
+ * remote address, session, context path) come from the enclosing batch request, copied into an
+ * {@link Origin} on the request thread before any item is dispatched. No method reads through to the
+ * batch request, so an item still running after its batch timed out cannot touch a request the
+ * container has already recycled.
+ */
+class BatchSubRequest extends HttpServletRequestWrapper {
+
+    private final Origin origin;
+    private final String method;
+    private final String requestUri;
+    private final String queryString;
+    private final Map<String, List<String>> headers;
+    private final byte[] body;
+    private final Map<String, String[]> parameters;
+    private final Map<String, Object> attributes = new HashMap<>();
+
+    BatchSubRequest(Origin origin, String method, String path, Map<String, List<String>> headers, byte[] body) {
+        // Wrapped only so that unwrapping code sees a request; every method below answers from the snapshot
+        super(origin.request);
+        this.origin = origin;
+        int query = path.indexOf('?');
+        this.method = method;
+        this.requestUri = origin.contextPath + (query >= 0 ? path.substring(0, query) : path);
+        this.queryString = query >= 0 ? path.substring(query + 1) : null;
+        this.headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        this.headers.putAll(headers);
+        this.body = body != null ? body : new byte[0];
+        this.parameters = parseQuery(queryString);
+    }
+
+    private static Map<String, String[]> parseQuery(String queryString) {
+        Map<String, List<String>> values = new LinkedHashMap<>();
+        if (queryString != null && !queryString.isEmpty()) {
+            for (String pair : queryString.split("&")) {
+                if (pair.isEmpty()) {
+                    continue;
+                }
+                int eq = pair.indexOf('=');
+                String name = URLDecoder.decode(eq >= 0 ? pair.substring(0, eq) : pair, StandardCharsets.UTF_8);
+                String value = eq >= 0 ? URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8) : "";
+                values.computeIfAbsent(name, k -> new ArrayList<>()).add(value);
+            }
+        }
+        Map<String, String[]> parameters = new LinkedHashMap<>();
+        values.forEach((name, list) -> parameters.put(name, list.toArray(new String[0])));
+        return Collections.unmodifiableMap(parameters);
+    }
+
+    @Override
+    public String getMethod() {
+        return method;
+    }
+
+    @Override
+    public String getRequestURI() {
+        return requestUri;
+    }
+
+    @Override
+    public StringBuffer getRequestURL() {
+        StringBuffer url = new StringBuffer();
+        url.append(getScheme()).append("://").append(getServerName());
+        int port = getServerPort();
+        if (port > 0 && !(("http".equals(getScheme()) && port == 80) || ("https".equals(getScheme()) && port == 443))) {
+            url.append(':').append(port);
+        }
+        return url.append(requestUri);
+    }
+
+    @Override
+    public String getServletPath() {
+        // The DispatcherServlet is mapped to "/", so the whole path within the application is the servlet path
+        return requestUri.substring(origin.contextPath.length());
+    }
+
+    @Override
+    public String getPathInfo() {
+        return null;
+    }
+
+    @Override
+    public String getPathTranslated() {
+        return null;
+    }
+
+    @Override
+    public String getContextPath() {
+        return origin.contextPath;
+    }
+
+    @Override
+    public HttpServletMapping getHttpServletMapping() {
+        return origin.mapping;
+    }
+
+    @Override
+    public ServletContext getServletContext() {
+        return origin.servletContext;
+    }
+
+    @Override
+    public RequestDispatcher getRequestDispatcher(String path) {
+        return origin.servletContext != null && path.startsWith("/") ? origin.servletContext.getRequestDispatcher(path) : null;
+    }
+
+    @Override
+    public String getScheme() {
+        return origin.scheme;
+    }
+
+    @Override
+    public String getServerName() {
+        return origin.serverName;
+    }
+
+    @Override
+    public int getServerPort() {
+        return origin.serverPort;
+    }
+
+    @Override
+    public String getProtocol() {
+        return origin.protocol;
+    }
+
+    @Override
+    public boolean isSecure() {
+        return origin.secure;
+    }
+
+    @Override
+    public String getRemoteAddr() {
+        return origin.remoteAddr;
+    }
+
+    @Override
+    public String getRemoteHost() {
+        return origin.remoteHost;
+    }
+
+    @Override
+    public int getRemotePort() {
+        return origin.remotePort;
+    }
+
+    @Override
+    public String getLocalAddr() {
+        return origin.localAddr;
+    }
+
+    @Override
+    public String getLocalName() {
+        return origin.localName;
+    }
+
+    @Override
+    public int getLocalPort() {
+        return origin.localPort;
+    }
+
+    @Override
+    public ServletConnection getServletConnection() {
+        return origin.connection;
+    }
+
+    @Override
+    public String getRequestId() {
+        return origin.requestId;
+    }
+
+    @Override
+    public String getProtocolRequestId() {
+        return "";
+    }
+
+    @Override
+    public Locale getLocale() {
+        return origin.locales.get(0);
+    }
+
+    @Override
+    public Enumeration<Locale> getLocales() {
+        return Collections.enumeration(origin.locales);
+    }
+
+    @Override
+    public Cookie[] getCookies() {
+        return origin.cookies != null ? origin.cookies.clone() : null;
+    }
+
+    @Override
+    public HttpSession getSession(boolean create) {
+        if (origin.session == null && create) {
+            throw new IllegalStateException("Batch items cannot create a session");
+        }
+        return origin.session;
+    }
+
+    @Override
+    public HttpSession getSession() {
+        return getSession(true);
+    }
+
+    @Override
+    public String changeSessionId() {
+        throw new IllegalStateException("Batch items cannot change the session id");
+    }
+
+    @Override
+    public String getRequestedSessionId() {
+        return origin.requestedSessionId;
+    }
+
+    @Override
+    public boolean isRequestedSessionIdValid() {
+        return origin.requestedSessionIdValid;
+    }
+
+    @Override
+    public boolean isRequestedSessionIdFromCookie() {
+        return origin.requestedSessionIdFromCookie;
+    }
+
+    @Override
+    public boolean isRequestedSessionIdFromURL() {
+        return origin.requestedSessionIdFromUrl;
+    }
+
+    @Override
+    public String getAuthType() {
+        return origin.authType;
+    }
+
+    @Override
+    public String getRemoteUser() {
+        return origin.remoteUser;
+    }
+
+    @Override
+    public Principal getUserPrincipal() {
+        return origin.userPrincipal;
+    }
+
+    @Override
+    public boolean isUserInRole(String role) {
+        // Container roles are not used by the framework and cannot be checked without the batch request
+        return false;
+    }
+
+    @Override
+    public boolean authenticate(HttpServletResponse response) {
+        return origin.userPrincipal != null;
+    }
+
+    @Override
+    public void login(String username, String password) throws ServletException {
+        throw new ServletException("Login is not supported for batch items");
+    }
+
+    @Override
+    public void logout() throws ServletException {
+        throw new ServletException("Logout is not supported for batch items");
+    }
+
+    @Override
+    public Collection<Part> getParts() throws ServletException {
+        throw new ServletException("Batch items are not multipart requests");
+    }
+
+    @Override
+    public Part getPart(String name) throws ServletException {
+        throw new ServletException("Batch items are not multipart requests");
+    }
+
+    @Override
+    public <T extends HttpUpgradeHandler> T upgrade(Class<T> handlerClass) throws ServletException {
+        throw new ServletException("Batch items cannot be upgraded");
+    }
+
+    @Override
+    @Deprecated
+    public PushBuilder newPushBuilder() {
+        return null;
+    }
+
+    @Override
+    public Map<String, String> getTrailerFields() {
+        return Collections.emptyMap();
+    }
+
+    @Override
+    public boolean isTrailerFieldsReady() {
+        return true;
+    }
+
+    @Override
+    public String getQueryString() {
+        return queryString;
+    }
+
+    @Override
+    public String getParameter(String name) {
+        String[] values = parameters.get(name);
+        return values != null && values.length > 0 ? values[0] : null;
+    }
+
+    @Override
+    public Map<String, String[]> getParameterMap() {
+        return parameters;
+    }
+
+    @Override
+    public Enumeration<String> getParameterNames() {
+        return Collections.enumeration(parameters.keySet());
+    }
+
+    @Override
+    public String[] getParameterValues(String name) {
+        return parameters.get(name);
+    }
+
+    @Override
+    public String getHeader(String name) {
+        List<String> values = headers.get(name);
+        return values != null && !values.isEmpty() ? values.get(0) : null;
+    }
+
+    @Override
+    public Enumeration<String> getHeaders(String name) {
+        List<String> values = headers.get(name);
+        return Collections.enumeration(values != null ? values : Collections.emptyList());
+    }
+
+    @Override
+    public Enumeration<String> getHeaderNames() {
+        return Collections.enumeration(headers.keySet());
+    }
+
+    @Override
+    public int getIntHeader(String name) {
+        String value = getHeader(name);
+        return value != null ? Integer.parseInt(value.trim()) : -1;
+    }
+
+    @Override
+    public long getDateHeader(String name) {
+        String value = getHeader(name);
+        if (value == null) {
+            return -1L;
+        }
+        try {
+            return ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date header " + name + ": " + value, e);
+        }
+    }
+
+    @Override
+    public String getContentType() {
+        return getHeader(HttpHeaders.CONTENT_TYPE);
+    }
+
+    @Override
+    public int getContentLength() {
+        return body.length;
+    }
+
+    @Override
+    public long getContentLengthLong() {
+        return body.length;
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        return StandardCharsets.UTF_8.name();
+    }
+
+    @Override
+    public void setCharacterEncoding(String encoding) {
+        // Item bodies are always UTF-8 JSON or text
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        ByteArrayInputStream in = new ByteArrayInputStream(body);
+        return new ServletInputStream() {
+            @Override
+            public boolean isFinished() {
+                return in.available() == 0;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                throw new UnsupportedOperationException("Batch items are read synchronously");
+            }
+
+            @Override
+            public int read() {
+                return in.read();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                return in.read(b, off, len);
+            }
+        };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+        return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        return Collections.enumeration(new ArrayList<>(attributes.keySet()));
+    }
+
+    @Override
+    public void setAttribute(String name, Object value) {
+        if (value == null) {
+            attributes.remove(name);
+        } else {
+            attributes.put(name, value);
+        }
+    }
+
+    @Override
+    public void removeAttribute(String name) {
+        attributes.remove(name);
+    }
+
+    @Override
+    public DispatcherType getDispatcherType() {
+        return DispatcherType.REQUEST;
+    }
+
+    @Override
+    public boolean isAsyncSupported() {
+        return false;
+    }
+
+    @Override
+    public boolean isAsyncStarted() {
+        return false;
+    }
+
+    @Override
+    public AsyncContext startAsync() {
+        throw new IllegalStateException("Async processing is not supported for batch items");
+    }
+
+    @Override
+    public AsyncContext startAsync(ServletRequest request, ServletResponse response) {
+        throw new IllegalStateException("Async processing is not supported for batch items");
+    }
+
+    @Override
+    public AsyncContext getAsyncContext() {
+        throw new IllegalStateException("Async processing is not supported for batch items");
+    }
+
+    /**
+     * What items need from the batch request, read once on the request thread while the batch
+     * request is still valid.
+     */
+    static final class Origin {
+        final HttpServletRequest request;
+        final String contextPath;
+        final HttpServletMapping mapping;
+        final ServletContext servletContext;
+        final String scheme;
+        final String serverName;
+        final int serverPort;
+        final String protocol;
+        final boolean secure;
+        final String remoteAddr;
+        final String remoteHost;
+        final int remotePort;
+        final String localAddr;
+        final String localName;
+        final int localPort;
+        final ServletConnection connection;
+        final String requestId;
+        final List<Locale> locales;
+        final Cookie[] cookies;
+        final HttpSession session;
+        final String requestedSessionId;
+        final boolean requestedSessionIdValid;
+        final boolean requestedSessionIdFromCookie;
+        final boolean requestedSessionIdFromUrl;
+        final String authType;
+        final String remoteUser;
+        final Principal userPrincipal;
+
+        private Origin(HttpServletRequest request) {
+            this.request = request;
+            this.contextPath = request.getContextPath();
+            this.mapping = request.getHttpServletMapping();
+            this.servletContext = request.getServletContext();
+            this.scheme = request.getScheme();
+            this.serverName = request.getServerName();
+            this.serverPort = request.getServerPort();
+            this.protocol = request.getProtocol();
+            this.secure = request.isSecure();
+            this.remoteAddr = request.getRemoteAddr();
+            this.remoteHost = request.getRemoteHost();
+            this.remotePort = request.getRemotePort();
+            this.localAddr = request.getLocalAddr();
+            this.localName = request.getLocalName();
+            this.localPort = request.getLocalPort();
+            this.connection = request.getServletConnection();
+            this.requestId = request.getRequestId();
+            this.locales = Collections.unmodifiableList(Collections.list(request.getLocales()));
+            this.cookies = request.getCookies();
+            this.session = request.getSession(false);
+            this.requestedSessionId = request.getRequestedSessionId();
+            this.requestedSessionIdValid = request.isRequestedSessionIdValid();
+            this.requestedSessionIdFromCookie = request.isRequestedSessionIdFromCookie();
+            this.requestedSessionIdFromUrl = request.isRequestedSessionIdFromURL();
+            this.authType = request.getAuthType();
+            this.remoteUser = request.getRemoteUser();
+            this.userPrincipal = request.getUserPrincipal();
+        }
+
+        static Origin of(HttpServletRequest request) {
+            return new Origin(request);
+        }
+    }
+}
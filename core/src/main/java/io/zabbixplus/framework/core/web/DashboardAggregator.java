@@ -0,0 +1,214 @@
+package io.zabbixplus.framework.core.web;
+
+import io.zabbixplus.framework.core.concurrent.VirtualThreads;
+import io.zabbixplus.framework.core.config.VirtualThreadConfig;
+import io.zabbixplus.framework.core.plugin.PluginService;
+import io.zabbixplus.framework.core.web.dto.DashboardWidget;
+import io.zabbixplus.framework.plugin.Plugin;
+import io.zabbixplus.framework.plugin.UiPlugin;
+import io.zabbixplus.framework.plugin.dashboard.DashboardWidgetProvider;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Collects the dashboard widget data of all {@link DashboardWidgetProvider} plugins for
+ * {@code GET /api/dashboard/widgets}. Every provider is asked at the same time, so a load takes as
+ * long as the slowest provider, bounded by its timeout, rather than the sum of all of them.
+ * <p>
+ * A provider that misses its timeout or fails does not fail the dashboard: its entry carries the
+ * last known data, marked {@code stale}, or no data. A late fetch keeps running and caches its
+ * result for the next load, and at most one fetch per plugin runs at a time, so a hanging plugin
+ * ties up one thread, not one per dashboard load. Results are cached for the TTL the plugin
+ * declares.
+ */
+@Component
+public class DashboardAggregator {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardAggregator.class);
+
+    private final PluginService pluginService;
+    private final long defaultTimeoutNanos;
+    private final long maxTimeoutNanos;
+    private final ExecutorService executor;
+    private final Map<String, Widget> widgets = new ConcurrentHashMap<>();
+
+    @Autowired
+    public DashboardAggregator(PluginService pluginService, VirtualThreadConfig virtualThreadConfig,
+                               @Value("${framework.dashboard.widget-timeout:2s}") Duration defaultTimeout,
+                               @Value("${framework.dashboard.max-widget-timeout:10s}") Duration maxTimeout,
+                               @Value("${framework.dashboard.parallelism:8}") int parallelism) {
+        this.pluginService = pluginService;
+        this.defaultTimeoutNanos = defaultTimeout.toNanos();
+        this.maxTimeoutNanos = maxTimeout.toNanos();
+        // Platform threads are pooled so hanging plugins cannot create unbounded threads
+        this.executor = virtualThreadConfig.isVirtual()
+                ? VirtualThreads.newThreadPerTaskExecutor("dashboard")
+                : Executors.newFixedThreadPool(parallelism, VirtualThreads.platformFactory("dashboard"));
+    }
+
+    /**
+     * Returns the widgets of the providers visible to a user with the given privileges
+     * ({@code null} = unrestricted), ordered by plugin name.
+     */
+    public List<DashboardWidget> collect(Set<String> privileges) {
+        long start = System.nanoTime();
+        List<Plugin> providers = new ArrayList<>();
+        for (Plugin plugin : pluginService.getLoadedPlugins().values()) {
+            if (plugin instanceof DashboardWidgetProvider && isVisible(plugin, privileges)) {
+                providers.add(plugin);
+            }
+        }
+        providers.sort(Comparator.comparing(Plugin::getPluginName, Comparator.nullsFirst(Comparator.naturalOrder())));
+
+        List<CompletableFuture<Result>> futures = new ArrayList<>(providers.size());
+        for (Plugin plugin : providers) {
+            futures.add(widgets.computeIfAbsent(plugin.getPluginId(), id -> new Widget()).fetch((DashboardWidgetProvider) plugin));
+        }
+
+        List<DashboardWidget> result = new ArrayList<>(providers.size());
+        for (int i = 0; i < providers.size(); i++) {
+            result.add(await(providers.get(i), futures.get(i), start));
+        }
+        return result;
+    }
+
+    private static boolean isVisible(Plugin plugin, Set<String> privileges) {
+        if (privileges == null || !(plugin instanceof UiPlugin)) {
+            return true;
+        }
+        List<String> required = ((UiPlugin) plugin).getRequiredPrivileges();
+        return required == null || required.isEmpty() || privileges.containsAll(required);
+    }
+
+    private DashboardWidget await(Plugin plugin, CompletableFuture<Result> future, long start) {
+        long timeoutNanos = timeoutOf((DashboardWidgetProvider) plugin);
+        long remainingNanos = timeoutNanos - (System.nanoTime() - start);
+        try {
+            Result fetched = future.get(Math.max(0L, remainingNanos), TimeUnit.NANOSECONDS);
+            return widget(plugin, fetched.fresh ? DashboardWidget.OK : DashboardWidget.CACHED, fetched, null, start);
+        } catch (TimeoutException e) {
+            String error = "No data within " + TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + " ms";
+            return fallback(plugin, DashboardWidget.TIMEOUT, error, start);
+        } catch (ExecutionException e) {
+            return fallback(plugin, DashboardWidget.ERROR, String.valueOf(e.getCause().getMessage()), start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return fallback(plugin, DashboardWidget.ERROR, "Interrupted", start);
+        }
+    }
+
+    private DashboardWidget fallback(Plugin plugin, String status, String error, long start) {
+        Widget widget = widgets.get(plugin.getPluginId());
+        Result last = widget != null ? widget.last : null;
+        return last != null
+                ? widget(plugin, DashboardWidget.STALE, last, error, start)
+                : new DashboardWidget(plugin.getPluginId(), plugin.getPluginName(), status, null, null, error, millisSince(start));
+    }
+
+    private static DashboardWidget widget(Plugin plugin, String status, Result result, String error, long start) {
+        return new DashboardWidget(plugin.getPluginId(), plugin.getPluginName(), status, result.data, result.fetchedAt,
+                error, millisSince(start));
+    }
+
+    private long timeoutOf(DashboardWidgetProvider provider) {
+        Duration timeout = provider.getWidgetTimeout();
+        return timeout != null ? Math.min(timeout.toNanos(), maxTimeoutNanos) : defaultTimeoutNanos;
+    }
+
+    private static double millisSince(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000.0;
+    }
+
+    /**
+     * The executor fetching widget data; a {@link java.util.concurrent.ThreadPoolExecutor} unless
+     * virtual threads are enabled.
+     */
+    public ExecutorService getExecutor() {
+        return executor;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Cache and in-flight fetch of one plugin's widget.
+     */
+    private final class Widget {
+        private volatile Result last;
+        private CompletableFuture<Result> inFlight;
+
+        CompletableFuture<Result> fetch(DashboardWidgetProvider provider) {
+            Result cached = last;
+            if (cached != null && System.nanoTime() < cached.expiresAtNanos) {
+                return CompletableFuture.completedFuture(cached.asCached());
+            }
+            synchronized (this) {
+                if (inFlight != null) {
+                    return inFlight;
+                }
+                CompletableFuture<Result> fetch = CompletableFuture.supplyAsync(() -> load(provider), executor);
+                inFlight = fetch;
+                fetch.whenComplete((result, failure) -> {
+                    synchronized (this) {
+                        if (result != null) {
+                            last = result;
+                        }
+                        inFlight = null;
+                    }
+                });
+                return fetch;
+            }
+        }
+
+        private Result load(DashboardWidgetProvider provider) {
+            try {
+                Object data = provider.getWidgetData();
+                Duration ttl = provider.getWidgetCacheTtl();
+                long now = System.nanoTime();
+                return new Result(data, System.currentTimeMillis(), ttl != null ? now + ttl.toNanos() : now, true);
+            } catch (Exception e) {
+                logger.warn("Dashboard widget of {} failed.", provider.getClass().getName(), e);
+                throw new CompletionException(e);
+            }
+        }
+    }
+
+    private static final class Result {
+        final Object data;
+        final long fetchedAt;
+        final long expiresAtNanos;
+        final boolean fresh;
+
+        Result(Object data, long fetchedAt, long expiresAtNanos, boolean fresh) {
+            this.data = data;
+            this.fetchedAt = fetchedAt;
+            this.expiresAtNanos = expiresAtNanos;
+            this.fresh = fresh;
+        }
+
+        Result asCached() {
+            return new Result(data, fetchedAt, expiresAtNanos, false);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package io.zabbixplus.framework.core.web;
+
+/**
+ * Helpers for conditional GET handling.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * Whether an {@code If-None-Match} header value matches {@code etag}. Weak validators are
+     * compared by their opaque tag, as RFC 9110 prescribes for If-None-Match.
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals(etag) || candidate.equals("*")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
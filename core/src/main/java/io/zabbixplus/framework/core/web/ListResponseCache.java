@@ -0,0 +1,126 @@
+package io.zabbixplus.framework.core.web;
+
+import io.zabbixplus.framework.core.service.TableChangeTracker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serialized responses of list endpoints, keyed by route, normalized query string and the change
+ * version of the table the route reads from. An entry is only served while its version matches the
+ * table's current version, so writes invalidate it implicitly.
+ * <p>
+ * Routes opt in by calling {@link #register(String, String)}. Plugins get this instance through
+ * {@code PluginContext.getService(ListResponseCache.class)}.
+ */
+@Component
+public class ListResponseCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ListResponseCache.class);
+
+    private final TableChangeTracker changeTracker;
+    private final Map<String, Route> routes = new ConcurrentHashMap<>();
+    private final int maxEntriesPerRoute;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong notModified = new AtomicLong();
+
+    @Autowired
+    public ListResponseCache(TableChangeTracker changeTracker,
+                             @Value("${framework.cache.list-responses.max-entries-per-route:256}") int maxEntriesPerRoute) {
+        this.changeTracker = changeTracker;
+        this.maxEntriesPerRoute = maxEntriesPerRoute;
+    }
+
+    /**
+     * Caches GET responses of the given path (exact match, without context path) against the
+     * change version of {@code table}.
+     */
+    public void register(String path, String table) {
+        routes.put(path, new Route(path, table));
+        logger.info("Caching list responses for '{}' against changes to table '{}'.", path, table);
+    }
+
+    public void unregister(String path) {
+        routes.remove(path);
+    }
+
+    Route getRoute(String path) {
+        return routes.get(path);
+    }
+
+    long currentVersion(Route route) {
+        return changeTracker.currentVersion(route.table);
+    }
+
+    String etag(Route route, long version, String query) {
+        return "\"" + Long.toHexString(changeTracker.getEpoch()) + "-" + Long.toHexString(version)
+                + "-" + Integer.toHexString(query.hashCode()) + "\"";
+    }
+
+    Entry lookup(Route route, String query, long version) {
+        Entry entry = route.entries.get(query);
+        if (entry != null && entry.version == version) {
+            hits.incrementAndGet();
+            return entry;
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    void store(Route route, String query, Entry entry) {
+        if (route.entries.size() >= maxEntriesPerRoute && !route.entries.containsKey(query)) {
+            // Distinct query strings are unbounded input; start over rather than grow without limit
+            route.entries.clear();
+        }
+        route.entries.merge(query, entry, (existing, candidate) -> candidate.version >= existing.version ? candidate : existing);
+    }
+
+    void recordNotModified() {
+        notModified.incrementAndGet();
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getNotModifiedCount() {
+        return notModified.get();
+    }
+
+    static final class Route {
+        final String path;
+        final String table;
+        final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+        Route(String path, String table) {
+            this.path = path;
+            this.table = table;
+        }
+    }
+
+    static final class Entry {
+        final long version;
+        final String etag;
+        final String contentType;
+        final byte[] body;
+
+        Entry(long version, String etag, String contentType, byte[] body) {
+            this.version = version;
+            this.etag = etag;
+            this.contentType = contentType;
+            this.body = body;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package io.zabbixplus.framework.core.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Serves GET requests of routes registered with {@link ListResponseCache} from the cache while the
+ * underlying table is unchanged, and answers {@code 304 Not Modified} when the client's ETag is
+ * already current. Neither path reaches the controller or the database.
+ * <p>
+ * Runs before {@link SingleFlightFilter}, so only cache misses are collapsed.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class ListResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final String CACHE_CONTROL = "no-cache";
+
+    private final ListResponseCache cache;
+
+    @Autowired
+    public ListResponseCacheFilter(ListResponseCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ListResponseCache.Route route = "GET".equals(request.getMethod())
+                ? cache.getRoute(request.getRequestURI().substring(request.getContextPath().length()))
+                : null;
+        if (route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // Read the version before the query runs so a concurrent write can only make the cached body newer
+        long version = cache.currentVersion(route);
+        String query = normalizeQuery(request.getParameterMap());
+        String etag = cache.etag(route, version, query);
+
+        if (ETags.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            cache.recordNotModified();
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            response.setHeader(HttpHeaders.ETAG, etag);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+            return;
+        }
+
+        ListResponseCache.Entry entry = cache.lookup(route, query, version);
+        if (entry != null) {
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setHeader(HttpHeaders.ETAG, entry.etag);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+            if (entry.contentType != null) {
+                response.setContentType(entry.contentType);
+            }
+            response.setContentLength(entry.body.length);
+            response.getOutputStream().write(entry.body);
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, wrapper);
+            if (wrapper.getStatus() == HttpServletResponse.SC_OK) {
+                wrapper.setHeader(HttpHeaders.ETAG, etag);
+                wrapper.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+                cache.store(route, query, new ListResponseCache.Entry(version, etag, wrapper.getContentType(), wrapper.getContentAsByteArray()));
+            }
+        } finally {
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    /**
+     * Parameters sorted by name, re-encoded so that a decoded {@code &} or {@code =} in a name or
+     * value cannot make two different queries produce the same key.
+     */
+    static String normalizeQuery(Map<String, String[]> parameters) {
+        if (parameters.isEmpty()) {
+            return "";
+        }
+        StringBuilder query = new StringBuilder();
+        for (Map.Entry<String, String[]> parameter : new TreeMap<>(parameters).entrySet()) {
+            for (String value : parameter.getValue()) {
+                if (query.length() > 0) {
+                    query.append('&');
+                }
+                query.append(URLEncoder.encode(parameter.getKey(), StandardCharsets.UTF_8))
+                        .append('=').append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+            }
+        }
+        return query.toString();
+    }
+}
@@ -0,0 +1,210 @@
+package io.zabbixplus.framework.core.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zabbixplus.framework.core.plugin.PluginService;
+import io.zabbixplus.framework.core.web.dto.PluginClientInfo;
+import io.zabbixplus.framework.plugin.Plugin;
+import io.zabbixplus.framework.plugin.UiPlugin;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized {@code /api/ui/plugin-metadata} payloads. Each UI plugin is serialized once per plugin
+ * set (see {@link PluginService#getPluginSetVersion()}); the response for a user is the
+ * concatenation of the fragments of the plugins that user may see. Every distinct visibility set
+ * is assembled and gzipped once and then served as-is.
+ */
+@Component
+public class PluginMetadataCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(PluginMetadataCache.class);
+
+    private final PluginService pluginService;
+    private final ObjectMapper objectMapper;
+    private final long epoch = System.currentTimeMillis();
+    // Not synchronized, so request threads waiting for a rebuild never pin their carrier
+    private final ReentrantLock buildLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot;
+
+    @Autowired
+    public PluginMetadataCache(PluginService pluginService, ObjectMapper objectMapper) {
+        this.pluginService = pluginService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Builds the snapshot and the unrestricted payload before the first SPA load asks for them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void precompute() {
+        getPayload(null);
+    }
+
+    /**
+     * Returns the payload for a user with the given privileges ({@code null} = unrestricted).
+     */
+    public Payload getPayload(Set<String> privileges) {
+        Snapshot current = currentSnapshot();
+        BitSet visible = current.visibleTo(privileges);
+        return current.payloads.computeIfAbsent(visible, current::assemble);
+    }
+
+    private Snapshot currentSnapshot() {
+        long version = pluginService.getPluginSetVersion();
+        Snapshot current = snapshot;
+        if (current != null && current.version == version) {
+            return current;
+        }
+        buildLock.lock();
+        try {
+            current = snapshot;
+            if (current == null || current.version != version) {
+                current = build(version);
+                snapshot = current;
+            }
+            return current;
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    private Snapshot build(long version) {
+        List<UiPlugin> uiPlugins = new ArrayList<>();
+        for (Plugin plugin : pluginService.getLoadedPlugins().values()) {
+            if (plugin instanceof UiPlugin) {
+                uiPlugins.add((UiPlugin) plugin);
+            }
+        }
+        // Stable order, so identical plugin sets produce identical bytes
+        uiPlugins.sort(Comparator.comparing(UiPlugin::getPluginName, Comparator.nullsFirst(Comparator.naturalOrder())));
+
+        int count = uiPlugins.size();
+        byte[][] fragments = new byte[count][];
+        List<List<String>> requiredPrivileges = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            PluginClientInfo info = PluginClientInfo.from(uiPlugins.get(i));
+            try {
+                fragments[i] = objectMapper.writeValueAsBytes(info);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not serialize UI metadata of plugin " + info.getPluginName(), e);
+            }
+            requiredPrivileges.add(info.getRequiredPrivileges() != null ? List.copyOf(info.getRequiredPrivileges()) : List.of());
+        }
+        logger.info("Precomputed UI metadata for {} plugin(s), plugin set version {}.", count, version);
+        return new Snapshot(version, fragments, requiredPrivileges);
+    }
+
+    private final class Snapshot {
+        final long version;
+        final byte[][] fragments;
+        final List<List<String>> requiredPrivileges;
+        final Map<BitSet, Payload> payloads = new ConcurrentHashMap<>();
+
+        Snapshot(long version, byte[][] fragments, List<List<String>> requiredPrivileges) {
+            this.version = version;
+            this.fragments = fragments;
+            this.requiredPrivileges = requiredPrivileges;
+        }
+
+        BitSet visibleTo(Set<String> privileges) {
+            BitSet visible = new BitSet(fragments.length);
+            for (int i = 0; i < fragments.length; i++) {
+                List<String> required = requiredPrivileges.get(i);
+                if (privileges == null || required.isEmpty() || privileges.containsAll(required)) {
+                    visible.set(i);
+                }
+            }
+            return visible;
+        }
+
+        Payload assemble(BitSet visible) {
+            ByteArrayOutputStream json = new ByteArrayOutputStream();
+            json.write('[');
+            boolean first = true;
+            for (int i = visible.nextSetBit(0); i >= 0; i = visible.nextSetBit(i + 1)) {
+                if (!first) {
+                    json.write(',');
+                }
+                json.writeBytes(fragments[i]);
+                first = false;
+            }
+            json.write(']');
+            byte[] body = json.toByteArray();
+            String tag = Long.toHexString(epoch) + "-" + Long.toHexString(version) + "-" + toHex(visible);
+            return new Payload(body, gzip(body), "\"" + tag + "\"", "\"" + tag + "-gz\"");
+        }
+    }
+
+    private static String toHex(BitSet bits) {
+        StringBuilder hex = new StringBuilder();
+        for (long word : bits.toLongArray()) {
+            if (hex.length() > 0) {
+                hex.append('.');
+            }
+            hex.append(Long.toHexString(word));
+        }
+        return hex.length() == 0 ? "0" : hex.toString();
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * A response body in identity and gzip encodings, each with its own strong ETag.
+     */
+    public static final class Payload {
+        private final byte[] json;
+        private final byte[] gzip;
+        private final String etag;
+        private final String gzipEtag;
+
+        Payload(byte[] json, byte[] gzip, String etag, String gzipEtag) {
+            this.json = json;
+            this.gzip = gzip;
+            this.etag = etag;
+            this.gzipEtag = gzipEtag;
+        }
+
+        public byte[] getJson() {
+            return json;
+        }
+
+        public byte[] getGzip() {
+            return gzip;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public String getGzipEtag() {
+            return gzipEtag;
+        }
+    }
+}
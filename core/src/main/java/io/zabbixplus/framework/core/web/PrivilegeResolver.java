@@ -0,0 +1,18 @@
+package io.zabbixplus.framework.core.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.Set;
+
+/**
+ * Resolves the privileges of the user behind a request, for matching against
+ * {@link io.zabbixplus.framework.plugin.UiPlugin#getRequiredPrivileges()}. Declare a bean of this
+ * type to restrict which plugins a user sees; without one, every plugin is visible.
+ */
+public interface PrivilegeResolver {
+
+    /**
+     * @return The user's privileges, or {@code null} if the user is not restricted.
+     */
+    Set<String> resolvePrivileges(HttpServletRequest request);
+}
@@ -0,0 +1,143 @@
+package io.zabbixplus.framework.core.web;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collapses identical concurrent work: while a computation for a key is in flight, callers with
+ * the same key wait for its result instead of running it again. Nothing is kept once the
+ * computation finishes, so this is not a cache; it only bounds the work to one execution per key at
+ * a time, e.g. when hundreds of operators open the same dashboard during an alert storm.
+ * <p>
+ * GET routes opt in by calling {@link #register(String)}; {@link SingleFlightFilter} then collapses
+ * identical requests to them. Services can call {@link #execute(String, String, Callable)}
+ * directly. Plugins get this instance through {@code PluginContext.getService(SingleFlight.class)}.
+ */
+@Component
+public class SingleFlight {
+
+    private static final Logger logger = LoggerFactory.getLogger(SingleFlight.class);
+
+    private final Set<String> routes = ConcurrentHashMap.newKeySet();
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+    private final long maxWaitNanos;
+
+    @Autowired
+    public SingleFlight(@Value("${framework.single-flight.max-wait:30s}") Duration maxWait) {
+        this.maxWaitNanos = maxWait.toNanos();
+    }
+
+    /**
+     * Collapses identical concurrent GET requests to the given path (exact match, without context
+     * path). Only register routes whose response does not depend on who is asking beyond the
+     * {@code Authorization} header, which is part of the key.
+     */
+    public void register(String path) {
+        routes.add(path);
+        logger.info("Collapsing identical concurrent GET requests to '{}'.", path);
+    }
+
+    public void unregister(String path) {
+        routes.remove(path);
+    }
+
+    boolean isRegistered(String path) {
+        return routes.contains(path);
+    }
+
+    /**
+     * Runs {@code work}, or waits for the identical computation already running under {@code key}.
+     * Callers that joined share the leader's result or exception. A caller that waited longer than
+     * {@code framework.single-flight.max-wait} gives up and runs the work itself.
+     *
+     * @param route Name the call is counted under in {@link #snapshot()}, e.g. the request path.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String route, String key, Callable<T> work) throws Exception {
+        Stats routeStats = stats.computeIfAbsent(route, r -> new Stats());
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if (existing == null) {
+            routeStats.executed.increment();
+            try {
+                T result = work.call();
+                flight.complete(result);
+                return result;
+            } catch (Throwable e) {
+                flight.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, flight);
+            }
+        }
+
+        routeStats.collapsed.increment();
+        try {
+            return (T) existing.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            routeStats.timedOut.increment();
+            return work.call();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw (Exception) cause;
+        }
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * Per route: how many computations ran and how many callers were collapsed into one of them.
+     */
+    public List<Map<String, Object>> snapshot() {
+        List<Map<String, Object>> result = new ArrayList<>(stats.size());
+        stats.forEach((route, routeStats) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("route", route);
+            entry.put("executed", routeStats.executed.sum());
+            entry.put("collapsed", routeStats.collapsed.sum());
+            entry.put("waitTimedOut", routeStats.timedOut.sum());
+            result.add(entry);
+        });
+        result.sort((a, b) -> Long.compare((Long) b.get("collapsed"), (Long) a.get("collapsed")));
+        return result;
+    }
+
+    long getExecutedCount(String route) {
+        Stats routeStats = stats.get(route);
+        return routeStats != null ? routeStats.executed.sum() : 0;
+    }
+
+    long getCollapsedCount(String route) {
+        Stats routeStats = stats.get(route);
+        return routeStats != null ? routeStats.collapsed.sum() : 0;
+    }
+
+    private static final class Stats {
+        final LongAdder executed = new LongAdder();
+        final LongAdder collapsed = new LongAdder();
+        final LongAdder timedOut = new LongAdder();
+    }
+}
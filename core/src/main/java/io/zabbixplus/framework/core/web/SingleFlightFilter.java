@@ -0,0 +1,123 @@
+package io.zabbixplus.framework.core.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collapses identical concurrent GET requests to routes registered with {@link SingleFlight}: the
+ * first request runs the controller, and requests that arrive while it is running get a copy of its
+ * response. Requests are identical when path, query parameters, {@code Accept},
+ * {@code If-None-Match} and {@code Authorization} match.
+ * <p>
+ * Runs after {@link ListResponseCacheFilter}, so cached routes only collapse their cache misses.
+ * Only 2xx/3xx responses without {@code Set-Cookie} are shared; after an error, a response that sets
+ * cookies, or if the controller went async, the waiting requests run on their own.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class SingleFlightFilter extends OncePerRequestFilter {
+
+    private final SingleFlight singleFlight;
+
+    @Autowired
+    public SingleFlightFilter(SingleFlight singleFlight) {
+        this.singleFlight = singleFlight;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!"GET".equals(request.getMethod()) || !singleFlight.isRegistered(path)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String key = path + '?' + ListResponseCacheFilter.normalizeQuery(request.getParameterMap())
+                + '\n' + request.getHeader(HttpHeaders.ACCEPT)
+                + '\n' + request.getHeader(HttpHeaders.IF_NONE_MATCH)
+                + '\n' + request.getHeader(HttpHeaders.AUTHORIZATION);
+        boolean[] ranHere = new boolean[1];
+        CapturedResponse shared;
+        try {
+            shared = singleFlight.execute(path, key, () -> {
+                ranHere[0] = true;
+                return runAndCapture(request, response, filterChain);
+            });
+        } catch (IOException | ServletException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ServletException(e);
+        }
+
+        if (ranHere[0]) {
+            return;
+        }
+        if (shared == null) {
+            filterChain.doFilter(request, response);
+        } else {
+            shared.writeTo(response);
+        }
+    }
+
+    private static CapturedResponse runAndCapture(HttpServletRequest request, HttpServletResponse response,
+                                                  FilterChain filterChain) throws IOException, ServletException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, wrapper);
+            int status = wrapper.getStatus();
+            // Cookies are set for one client (e.g. a new session) and must never be handed to another
+            if (request.isAsyncStarted() || status < 200 || status >= 400 || wrapper.containsHeader(HttpHeaders.SET_COOKIE)) {
+                return null;
+            }
+            Map<String, List<String>> headers = new LinkedHashMap<>();
+            for (String name : wrapper.getHeaderNames()) {
+                if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name) && !HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+                    headers.putIfAbsent(name, new ArrayList<>(wrapper.getHeaders(name)));
+                }
+            }
+            return new CapturedResponse(status, wrapper.getContentType(), headers, wrapper.getContentAsByteArray());
+        } finally {
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    static final class CapturedResponse {
+        final int status;
+        final String contentType;
+        final Map<String, List<String>> headers;
+        final byte[] body;
+
+        CapturedResponse(int status, String contentType, Map<String, List<String>> headers, byte[] body) {
+            this.status = status;
+            this.contentType = contentType;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        void writeTo(HttpServletResponse response) throws IOException {
+            response.setStatus(status);
+            headers.forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+            if (contentType != null) {
+                response.setContentType(contentType);
+            }
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+        }
+    }
+}
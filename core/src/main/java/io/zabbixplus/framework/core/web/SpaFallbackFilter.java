@@ -0,0 +1,73 @@
+package io.zabbixplus.framework.core.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * SPA fallback: answers GET/HEAD requests for client-side routes (see {@link SpaRouteClassifier})
+ * with the in-memory {@link SpaIndexPage}, including {@code 304 Not Modified} for a current ETag.
+ * Deep links such as {@code /ui/plugin/SimpleExamplePlugin} are served without a regex match, a
+ * forward or a second pass through the dispatcher. Everything else continues down the chain.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 200)
+public class SpaFallbackFilter extends OncePerRequestFilter {
+
+    private static final String CONTENT_TYPE = "text/html;charset=UTF-8";
+    private static final String CACHE_CONTROL = "no-cache";
+
+    private final SpaRouteClassifier classifier;
+    private final SpaIndexPage indexPage;
+
+    @Autowired
+    public SpaFallbackFilter(SpaRouteClassifier classifier, SpaIndexPage indexPage) {
+        this.classifier = classifier;
+        this.indexPage = indexPage;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !("GET".equals(method) || "HEAD".equals(method))
+                || !classifier.isSpaRoute(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SpaIndexPage.Page page = indexPage.get();
+        if (page == null) {
+            // No UI deployed; let the resource handler produce its 404
+            filterChain.doFilter(request, response);
+            return;
+        }
+        response.setHeader(HttpHeaders.ETAG, page.etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (ETags.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), page.etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        byte[] body = page.body;
+        if (page.gzipped != null && StaticAssetResolver.accepts(request.getHeader(HttpHeaders.ACCEPT_ENCODING), "gzip")) {
+            body = page.gzipped;
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(CONTENT_TYPE);
+        response.setContentLength(body.length);
+        if (!"HEAD".equals(request.getMethod())) {
+            response.getOutputStream().write(body);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package io.zabbixplus.framework.core.web;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The SPA's {@code index.html}, held in memory (plain and gzipped) with a strong ETag derived from
+ * its content. It is read from the external {@code ui/} directory, or from {@code static/} on the
+ * classpath, and re-read when its modification time changes, checked at most once per
+ * {@code framework.ui.spa.revalidate-interval}.
+ */
+@Component
+public class SpaIndexPage {
+
+    private static final Logger logger = LoggerFactory.getLogger(SpaIndexPage.class);
+
+    private final List<Resource> candidates;
+    private final long revalidateNanos;
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    private volatile Page page;
+    private volatile boolean checked;
+    private volatile long checkedAt;
+
+    @Autowired
+    public SpaIndexPage(@Value("${framework.ui.spa.revalidate-interval:5s}") Duration revalidateInterval) {
+        this(List.of(new FileSystemResource("./ui/index.html"), new ClassPathResource("static/index.html")), revalidateInterval);
+    }
+
+    /**
+     * @param candidates Where to look for {@code index.html}, in order of preference.
+     */
+    public SpaIndexPage(List<Resource> candidates, Duration revalidateInterval) {
+        this.candidates = candidates;
+        this.revalidateNanos = revalidateInterval.toNanos();
+    }
+
+    /**
+     * The current page, or {@code null} if there is no {@code index.html}.
+     */
+    public Page get() {
+        if (checked && System.nanoTime() - checkedAt < revalidateNanos) {
+            return page;
+        }
+        // A lock rather than synchronized: reloading reads the file, which must not pin a virtual thread
+        reloadLock.lock();
+        try {
+            long now = System.nanoTime();
+            if (checked && now - checkedAt < revalidateNanos) {
+                return page;
+            }
+            page = reload(page);
+            // Set after the page, so a reader outside the lock never pairs a fresh check with the old page
+            checkedAt = now;
+            checked = true;
+            return page;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private Page reload(Page current) {
+        for (Resource candidate : candidates) {
+            if (!candidate.exists()) {
+                continue;
+            }
+            try {
+                long lastModified = candidate.lastModified();
+                if (current != null && current.source.equals(candidate.getDescription()) && current.lastModified == lastModified) {
+                    return current;
+                }
+                Page loaded = load(candidate, lastModified);
+                logger.info("Serving SPA index page from {} (ETag {}).", candidate.getDescription(), loaded.etag);
+                return loaded;
+            } catch (IOException e) {
+                logger.warn("Could not read SPA index page {}.", candidate.getDescription(), e);
+            }
+        }
+        return null;
+    }
+
+    private static Page load(Resource resource, long lastModified) throws IOException {
+        byte[] body;
+        try (InputStream in = resource.getInputStream()) {
+            body = in.readAllBytes();
+        }
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 3 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body);
+        }
+        byte[] gzipped = compressed.size() < body.length ? compressed.toByteArray() : null;
+        return new Page(resource.getDescription(), lastModified, body, gzipped, "\"" + digest(body) + "\"");
+    }
+
+    private static String digest(byte[] body) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(body);
+            return HexFormat.of().formatHex(hash, 0, 12);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static final class Page {
+        final String source;
+        final long lastModified;
+        final byte[] body;
+        final byte[] gzipped;
+        final String etag;
+
+        Page(String source, long lastModified, byte[] body, byte[] gzipped, String etag) {
+            this.source = source;
+            this.lastModified = lastModified;
+            this.body = body;
+            this.gzipped = gzipped;
+            this.etag = etag;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package io.zabbixplus.framework.core.web;
+
+import io.zabbixplus.framework.core.plugin.PluginService;
+import io.zabbixplus.framework.plugin.NavigationItem;
+import io.zabbixplus.framework.plugin.Plugin;
+import io.zabbixplus.framework.plugin.UiPlugin;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Decides whether a path is a client-side (Vue Router) route, i.e. should be answered with
+ * {@code index.html}, with a few prefix comparisons and one scan of the last path segment:
+ * <ul>
+ *     <li>navigation paths of the loaded UI plugins are routes, whatever they look like;</li>
+ *     <li>paths under an excluded prefix ({@code /api}, {@code /static}, ...) are not;</li>
+ *     <li>paths whose last segment has a file extension ({@code /js/app.3f2a1b4c.js}) are not;</li>
+ *     <li>everything else is.</li>
+ * </ul>
+ * Plugin navigation paths are re-read when the plugin set changes.
+ */
+@Component
+public class SpaRouteClassifier {
+
+    private final PluginService pluginService;
+    private final List<String> excludedPrefixes;
+
+    private volatile Set<String> navigationPaths = Set.of();
+    private volatile long pluginSetVersion = -1;
+
+    @Autowired
+    public SpaRouteClassifier(PluginService pluginService,
+                              @Value("${framework.ui.spa.excluded-prefixes:/api,/static,/assets,/actuator,/error}") List<String> excludedPrefixes) {
+        this.pluginService = pluginService;
+        this.excludedPrefixes = excludedPrefixes;
+    }
+
+    /**
+     * @param path Request path without context path.
+     */
+    public boolean isSpaRoute(String path) {
+        if (path.isEmpty() || path.charAt(0) != '/') {
+            return false;
+        }
+        if (currentNavigationPaths().contains(path)) {
+            return true;
+        }
+        for (String prefix : excludedPrefixes) {
+            if (path.startsWith(prefix) && (path.length() == prefix.length() || path.charAt(prefix.length()) == '/')) {
+                return false;
+            }
+        }
+        return !hasExtension(path);
+    }
+
+    /**
+     * Whether the last segment ends in {@code .} followed by letters or digits only.
+     */
+    static boolean hasExtension(String path) {
+        for (int i = path.length() - 1; i >= 0; i--) {
+            char c = path.charAt(i);
+            if (c == '.') {
+                return i < path.length() - 1;
+            }
+            if (!Character.isLetterOrDigit(c)) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private Set<String> currentNavigationPaths() {
+        long version = pluginService.getPluginSetVersion();
+        if (version != pluginSetVersion) {
+            Set<String> paths = new HashSet<>();
+            for (Plugin plugin : pluginService.getLoadedPlugins().values()) {
+                if (plugin instanceof UiPlugin uiPlugin && uiPlugin.getNavigationItems() != null) {
+                    for (NavigationItem item : uiPlugin.getNavigationItems()) {
+                        if (item.getPath() != null && item.getPath().startsWith("/")) {
+                            paths.add(item.getPath());
+                        }
+                    }
+                }
+            }
+            navigationPaths = Set.copyOf(paths);
+            pluginSetVersion = version;
+        }
+        return navigationPaths;
+    }
+}
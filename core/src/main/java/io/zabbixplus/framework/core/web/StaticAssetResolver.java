@@ -0,0 +1,398 @@
+package io.zabbixplus.framework.core.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+import org.springframework.web.servlet.resource.AbstractResourceResolver;
+import org.springframework.web.servlet.resource.HttpResource;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Production resolver for the UI bundle:
+ * <ul>
+ *     <li>serves a precompressed {@code .br} or {@code .gz} sibling when the client accepts it;</li>
+ *     <li>keeps hot files in memory, bounded by {@code maxTotalBytes};</li>
+ *     <li>marks content-hashed files (e.g. {@code js/app.3f2a1b4c.js}) immutable for a year and
+ *     everything else, notably {@code index.html}, {@code no-cache} with an ETag.</li>
+ * </ul>
+ * Cached entries of non-hashed files are revalidated against the file's modification time at
+ * most once per {@code revalidateInterval}, so a redeployed {@code index.html} is picked up.
+ */
+public class StaticAssetResolver extends AbstractResourceResolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(StaticAssetResolver.class);
+
+    static final String IMMUTABLE = "public, max-age=31536000, immutable";
+    static final String NO_CACHE = "no-cache";
+
+    private static final List<String> CODINGS = List.of("br", "gzip");
+
+    private final long maxFileBytes;
+    private final long maxTotalBytes;
+    private final long revalidateNanos;
+
+    private final Map<String, CachedAsset> cache = new ConcurrentHashMap<>();
+    private final AtomicLong cachedBytes = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public StaticAssetResolver(long maxFileBytes, long maxTotalBytes, Duration revalidateInterval) {
+        this.maxFileBytes = maxFileBytes;
+        this.maxTotalBytes = maxTotalBytes;
+        this.revalidateNanos = revalidateInterval.toNanos();
+    }
+
+    /**
+     * ETag generator for the resource handler: strong validators for the representations served here.
+     */
+    @Nullable
+    public static String etagOf(Resource resource) {
+        return resource instanceof AssetResource ? ((AssetResource) resource).etag : null;
+    }
+
+    @Override
+    protected Resource resolveResourceInternal(@Nullable HttpServletRequest request, String requestPath,
+                                               List<? extends Resource> locations, ResourceResolverChain chain) {
+        if (request == null) {
+            return chain.resolveResource(null, requestPath, locations);
+        }
+        String coding = preferredCoding(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String key = coding != null ? requestPath + '\u0000' + coding : requestPath;
+
+        CachedAsset cached = cache.get(key);
+        long now = System.nanoTime();
+        if (cached != null && isFresh(cached, now)) {
+            cached.lastAccess = now;
+            hits.incrementAndGet();
+            return cached.resource;
+        }
+        misses.incrementAndGet();
+
+        Resource original = chain.resolveResource(request, requestPath, locations);
+        if (original == null) {
+            remove(key);
+            return null;
+        }
+        try {
+            return load(key, requestPath, original, coding, now);
+        } catch (IOException e) {
+            logger.warn("Could not read static asset '{}'; serving it uncached.", requestPath, e);
+            return original;
+        }
+    }
+
+    @Override
+    protected String resolveUrlPathInternal(String resourceUrlPath, List<? extends Resource> locations,
+                                            ResourceResolverChain chain) {
+        return chain.resolveUrlPath(resourceUrlPath, locations);
+    }
+
+    private boolean isFresh(CachedAsset cached, long now) {
+        if (cached.resource.immutable || now - cached.checkedAt < revalidateNanos) {
+            return true;
+        }
+        if (lastModifiedOrZero(cached.original) != cached.resource.lastModified) {
+            return false;
+        }
+        cached.checkedAt = now;
+        return true;
+    }
+
+    private static long lastModifiedOrZero(Resource resource) {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private Resource load(String key, String requestPath, Resource original, @Nullable String coding, long now) throws IOException {
+        String filename = original.getFilename();
+        boolean immutable = isContentHashed(filename);
+        long lastModified = original.lastModified();
+
+        Resource body = original;
+        String appliedCoding = null;
+        boolean hasVariants = false;
+        for (String candidate : CODINGS) {
+            Resource encoded = original.createRelative(filename + extension(candidate));
+            if (encoded.isReadable()) {
+                hasVariants = true;
+                if (candidate.equals(coding) && appliedCoding == null) {
+                    body = encoded;
+                    appliedCoding = candidate;
+                }
+            }
+        }
+
+        long length = body.contentLength();
+        byte[] bytes = null;
+        if (length <= maxFileBytes) {
+            try (InputStream in = body.getInputStream()) {
+                bytes = in.readAllBytes();
+            }
+        }
+        String etag = bytes != null
+                ? "\"" + digest(bytes) + "\""
+                : "\"" + Long.toHexString(lastModified) + "-" + Long.toHexString(length) + (appliedCoding != null ? "-" + appliedCoding : "") + "\"";
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.CACHE_CONTROL, immutable ? IMMUTABLE : NO_CACHE);
+        if (appliedCoding != null) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, appliedCoding);
+        }
+        if (hasVariants) {
+            headers.set(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        AssetResource resource = new AssetResource(requestPath, filename, bytes, body, length, lastModified, etag, immutable, headers);
+
+        if (bytes != null) {
+            store(key, new CachedAsset(resource, original, now));
+        }
+        return resource;
+    }
+
+    private void store(String key, CachedAsset asset) {
+        long size = asset.resource.contentLength;
+        if (size > maxTotalBytes) {
+            return;
+        }
+        while (cachedBytes.get() + size > maxTotalBytes && evictLeastRecentlyUsed()) {
+            // keep evicting until the new entry fits
+        }
+        CachedAsset previous = cache.put(key, asset);
+        cachedBytes.addAndGet(size - (previous != null ? previous.resource.contentLength : 0));
+    }
+
+    private boolean evictLeastRecentlyUsed() {
+        String victim = null;
+        long oldest = Long.MAX_VALUE;
+        for (Map.Entry<String, CachedAsset> entry : cache.entrySet()) {
+            if (entry.getValue().lastAccess < oldest) {
+                oldest = entry.getValue().lastAccess;
+                victim = entry.getKey();
+            }
+        }
+        return victim != null && remove(victim);
+    }
+
+    private boolean remove(String key) {
+        CachedAsset removed = cache.remove(key);
+        if (removed != null) {
+            cachedBytes.addAndGet(-removed.resource.contentLength);
+            return true;
+        }
+        return false;
+    }
+
+    public long getCachedBytes() {
+        return cachedBytes.get();
+    }
+
+    public int getCachedCount() {
+        return cache.size();
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * The best precompressed coding the client accepts, or {@code null} for identity.
+     */
+    @Nullable
+    static String preferredCoding(@Nullable String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return null;
+        }
+        for (String coding : CODINGS) {
+            if (accepts(acceptEncoding, coding)) {
+                return coding;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Whether {@code Accept-Encoding} lists {@code coding} without rejecting it ({@code q=0}).
+     * Shared by every endpoint that serves a precompressed body.
+     */
+    public static boolean accepts(@Nullable String acceptEncoding, String coding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.toLowerCase(Locale.ROOT).split(",")) {
+            String[] tokens = part.trim().split(";");
+            if (tokens[0].trim().equals(coding) && !isRejected(tokens)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isRejected(String[] tokens) {
+        for (int i = 1; i < tokens.length; i++) {
+            String parameter = tokens[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2)) <= 0;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String extension(String coding) {
+        return "br".equals(coding) ? ".br" : ".gz";
+    }
+
+    /**
+     * Whether the file name carries a build content hash: a dot- or dash-separated segment of at
+     * least 8 characters from {@code [A-Za-z0-9_]} containing a digit, right before the extension
+     * ({@code app.3f2a1b4c.js}, {@code index-B4x9k2Qa.css}).
+     */
+    static boolean isContentHashed(@Nullable String filename) {
+        if (filename == null) {
+            return false;
+        }
+        int extension = filename.lastIndexOf('.');
+        if (extension <= 0) {
+            return false;
+        }
+        int start = extension - 1;
+        boolean digit = false;
+        while (start >= 0) {
+            char c = filename.charAt(start);
+            if (c == '.' || c == '-') {
+                break;
+            }
+            if (!Character.isLetterOrDigit(c) && c != '_') {
+                return false;
+            }
+            digit |= Character.isDigit(c);
+            start--;
+        }
+        return start > 0 && digit && extension - start - 1 >= 8;
+    }
+
+    private static String digest(byte[] bytes) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class CachedAsset {
+        final AssetResource resource;
+        final Resource original;
+        volatile long checkedAt;
+        volatile long lastAccess;
+
+        CachedAsset(AssetResource resource, Resource original, long now) {
+            this.resource = resource;
+            this.original = original;
+            this.checkedAt = now;
+            this.lastAccess = now;
+        }
+    }
+
+    /**
+     * A resolved asset: either held in memory or streamed from the (possibly precompressed) file.
+     * The filename is that of the uncompressed original so the content type is derived from it.
+     */
+    static final class AssetResource extends AbstractResource implements HttpResource {
+        private final String path;
+        private final String filename;
+        @Nullable
+        private final byte[] bytes;
+        private final Resource file;
+        private final long contentLength;
+        private final long lastModified;
+        private final String etag;
+        private final boolean immutable;
+        private final HttpHeaders headers;
+
+        AssetResource(String path, String filename, @Nullable byte[] bytes, Resource file, long contentLength,
+                      long lastModified, String etag, boolean immutable, HttpHeaders headers) {
+            this.path = path;
+            this.filename = filename;
+            this.bytes = bytes;
+            this.file = file;
+            this.contentLength = contentLength;
+            this.lastModified = lastModified;
+            this.etag = etag;
+            this.immutable = immutable;
+            this.headers = headers;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return bytes != null ? new ByteArrayInputStream(bytes) : file.getInputStream();
+        }
+
+        @Override
+        public boolean exists() {
+            return true;
+        }
+
+        @Override
+        public long contentLength() {
+            return contentLength;
+        }
+
+        @Override
+        public long lastModified() {
+            return lastModified;
+        }
+
+        @Override
+        public String getFilename() {
+            return filename;
+        }
+
+        @Override
+        public String getDescription() {
+            return "static asset [" + path + "]" + (bytes != null ? " (in memory)" : "");
+        }
+
+        @Override
+        public HttpHeaders getResponseHeaders() {
+            return headers;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this);
+        }
+    }
+}
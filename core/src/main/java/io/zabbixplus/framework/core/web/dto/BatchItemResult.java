@@ -0,0 +1,55 @@
+package io.zabbixplus.framework.core.web.dto;
+
+import java.util.Map;
+
+/**
+ * Outcome of one batch sub-request. {@code body} is the parsed JSON response, or the raw text for
+ * other content types. {@code error} explains statuses produced by the batch itself (400 for an
+ * invalid item, 504 when the item's timeout expired).
+ */
+public class BatchItemResult {
+
+    private final String id;
+    private final int status;
+    private final Map<String, String> headers;
+    private final Object body;
+    private final String error;
+    private final double durationMillis;
+
+    public BatchItemResult(String id, int status, Map<String, String> headers, Object body, String error, double durationMillis) {
+        this.id = id;
+        this.status = status;
+        this.headers = headers;
+        this.body = body;
+        this.error = error;
+        this.durationMillis = durationMillis;
+    }
+
+    public static BatchItemResult failed(String id, int status, String error, double durationMillis) {
+        return new BatchItemResult(id, status, Map.of(), null, error, durationMillis);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    public Object getBody() {
+        return body;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public double getDurationMillis() {
+        return durationMillis;
+    }
+}
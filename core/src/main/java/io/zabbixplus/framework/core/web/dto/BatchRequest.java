@@ -0,0 +1,86 @@
+package io.zabbixplus.framework.core.web.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Body of {@code POST /api/batch}: the calls a page would otherwise make one by one.
+ */
+public class BatchRequest {
+
+    private List<Item> requests = new ArrayList<>();
+
+    public List<Item> getRequests() {
+        return requests;
+    }
+
+    public void setRequests(List<Item> requests) {
+        this.requests = requests;
+    }
+
+    /**
+     * One sub-request. {@code path} is relative to the application and may carry a query string,
+     * e.g. {@code /api/records?limit=10}. {@code body} is sent as JSON unless it is a string and a
+     * non-JSON {@code Content-Type} header is given.
+     */
+    public static class Item {
+
+        private String id;
+        private String method = "GET";
+        private String path;
+        private Map<String, String> headers;
+        private JsonNode body;
+        private Long timeoutMillis;
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public void setMethod(String method) {
+            this.method = method;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public Map<String, String> getHeaders() {
+            return headers;
+        }
+
+        public void setHeaders(Map<String, String> headers) {
+            this.headers = headers;
+        }
+
+        public JsonNode getBody() {
+            return body;
+        }
+
+        public void setBody(JsonNode body) {
+            this.body = body;
+        }
+
+        public Long getTimeoutMillis() {
+            return timeoutMillis;
+        }
+
+        public void setTimeoutMillis(Long timeoutMillis) {
+            this.timeoutMillis = timeoutMillis;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package io.zabbixplus.framework.core.web.dto;
+
+/**
+ * One plugin's entry in {@code GET /api/dashboard/widgets}. {@code status} says where {@code data}
+ * came from:
+ * <ul>
+ *     <li>{@code ok}: fetched for this load;</li>
+ *     <li>{@code cached}: served within the plugin's cache TTL;</li>
+ *     <li>{@code stale}: the fetch timed out or failed, so the last known data is served;</li>
+ *     <li>{@code timeout} / {@code error}: no data yet.</li>
+ * </ul>
+ * {@code fetchedAt} is when {@code data} was produced (epoch millis), {@code error} explains
+ * {@code stale}, {@code timeout} and {@code error}.
+ */
+public class DashboardWidget {
+
+    public static final String OK = "ok";
+    public static final String CACHED = "cached";
+    public static final String STALE = "stale";
+    public static final String TIMEOUT = "timeout";
+    public static final String ERROR = "error";
+
+    private final String pluginId;
+    private final String pluginName;
+    private final String status;
+    private final Object data;
+    private final Long fetchedAt;
+    private final String error;
+    private final double durationMillis;
+
+    public DashboardWidget(String pluginId, String pluginName, String status, Object data, Long fetchedAt,
+                           String error, double durationMillis) {
+        this.pluginId = pluginId;
+        this.pluginName = pluginName;
+        this.status = status;
+        this.data = data;
+        this.fetchedAt = fetchedAt;
+        this.error = error;
+        this.durationMillis = durationMillis;
+    }
+
+    public String getPluginId() {
+        return pluginId;
+    }
+
+    public String getPluginName() {
+        return pluginName;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Object getData() {
+        return data;
+    }
+
+    public Long getFetchedAt() {
+        return fetchedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public double getDurationMillis() {
+        return durationMillis;
+    }
+}
@@ -1,6 +1,7 @@
 package io.zabbixplus.framework.core.web.dto;
 
 import io.zabbixplus.framework.plugin.NavigationItem;
+import io.zabbixplus.framework.plugin.UiPlugin;
 
 import java.util.List;
 import java.util.Map;
@@ -34,6 +35,21 @@ public class PluginClientInfo {
         this.navigationItems = navigationItems;
     }
 
+    public static PluginClientInfo from(UiPlugin uiPlugin) {
+        return new PluginClientInfo(
+                uiPlugin.getPluginId(),
+                uiPlugin.getPluginName(),
+                uiPlugin.getVendor(),
+                uiPlugin.getVersion(),
+                uiPlugin.getDescription(),
+                uiPlugin.getAssetsPath(),
+                uiPlugin.getEntryComponent(),
+                uiPlugin.getRequiredPrivileges(),
+                uiPlugin.getUiMetadata(),
+                uiPlugin.getNavigationItems()
+        );
+    }
+
     // Getters
     public String getPluginId() {
         return pluginId;
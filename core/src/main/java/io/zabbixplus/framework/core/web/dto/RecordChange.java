@@ -0,0 +1,48 @@
+package io.zabbixplus.framework.core.web.dto;
+
+/**
+ * A committed change to {@code example_table}, as pushed to {@code /api/records/stream} clients.
+ * {@code name} and {@code createdAt} are absent for deletions; a {@code reload} change (after a bulk
+ * import) has no id and means the whole list should be fetched again.
+ */
+public class RecordChange {
+
+    public static final String CREATED = "created";
+    public static final String UPDATED = "updated";
+    public static final String DELETED = "deleted";
+    public static final String RELOAD = "reload";
+
+    private final long seq;
+    private final String type;
+    private final Long id;
+    private final String name;
+    private final String createdAt;
+
+    public RecordChange(long seq, String type, Long id, String name, String createdAt) {
+        this.seq = seq;
+        this.type = type;
+        this.id = id;
+        this.name = name;
+        this.createdAt = createdAt;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getCreatedAt() {
+        return createdAt;
+    }
+}
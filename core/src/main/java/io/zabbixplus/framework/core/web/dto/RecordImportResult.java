@@ -0,0 +1,113 @@
+package io.zabbixplus.framework.core.web.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Summary of a bulk import. {@code nextOffset} is the number of data rows that are fully handled
+ * (imported or rejected); passing it back as {@code offset} resumes an interrupted import without
+ * inserting rows twice.
+ */
+public class RecordImportResult {
+
+    private long offset;
+    private long rowsRead;
+    private long imported;
+    private long failed;
+    private long nextOffset;
+    private boolean completed;
+    private String abortReason;
+    private final List<RowError> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+
+    public RecordImportResult(long offset) {
+        this.offset = offset;
+        this.nextOffset = offset;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public void setRowsRead(long rowsRead) {
+        this.rowsRead = rowsRead;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void addImported(long count) {
+        this.imported += count;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public long getNextOffset() {
+        return nextOffset;
+    }
+
+    public void setNextOffset(long nextOffset) {
+        this.nextOffset = nextOffset;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(boolean completed) {
+        this.completed = completed;
+    }
+
+    public String getAbortReason() {
+        return abortReason;
+    }
+
+    public void setAbortReason(String abortReason) {
+        this.abortReason = abortReason;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+
+    /**
+     * Counts a rejected row; only the first {@code maxErrors} are kept with details.
+     */
+    public void addError(long row, String message, int maxErrors) {
+        failed++;
+        if (errors.size() < maxErrors) {
+            errors.add(new RowError(row, message));
+        } else {
+            errorsTruncated = true;
+        }
+    }
+
+    public static class RowError {
+        private final long row;
+        private final String message;
+
+        public RowError(long row, String message) {
+            this.row = row;
+            this.message = message;
+        }
+
+        public long getRow() {
+            return row;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -0,0 +1,437 @@
+package io.zabbixplus.framework.core.zabbix;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.zabbixplus.framework.core.concurrent.VirtualThreads;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shared client for the Zabbix JSON-RPC API ({@code framework.zabbix.*}). Plugins get it through
+ * {@code PluginContext.getService(ZabbixApiClient.class)} instead of opening their own connections.
+ * <ul>
+ *     <li>One {@link HttpClient} serves all callers, so connections to Zabbix are kept alive and reused.</li>
+ *     <li>Calls made within {@code framework.zabbix.batch-window} of each other are sent together
+ *     as one JSON-RPC batch (up to {@code max-batch-size} calls per HTTP request).</li>
+ *     <li>Authentication is an API token if one is configured, otherwise a {@code user.login}
+ *     session that is cached and renewed once when Zabbix reports it expired.</li>
+ *     <li>{@link #streamHistory(Map, HistoryConsumer)} parses {@code history.get} results as they
+ *     arrive instead of building a tree of the whole response.</li>
+ * </ul>
+ */
+@Component
+public class ZabbixApiClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(ZabbixApiClient.class);
+
+    // Methods Zabbix rejects when they carry authentication
+    private static final Set<String> UNAUTHENTICATED = Set.of("apiinfo.version", "user.login");
+
+    /**
+     * Receives {@code history.get} records one by one, in response order.
+     */
+    @FunctionalInterface
+    public interface HistoryConsumer {
+        void accept(long itemId, long clock, int ns, String value);
+    }
+
+    private final URI url;
+    private final String username;
+    private final String password;
+    private final String apiToken;
+    private final boolean authInBody;
+    private final long batchWindowNanos;
+    private final int maxBatchSize;
+    private final Duration requestTimeout;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final ScheduledExecutorService batchScheduler;
+
+    private final AtomicLong ids = new AtomicLong();
+    private final AtomicLong httpRequests = new AtomicLong();
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong logins = new AtomicLong();
+
+    private final Object batchLock = new Object();
+    private List<PendingCall> pending = new ArrayList<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    private volatile CompletableFuture<String> session;
+
+    @Autowired
+    public ZabbixApiClient(@Value("${framework.zabbix.url:}") String url,
+                           @Value("${framework.zabbix.username:}") String username,
+                           @Value("${framework.zabbix.password:}") String password,
+                           @Value("${framework.zabbix.api-token:}") String apiToken,
+                           @Value("${framework.zabbix.auth-in-body:false}") boolean authInBody,
+                           @Value("${framework.zabbix.batch-window:5ms}") Duration batchWindow,
+                           @Value("${framework.zabbix.max-batch-size:50}") int maxBatchSize,
+                           @Value("${framework.zabbix.connect-timeout:5s}") Duration connectTimeout,
+                           @Value("${framework.zabbix.request-timeout:30s}") Duration requestTimeout,
+                           ObjectMapper objectMapper) {
+        this.url = url.isBlank() ? null : URI.create(url);
+        this.username = username;
+        this.password = password;
+        this.apiToken = apiToken.isBlank() ? null : apiToken;
+        this.authInBody = authInBody;
+        this.batchWindowNanos = batchWindow.toNanos();
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.requestTimeout = requestTimeout;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .build();
+        this.batchScheduler = Executors.newSingleThreadScheduledExecutor(VirtualThreads.platformFactory("zabbix-batch"));
+    }
+
+    public boolean isConfigured() {
+        return url != null;
+    }
+
+    /**
+     * Queues a call for the next batch.
+     *
+     * @param params Anything Jackson can serialize to the method's {@code params}.
+     * @return The call's {@code result}; fails with {@link ZabbixApiException} on a JSON-RPC error.
+     */
+    public CompletableFuture<JsonNode> call(String method, Object params) {
+        if (url == null) {
+            return CompletableFuture.failedFuture(new IllegalStateException("framework.zabbix.url is not configured"));
+        }
+        calls.incrementAndGet();
+        PendingCall call = new PendingCall(method, objectMapper.valueToTree(params != null ? params : Map.of()));
+        enqueue(call);
+        return call.result;
+    }
+
+    /**
+     * {@link #call(String, Object)}, waiting for the result.
+     */
+    public JsonNode callAndWait(String method, Object params) {
+        return waitFor(call(method, params));
+    }
+
+    private void enqueue(PendingCall call) {
+        List<PendingCall> full = null;
+        synchronized (batchLock) {
+            pending.add(call);
+            if (pending.size() >= maxBatchSize) {
+                full = takePending();
+            } else if (scheduledFlush == null) {
+                scheduledFlush = batchScheduler.schedule(this::flush, batchWindowNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        if (full != null) {
+            send(full);
+        }
+    }
+
+    private void flush() {
+        List<PendingCall> batch;
+        synchronized (batchLock) {
+            batch = takePending();
+        }
+        if (!batch.isEmpty()) {
+            send(batch);
+        }
+    }
+
+    private List<PendingCall> takePending() {
+        List<PendingCall> batch = pending;
+        pending = new ArrayList<>();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return batch;
+    }
+
+    private void send(List<PendingCall> batch) {
+        boolean needsAuth = batch.stream().anyMatch(call -> !UNAUTHENTICATED.contains(call.method));
+        CompletableFuture<String> token = needsAuth ? token() : CompletableFuture.completedFuture(null);
+        token.thenCompose(auth -> post(batch, auth).thenAccept(response -> complete(batch, response, auth)))
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    ZabbixApiException failure = cause instanceof ZabbixApiException zabbix ? zabbix
+                            : new ZabbixApiException("Zabbix API request failed: " + cause.getMessage(), cause);
+                    batch.forEach(call -> call.result.completeExceptionally(failure));
+                    return null;
+                });
+    }
+
+    private CompletableFuture<JsonNode> post(List<PendingCall> batch, String auth) {
+        ArrayNode body = objectMapper.createArrayNode();
+        for (PendingCall call : batch) {
+            long id = ids.incrementAndGet();
+            call.id = id;
+            ObjectNode request = body.addObject()
+                    .put("jsonrpc", "2.0")
+                    .put("method", call.method);
+            request.set("params", call.params);
+            if (authInBody && auth != null && !UNAUTHENTICATED.contains(call.method)) {
+                request.put("auth", auth);
+            }
+            request.put("id", id);
+        }
+        // A single call is sent as a plain request; some proxies in front of Zabbix mishandle batches
+        JsonNode payload = batch.size() == 1 ? body.get(0) : body;
+        return sendRequest(payload, auth, HttpResponse.BodyHandlers.ofInputStream())
+                .thenApply(response -> {
+                    try (InputStream in = response.body()) {
+                        if (response.statusCode() != 200) {
+                            throw new ZabbixApiException("Zabbix API answered HTTP " + response.statusCode(), null);
+                        }
+                        return objectMapper.readTree(in);
+                    } catch (IOException e) {
+                        throw new ZabbixApiException("Could not read Zabbix API response", e);
+                    }
+                });
+    }
+
+    private <T> CompletableFuture<HttpResponse<T>> sendRequest(JsonNode payload, String auth, HttpResponse.BodyHandler<T> handler) {
+        byte[] bytes;
+        try {
+            bytes = objectMapper.writeValueAsBytes(payload);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(new ZabbixApiException("Could not serialize Zabbix API request", e));
+        }
+        HttpRequest.Builder request = HttpRequest.newBuilder(url)
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json-rpc")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(bytes));
+        if (!authInBody && auth != null) {
+            request.header("Authorization", "Bearer " + auth);
+        }
+        httpRequests.incrementAndGet();
+        return httpClient.sendAsync(request.build(), handler);
+    }
+
+    private void complete(List<PendingCall> batch, JsonNode response, String auth) {
+        Map<Long, PendingCall> byId = new HashMap<>();
+        batch.forEach(call -> byId.put(call.id, call));
+        List<PendingCall> retry = new ArrayList<>();
+        if (response.isObject() && (response.path("id").isMissingNode() || response.path("id").isNull())) {
+            // The batch as a whole was rejected
+            ZabbixApiException error = errorOf(response);
+            batch.forEach(call -> call.result.completeExceptionally(error));
+            return;
+        }
+        Iterable<JsonNode> results = response.isArray() ? response : List.of(response);
+        for (JsonNode result : results) {
+            PendingCall call = byId.remove(result.path("id").asLong(-1));
+            if (call == null) {
+                continue;
+            }
+            if (result.has("error")) {
+                ZabbixApiException error = errorOf(result);
+                if (error.isAuthFailure() && apiToken == null && !call.retried) {
+                    call.retried = true;
+                    retry.add(call);
+                } else {
+                    call.result.completeExceptionally(error);
+                }
+            } else {
+                call.result.complete(result.get("result"));
+            }
+        }
+        byId.values().forEach(call -> call.result.completeExceptionally(
+                new ZabbixApiException(0, "No response for " + call.method, null)));
+        if (!retry.isEmpty()) {
+            logger.info("Zabbix session expired; logging in again and retrying {} call(s).", retry.size());
+            invalidate(auth);
+            send(retry);
+        }
+    }
+
+    private static ZabbixApiException errorOf(JsonNode response) {
+        JsonNode error = response.path("error");
+        return new ZabbixApiException(error.path("code").asInt(), error.path("message").asText("Unknown error"),
+                error.path("data").asText(null));
+    }
+
+    /**
+     * The configured API token, or the cached session of a {@code user.login}, logging in if there is none.
+     */
+    private CompletableFuture<String> token() {
+        if (apiToken != null) {
+            return CompletableFuture.completedFuture(apiToken);
+        }
+        CompletableFuture<String> current = session;
+        if (current != null && !current.isCompletedExceptionally()) {
+            return current;
+        }
+        synchronized (this) {
+            if (session == null || session.isCompletedExceptionally()) {
+                logins.incrementAndGet();
+                PendingCall login = new PendingCall("user.login",
+                        objectMapper.valueToTree(Map.of("username", username, "password", password)));
+                send(List.of(login));
+                session = login.result.thenApply(JsonNode::asText);
+            }
+            return session;
+        }
+    }
+
+    private synchronized void invalidate(String auth) {
+        CompletableFuture<String> current = session;
+        if (current != null && current.isDone() && !current.isCompletedExceptionally() && current.join().equals(auth)) {
+            session = null;
+        }
+    }
+
+    /**
+     * Runs {@code history.get} and hands each record to {@code consumer} while the response is
+     * still being read, so memory use does not grow with the result size. The call is sent on its
+     * own rather than batched, and retried once after a new login if the session expired.
+     *
+     * @return The number of records passed to the consumer.
+     */
+    public long streamHistory(Map<String, Object> params, HistoryConsumer consumer) {
+        if (url == null) {
+            throw new IllegalStateException("framework.zabbix.url is not configured");
+        }
+        calls.incrementAndGet();
+        String auth = waitFor(token());
+        try {
+            return streamHistory(params, consumer, auth);
+        } catch (ZabbixApiException e) {
+            // Zabbix reports an expired session before sending any records, so retrying is safe
+            if (!e.isAuthFailure() || apiToken != null) {
+                throw e;
+            }
+            logger.info("Zabbix session expired; logging in again and retrying history.get.");
+            invalidate(auth);
+            return streamHistory(params, consumer, waitFor(token()));
+        }
+    }
+
+    private long streamHistory(Map<String, Object> params, HistoryConsumer consumer, String auth) {
+        long id = ids.incrementAndGet();
+        ObjectNode request = objectMapper.createObjectNode()
+                .put("jsonrpc", "2.0")
+                .put("method", "history.get");
+        request.set("params", objectMapper.valueToTree(params));
+        if (authInBody) {
+            request.put("auth", auth);
+        }
+        request.put("id", id);
+
+        HttpResponse<InputStream> response = waitFor(sendRequest(request, auth, HttpResponse.BodyHandlers.ofInputStream()));
+        try (InputStream in = response.body(); JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (response.statusCode() != 200) {
+                throw new ZabbixApiException("Zabbix API answered HTTP " + response.statusCode(), null);
+            }
+            return readHistory(parser, consumer);
+        } catch (IOException e) {
+            throw new ZabbixApiException("Could not read history.get response", e);
+        }
+    }
+
+    private long readHistory(JsonParser parser, HistoryConsumer consumer) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new ZabbixApiException(0, "Unexpected history.get response", null);
+        }
+        long count = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("result".equals(field) && parser.currentToken() == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    long itemId = 0;
+                    long clock = 0;
+                    int ns = 0;
+                    String value = null;
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String name = parser.currentName();
+                        parser.nextToken();
+                        switch (name) {
+                            case "itemid" -> itemId = Long.parseLong(parser.getText());
+                            case "clock" -> clock = Long.parseLong(parser.getText());
+                            case "ns" -> ns = Integer.parseInt(parser.getText());
+                            case "value" -> value = parser.getText();
+                            default -> parser.skipChildren();
+                        }
+                    }
+                    consumer.accept(itemId, clock, ns, value);
+                    count++;
+                }
+            } else if ("error".equals(field)) {
+                throw errorOf(objectMapper.createObjectNode().set("error", parser.readValueAsTree()));
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return count;
+    }
+
+    private <T> T waitFor(CompletableFuture<T> future) {
+        try {
+            return future.get(requestTimeout.toMillis() * 2, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime
+                    : new ZabbixApiException("Zabbix API request failed: " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ZabbixApiException("Interrupted while waiting for the Zabbix API", e);
+        } catch (TimeoutException e) {
+            throw new ZabbixApiException("Zabbix API did not answer in time", e);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        return Map.of(
+                "configured", isConfigured(),
+                "calls", calls.get(),
+                "httpRequests", httpRequests.get(),
+                "logins", logins.get());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        batchScheduler.shutdownNow();
+    }
+
+    private static final class PendingCall {
+        final String method;
+        final JsonNode params;
+        final CompletableFuture<JsonNode> result = new CompletableFuture<>();
+        long id;
+        boolean retried;
+
+        PendingCall(String method, JsonNode params) {
+            this.method = method;
+            this.params = params;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package io.zabbixplus.framework.core.zabbix;
+
+import java.util.List;
+
+/**
+ * A JSON-RPC error returned by the Zabbix API, or a failure to reach it ({@code code} 0).
+ */
+public class ZabbixApiException extends RuntimeException {
+
+    // What Zabbix puts in "data" when the session expired or the token is no longer valid
+    private static final List<String> AUTH_FAILURES = List.of("Session terminated", "Not authorized", "Not authorised");
+
+    private final int code;
+    private final String data;
+
+    public ZabbixApiException(int code, String message, String data) {
+        super(data != null && !data.isEmpty() ? message + " " + data : message);
+        this.code = code;
+        this.data = data;
+    }
+
+    public ZabbixApiException(String message, Throwable cause) {
+        super(message, cause);
+        this.code = 0;
+        this.data = null;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public String getData() {
+        return data;
+    }
+
+    /**
+     * Whether the call failed because the auth token expired or was revoked, so a new login may help.
+     */
+    public boolean isAuthFailure() {
+        return data != null && AUTH_FAILURES.stream().anyMatch(data::contains);
+    }
+}
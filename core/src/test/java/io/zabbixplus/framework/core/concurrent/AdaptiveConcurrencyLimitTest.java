@@ -0,0 +1,104 @@
+package io.zabbixplus.framework.core.concurrent;
+
+import io.zabbixplus.framework.core.concurrent.AdaptiveConcurrencyLimit.Priority;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private final AdaptiveConcurrencyLimit limit =
+            new AdaptiveConcurrencyLimit(16, 4, 64, 0.9, 1.5, 0.5, Duration.ofSeconds(1));
+    private long now = System.nanoTime();
+
+    /**
+     * Feeds one complete window of samples with the given latency and concurrency.
+     */
+    private void window(long rttMillis, int inFlight) {
+        now += Duration.ofSeconds(1).toNanos();
+        for (int i = 0; i < 10; i++) {
+            limit.onSample(Duration.ofMillis(rttMillis).toNanos(), inFlight, now);
+        }
+    }
+
+    @Test
+    void testLimitGrowsWhileLatencyIsStable() {
+        window(10, 16);
+        for (int i = 0; i < 5; i++) {
+            window(10, limit.getLimit());
+        }
+
+        assertTrue(limit.getLimit() > 16, "limit " + limit.getLimit());
+        assertTrue(limit.getLimit() <= 64);
+    }
+
+    @Test
+    void testLimitShrinksWhenLatencyRises() {
+        window(10, 16);
+        for (int i = 0; i < 5; i++) {
+            window(60, 16);
+        }
+
+        assertTrue(limit.getLimit() < 16, "limit " + limit.getLimit());
+        assertTrue(limit.getLimit() >= 4);
+    }
+
+    @Test
+    void testLimitDoesNotGrowWhenMostlyUnused() {
+        window(10, 2);
+        for (int i = 0; i < 5; i++) {
+            window(10, 2);
+        }
+
+        assertEquals(16, limit.getLimit());
+    }
+
+    @Test
+    void testPriorityClassesShareTheLimit() {
+        for (int i = 0; i < 14; i++) {
+            assertTrue(limit.tryAcquire(Priority.NORMAL));
+        }
+        // NORMAL may only use 90% of 16
+        assertFalse(limit.tryAcquire(Priority.NORMAL));
+        assertTrue(limit.tryAcquire(Priority.HIGH));
+        assertTrue(limit.tryAcquire(Priority.HIGH));
+        assertFalse(limit.tryAcquire(Priority.HIGH));
+        assertTrue(limit.tryAcquire(Priority.CRITICAL));
+
+        assertEquals(17, limit.getInFlight());
+        assertEquals(1, limit.getRejectedCount(Priority.NORMAL));
+        assertEquals(1, limit.getRejectedCount(Priority.HIGH));
+
+        // The CRITICAL request occupies a slot too, so one release is not enough
+        limit.release(1_000_000L, false);
+        assertFalse(limit.tryAcquire(Priority.HIGH));
+        limit.release(1_000_000L, false);
+        assertTrue(limit.tryAcquire(Priority.HIGH));
+    }
+
+    @Test
+    void testConcurrentSamplesRollWindowsOver() throws InterruptedException {
+        window(10, 16);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            executor.execute(() -> {
+                for (int w = 1; w <= 5; w++) {
+                    long windowEnd = now + w * Duration.ofSeconds(1).toNanos();
+                    for (int i = 0; i < 1_000; i++) {
+                        limit.onSample(Duration.ofMillis(60).toNanos(), 16, windowEnd);
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertTrue(limit.getLimit() < 16, "limit " + limit.getLimit());
+        assertEquals(60.0, (double) limit.snapshot().get("windowRttMillis"), 0.001);
+    }
+}
@@ -0,0 +1,89 @@
+package io.zabbixplus.framework.core.concurrent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatabaseExecutorTest {
+
+    private final DatabaseExecutor executor = new DatabaseExecutor(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.close();
+    }
+
+    private CompletableFuture<Void> holdOnlyPermit() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, executor);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        return holder;
+    }
+
+    private void awaitQueued() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.getQueuedCount() == 0) {
+            assertTrue(System.nanoTime() < deadline, "task never waited for a permit");
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    void testTasksRunWithinPermitLimit() throws Exception {
+        assertEquals("done", CompletableFuture.supplyAsync(() -> "done", executor).get(5, TimeUnit.SECONDS));
+        assertEquals(0, executor.getActiveCount());
+    }
+
+    @Test
+    void testSubmittingDoesNotBlockWhenAllPermitsAreTaken() throws Exception {
+        holdOnlyPermit();
+
+        long start = System.nanoTime();
+        CompletableFuture<String> waiting = CompletableFuture.supplyAsync(() -> "ran", executor);
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        awaitQueued();
+        assertFalse(waiting.isDone());
+        assertEquals(1, executor.getActiveCount());
+
+        release.countDown();
+        assertEquals("ran", waiting.get(5, TimeUnit.SECONDS));
+        assertEquals(0, executor.getQueuedCount());
+    }
+
+    @Test
+    void testCloseRunsWaitingTasksAndRejectsNewOnes() throws Exception {
+        CompletableFuture<Void> holder = holdOnlyPermit();
+        CompletableFuture<String> waiting = CompletableFuture.supplyAsync(() -> "ran", executor);
+        awaitQueued();
+
+        Thread closer = new Thread(executor::close);
+        closer.start();
+        // close() is waiting for the submitted tasks, so the executor no longer accepts work
+        while (closer.getState() != Thread.State.TIMED_WAITING) {
+            Thread.sleep(5);
+        }
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        closer.join(5_000);
+
+        assertFalse(closer.isAlive());
+        assertEquals("ran", waiting.get(5, TimeUnit.SECONDS));
+        assertEquals(0, executor.getActiveCount());
+    }
+}
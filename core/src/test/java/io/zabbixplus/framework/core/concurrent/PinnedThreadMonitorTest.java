@@ -0,0 +1,60 @@
+package io.zabbixplus.framework.core.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PinnedThreadMonitorTest {
+
+    private final PinnedThreadMonitor monitor = new PinnedThreadMonitor(false, Duration.ofMillis(20));
+
+    @Test
+    void testDisabledMonitorDoesNotStart() {
+        monitor.start();
+
+        assertFalse(monitor.isActive());
+        monitor.close();
+    }
+
+    @Test
+    void testEventsAreAggregatedPerSite() {
+        List<String> stack = List.of("java.lang.Thread.sleep:0", "io.zabbixplus.framework.core.web.PluginMetadataCache.getPayload:74");
+        monitor.record("io.zabbixplus.framework.core.web.PluginMetadataCache.getPayload:74", 30_000_000L, "http-1", stack);
+        monitor.record("io.zabbixplus.framework.core.web.PluginMetadataCache.getPayload:74", 50_000_000L, "http-2", stack);
+
+        List<Map<String, Object>> sites = monitor.getSites();
+
+        assertEquals(1, sites.size());
+        assertEquals(2L, sites.get(0).get("count"));
+        assertEquals(80.0, sites.get(0).get("totalMillis"));
+        assertEquals(50.0, sites.get(0).get("maxMillis"));
+        assertEquals("http-2", sites.get(0).get("lastThread"));
+        assertEquals(stack, sites.get(0).get("stack"));
+        assertEquals(2, monitor.getTotalEvents());
+    }
+
+    @Test
+    void testSitesAreOrderedByTotalPinnedTime() {
+        monitor.record("io.zabbixplus.A.a:1", 25_000_000L, "t", List.of());
+        monitor.record("io.zabbixplus.B.b:2", 90_000_000L, "t", List.of());
+
+        List<Map<String, Object>> sites = monitor.getSites();
+
+        assertEquals("io.zabbixplus.B.b:2", sites.get(0).get("site"));
+        assertEquals("io.zabbixplus.A.a:1", sites.get(1).get("site"));
+    }
+
+    @Test
+    void testNumberOfSitesIsBounded() {
+        for (int i = 0; i < 300; i++) {
+            monitor.record("io.zabbixplus.Site.m:" + i, 21_000_000L, "t", List.of());
+        }
+
+        assertEquals(256, monitor.getSites().size());
+        assertEquals(300, monitor.getTotalEvents());
+    }
+}
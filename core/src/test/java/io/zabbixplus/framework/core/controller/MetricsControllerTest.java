@@ -0,0 +1,60 @@
+package io.zabbixplus.framework.core.controller;
+
+import io.zabbixplus.framework.core.metrics.PrometheusMetricsRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsControllerTest {
+
+    private final PrometheusMetricsRegistry registry = new PrometheusMetricsRegistry();
+
+    private static MockHttpServletRequest requestFrom(String remoteAddress) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/metrics");
+        request.setRemoteAddr(remoteAddress);
+        return request;
+    }
+
+    @Test
+    void testLoopbackClientGetsPrometheusText() {
+        registry.counter("scrapes_total", "Scrapes.").increment();
+        MetricsController controller = new MetricsController(registry, true);
+
+        ResponseEntity<String> response = controller.scrape(requestFrom("127.0.0.1"));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("text/plain;version=0.0.4;charset=utf-8", response.getHeaders().getContentType().toString());
+        assertTrue(response.getBody().contains("scrapes_total 1\n"));
+        assertEquals(HttpStatus.OK, controller.scrape(requestFrom("::1")).getStatusCode());
+    }
+
+    @Test
+    void testRemoteClientIsRejectedWhenLocalOnly() {
+        assertEquals(HttpStatus.FORBIDDEN, new MetricsController(registry, true).scrape(requestFrom("10.1.2.3")).getStatusCode());
+        assertEquals(HttpStatus.OK, new MetricsController(registry, false).scrape(requestFrom("10.1.2.3")).getStatusCode());
+    }
+
+    @Test
+    void testRequestsRelayedByLocalProxyAreJudgedByTheirClient() {
+        MockHttpServletRequest remote = requestFrom("127.0.0.1");
+        remote.addHeader("X-Forwarded-For", "127.0.0.1, 203.0.113.7");
+        MockHttpServletRequest local = requestFrom("127.0.0.1");
+        local.addHeader("X-Forwarded-For", "127.0.0.1");
+        MockHttpServletRequest remoteForwarded = requestFrom("::1");
+        remoteForwarded.addHeader("Forwarded", "for=\"[2001:db8::1]:4711\";proto=https");
+        MockHttpServletRequest localForwarded = requestFrom("::1");
+        localForwarded.addHeader("Forwarded", "for=\"[::1]:4711\", for=127.0.0.1:80");
+        MockHttpServletRequest hostname = requestFrom("127.0.0.1");
+        hostname.addHeader("X-Forwarded-For", "localhost");
+
+        assertFalse(MetricsController.isLocal(remote));
+        assertTrue(MetricsController.isLocal(local));
+        assertFalse(MetricsController.isLocal(remoteForwarded));
+        assertTrue(MetricsController.isLocal(localForwarded));
+        assertFalse(MetricsController.isLocal(hostname));
+        assertEquals(HttpStatus.FORBIDDEN, new MetricsController(registry, true).scrape(remote).getStatusCode());
+    }
+}
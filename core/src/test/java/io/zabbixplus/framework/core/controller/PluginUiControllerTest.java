@@ -3,6 +3,8 @@ package io.zabbixplus.framework.core.controller;
 import io.zabbixplus.framework.plugin.Plugin;
 import io.zabbixplus.framework.plugin.UiPlugin;
 import io.zabbixplus.framework.core.plugin.PluginService; // Corrected path
+import io.zabbixplus.framework.core.web.PluginMetadataCache;
+import io.zabbixplus.framework.core.web.PrivilegeResolver;
 import io.zabbixplus.framework.core.web.dto.PluginClientInfo; // Corrected path
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,6 +12,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -18,6 +24,7 @@ import java.util.List;
 import java.util.Map; // Added for Map
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.lenient; // Added for lenient stubbing
 
@@ -27,6 +34,12 @@ class PluginUiControllerTest {
     @Mock
     private PluginService pluginService;
 
+    @Mock
+    private PluginMetadataCache pluginMetadataCache;
+
+    @Mock
+    private ObjectProvider<PrivilegeResolver> privilegeResolver;
+
     @InjectMocks
     private PluginUiController pluginUiController;
 
@@ -157,4 +170,25 @@ class PluginUiControllerTest {
         assertNotNull(uiPlugins);
         assertTrue(uiPlugins.isEmpty());
     }
+
+    @Test
+    void testMetadataIsGzippedOnlyWhenAccepted() {
+        PluginMetadataCache.Payload payload = mock(PluginMetadataCache.Payload.class);
+        lenient().when(payload.getJson()).thenReturn(new byte[]{'['});
+        lenient().when(payload.getGzip()).thenReturn(new byte[]{31});
+        lenient().when(payload.getEtag()).thenReturn("\"a\"");
+        lenient().when(payload.getGzipEtag()).thenReturn("\"a-gz\"");
+        when(pluginMetadataCache.getPayload(null)).thenReturn(payload);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/ui/plugin-metadata");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+        ResponseEntity<byte[]> gzipped = pluginUiController.getPluginUiMetadataJson(request);
+        assertEquals("gzip", gzipped.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+
+        MockHttpServletRequest refused = new MockHttpServletRequest("GET", "/api/ui/plugin-metadata");
+        refused.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, identity");
+        ResponseEntity<byte[]> plain = pluginUiController.getPluginUiMetadataJson(refused);
+        assertNull(plain.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("\"a\"", plain.getHeaders().getETag());
+    }
 }
@@ -0,0 +1,166 @@
+package io.zabbixplus.framework.core.ingest;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZabbixSenderListenerTest {
+
+    private final List<String> received = new CopyOnWriteArrayList<>();
+    private ZabbixSenderListener listener;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        listener.stop();
+    }
+
+    private void start(int bufferBytes, int batchSize, int queuedBatches, SenderSampleSink sink) throws IOException {
+        listener = new ZabbixSenderListener(true, "127.0.0.1", 0, DataSize.ofBytes(bufferBytes), DataSize.ofMegabytes(1),
+                batchSize, queuedBatches, Duration.ofMillis(20), Duration.ofSeconds(30), List.of(sink));
+        listener.start();
+    }
+
+    private void collect(SampleBatch batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            received.add(batch.host(i) + ":" + batch.key(i) + "@" + batch.timestampMillis(i) + "=" + batch.value(i));
+        }
+    }
+
+    private static String senderData(int items, long clock) {
+        StringBuilder json = new StringBuilder("{\"request\":\"sender data\",\"data\":[");
+        for (int i = 0; i < items; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"host\":\"web01\",\"key\":\"cpu.load[").append(i)
+                    .append("]\",\"value\":\"").append(i).append(".5\",\"clock\":").append(clock).append(",\"ns\":250000000}");
+        }
+        return json.append("]}").toString();
+    }
+
+    private static String readResponse(InputStream in) throws IOException {
+        byte[] header = in.readNBytes(13);
+        if (header.length < 13) {
+            return null;
+        }
+        assertEquals("ZBXD", new String(header, 0, 4, StandardCharsets.US_ASCII));
+        int length = ByteBuffer.wrap(header, 5, 4).order(ByteOrder.LITTLE_ENDIAN).getInt();
+        return new String(in.readNBytes(length), StandardCharsets.UTF_8);
+    }
+
+    private void awaitReceived(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (received.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    void testSenderDataIsAcknowledgedAndDelivered() throws Exception {
+        start(4096, 100, 4, this::collect);
+        String json = "{\"request\":\"sender data\",\"data\":["
+                + "{\"host\":\"web01\",\"key\":\"cpu.load\",\"value\":\"0.42\",\"clock\":1700000000,\"ns\":5000000},"
+                + "{\"host\":\"web01\",\"key\":\"agent.version\",\"value\":\"6.4.0\"},"
+                + "{\"host\":\"db01\",\"key\":\"net.if.in\",\"value\":12345}"
+                + "],\"clock\":1700000001,\"ns\":0}";
+
+        try (Socket socket = new Socket("127.0.0.1", listener.getPort())) {
+            socket.getOutputStream().write(SenderFrames.encode(json));
+            String response = readResponse(socket.getInputStream());
+
+            assertTrue(response.contains("\"response\":\"success\""), response);
+            assertTrue(response.contains("processed: 2; failed: 1; total: 3"), response);
+        }
+        awaitReceived(2);
+        assertEquals(List.of("web01:cpu.load@1700000000005=0.42", "db01:net.if.in@1700000001000=12345.0"), received);
+    }
+
+    @Test
+    void testFramesSplitAcrossReadsAndLargerThanTheBuffer() throws Exception {
+        start(256, 100, 4, this::collect);
+        byte[] frame = SenderFrames.encode(senderData(20, 1_700_000_000L));
+        assertTrue(frame.length > 256);
+
+        try (Socket socket = new Socket("127.0.0.1", listener.getPort())) {
+            OutputStream out = socket.getOutputStream();
+            for (int offset = 0; offset < frame.length; offset += 100) {
+                out.write(frame, offset, Math.min(100, frame.length - offset));
+                out.flush();
+                Thread.sleep(2);
+            }
+            assertTrue(readResponse(socket.getInputStream()).contains("processed: 20; failed: 0"));
+
+            // A second, small frame on the same connection goes back to a pooled buffer
+            out.write(SenderFrames.encode(senderData(1, 1_700_000_100L)));
+            assertTrue(readResponse(socket.getInputStream()).contains("processed: 1;"));
+        }
+        awaitReceived(21);
+        assertEquals("web01:cpu.load[19]@1700000000250=19.5", received.get(19));
+    }
+
+    @Test
+    void testOtherProtocolsAreRejected() throws Exception {
+        start(4096, 100, 4, this::collect);
+
+        try (Socket socket = new Socket("127.0.0.1", listener.getPort())) {
+            socket.getOutputStream().write("GET / HTTP/1.1\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+            String response = readResponse(socket.getInputStream());
+
+            assertTrue(response.contains("\"response\":\"failed\""), response);
+            assertEquals(-1, socket.getInputStream().read(), "connection is closed");
+        }
+        try (Socket socket = new Socket("127.0.0.1", listener.getPort())) {
+            socket.getOutputStream().write(SenderFrames.encode("{\"request\":\"active checks\",\"host\":\"web01\"}"));
+
+            assertTrue(readResponse(socket.getInputStream()).contains("unsupported request"));
+        }
+        assertTrue(received.isEmpty());
+    }
+
+    @Test
+    void testSlowSinkPausesSendersUntilABatchIsDelivered() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        start(4096, 2, 1, batch -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            collect(batch);
+        });
+
+        try (Socket socket = new Socket("127.0.0.1", listener.getPort())) {
+            socket.setSoTimeout(300);
+            OutputStream out = socket.getOutputStream();
+            InputStream in = socket.getInputStream();
+            // The first batch is held by the sink, the second waits in the queue
+            out.write(SenderFrames.encode(senderData(2, 1_700_000_000L)));
+            assertNotNull(readResponse(in));
+            out.write(SenderFrames.encode(senderData(2, 1_700_000_001L)));
+            assertNotNull(readResponse(in));
+
+            out.write(SenderFrames.encode(senderData(2, 1_700_000_002L)));
+            assertThrows(SocketTimeoutException.class, () -> readResponse(in));
+            assertEquals(1L, listener.getStats().get("backpressurePauses"));
+
+            release.countDown();
+            socket.setSoTimeout(5000);
+            assertTrue(readResponse(in).contains("processed: 2;"));
+        }
+        awaitReceived(6);
+        assertEquals(6, received.size());
+    }
+}
@@ -0,0 +1,154 @@
+package io.zabbixplus.framework.core.interceptor;
+
+import io.zabbixplus.framework.core.jfr.HttpRequestEvent;
+import io.zabbixplus.framework.core.metrics.PrometheusMetricsRegistry;
+import io.zabbixplus.framework.core.metrics.RequestProfile;
+import io.zabbixplus.framework.core.metrics.RouteMetrics;
+import io.zabbixplus.framework.core.metrics.SlowRequestRecorder;
+import io.zabbixplus.framework.core.plugin.PluginService;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class RequestLoggingInterceptorTest {
+
+    private final RouteMetrics routeMetrics = new RouteMetrics(10);
+    @SuppressWarnings("unchecked")
+    private final SlowRequestRecorder slowRequestRecorder = new SlowRequestRecorder(Duration.ofMillis(50), 8, false,
+            mock(ObjectProvider.class));
+    private final PrometheusMetricsRegistry metricsRegistry = new PrometheusMetricsRegistry();
+    private final RequestLoggingInterceptor interceptor = new RequestLoggingInterceptor(routeMetrics, slowRequestRecorder,
+            metricsRegistry, 0.0);
+
+    private void handle(String uri, String pattern, int status) {
+        handle(uri, pattern, status, 0);
+    }
+
+    private void handle(String uri, String pattern, int status, long dbMillis) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, new Object());
+        if (dbMillis > 0) {
+            RequestProfile.timeDb(() -> sleep(dbMillis));
+        }
+        if (pattern != null) {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        }
+        response.setStatus(status);
+        interceptor.afterCompletion(request, response, new Object(), null);
+    }
+
+    private static Object sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+    @Test
+    void testLatencyIsRecordedPerRoutePatternNotRawUrl() {
+        handle("/api/test/found/1", "/api/test/found/{id}", 200);
+        handle("/api/test/found/2", "/api/test/found/{id}", 200);
+        handle("/api/test/found/3", "/api/test/found/{id}", 404);
+
+        List<Map<String, Object>> snapshot = routeMetrics.snapshot();
+
+        assertEquals(2, snapshot.size());
+        assertEquals("/api/test/found/{id}", snapshot.get(0).get("route"));
+        assertEquals(200, snapshot.get(0).get("status"));
+        assertEquals(2L, snapshot.get(0).get("count"));
+        assertEquals(404, snapshot.get(1).get("status"));
+    }
+
+    @Test
+    void testRequestWithoutHandlerPatternIsUnmatched() {
+        handle("/api/nothing-here", null, 404);
+
+        assertEquals(RouteMetrics.UNMATCHED, routeMetrics.snapshot().get(0).get("route"));
+    }
+
+    @Test
+    void testRouteCardinalityIsCapped() {
+        for (int i = 0; i < 20; i++) {
+            handle("/api/r" + i, "/api/r" + i, 200);
+        }
+
+        List<Map<String, Object>> snapshot = routeMetrics.snapshot();
+        assertEquals(11, snapshot.size());
+        assertEquals("OTHER", snapshot.get(0).get("route"));
+        assertEquals(10L, snapshot.get(0).get("count"));
+    }
+
+    @Test
+    void testSlowRequestIsRecordedWithDbTimeAndPlugin() {
+        handle("/api/records", "/api/records", 200);
+        handle("/api/plugins/simpleexampleplugin/data", "/api/plugins/simpleexampleplugin/data", 200, 60);
+
+        List<Map<String, Object>> slow = slowRequestRecorder.snapshot();
+
+        assertEquals(1, slow.size());
+        assertEquals("/api/plugins/simpleexampleplugin/data", slow.get(0).get("route"));
+        assertEquals("simpleexampleplugin", slow.get(0).get("plugin"));
+        assertEquals(1L, slow.get(0).get("dbCalls"));
+        assertTrue((Double) slow.get(0).get("dbMillis") >= 50.0);
+        assertTrue((Double) slow.get(0).get("totalMillis") >= (Double) slow.get(0).get("dbMillis"));
+        assertEquals(Thread.currentThread().getName(), slow.get(0).get("thread"));
+        assertNull(RequestProfile.current());
+    }
+
+    @Test
+    void testPluginRequestsAreTimedPerPlugin() {
+        handle("/api/records", "/api/records", 200);
+        handle("/api/plugins/simpleexampleplugin/data", "/api/plugins/simpleexampleplugin/data", 200);
+        handle("/api/plugins/simpleexampleplugin/data", "/api/plugins/simpleexampleplugin/data", 503);
+
+        String scrape = metricsRegistry.scrape();
+
+        assertTrue(scrape.contains("zabbixplus_plugin_requests_seconds_count{plugin=\"simpleexampleplugin\"} 2\n"), scrape);
+        assertTrue(scrape.contains("zabbixplus_plugin_request_errors_total{plugin=\"simpleexampleplugin\"} 1\n"), scrape);
+        assertEquals(1, scrape.lines().filter(line -> line.startsWith("zabbixplus_plugin_requests_seconds_count")).count());
+    }
+
+    @Test
+    void testRequestIsEmittedAsJfrEvent() throws Exception {
+        Path file = Files.createTempFile("requests", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(HttpRequestEvent.class);
+            recording.start();
+            handle("/api/plugins/simpleexampleplugin/data", "/api/plugins/simpleexampleplugin/data", 201, 5);
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+            assertEquals(1, events.size());
+            RecordedEvent event = events.get(0);
+            assertEquals(HttpRequestEvent.NAME, event.getEventType().getName());
+            assertEquals("GET", event.getString("method"));
+            assertEquals("/api/plugins/simpleexampleplugin/data", event.getString("route"));
+            assertEquals(201, event.getInt("status"));
+            assertEquals("simpleexampleplugin", event.getString("plugin"));
+            assertEquals(1L, event.getLong("dbCalls"));
+            assertTrue(event.getDuration("dbTime").toMillis() >= 4);
+            assertTrue(event.getDuration().compareTo(event.getDuration("dbTime")) >= 0);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
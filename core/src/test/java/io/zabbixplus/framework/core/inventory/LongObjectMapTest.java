@@ -0,0 +1,53 @@
+package io.zabbixplus.framework.core.inventory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongObjectMapTest {
+
+    @Test
+    void testMatchesHashMapUnderRandomPutsAndRemoves() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+        Map<Long, String> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 50_000; i++) {
+            // A small key range forces collisions, probe chains and removals from their middle
+            long key = random.nextInt(2000) * 1024L;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                String value = "v" + i;
+                assertEquals(expected.put(key, value), map.put(key, value));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        expected.forEach((key, value) -> assertEquals(value, map.get(key)));
+        int[] visited = new int[1];
+        map.forEach((key, value) -> {
+            assertEquals(expected.get(key), value);
+            visited[0]++;
+        });
+        assertEquals(expected.size(), visited[0]);
+    }
+
+    @Test
+    void testCopyIsIndependent() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+        map.put(10084, "web01");
+
+        LongObjectMap<String> copy = map.copy();
+        copy.put(10085, "db01");
+        copy.remove(10084);
+
+        assertEquals("web01", map.get(10084));
+        assertNull(map.get(10085));
+        assertEquals(1, copy.size());
+    }
+}
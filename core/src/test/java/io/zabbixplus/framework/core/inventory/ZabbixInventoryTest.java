@@ -0,0 +1,253 @@
+package io.zabbixplus.framework.core.inventory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.zabbixplus.framework.core.zabbix.ZabbixApiClient;
+import io.zabbixplus.framework.core.zabbix.ZabbixApiException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZabbixInventoryTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Long, ObjectNode> groups = new LinkedHashMap<>();
+    private final Map<Long, ObjectNode> hosts = new LinkedHashMap<>();
+    private final Map<Long, ObjectNode> items = new LinkedHashMap<>();
+    private final Map<Long, ObjectNode> triggers = new LinkedHashMap<>();
+    private final List<ObjectNode> auditLog = new ArrayList<>();
+    private final List<String> calls = new ArrayList<>();
+    private boolean auditLogForbidden;
+
+    private FakeZabbix zabbix;
+    private ZabbixInventory inventory;
+
+    /**
+     * Answers the API calls the inventory makes from the maps above.
+     */
+    private class FakeZabbix extends ZabbixApiClient {
+        FakeZabbix() {
+            super("http://127.0.0.1:9/api_jsonrpc.php", "", "", "token", false, Duration.ofMillis(5), 50,
+                    Duration.ofSeconds(1), Duration.ofSeconds(1), objectMapper);
+        }
+
+        @Override
+        public CompletableFuture<JsonNode> call(String method, Object params) {
+            JsonNode request = objectMapper.valueToTree(params);
+            calls.add(method + (request.has("hostids") ? " hostids" : request.has("itemids") ? " itemids"
+                    : request.has("lastChangeSince") ? " lastChangeSince" : ""));
+            return switch (method) {
+                case "hostgroup.get" -> CompletableFuture.completedFuture(select(groups, request.get("groupids")));
+                case "host.get" -> CompletableFuture.completedFuture(select(hosts, request.get("hostids")));
+                case "item.get" -> CompletableFuture.completedFuture(select(items, request.get("itemids")));
+                case "trigger.get" -> CompletableFuture.completedFuture(triggerGet(request));
+                case "auditlog.get" -> auditLogForbidden
+                        ? CompletableFuture.failedFuture(new ZabbixApiException(-32500, "Application error.", "No permissions to call \"auditlog.get\"."))
+                        : CompletableFuture.completedFuture(objectMapper.valueToTree(auditLog.stream()
+                                .filter(entry -> entry.get("clock").asLong() >= request.get("time_from").asLong())
+                                .collect(Collectors.toList())));
+                default -> CompletableFuture.failedFuture(new IllegalArgumentException(method));
+            };
+        }
+
+        private ArrayNode select(Map<Long, ObjectNode> source, JsonNode ids) {
+            ArrayNode result = objectMapper.createArrayNode();
+            source.forEach((id, node) -> {
+                if (ids == null || contains(ids, id)) {
+                    result.add(node);
+                }
+            });
+            return result;
+        }
+
+        private ArrayNode triggerGet(JsonNode request) {
+            if (request.has("lastChangeSince")) {
+                ArrayNode result = objectMapper.createArrayNode();
+                long since = request.get("lastChangeSince").asLong();
+                triggers.values().stream().filter(trigger -> trigger.get("lastchange").asLong() > since).forEach(result::add);
+                return result;
+            }
+            return select(triggers, request.get("triggerids"));
+        }
+
+        private boolean contains(JsonNode ids, long id) {
+            for (JsonNode candidate : ids) {
+                if (candidate.asLong() == id) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        group(2, "Linux servers");
+        group(5, "Databases");
+        host(10084, "web01", 2, "env", "prod");
+        host(10085, "db01", 5, "env", "staging");
+        item(23296, 10084, "system.cpu.load[all,avg1]");
+        item(23297, 10084, "vm.memory.size[available]");
+        item(23400, 10085, "pgsql.connections");
+        trigger(13491, "High CPU on web01", 4, 1, 1_700_000_000L, 10084);
+        trigger(13500, "Too many connections", 3, 0, 1_699_000_000L, 10085);
+
+        zabbix = new FakeZabbix();
+        inventory = new ZabbixInventory(zabbix, true, Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        zabbix.shutdown();
+    }
+
+    private void group(long id, String name) {
+        groups.put(id, objectMapper.createObjectNode().put("groupid", String.valueOf(id)).put("name", name));
+    }
+
+    private void host(long id, String host, long groupId, String tag, String value) {
+        ObjectNode node = objectMapper.createObjectNode().put("hostid", String.valueOf(id)).put("host", host)
+                .put("name", host.toUpperCase()).put("status", "0");
+        node.putArray("hostgroups").addObject().put("groupid", String.valueOf(groupId));
+        node.putArray("tags").addObject().put("tag", tag).put("value", value);
+        hosts.put(id, node);
+    }
+
+    private void item(long id, long hostId, String key) {
+        items.put(id, objectMapper.createObjectNode().put("itemid", String.valueOf(id)).put("hostid", String.valueOf(hostId))
+                .put("key_", key).put("name", key).put("value_type", "0").put("units", "").put("status", "0"));
+    }
+
+    private void trigger(long id, String description, int priority, int value, long lastChange, long hostId) {
+        ObjectNode node = objectMapper.createObjectNode().put("triggerid", String.valueOf(id)).put("description", description)
+                .put("priority", String.valueOf(priority)).put("value", String.valueOf(value))
+                .put("lastchange", String.valueOf(lastChange)).put("status", "0");
+        node.putArray("hosts").addObject().put("hostid", String.valueOf(hostId));
+        triggers.put(id, node);
+    }
+
+    private void audit(int resourceType, long resourceId) {
+        auditLog.add(objectMapper.createObjectNode().put("resourcetype", String.valueOf(resourceType))
+                .put("resourceid", String.valueOf(resourceId)).put("clock", String.valueOf(System.currentTimeMillis() / 1000)));
+    }
+
+    private static Set<String> names(List<InventoryHost> hosts) {
+        Set<String> names = new HashSet<>();
+        hosts.forEach(host -> names.add(host.getHost()));
+        return names;
+    }
+
+    @Test
+    void testFullSyncBuildsIndexes() {
+        assertEquals(0, inventory.snapshot().getVersion());
+
+        inventory.refresh();
+        InventorySnapshot snapshot = inventory.snapshot();
+
+        assertEquals(1, snapshot.getVersion());
+        assertEquals(2, snapshot.getHostCount());
+        assertEquals(Set.of("web01"), names(snapshot.getHostsInGroup(2)));
+        assertEquals(Set.of("web01", "db01"), names(snapshot.getHostsWithTag("env")));
+        assertEquals(Set.of("db01"), names(snapshot.getHostsWithTag("env", "staging")));
+        assertEquals(10084, snapshot.getHostByName("web01").getId());
+        assertEquals(2, snapshot.getItemsOfHost(10084).size());
+        assertEquals(23400, snapshot.getItemByKey(10085, "pgsql.connections").getId());
+        assertEquals(List.of(13491L), snapshot.getProblems().stream().map(InventoryTrigger::getId).collect(Collectors.toList()));
+        assertEquals(List.of("hostgroup.get", "host.get", "item.get", "trigger.get"), calls);
+    }
+
+    @Test
+    void testIncrementalSyncFetchesOnlyChangedObjects() {
+        inventory.refresh();
+        InventorySnapshot before = inventory.snapshot();
+        calls.clear();
+
+        host(10085, "db01", 2, "env", "prod");
+        audit(4, 10085);
+        items.remove(23297L);
+        audit(15, 23297);
+        trigger(13500, "Too many connections", 3, 1, 1_700_000_100L, 10085);
+
+        inventory.refresh();
+        InventorySnapshot after = inventory.snapshot();
+
+        assertEquals(List.of("auditlog.get", "host.get hostids", "item.get itemids", "trigger.get lastChangeSince"), calls);
+        assertEquals(2, after.getVersion());
+        assertEquals(Set.of("web01", "db01"), names(after.getHostsInGroup(2)));
+        assertTrue(after.getHostsInGroup(5).isEmpty());
+        assertNull(after.getItem(23297));
+        assertEquals(1, after.getItemsOfHost(10084).size());
+        assertEquals(2, after.getProblems().size());
+
+        // Readers holding the old snapshot are unaffected
+        assertEquals(Set.of("db01"), names(before.getHostsInGroup(5)));
+        assertNotNull(before.getItem(23297));
+        assertEquals(1, before.getProblems().size());
+    }
+
+    @Test
+    void testDeletedHostTakesItsItemsAndTriggers() {
+        inventory.refresh();
+
+        hosts.remove(10085L);
+        audit(4, 10085);
+        inventory.refresh();
+        InventorySnapshot snapshot = inventory.snapshot();
+
+        assertNull(snapshot.getHost(10085));
+        assertNull(snapshot.getHostByName("db01"));
+        assertNull(snapshot.getItem(23400));
+        assertNull(snapshot.getTrigger(13500));
+        assertEquals(1, snapshot.getHostCount());
+    }
+
+    @Test
+    void testUnchangedInventoryKeepsTheSnapshot() {
+        inventory.refresh();
+        InventorySnapshot first = inventory.snapshot();
+
+        inventory.refresh();
+
+        assertSame(first, inventory.snapshot());
+    }
+
+    @Test
+    void testTriggerChangeInTheWatermarkSecondIsNotMissed() {
+        inventory.refresh();
+        trigger(13491, "High CPU on web01", 4, 0, 1_700_000_300L, 10084);
+        inventory.refresh();
+
+        // Changed after the previous sync, but within the same second as the watermark
+        trigger(13500, "Too many connections", 3, 1, 1_700_000_300L, 10085);
+        inventory.refresh();
+
+        assertEquals(List.of(13500L), inventory.snapshot().getProblems().stream().map(InventoryTrigger::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testTriggerStatesStillSyncWithoutAuditLogAccess() {
+        inventory.refresh();
+        auditLogForbidden = true;
+
+        trigger(13491, "High CPU on web01", 4, 0, 1_700_000_200L, 10084);
+        inventory.refresh();
+
+        assertTrue(inventory.snapshot().getProblems().isEmpty());
+        assertEquals(false, inventory.getStats().get("auditLogReadable"));
+        assertNull(inventory.getStats().get("lastError"));
+    }
+}
@@ -0,0 +1,132 @@
+package io.zabbixplus.framework.core.jfr;
+
+import io.zabbixplus.framework.plugin.Plugin;
+import jdk.jfr.Configuration;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RollingRecordingTest {
+
+    @TempDir
+    Path dumpDirectory;
+
+    private RollingRecording recording;
+
+    @AfterEach
+    void tearDown() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @Test
+    void testDumpContainsFrameworkEvents() throws Exception {
+        recording = new RollingRecording(true, "default", Duration.ofMinutes(5), DataSize.ofMegabytes(20), dumpDirectory.toString(), 5);
+        recording.start();
+        assertTrue(recording.isActive());
+
+        Plugin plugin = mock(Plugin.class);
+        when(plugin.getPluginId()).thenReturn("jfr-test-plugin");
+        when(plugin.getPluginName()).thenReturn("JFR Test Plugin");
+        PluginLifecycleEvent.start(PluginLifecycleEvent.INIT, plugin, "jfr-test-plugin.jar").finish(false);
+        DatabaseCallEvent databaseEvent = DatabaseCallEvent.start("example_table", "getRecords");
+        databaseEvent.setRows(42);
+        databaseEvent.finish(true);
+        HttpRequestEvent request = HttpRequestEvent.start();
+        assertTrue(request.complete());
+        request.finish("GET", "/api/records", 200, null, 1, 5_000);
+
+        Map<String, Object> result = recording.dump();
+
+        Path file = Path.of((String) result.get("file"));
+        assertEquals(dumpDirectory.toAbsolutePath(), file.getParent());
+        assertEquals(Files.size(file), result.get("bytes"));
+        assertEquals(300L, result.get("maxAgeSeconds"));
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        RecordedEvent lifecycle = single(events, PluginLifecycleEvent.NAME);
+        assertEquals("jfr-test-plugin", lifecycle.getString("pluginId"));
+        assertEquals("JFR Test Plugin", lifecycle.getString("pluginName"));
+        assertEquals("init", lifecycle.getString("phase"));
+        assertEquals("jfr-test-plugin.jar", lifecycle.getString("source"));
+        assertFalse(lifecycle.getBoolean("succeeded"));
+        assertNull(lifecycle.getStackTrace());
+
+        RecordedEvent databaseCall = single(events, DatabaseCallEvent.NAME);
+        assertEquals("example_table", databaseCall.getString("table"));
+        assertEquals("getRecords", databaseCall.getString("operation"));
+        assertEquals(42, databaseCall.getLong("rows"));
+        assertTrue(databaseCall.getBoolean("succeeded"));
+
+        RecordedEvent httpRequest = single(events, HttpRequestEvent.NAME);
+        assertEquals("GET", httpRequest.getString("method"));
+        assertEquals("/api/records", httpRequest.getString("route"));
+        assertEquals(200, httpRequest.getInt("status"));
+        assertNull(httpRequest.getString("plugin"));
+        assertEquals(Duration.ofNanos(5_000), httpRequest.getDuration("dbTime"));
+    }
+
+    @Test
+    void testDisabledRecordingIsInactive() {
+        recording = new RollingRecording(false, "default", Duration.ofMinutes(5), DataSize.ofMegabytes(20), dumpDirectory.toString(), 5);
+        recording.start();
+
+        assertFalse(recording.isActive());
+        assertThrows(IllegalStateException.class, recording::dump);
+    }
+
+    @Test
+    void testSettingsCanBeAJfcFile() throws Exception {
+        Path jfc = Files.writeString(dumpDirectory.resolve("custom.jfc"), Configuration.getConfiguration("profile").getContents());
+        recording = new RollingRecording(true, jfc.toString(), Duration.ofMinutes(5), DataSize.ofMegabytes(20), dumpDirectory.toString(), 5);
+        recording.start();
+        assertTrue(recording.isActive());
+        recording.close();
+
+        recording = new RollingRecording(true, dumpDirectory.resolve("missing.jfc").toString(), Duration.ofMinutes(5),
+                DataSize.ofMegabytes(20), dumpDirectory.toString(), 5);
+        recording.start();
+        assertFalse(recording.isActive());
+    }
+
+    @Test
+    void testOnlyNewestDumpsAreKept() throws Exception {
+        recording = new RollingRecording(true, "default", Duration.ofMinutes(5), DataSize.ofMegabytes(20), dumpDirectory.toString(), 2);
+        recording.start();
+        Path unrelated = Files.writeString(dumpDirectory.resolve("notes.txt"), "kept");
+
+        String first = (String) recording.dump().get("file");
+        Thread.sleep(5);
+        String second = (String) recording.dump().get("file");
+        Thread.sleep(5);
+        Map<String, Object> third = recording.dump();
+
+        assertEquals(List.of(first), third.get("deleted"));
+        assertFalse(Files.exists(Path.of(first)));
+        assertTrue(Files.exists(Path.of(second)));
+        assertTrue(Files.exists(Path.of((String) third.get("file"))));
+        assertTrue(Files.exists(unrelated));
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .toList();
+        assertEquals(1, matching.size(), name);
+        return matching.get(0);
+    }
+}
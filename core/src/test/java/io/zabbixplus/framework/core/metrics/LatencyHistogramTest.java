@@ -0,0 +1,69 @@
+package io.zabbixplus.framework.core.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void testEmptyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getValueAtPercentile(99));
+        assertEquals(0.0, histogram.getMeanNanos());
+    }
+
+    @Test
+    void testPercentilesAreWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 10_000; micros++) {
+            histogram.record(micros * 1_000);
+        }
+
+        assertEquals(10_000, histogram.getCount());
+        assertWithin(5_000_000, histogram.getValueAtPercentile(50));
+        assertWithin(9_900_000, histogram.getValueAtPercentile(99));
+        assertEquals(10_000_000, histogram.getValueAtPercentile(100));
+        assertEquals(10_000_000, histogram.getMaxNanos());
+        assertEquals(5_000_500.0, histogram.getMeanNanos(), 0.001);
+    }
+
+    @Test
+    void testBucketBoundsCoverEveryValue() {
+        for (long value : new long[]{0, 1, 15, 16, 17, 31, 32, 1_000, 123_456_789, 1L << 40}) {
+            int index = LatencyHistogram.indexOf(value);
+            assertTrue(LatencyHistogram.upperBoundOf(index) >= value, "upper bound of " + value);
+            assertTrue(index == 0 || LatencyHistogram.upperBoundOf(index - 1) < value, "lower bound of " + value);
+        }
+        assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.indexOf(Long.MAX_VALUE));
+    }
+
+    @Test
+    void testConcurrentRecordingLosesNothing() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 25_000; i++) {
+                    histogram.record(i);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(100_000, histogram.getCount());
+        assertEquals(24_999, histogram.getMaxNanos());
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(Math.abs(actual - expected) <= expected / LatencyHistogram.SUB_BUCKETS,
+                "expected ~" + expected + " but was " + actual);
+    }
+}
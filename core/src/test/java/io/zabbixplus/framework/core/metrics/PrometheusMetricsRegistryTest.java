@@ -0,0 +1,200 @@
+package io.zabbixplus.framework.core.metrics;
+
+import io.zabbixplus.framework.plugin.metrics.Counter;
+import io.zabbixplus.framework.plugin.metrics.Gauge;
+import io.zabbixplus.framework.plugin.metrics.Histogram;
+import io.zabbixplus.framework.plugin.metrics.MetricsRegistry;
+import io.zabbixplus.framework.plugin.metrics.Timer;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrometheusMetricsRegistryTest {
+
+    private final PrometheusMetricsRegistry registry = new PrometheusMetricsRegistry();
+
+    @Test
+    void testCounterAndGaugeExposition() {
+        Counter counter = registry.counter("requests_total", "All requests.", "method", "GET", "code", "200");
+        counter.increment();
+        counter.increment(2.5);
+        counter.increment(-1);
+        Gauge gauge = registry.gauge("queue_depth", "Items waiting.");
+        gauge.set(7);
+        AtomicInteger connections = new AtomicInteger(3);
+        registry.gauge("connections", "Open connections.", connections::get);
+        connections.set(4);
+
+        assertEquals("""
+                # HELP connections Open connections.
+                # TYPE connections gauge
+                connections 4
+                # HELP queue_depth Items waiting.
+                # TYPE queue_depth gauge
+                queue_depth 7
+                # HELP requests_total All requests.
+                # TYPE requests_total counter
+                requests_total{code="200",method="GET"} 3.5
+                """, registry.scrape());
+    }
+
+    @Test
+    void testSameNameAndTagsReturnSameMeter() {
+        Counter first = registry.counter("hits_total", "Hits.", "a", "1", "b", "2");
+        Counter second = registry.counter("hits_total", "Hits.", "b", "2", "a", "1");
+
+        assertSame(first, second);
+        assertNotSame(first, registry.counter("hits_total", "Hits.", "a", "1", "b", "3"));
+    }
+
+    @Test
+    void testInvalidRegistrationsAreRejected() {
+        registry.counter("jobs_total", "Jobs.");
+
+        assertThrows(IllegalArgumentException.class, () -> registry.gauge("jobs_total", "Jobs."));
+        assertThrows(IllegalArgumentException.class, () -> registry.counter("jobs total", "Jobs."));
+        assertThrows(IllegalArgumentException.class, () -> registry.counter("jobs_total", "Jobs.", "odd"));
+        assertThrows(IllegalArgumentException.class, () -> registry.counter("jobs_total", "Jobs.", "le", "1"));
+        assertThrows(IllegalArgumentException.class, () -> registry.counter("jobs_total", "Jobs.", "a", "1", "a", "2"));
+        assertThrows(IllegalArgumentException.class, () -> registry.histogram("sizes", "Sizes.", new double[]{2, 1}));
+        registry.histogram("sizes", "Sizes.", new double[]{1, 2});
+        assertThrows(IllegalArgumentException.class, () -> registry.histogram("sizes", "Sizes.", new double[]{1, 5}));
+    }
+
+    @Test
+    void testLabelValuesAndHelpAreEscaped() {
+        registry.gauge("escaped", "Line one\nback\\slash", "path", "C:\\tmp \"x\"\n").set(1);
+
+        String scrape = registry.scrape();
+
+        assertTrue(scrape.contains("# HELP escaped Line one\\nback\\\\slash\n"), scrape);
+        assertTrue(scrape.contains("escaped{path=\"C:\\\\tmp \\\"x\\\"\\n\"} 1\n"), scrape);
+    }
+
+    @Test
+    void testHistogramBucketsAreCumulative() {
+        Histogram histogram = registry.histogram("payload_bytes", "Payload sizes.", new double[]{100, 1000});
+        histogram.observe(50);
+        histogram.observe(100);
+        histogram.observe(500);
+        histogram.observe(5000);
+
+        assertEquals(4, histogram.count());
+        assertEquals("""
+                # HELP payload_bytes Payload sizes.
+                # TYPE payload_bytes histogram
+                payload_bytes_bucket{le="100"} 2
+                payload_bytes_bucket{le="1000"} 3
+                payload_bytes_bucket{le="+Inf"} 4
+                payload_bytes_sum 5650
+                payload_bytes_count 4
+                """, registry.scrape());
+    }
+
+    @Test
+    void testTimerIsExportedAsSummaryInSeconds() {
+        Timer timer = registry.timer("call_seconds", "Calls.", "op", "read");
+        timer.record(10, TimeUnit.MILLISECONDS);
+        timer.record(30, TimeUnit.MILLISECONDS);
+        assertEquals("done", timer.record(() -> "done"));
+
+        String scrape = registry.scrape();
+
+        assertEquals(3, timer.count());
+        assertTrue(scrape.contains("# TYPE call_seconds summary\n"), scrape);
+        assertTrue(scrape.contains("call_seconds{op=\"read\",quantile=\"0.5\"} 0.01"), scrape);
+        assertTrue(scrape.contains("call_seconds{op=\"read\",quantile=\"0.99\"} 0.03"), scrape);
+        assertTrue(scrape.contains("call_seconds_count{op=\"read\"} 3\n"), scrape);
+    }
+
+    @Test
+    void testTimerQuantilesCoverRecentSamplesOnly() {
+        AtomicLong now = new AtomicLong();
+        PrometheusMetricsRegistry clocked = new PrometheusMetricsRegistry(now::get);
+        Timer timer = clocked.timer("query_seconds", "Queries.");
+        timer.record(10, TimeUnit.MILLISECONDS);
+        timer.record(30, TimeUnit.MILLISECONDS);
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(61));
+        timer.record(500, TimeUnit.MILLISECONDS);
+        assertTrue(clocked.scrape().contains("query_seconds{quantile=\"0.99\"} 0.5"), clocked.scrape());
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(60));
+        String recent = clocked.scrape();
+        assertTrue(recent.contains("query_seconds{quantile=\"0.5\"} 0.5"), recent);
+        assertTrue(recent.contains("query_seconds_count 3\n"), recent);
+
+        now.addAndGet(TimeUnit.MINUTES.toNanos(5));
+        String idle = clocked.scrape();
+        assertTrue(idle.contains("query_seconds{quantile=\"0.5\"} NaN\n"), idle);
+        assertTrue(idle.contains("query_seconds_sum 0.54\n"), idle);
+        assertEquals(3, timer.count());
+    }
+
+    @Test
+    void testTaggedViewAddsPluginTag() {
+        MetricsRegistry pluginRegistry = registry.withTags("plugin", "example");
+        pluginRegistry.counter("checks_total", "Checks.", "host", "web01").increment();
+
+        assertTrue(registry.scrape().contains("checks_total{host=\"web01\",plugin=\"example\"} 1\n"));
+        assertThrows(IllegalArgumentException.class, () -> pluginRegistry.counter("checks_total", "Checks.", "plugin", "other"));
+    }
+
+    @Test
+    void testRemovingAViewDropsOnlyItsMeters() {
+        registry.counter("checks_total", "Checks.", "plugin", "core").increment();
+        MetricsRegistry pluginRegistry = registry.withTags("plugin", "example");
+        pluginRegistry.counter("checks_total", "Checks.").increment();
+        pluginRegistry.gauge("queue_depth", "Queue depth.", () -> 3);
+
+        registry.remove(pluginRegistry);
+
+        String scrape = registry.scrape();
+        assertTrue(scrape.contains("checks_total{plugin=\"core\"} 1\n"));
+        assertFalse(scrape.contains("plugin=\"example\""));
+        assertFalse(scrape.contains("queue_depth"));
+    }
+
+    @Test
+    void testFailingCallbackIsReportedAsNaN() {
+        registry.gauge("broken", "Always fails.", () -> {
+            throw new IllegalStateException("not ready");
+        });
+
+        assertTrue(registry.scrape().contains("broken NaN\n"));
+    }
+
+    @Test
+    void testConcurrentIncrementsLoseNothing() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 25_000; i++) {
+                    registry.counter("concurrent_total", "Concurrent increments.").increment();
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(100_000.0, registry.counter("concurrent_total", "Concurrent increments.").count());
+    }
+
+    @Test
+    void testJvmMetricsAreBound() {
+        JvmMetrics.bind(registry);
+
+        String scrape = registry.scrape();
+
+        assertTrue(scrape.contains("jvm_memory_used_bytes{area=\"heap\"} "), scrape);
+        assertTrue(scrape.contains("# TYPE jvm_gc_collections_total counter\n"), scrape);
+        assertTrue(scrape.contains("jvm_threads_live "), scrape);
+        assertTrue(scrape.contains("process_uptime_seconds "), scrape);
+    }
+}
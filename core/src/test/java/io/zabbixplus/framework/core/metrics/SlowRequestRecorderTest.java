@@ -0,0 +1,77 @@
+package io.zabbixplus.framework.core.metrics;
+
+import io.zabbixplus.framework.core.plugin.PluginService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class SlowRequestRecorderTest {
+
+    @SuppressWarnings("unchecked")
+    private final ObjectProvider<PluginService> pluginService = mock(ObjectProvider.class);
+
+    private static final long MILLIS = 1_000_000L;
+
+    @Test
+    void testFastRequestsAreNotRecorded() {
+        SlowRequestRecorder recorder = new SlowRequestRecorder(Duration.ofMillis(100), 4, false, pluginService);
+        RequestProfile profile = new RequestProfile(Thread.currentThread(), System.nanoTime());
+
+        recorder.completed(profile, "GET", "/api/records", "/api/records", 200, null, 99 * MILLIS);
+
+        assertTrue(recorder.snapshot().isEmpty());
+        assertEquals(0, recorder.getRecordedCount());
+    }
+
+    @Test
+    void testRingKeepsMostRecentEntriesSlowestFirst() {
+        SlowRequestRecorder recorder = new SlowRequestRecorder(Duration.ofMillis(100), 3, false, pluginService);
+        for (int i = 1; i <= 5; i++) {
+            RequestProfile profile = new RequestProfile(Thread.currentThread(), System.nanoTime());
+            recorder.completed(profile, "GET", "/api/r" + i, "/api/r" + i, 200, null, (100 + 10 * (i % 3)) * MILLIS);
+        }
+
+        List<Map<String, Object>> snapshot = recorder.snapshot();
+
+        assertEquals(5, recorder.getRecordedCount());
+        assertEquals(3, snapshot.size());
+        assertEquals(List.of("/api/r5", "/api/r4", "/api/r3"), snapshot.stream().map(e -> e.get("route")).toList());
+    }
+
+    @Test
+    void testStackOfStuckRequestIsSampled() throws Exception {
+        SlowRequestRecorder recorder = new SlowRequestRecorder(Duration.ofMillis(10), 4, true, pluginService);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread worker = new Thread(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "stuck-request");
+        worker.start();
+        while (worker.getState() != Thread.State.WAITING) {
+            Thread.onSpinWait();
+        }
+        RequestProfile profile = new RequestProfile(worker, System.nanoTime() - 20 * MILLIS);
+        recorder.started(profile);
+
+        recorder.sampleStacks();
+        release.countDown();
+        worker.join(TimeUnit.SECONDS.toMillis(5));
+        recorder.completed(profile, "GET", "/api/records", "/api/records", 200, null, 30 * MILLIS);
+
+        Map<String, Object> entry = recorder.snapshot().get(0);
+        assertEquals("stuck-request", entry.get("thread"));
+        assertNotNull(entry.get("stack"));
+        assertFalse(((List<?>) entry.get("stack")).isEmpty());
+    }
+}
@@ -0,0 +1,158 @@
+package io.zabbixplus.framework.core.rules;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RuleEngineTest {
+
+    private final List<RuleStateChange> changes = new CopyOnWriteArrayList<>();
+    private RuleEngine engine;
+    private long submitted;
+
+    @BeforeEach
+    void setUp() {
+        engine = new RuleEngine(true, 4, 1024, 1024);
+        engine.addListener(changes::add);
+        engine.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        engine.stop();
+    }
+
+    private void submit(String seriesKey, double... values) {
+        for (double value : values) {
+            submitted++;
+            engine.submit(seriesKey, submitted * 1000, value);
+        }
+    }
+
+    private void awaitEvaluated() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (engine.getEvaluatedCount() < submitted) {
+            assertTrue(System.nanoTime() < deadline, "samples were not evaluated in time");
+            Thread.sleep(1);
+        }
+    }
+
+    private void awaitEvents(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (changes.size() < count) {
+            assertTrue(System.nanoTime() < deadline, "expected " + count + " events but got " + changes);
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    void testAverageThresholdRaisesAndRecovers() throws InterruptedException {
+        engine.register(new AlertRule("cpu-high", "*:system.cpu.util", "avg(3) > 90"));
+
+        submit("web01:system.cpu.util", 95, 99);
+        awaitEvaluated();
+        assertTrue(engine.getProblems().isEmpty(), "two samples do not fill avg(3)");
+
+        submit("web01:system.cpu.util", 97);
+        awaitEvents(1);
+        RuleStateChange raised = changes.get(0);
+        assertEquals("cpu-high", raised.getRuleId());
+        assertEquals("web01:system.cpu.util", raised.getSeriesKey());
+        assertTrue(raised.isProblem());
+        assertEquals(97, raised.getValue());
+        assertEquals(1, engine.getProblems().size());
+
+        submit("web01:system.cpu.util", 10, 10);
+        awaitEvents(2);
+        assertFalse(changes.get(1).isProblem());
+        assertTrue(engine.getProblems().isEmpty());
+    }
+
+    @Test
+    void testRecoveryExpressionAddsHysteresis() throws InterruptedException {
+        engine.register(new AlertRule("disk", "*:vfs.fs.pused", "last() > 90", "max(2) < 80"));
+
+        submit("db01:vfs.fs.pused", 95, 85, 82, 70);
+        awaitEvaluated();
+        assertEquals(1, engine.getProblems().size(), "85 is below the threshold but above the recovery level");
+
+        submit("db01:vfs.fs.pused", 75);
+        awaitEvents(2);
+        assertFalse(changes.get(1).isProblem());
+    }
+
+    @Test
+    void testSeriesAreEvaluatedIndependently() throws InterruptedException {
+        engine.register(new AlertRule("load", "*:system.cpu.load", "min(2) >= 4 and last() <> 100"));
+
+        for (int i = 0; i < 50; i++) {
+            submit("host" + i + ":system.cpu.load", 5, i % 2 == 0 ? 6 : 1);
+        }
+        submit("unrelated:vm.memory.size", 5, 6);
+        awaitEvaluated();
+
+        List<String> problemSeries = engine.getProblems().stream().map(RuleStateChange::getSeriesKey).sorted().collect(Collectors.toList());
+        assertEquals(25, problemSeries.size());
+        assertTrue(problemSeries.contains("host0:system.cpu.load"));
+        assertFalse(problemSeries.contains("host1:system.cpu.load"));
+        assertEquals(51, ((Number) engine.getStats().get("series")).intValue());
+    }
+
+    @Test
+    void testNonFiniteSamplesAreRejected() throws InterruptedException {
+        engine.register(new AlertRule("sum", "*:net.if.in", "sum(2) > 100"));
+
+        submit("web01:net.if.in", 50);
+        engine.submit("web01:net.if.in", 0, Double.POSITIVE_INFINITY);
+        engine.submit("web01:net.if.in", 0, Double.NaN);
+        submit("web01:net.if.in", 60);
+        awaitEvents(1);
+
+        assertEquals(60, changes.get(0).getValue());
+        assertEquals(2L, engine.getStats().get("rejected"));
+        assertEquals(2, engine.getEvaluatedCount());
+    }
+
+    @Test
+    void testUnregisterForgetsProblemsAndStopsEvaluation() throws InterruptedException {
+        engine.register(new AlertRule("high", "*", "last() > 1"));
+        submit("a:b", 5);
+        awaitEvents(1);
+
+        assertTrue(engine.unregister("high"));
+        assertFalse(engine.unregister("high"));
+        assertTrue(engine.getProblems().isEmpty());
+
+        long evaluated = engine.getEvaluatedCount();
+        engine.submit("a:b", 0, 5);
+        assertEquals(evaluated, engine.getEvaluatedCount());
+    }
+
+    @Test
+    void testInvalidExpressionsFailOnConstruction() {
+        assertThrows(IllegalArgumentException.class, () -> new AlertRule("x", "*", "avg() > 1"));
+        assertThrows(IllegalArgumentException.class, () -> new AlertRule("x", "*", "median(5) > 1"));
+        assertThrows(IllegalArgumentException.class, () -> new AlertRule("x", "*", "last() > "));
+        assertThrows(IllegalArgumentException.class, () -> new AlertRule("x", "*", "(last() > 1"));
+    }
+
+    @Test
+    void testExpressionArithmeticAndPrecedence() {
+        RuleExpression expression = RuleExpression.compile("sum(2) / 2 - 1 * 3 >= -(1 - 4) or last() = 0");
+        assertEquals(2, expression.getWindows().size());
+
+        // sum(2) = 12, last() = 7: 12 / 2 - 3 = 3 >= 3
+        assertEquals(1, expression.evaluate(slot -> slot == 0 ? 12 : 7));
+        assertEquals(0, expression.evaluate(slot -> slot == 0 ? 10 : 7));
+        // Unknown sum(2), but the other side of 'or' decides
+        assertEquals(1, expression.evaluate(slot -> slot == 0 ? Double.NaN : 0));
+        assertTrue(Double.isNaN(expression.evaluate(slot -> slot == 0 ? Double.NaN : 7)));
+    }
+}
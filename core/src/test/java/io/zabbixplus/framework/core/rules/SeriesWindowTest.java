@@ -0,0 +1,76 @@
+package io.zabbixplus.framework.core.rules;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeriesWindowTest {
+
+    @Test
+    void testMatchesRescanningTheLastSamples() {
+        List<RuleExpression.Window> windows = List.of(
+                new RuleExpression.Window(RuleExpression.Function.LAST, 1),
+                new RuleExpression.Window(RuleExpression.Function.AVG, 7),
+                new RuleExpression.Window(RuleExpression.Function.SUM, 3),
+                new RuleExpression.Window(RuleExpression.Function.MIN, 5),
+                new RuleExpression.Window(RuleExpression.Function.MAX, 12));
+        SeriesWindow window = new SeriesWindow(windows);
+        List<Double> samples = new ArrayList<>();
+        Random random = new Random(7);
+
+        for (int i = 0; i < 5000; i++) {
+            // Few distinct values, so the deques see plenty of ties
+            double value = random.nextInt(20);
+            window.add(value);
+            samples.add(value);
+            for (int slot = 0; slot < windows.size(); slot++) {
+                RuleExpression.Window spec = windows.get(slot);
+                double expected = rescan(samples, spec);
+                assertEquals(expected, window.value(slot), 1e-9, spec + " after " + samples.size() + " samples");
+            }
+        }
+    }
+
+    @Test
+    void testIsUnknownUntilTheWindowIsFull() {
+        SeriesWindow window = new SeriesWindow(List.of(new RuleExpression.Window(RuleExpression.Function.MAX, 3)));
+
+        window.add(1);
+        window.add(5);
+        assertTrue(Double.isNaN(window.value(0)));
+
+        window.add(2);
+        assertEquals(5, window.value(0));
+    }
+
+    @Test
+    void testRunningSumDoesNotDrift() {
+        SeriesWindow window = new SeriesWindow(List.of(new RuleExpression.Window(RuleExpression.Function.SUM, 4)));
+
+        // Subtracting 1e16 back out of the running sum would lose the small values next to it
+        window.add(1e16);
+        for (int i = 0; i < 7; i++) {
+            window.add(0.1);
+        }
+
+        assertEquals(0.4, window.value(0), 1e-12);
+    }
+
+    private static double rescan(List<Double> samples, RuleExpression.Window spec) {
+        if (samples.size() < spec.size()) {
+            return Double.NaN;
+        }
+        List<Double> last = samples.subList(samples.size() - spec.size(), samples.size());
+        return switch (spec.function()) {
+            case LAST -> last.get(last.size() - 1);
+            case SUM -> last.stream().mapToDouble(Double::doubleValue).sum();
+            case AVG -> last.stream().mapToDouble(Double::doubleValue).average().orElseThrow();
+            case MIN -> last.stream().mapToDouble(Double::doubleValue).min().orElseThrow();
+            case MAX -> last.stream().mapToDouble(Double::doubleValue).max().orElseThrow();
+        };
+    }
+}
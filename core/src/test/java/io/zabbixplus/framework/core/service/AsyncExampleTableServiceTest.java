@@ -0,0 +1,88 @@
+package io.zabbixplus.framework.core.service;
+
+import io.zabbixplus.framework.core.entity.ExampleEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncExampleTableServiceTest {
+
+    @Mock
+    private ExampleTableService exampleTableService;
+
+    private AsyncExampleTableService asyncService;
+    private final AtomicInteger dispatched = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        // Runs tasks inline but counts dispatches so tests can verify the executor is used
+        Executor countingExecutor = command -> {
+            dispatched.incrementAndGet();
+            command.run();
+        };
+        asyncService = new AsyncExampleTableService(exampleTableService, countingExecutor);
+    }
+
+    @Test
+    void testCreateRecordAsync() {
+        ExampleEntity entity = new ExampleEntity();
+        entity.setId(1L);
+        entity.setName("Async Record");
+        when(exampleTableService.createRecord("Async Record")).thenReturn(entity);
+
+        ExampleEntity result = asyncService.createRecordAsync("Async Record").join();
+
+        assertSame(entity, result);
+        assertEquals(1, dispatched.get(), "Create should be dispatched to the database executor.");
+    }
+
+    @Test
+    void testFanOutCombinesIndependentLookups() {
+        ExampleEntity first = new ExampleEntity();
+        first.setId(1L);
+        ExampleEntity second = new ExampleEntity();
+        second.setId(2L);
+        when(exampleTableService.getRecordById(1L)).thenReturn(first);
+        when(exampleTableService.getRecords()).thenReturn(Arrays.asList(first, second));
+
+        CompletableFuture<ExampleEntity> byId = asyncService.getRecordByIdAsync(1L);
+        CompletableFuture<List<ExampleEntity>> all = asyncService.getRecordsAsync();
+        CompletableFuture.allOf(byId, all).join();
+
+        assertSame(first, byId.join());
+        assertEquals(2, all.join().size());
+        assertEquals(2, dispatched.get());
+    }
+
+    @Test
+    void testUpdateAndDeleteAsync() {
+        when(exampleTableService.updateRecord(5L, "New")).thenReturn(null);
+        when(exampleTableService.deleteRecord(5L)).thenReturn(true);
+
+        assertNull(asyncService.updateRecordAsync(5L, "New").join());
+        assertTrue(asyncService.deleteRecordAsync(5L).join());
+        verify(exampleTableService).updateRecord(5L, "New");
+        verify(exampleTableService).deleteRecord(5L);
+    }
+
+    @Test
+    void testFailurePropagatesThroughFuture() {
+        when(exampleTableService.getRecords()).thenThrow(new RuntimeException("DB down"));
+
+        CompletionException ex = assertThrows(CompletionException.class, () -> asyncService.getRecordsAsync().join());
+        assertEquals("DB down", ex.getCause().getMessage());
+    }
+}
@@ -0,0 +1,191 @@
+package io.zabbixplus.framework.core.service;
+
+import io.zabbixplus.framework.core.config.VirtualThreadConfig;
+import io.zabbixplus.framework.core.web.dto.RecordChange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecordChangeFeedTest {
+
+    private RecordChangeFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        feed = new RecordChangeFeed(8, 6, Duration.ofHours(1), Duration.ofMillis(100), new VirtualThreadConfig(false, 4, 4));
+    }
+
+    @AfterEach
+    void tearDown() {
+        feed.shutdown();
+    }
+
+    /**
+     * Records what a subscriber was sent; sends happen on the feed's sender threads.
+     */
+    private static class RecordingSink implements RecordChangeFeed.Sink {
+        final BlockingQueue<Object> events = new LinkedBlockingQueue<>();
+        volatile long lastSeq = -1;
+
+        @Override
+        public boolean send(long lastSeq, List<RecordChange> changes) {
+            this.lastSeq = lastSeq;
+            events.add(changes);
+            return true;
+        }
+
+        @Override
+        public boolean reset(long currentSeq) {
+            events.add("reset");
+            return true;
+        }
+
+        @Override
+        public void close(String reason) {
+            events.add("closed");
+        }
+
+        Object next() throws InterruptedException {
+            Object event = events.poll(5, TimeUnit.SECONDS);
+            assertNotNull(event, "expected an event");
+            return event;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<RecordChange> changes(Object event) {
+        assertInstanceOf(List.class, event);
+        return (List<RecordChange>) event;
+    }
+
+    @Test
+    void testChangesWithinAWindowAreCoalescedPerRecord() throws Exception {
+        RecordingSink sink = new RecordingSink();
+        feed.subscribe(null, sink);
+
+        feed.append(RecordChange.CREATED, 1L, "a", null);
+        feed.append(RecordChange.UPDATED, 1L, "a2", null);
+        feed.append(RecordChange.UPDATED, 2L, "b", null);
+        feed.append(RecordChange.CREATED, 3L, "c", null);
+        feed.append(RecordChange.DELETED, 3L, null, null);
+        feed.flush();
+
+        List<RecordChange> batch = changes(sink.next());
+        assertEquals(2, batch.size());
+        assertEquals(RecordChange.CREATED, batch.get(0).getType());
+        assertEquals("a2", batch.get(0).getName());
+        assertEquals(2L, batch.get(1).getId());
+        assertEquals(5, sink.lastSeq);
+    }
+
+    @Test
+    void testReconnectReplaysMissedChanges() throws Exception {
+        feed.append(RecordChange.CREATED, 1L, "a", null);
+        String lastEventId = feed.eventId(1);
+        feed.append(RecordChange.CREATED, 2L, "b", null);
+        feed.append(RecordChange.DELETED, 1L, null, null);
+
+        RecordingSink sink = new RecordingSink();
+        feed.subscribe(lastEventId, sink);
+        feed.flush();
+
+        List<RecordChange> batch = changes(sink.next());
+        assertEquals(2, batch.size());
+        assertEquals(2L, batch.get(0).getId());
+        assertEquals(RecordChange.DELETED, batch.get(1).getType());
+    }
+
+    @Test
+    void testUnknownOrExpiredEventIdResets() throws Exception {
+        for (long id = 1; id <= 12; id++) {
+            feed.append(RecordChange.CREATED, id, "r" + id, null);
+        }
+        RecordingSink tooOld = new RecordingSink();
+        feed.subscribe(feed.eventId(1), tooOld);
+        assertEquals("reset", tooOld.next());
+
+        RecordingSink otherRun = new RecordingSink();
+        feed.subscribe("abc-5", otherRun);
+        assertEquals("reset", otherRun.next());
+    }
+
+    @Test
+    void testSlowConsumerIsDisconnected() throws Exception {
+        RecordingSink sink = new RecordingSink();
+        feed.subscribe(null, sink);
+        for (long id = 1; id <= 7; id++) {
+            feed.append(RecordChange.CREATED, id, "r" + id, null);
+        }
+        feed.flush();
+
+        assertEquals("closed", sink.next());
+        assertEquals(0, feed.getSubscriberCount());
+    }
+
+    @Test
+    void testBlockedSendDisconnectsOnlyThatSubscriber() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingSink stuck = new RecordingSink() {
+            @Override
+            public boolean send(long lastSeq, List<RecordChange> changes) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.send(lastSeq, changes);
+            }
+        };
+        RecordingSink healthy = new RecordingSink();
+        feed.subscribe(null, stuck);
+        feed.subscribe(null, healthy);
+        // More blocked senders than the old fixed pool had threads
+        for (int i = 0; i < 5; i++) {
+            feed.subscribe(null, new RecordingSink() {
+                @Override
+                public boolean send(long lastSeq, List<RecordChange> changes) {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return true;
+                }
+            });
+        }
+        try {
+            feed.append(RecordChange.CREATED, 1L, "a", null);
+            feed.flush();
+            assertEquals(1L, changes(healthy.next()).get(0).getId());
+
+            Thread.sleep(150);
+            feed.append(RecordChange.CREATED, 2L, "b", null);
+            feed.flush();
+
+            assertEquals("closed", stuck.next());
+            assertEquals(2L, changes(healthy.next()).get(0).getId());
+            assertEquals(1, feed.getSubscriberCount());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void testCancelledSubscriberReceivesNothing() throws Exception {
+        RecordingSink sink = new RecordingSink();
+        feed.subscribe(null, sink).cancel();
+        feed.append(RecordChange.CREATED, 1L, "a", null);
+        feed.flush();
+
+        assertNull(sink.events.poll(200, TimeUnit.MILLISECONDS));
+    }
+}
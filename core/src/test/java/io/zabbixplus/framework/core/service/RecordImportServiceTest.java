@@ -0,0 +1,152 @@
+package io.zabbixplus.framework.core.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zabbixplus.framework.core.web.dto.RecordImportResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RecordImportServiceTest {
+
+    @Mock
+    private ExampleTableService exampleTableService;
+
+    @Mock
+    private RecordChangeFeed changeFeed;
+
+    private RecordImportService importService;
+    private final List<List<String>> batches = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        importService = new RecordImportService(exampleTableService, changeFeed, new ObjectMapper());
+    }
+
+    private void recordBatches() {
+        when(exampleTableService.createRecords(anyList())).thenAnswer(invocation -> {
+            List<String> names = invocation.getArgument(0);
+            batches.add(new ArrayList<>(names));
+            return names.size();
+        });
+    }
+
+    private static InputStream input(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testCsvImportInBatches() {
+        recordBatches();
+        String csv = "id,name\n1,alpha\n2,\"beta, with comma\"\r\n3,\"multi\nline\"\n\n4,\"say \"\"hi\"\"\"\n5,epsilon\n";
+
+        RecordImportResult result = importService.importRecords(input(csv), RecordImportService.Format.CSV, 0, 2);
+
+        assertTrue(result.isCompleted());
+        assertEquals(5, result.getImported());
+        assertEquals(5, result.getNextOffset());
+        assertEquals(List.of(List.of("alpha", "beta, with comma"), List.of("multi\nline", "say \"hi\""), List.of("epsilon")), batches);
+        // One reload for the whole import, not one per batch
+        verify(changeFeed, times(1)).reloadAll();
+    }
+
+    @Test
+    void testInvalidRowsAreReportedAndSkipped() {
+        recordBatches();
+        String csv = "name\nalpha\n\"  \"\nbeta\n\"" + "x".repeat(300) + "\"\n";
+
+        RecordImportResult result = importService.importRecords(input(csv), RecordImportService.Format.CSV, 0, 100);
+
+        assertTrue(result.isCompleted());
+        assertEquals(2, result.getImported());
+        assertEquals(2, result.getFailed());
+        assertEquals(2, result.getErrors().get(0).getRow());
+        assertEquals("name is required", result.getErrors().get(0).getMessage());
+        assertEquals(4, result.getErrors().get(1).getRow());
+    }
+
+    @Test
+    void testNdjsonImportResumesFromOffset() {
+        recordBatches();
+        String ndjson = "{\"name\":\"a\"}\n{\"name\":\"b\"}\nnot json\n{\"name\":42}\n{\"name\":\"c\"}\n";
+
+        RecordImportResult result = importService.importRecords(input(ndjson), RecordImportService.Format.NDJSON, 2, 10);
+
+        assertTrue(result.isCompleted());
+        assertEquals(3, result.getRowsRead());
+        assertEquals(List.of(List.of("c")), batches);
+        assertEquals(2, result.getFailed());
+        assertEquals(3, result.getErrors().get(0).getRow());
+        assertEquals("name must be a string", result.getErrors().get(1).getMessage());
+        assertEquals(5, result.getNextOffset());
+    }
+
+    @Test
+    void testFailedBatchStopsAtLastCommittedRow() {
+        when(exampleTableService.createRecords(anyList()))
+                .thenReturn(2)
+                .thenThrow(new RuntimeException("disk full"));
+        String csv = "name\na\nb\nc\nd\ne\n";
+
+        RecordImportResult result = importService.importRecords(input(csv), RecordImportService.Format.CSV, 0, 2);
+
+        assertFalse(result.isCompleted());
+        assertEquals(2, result.getImported());
+        assertEquals(2, result.getNextOffset());
+        assertTrue(result.getAbortReason().contains("disk full"));
+    }
+
+    @Test
+    void testBrokenInputKeepsParsedRows() {
+        recordBatches();
+        InputStream broken = new InputStream() {
+            private final InputStream data = input("name\na\nb\n");
+
+            @Override
+            public int read() throws IOException {
+                int b = data.read();
+                if (b == -1) {
+                    throw new IOException("connection reset");
+                }
+                return b;
+            }
+        };
+
+        RecordImportResult result = importService.importRecords(broken, RecordImportService.Format.CSV, 0, 100);
+
+        assertFalse(result.isCompleted());
+        assertEquals(2, result.getImported());
+        assertEquals(2, result.getNextOffset());
+    }
+
+    @Test
+    void testCsvWithoutNameColumnIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> importService.importRecords(input("id,label\n1,a\n"), RecordImportService.Format.CSV, 0, 10));
+        verify(changeFeed, never()).reloadAll();
+    }
+
+    @Test
+    void testFormatResolution() {
+        assertEquals(RecordImportService.Format.CSV, RecordImportService.Format.resolve(null, "text/csv; charset=utf-8"));
+        assertEquals(RecordImportService.Format.NDJSON, RecordImportService.Format.resolve(null, "application/x-ndjson"));
+        assertEquals(RecordImportService.Format.NDJSON, RecordImportService.Format.resolve("ndjson", "text/plain"));
+        assertNull(RecordImportService.Format.resolve(null, "application/octet-stream"));
+    }
+}
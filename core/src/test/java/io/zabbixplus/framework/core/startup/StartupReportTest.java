@@ -0,0 +1,130 @@
+package io.zabbixplus.framework.core.startup;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class StartupReportTest {
+
+    private final BufferingApplicationStartup startup = new BufferingApplicationStartup(100);
+
+    private void ready(StartupReport report) {
+        report.onApplicationReady(new ApplicationReadyEvent(new SpringApplication(), new String[0],
+                mock(ConfigurableApplicationContext.class), Duration.ofMillis(2_500)));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void testReportIsNotReadyBeforeApplicationReady() {
+        StartupReport report = new StartupReport(startup, false, 5);
+
+        assertEquals(Map.of("ready", false), report.getReport());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testReportCoversPhasesBeansAndPlugins() {
+        StartupStep refresh = startup.start(StartupReport.REFRESH_STEP);
+        StartupStep outer = startup.start(StartupReport.BEAN_STEP).tag("beanName", "pluginService");
+        StartupStep inner = startup.start(StartupReport.BEAN_STEP).tag("beanName", "dataSource");
+        sleep(20);
+        inner.end();
+        StartupStep plugins = startup.start(StartupReport.PLUGINS_STEP);
+        StartupStep load = startup.start(StartupReport.PLUGIN_STEP_PREFIX + "load").tag("plugin", "example").tag("source", "example.jar");
+        load.tag("succeeded", "true");
+        load.end();
+        StartupStep init = startup.start(StartupReport.PLUGIN_STEP_PREFIX + "init").tag("plugin", "example").tag("source", "example.jar");
+        sleep(10);
+        init.tag("succeeded", "false");
+        init.end();
+        plugins.end();
+        outer.end();
+        refresh.end();
+
+        StartupReport report = new StartupReport(startup, false, 5);
+        ready(report);
+        Map<String, Object> result = report.getReport();
+
+        assertEquals(true, result.get("ready"));
+        assertEquals(2_500L, result.get("timeToReadyMillis"));
+        assertEquals(6, result.get("stepsRecorded"));
+
+        List<Map<String, Object>> phases = (List<Map<String, Object>>) result.get("phases");
+        assertEquals(List.of(StartupReport.REFRESH_STEP, StartupReport.PLUGINS_STEP),
+                phases.stream().map(phase -> phase.get("name")).toList());
+        assertTrue((Double) phases.get(0).get("millis") >= 30.0);
+
+        List<Map<String, Object>> beans = (List<Map<String, Object>>) result.get("slowestBeans");
+        assertEquals("pluginService", beans.get(0).get("bean"));
+        assertEquals("dataSource", beans.get(1).get("bean"));
+        double outerMillis = (Double) beans.get(0).get("millis");
+        double outerSelfMillis = (Double) beans.get(0).get("selfMillis");
+        assertEquals(outerMillis - (Double) beans.get(1).get("millis"), outerSelfMillis, 0.2);
+        assertTrue(outerSelfMillis >= 10.0);
+
+        List<Map<String, Object>> pluginRows = (List<Map<String, Object>>) result.get("plugins");
+        assertEquals(1, pluginRows.size());
+        assertEquals("example", pluginRows.get(0).get("plugin"));
+        assertEquals("example.jar", pluginRows.get(0).get("source"));
+        assertTrue(pluginRows.get(0).containsKey("loadMillis"));
+        assertTrue((Double) pluginRows.get(0).get("initMillis") >= 10.0);
+        assertEquals("init", pluginRows.get(0).get("failedPhase"));
+    }
+
+    @Test
+    void testBufferIsReleasedOnceReady() {
+        startup.start(StartupReport.REFRESH_STEP).end();
+        StartupReport report = new StartupReport(startup, false, 5);
+        ready(report);
+
+        startup.start(StartupReport.PLUGIN_STEP_PREFIX + "load").tag("plugin", "reloaded").end();
+
+        assertEquals(1, report.getReport().get("stepsRecorded"));
+        assertTrue(startup.getBufferedTimeline().getEvents().isEmpty());
+    }
+
+    @Test
+    void testSummaryNamesMainPhasesAndSlowestBeans() {
+        StartupStep refresh = startup.start(StartupReport.REFRESH_STEP);
+        startup.start(StartupReport.BEAN_STEP).tag("beanName", "exampleTableService").end();
+        startup.start(StartupReport.PLUGIN_STEP_PREFIX + "load").tag("plugin", "example").end();
+        refresh.end();
+        StartupReport report = new StartupReport(startup, false, 5);
+        ready(report);
+
+        String summary = StartupReport.summary(report.getReport());
+
+        assertTrue(summary.startsWith("Ready in 2.5 s (JVM up "), summary);
+        assertTrue(summary.contains(": context refresh "), summary);
+        assertTrue(summary.contains("1 plugin"), summary);
+        assertTrue(summary.contains("; slowest beans: exampleTableService "), summary);
+    }
+
+    @Test
+    void testWithoutBufferingOnlyTotalsAreReported() {
+        StartupReport report = new StartupReport(ApplicationStartup.DEFAULT, false, 5);
+        ready(report);
+
+        assertEquals(0, report.getReport().get("stepsRecorded"));
+        assertFalse(report.getReport().containsKey("phases"));
+        assertTrue(StartupReport.summary(report.getReport()).startsWith("Ready in 2.5 s"));
+    }
+}
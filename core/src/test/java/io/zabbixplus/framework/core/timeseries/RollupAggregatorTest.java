@@ -0,0 +1,160 @@
+package io.zabbixplus.framework.core.timeseries;
+
+import io.zabbixplus.framework.plugin.timeseries.AggregatePoint;
+import io.zabbixplus.framework.timeseries.TimeSeriesStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RollupAggregatorTest {
+
+    private static final long MINUTE = 60_000L;
+    private static final long HOUR = 60 * MINUTE;
+
+    @TempDir
+    Path tempDir;
+
+    private TimeSeriesStore store;
+    private RollupStores rollups;
+    private RollupAggregator aggregator;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        store = TimeSeriesStore.open(tempDir);
+        rollups = RollupStores.open(tempDir);
+        aggregator = new RollupAggregator(store, rollups, 0);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        rollups.close();
+        store.close();
+    }
+
+    private void append(String key, long timestamp, double value) {
+        store.append(key, timestamp, value);
+        aggregator.accept(key, timestamp, value);
+    }
+
+    @Test
+    void testMinuteBucketsAreWrittenWhenNextBucketStarts() {
+        // Six samples per minute with values 0..5 for three minutes
+        for (int minute = 0; minute < 3; minute++) {
+            for (int i = 0; i < 6; i++) {
+                append("cpu", minute * MINUTE + i * 10_000L, i + minute);
+            }
+        }
+
+        List<AggregatePoint> points = RollupQuery.read(store, rollups, "cpu", RollupResolution.MINUTE, 0, 3 * MINUTE - 1);
+
+        assertEquals(3, points.size());
+        AggregatePoint first = points.get(0);
+        assertEquals(0, first.getTimestamp());
+        assertEquals(0.0, first.getMin());
+        assertEquals(5.0, first.getMax());
+        assertEquals(2.5, first.getAvg(), 1e-9);
+        assertEquals(6, first.getCount());
+        // The last minute is still open in the aggregator and comes from the raw tail
+        assertEquals(2 * MINUTE, points.get(2).getTimestamp());
+        assertEquals(6, points.get(2).getCount());
+        assertEquals(7.0, points.get(2).getMax());
+    }
+
+    @Test
+    void testSealCompletedWritesIdleBuckets() {
+        append("mem", 0, 10);
+        append("mem", 30_000L, 20);
+
+        aggregator.sealCompleted(MINUTE);
+
+        long[] count = {0};
+        rollups.get(RollupResolution.MINUTE).scanRecords("mem", 0, Long.MAX_VALUE,
+                (timestamp, record) -> count[0] += (long) record[RollupResolution.COUNT]);
+        assertEquals(2, count[0]);
+        // Hour and day buckets have not ended yet
+        assertFalse(rollups.get(RollupResolution.HOUR).contains("mem"));
+    }
+
+    @Test
+    void testLateSampleAfterSealIsMergedOnRead() {
+        append("disk", 0, 10);
+        aggregator.sealCompleted(MINUTE);
+        append("disk", 50_000L, 30);
+        aggregator.sealCompleted(2 * MINUTE);
+
+        List<AggregatePoint> points = RollupQuery.read(store, rollups, "disk", RollupResolution.MINUTE, 0, MINUTE - 1);
+
+        assertEquals(1, points.size());
+        assertEquals(2, points.get(0).getCount());
+        assertEquals(10.0, points.get(0).getMin());
+        assertEquals(30.0, points.get(0).getMax());
+        assertEquals(20.0, points.get(0).getAvg(), 1e-9);
+    }
+
+    @Test
+    void testRejectedBucketIsDroppedWithoutBlockingOthers() {
+        // A newer minute bucket already in the rollup store makes the next write of "cpu" out of order
+        double[] record = new double[RollupResolution.FIELDS.length];
+        rollups.get(RollupResolution.MINUTE).appendRecord("cpu", 10 * MINUTE, record);
+        append("cpu", 0, 1);
+        append("mem", 0, 2);
+
+        aggregator.sealCompleted(MINUTE);
+
+        assertEquals(1, aggregator.getBucketsDropped());
+        assertTrue(rollups.get(RollupResolution.MINUTE).contains("mem"));
+        // The rejected bucket was reset, so later buckets of the series are written normally
+        append("cpu", 11 * MINUTE, 3);
+        aggregator.sealCompleted(12 * MINUTE);
+        assertEquals(1, aggregator.getBucketsDropped());
+        assertEquals(11 * MINUTE, rollups.get(RollupResolution.MINUTE).lastTimestamp("cpu"));
+    }
+
+    @Test
+    void testRecoverRebuildsFromRawData() {
+        for (int i = 0; i < 120; i++) {
+            store.append("net", i * 30_000L, 1.0);
+        }
+
+        aggregator.recover("net", store.lastTimestamp("net"));
+        aggregator.sealCompleted(2 * HOUR);
+
+        List<AggregatePoint> hours = RollupQuery.read(store, rollups, "net", RollupResolution.HOUR, 0, HOUR - 1);
+        assertEquals(1, hours.size());
+        assertEquals(120, hours.get(0).getCount());
+    }
+
+    @Test
+    void testRollupsUseOneSeriesPerResolution() {
+        // Two days of one-minute samples
+        for (long t = 0; t < 2 * 24 * HOUR; t += MINUTE) {
+            append("load", t, 1.0);
+        }
+        aggregator.sealCompleted(3 * 24 * HOUR);
+
+        assertEquals(Set.of("load"), store.seriesKeys());
+        // Minute rollups span a day per segment; hour and day rollups fit in one segment
+        assertEquals(2, rollups.get(RollupResolution.MINUTE).segmentCount("load"));
+        assertEquals(1, rollups.get(RollupResolution.HOUR).segmentCount("load"));
+        assertEquals(1, rollups.get(RollupResolution.DAY).segmentCount("load"));
+        List<AggregatePoint> days = RollupQuery.read(store, rollups, "load", RollupResolution.DAY, 0, 2 * 24 * HOUR - 1);
+        assertEquals(2, days.size());
+        assertEquals(24 * 60, days.get(1).getCount());
+    }
+
+    @Test
+    void testSelectResolution() {
+        long thirtyDays = 30 * 24 * HOUR;
+        assertNull(RollupResolution.select(500, HOUR, 1_000), "Raw data fits the budget.");
+        assertEquals(RollupResolution.MINUTE, RollupResolution.select(3_600, 12 * HOUR, 1_000));
+        assertEquals(RollupResolution.HOUR, RollupResolution.select(260_000, thirtyDays, 1_000));
+        assertEquals(RollupResolution.DAY, RollupResolution.select(10_000_000, 10 * thirtyDays, 100));
+    }
+}
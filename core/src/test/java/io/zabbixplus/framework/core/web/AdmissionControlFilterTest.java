@@ -0,0 +1,87 @@
+package io.zabbixplus.framework.core.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zabbixplus.framework.core.concurrent.AdaptiveConcurrencyLimit;
+import io.zabbixplus.framework.core.concurrent.AdaptiveConcurrencyLimit.Priority;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlFilterTest {
+
+    private AdaptiveConcurrencyLimit limit;
+    private AdmissionControlFilter filter;
+    private AtomicInteger controllerCalls;
+
+    @BeforeEach
+    void setUp() {
+        limit = new AdaptiveConcurrencyLimit(4, 4, 4, 0.5, 1.5, 0.2, Duration.ofSeconds(1));
+        filter = new AdmissionControlFilter(limit, new ObjectMapper().findAndRegisterModules(), true,
+                List.of("/api/health"), List.of("/api/ui/**"), List.of("/api/records/stream"), Duration.ofSeconds(2));
+        controllerCalls = new AtomicInteger();
+    }
+
+    private MockHttpServletResponse get(String path) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", path), response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+                controllerCalls.incrementAndGet();
+            }
+        }));
+        return response;
+    }
+
+    /**
+     * Occupies the limit as concurrent NORMAL requests would.
+     */
+    private void saturate() {
+        while (limit.tryAcquire(Priority.NORMAL)) {
+            // keep taking slots
+        }
+    }
+
+    @Test
+    void testRequestsWithinTheLimitPassAndReleaseTheirSlot() throws Exception {
+        assertEquals(200, get("/api/records").getStatus());
+        assertEquals(200, get("/api/records").getStatus());
+
+        assertEquals(2, controllerCalls.get());
+        assertEquals(0, limit.getInFlight());
+    }
+
+    @Test
+    void testExcessRequestsAreRejectedWithRetryAfter() throws Exception {
+        saturate();
+
+        MockHttpServletResponse response = get("/api/records");
+
+        assertEquals(503, response.getStatus());
+        assertEquals("2", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(response.getContentAsString().contains("\"status\":503"));
+        assertEquals(0, controllerCalls.get());
+    }
+
+    @Test
+    void testPriorityRoutesAreAdmittedWhenNormalWorkIsShed() throws Exception {
+        saturate();
+
+        assertEquals(200, get("/api/ui/plugin-metadata").getStatus());
+        assertEquals(200, get("/api/health").getStatus());
+        assertEquals(200, get("/api/records/stream").getStatus());
+        assertEquals(200, get("/index.html").getStatus());
+        assertEquals(4, controllerCalls.get());
+    }
+}
@@ -0,0 +1,183 @@
+package io.zabbixplus.framework.core.web;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zabbixplus.framework.core.concurrent.AdaptiveConcurrencyLimit;
+import io.zabbixplus.framework.core.concurrent.AdaptiveConcurrencyLimit.Priority;
+import io.zabbixplus.framework.core.config.VirtualThreadConfig;
+import io.zabbixplus.framework.core.service.TableChangeTracker;
+import io.zabbixplus.framework.core.web.dto.BatchItemResult;
+import io.zabbixplus.framework.core.web.dto.BatchRequest;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class BatchDispatcherTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger dispatched = new AtomicInteger();
+    private final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(4, 4, 4, 0.5, 1.5, 0.2, Duration.ofSeconds(1));
+    private BatchDispatcher dispatcher;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        DispatcherServlet servlet = mock(DispatcherServlet.class);
+        doAnswer(invocation -> {
+            handle(invocation.getArgument(0), invocation.getArgument(1));
+            return null;
+        }).when(servlet).service(any(ServletRequest.class), any(ServletResponse.class));
+        ObjectProvider<DispatcherServlet> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(servlet);
+
+        AdmissionControlFilter admission = new AdmissionControlFilter(limit, new ObjectMapper().findAndRegisterModules(), true,
+                List.of("/api/health"), List.of("/api/ui/**"), List.of("/api/records/stream"), Duration.ofSeconds(2));
+        ListResponseCacheFilter filter = new ListResponseCacheFilter(new ListResponseCache(new TableChangeTracker(), 16));
+        dispatcher = new BatchDispatcher(provider, admission, filter, new SingleFlightFilter(new SingleFlight(Duration.ofSeconds(5))),
+                objectMapper, new VirtualThreadConfig(false, 4, 4),
+                5, Duration.ofSeconds(5), Duration.ofSeconds(10), 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    /**
+     * Stands in for the controllers: echoes what the item looked like to the handler.
+     */
+    private void handle(HttpServletRequest request, HttpServletResponse response) throws Exception {
+        dispatched.incrementAndGet();
+        if (request.getRequestURI().equals("/api/slow")) {
+            Thread.sleep(2_000);
+        }
+        if (request.getRequestURI().equals("/api/secret") && request.getHeader(HttpHeaders.AUTHORIZATION) == null) {
+            response.sendError(401, "Unauthorized");
+            return;
+        }
+        response.setContentType("application/json");
+        String body = new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        response.getWriter().write(objectMapper.writeValueAsString(Map.of(
+                "method", request.getMethod(),
+                "uri", request.getRequestURI(),
+                "limit", String.valueOf(request.getParameter("limit")),
+                "auth", String.valueOf(request.getHeader(HttpHeaders.AUTHORIZATION)),
+                "ifNoneMatch", String.valueOf(request.getHeader(HttpHeaders.IF_NONE_MATCH)),
+                "body", body)));
+    }
+
+    private static BatchRequest.Item item(String id, String method, String path) {
+        BatchRequest.Item item = new BatchRequest.Item();
+        item.setId(id);
+        item.setMethod(method);
+        item.setPath(path);
+        return item;
+    }
+
+    private List<BatchItemResult> execute(MockHttpServletRequest request, BatchRequest.Item... items) {
+        return dispatcher.execute(request, new MockHttpServletResponse(), List.of(items));
+    }
+
+    @Test
+    void testItemsAreDispatchedWithTheirOwnMethodPathAndBody() throws Exception {
+        BatchRequest.Item post = item("create", "POST", "/api/records");
+        post.setBody(objectMapper.readTree("{\"name\":\"a\"}"));
+
+        List<BatchItemResult> results = execute(new MockHttpServletRequest("POST", "/api/batch"),
+                item("list", "GET", "/api/records?limit=10"), post);
+
+        assertEquals(2, results.size());
+        JsonNode list = (JsonNode) results.get(0).getBody();
+        assertEquals("list", results.get(0).getId());
+        assertEquals(200, results.get(0).getStatus());
+        assertEquals("GET", list.get("method").asText());
+        assertEquals("/api/records", list.get("uri").asText());
+        assertEquals("10", list.get("limit").asText());
+        JsonNode created = (JsonNode) results.get(1).getBody();
+        assertEquals("POST", created.get("method").asText());
+        assertEquals("{\"name\":\"a\"}", created.get("body").asText());
+    }
+
+    @Test
+    void testCallerCredentialsAreInheritedButConditionalHeadersAreNot() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/batch");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer token");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"batch-etag\"");
+
+        List<BatchItemResult> results = execute(request, item("secret", "GET", "/api/secret"));
+
+        JsonNode body = (JsonNode) results.get(0).getBody();
+        assertEquals(200, results.get(0).getStatus());
+        assertEquals("Bearer token", body.get("auth").asText());
+        assertEquals("null", body.get("ifNoneMatch").asText());
+    }
+
+    @Test
+    void testItemsAreAuthorizedIndividually() {
+        List<BatchItemResult> results = execute(new MockHttpServletRequest("POST", "/api/batch"),
+                item("open", "GET", "/api/records"), item("secret", "GET", "/api/secret"));
+
+        assertEquals(200, results.get(0).getStatus());
+        assertEquals(401, results.get(1).getStatus());
+        assertEquals("Unauthorized", results.get(1).getError());
+    }
+
+    @Test
+    void testInvalidItemsAreRejectedWithoutDispatch() {
+        List<BatchItemResult> results = execute(new MockHttpServletRequest("POST", "/api/batch"),
+                item("nested", "POST", "/api/batch"),
+                item("static", "GET", "/index.html"),
+                item("traversal", "GET", "/api/../actuator"),
+                item("method", "TRACE", "/api/records"));
+
+        results.forEach(result -> assertEquals(400, result.getStatus(), result.getId()));
+        assertEquals(0, dispatched.get());
+    }
+
+    @Test
+    void testSlowItemTimesOutWithoutFailingTheOthers() {
+        BatchRequest.Item slow = item("slow", "GET", "/api/slow");
+        slow.setTimeoutMillis(100L);
+
+        List<BatchItemResult> results = execute(new MockHttpServletRequest("POST", "/api/batch"),
+                slow, item("fast", "GET", "/api/records"));
+
+        assertEquals(504, results.get(0).getStatus());
+        assertEquals(200, results.get(1).getStatus());
+    }
+
+    @Test
+    void testItemsPassAdmissionControlWithTheirOwnPriority() {
+        while (limit.tryAcquire(Priority.NORMAL)) {
+            // occupy the NORMAL share as concurrent requests would
+        }
+
+        List<BatchItemResult> results = execute(new MockHttpServletRequest("POST", "/api/batch"),
+                item("list", "GET", "/api/records"), item("ui", "GET", "/api/ui/plugin-metadata"));
+
+        assertEquals(503, results.get(0).getStatus());
+        assertEquals("2", results.get(0).getHeaders().get(HttpHeaders.RETRY_AFTER));
+        assertEquals(200, results.get(1).getStatus());
+        assertEquals(1, dispatched.get());
+        assertEquals(2, limit.getInFlight());
+    }
+}
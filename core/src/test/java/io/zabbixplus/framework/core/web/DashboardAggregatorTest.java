@@ -0,0 +1,228 @@
+package io.zabbixplus.framework.core.web;
+
+import io.zabbixplus.framework.core.config.VirtualThreadConfig;
+import io.zabbixplus.framework.core.plugin.PluginService;
+import io.zabbixplus.framework.core.web.dto.DashboardWidget;
+import io.zabbixplus.framework.plugin.NavigationItem;
+import io.zabbixplus.framework.plugin.Plugin;
+import io.zabbixplus.framework.plugin.PluginContext;
+import io.zabbixplus.framework.plugin.UiPlugin;
+import io.zabbixplus.framework.plugin.dashboard.DashboardWidgetProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardAggregatorTest {
+
+    @Mock
+    private PluginService pluginService;
+
+    private final Map<String, Plugin> plugins = new HashMap<>();
+    private DashboardAggregator aggregator;
+
+    /**
+     * A UI plugin whose widget takes {@code delayMillis} and returns how often it was asked.
+     */
+    private static class WidgetPlugin implements UiPlugin, DashboardWidgetProvider {
+        final String name;
+        final AtomicInteger calls = new AtomicInteger();
+        volatile long delayMillis;
+        volatile RuntimeException failure;
+        Duration ttl = Duration.ofMinutes(1);
+        List<String> requiredPrivileges = List.of();
+
+        WidgetPlugin(String name, long delayMillis) {
+            this.name = name;
+            this.delayMillis = delayMillis;
+        }
+
+        @Override
+        public Object getWidgetData() throws Exception {
+            int call = calls.incrementAndGet();
+            Thread.sleep(delayMillis);
+            if (failure != null) {
+                throw failure;
+            }
+            return Map.of("call", call);
+        }
+
+        @Override
+        public Duration getWidgetCacheTtl() {
+            return ttl;
+        }
+
+        @Override
+        public String getPluginId() {
+            return name.toLowerCase();
+        }
+
+        @Override
+        public String getPluginName() {
+            return name;
+        }
+
+        @Override
+        public String getVendor() {
+            return "test";
+        }
+
+        @Override
+        public String getVersion() {
+            return "1";
+        }
+
+        @Override
+        public String getDescription() {
+            return name;
+        }
+
+        @Override
+        public void load() {
+        }
+
+        @Override
+        public void init(PluginContext context) {
+        }
+
+        @Override
+        public void unload() {
+        }
+
+        @Override
+        public String getVueComponentName() {
+            return name;
+        }
+
+        @Override
+        public List<NavigationItem> getNavigationItems() {
+            return List.of();
+        }
+
+        @Override
+        public Map<String, Object> getUiMetadata() {
+            return Map.of();
+        }
+
+        @Override
+        public String getAssetsPath() {
+            return "";
+        }
+
+        @Override
+        public String getEntryComponent() {
+            return name;
+        }
+
+        @Override
+        public List<String> getRequiredPrivileges() {
+            return requiredPrivileges;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(pluginService.getLoadedPlugins()).thenReturn(plugins);
+        aggregator = new DashboardAggregator(pluginService, new VirtualThreadConfig(false, 8, 8),
+                Duration.ofMillis(500), Duration.ofSeconds(5), 8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        aggregator.shutdown();
+    }
+
+    private WidgetPlugin plugin(String name, long delayMillis) {
+        WidgetPlugin plugin = new WidgetPlugin(name, delayMillis);
+        plugins.put(name, plugin);
+        return plugin;
+    }
+
+    @Test
+    void testProvidersAreCalledConcurrently() {
+        plugin("A", 300);
+        plugin("B", 300);
+        plugin("C", 300);
+
+        long start = System.nanoTime();
+        List<DashboardWidget> widgets = aggregator.collect(null);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(List.of("A", "B", "C"), widgets.stream().map(DashboardWidget::getPluginName).toList());
+        widgets.forEach(widget -> assertEquals(DashboardWidget.OK, widget.getStatus()));
+        assertTrue(elapsedMillis < 800, "took " + elapsedMillis + " ms, the sum of all providers");
+    }
+
+    @Test
+    void testSlowProviderTimesOutWithoutFailingTheOthers() throws Exception {
+        plugin("Fast", 0);
+        WidgetPlugin slow = plugin("Slow", 1000);
+
+        List<DashboardWidget> widgets = aggregator.collect(null);
+
+        assertEquals(DashboardWidget.OK, widgets.get(0).getStatus());
+        assertEquals(DashboardWidget.TIMEOUT, widgets.get(1).getStatus());
+        assertNull(widgets.get(1).getData());
+        assertTrue(widgets.get(1).getDurationMillis() < 1000);
+
+        // The late fetch finishes in the background and serves the next load
+        Thread.sleep(700);
+        DashboardWidget next = aggregator.collect(null).get(1);
+        assertEquals(DashboardWidget.CACHED, next.getStatus());
+        assertEquals(Map.of("call", 1), next.getData());
+        assertEquals(1, slow.calls.get());
+    }
+
+    @Test
+    void testResultsAreCachedForTheDeclaredTtl() {
+        WidgetPlugin cached = plugin("Cached", 0);
+        WidgetPlugin live = plugin("Live", 0);
+        live.ttl = Duration.ZERO;
+
+        aggregator.collect(null);
+        List<DashboardWidget> second = aggregator.collect(null);
+
+        assertEquals(DashboardWidget.CACHED, second.get(0).getStatus());
+        assertEquals(DashboardWidget.OK, second.get(1).getStatus());
+        assertEquals(1, cached.calls.get());
+        assertEquals(2, live.calls.get());
+    }
+
+    @Test
+    void testFailingProviderServesItsLastData() {
+        WidgetPlugin flaky = plugin("Flaky", 0);
+        flaky.ttl = Duration.ZERO;
+        aggregator.collect(null);
+
+        flaky.failure = new IllegalStateException("Zabbix API unreachable");
+        DashboardWidget widget = aggregator.collect(null).get(0);
+
+        assertEquals(DashboardWidget.STALE, widget.getStatus());
+        assertEquals(Map.of("call", 1), widget.getData());
+        assertEquals("Zabbix API unreachable", widget.getError());
+    }
+
+    @Test
+    void testWidgetsFollowPluginPrivileges() {
+        plugin("Open", 0);
+        WidgetPlugin admin = plugin("Admin", 0);
+        admin.requiredPrivileges = List.of("admin");
+
+        assertEquals(List.of("Open"), aggregator.collect(Set.of("viewer")).stream().map(DashboardWidget::getPluginName).toList());
+        assertEquals(2, aggregator.collect(Set.of("admin")).size());
+        assertEquals(2, aggregator.collect(null).size());
+    }
+}
@@ -0,0 +1,126 @@
+package io.zabbixplus.framework.core.web;
+
+import io.zabbixplus.framework.core.service.TableChangeTracker;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ListResponseCacheFilterTest {
+
+    private static final String PATH = "/api/records";
+    private static final String TABLE = "example_table";
+
+    private TableChangeTracker changeTracker;
+    private ListResponseCache cache;
+    private ListResponseCacheFilter filter;
+    private AtomicInteger controllerCalls;
+
+    @BeforeEach
+    void setUp() {
+        changeTracker = new TableChangeTracker();
+        cache = new ListResponseCache(changeTracker, 16);
+        cache.register(PATH, TABLE);
+        filter = new ListResponseCacheFilter(cache);
+        controllerCalls = new AtomicInteger();
+    }
+
+    private MockHttpServletResponse get(String path, String query, String ifNoneMatch) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        if (query != null) {
+            request.setQueryString(query);
+            for (String pair : query.split("&")) {
+                String[] kv = pair.split("=");
+                request.addParameter(kv[0], kv[1]);
+            }
+        }
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                controllerCalls.incrementAndGet();
+                resp.setContentType("application/json");
+                resp.getWriter().write("{\"call\":" + controllerCalls.get() + "}");
+            }
+        }));
+        return response;
+    }
+
+    @Test
+    void testRepeatedRequestIsServedFromCache() throws Exception {
+        MockHttpServletResponse first = get(PATH, null, null);
+        MockHttpServletResponse second = get(PATH, null, null);
+
+        assertEquals(1, controllerCalls.get());
+        assertEquals("{\"call\":1}", second.getContentAsString());
+        assertEquals(first.getHeader(HttpHeaders.ETAG), second.getHeader(HttpHeaders.ETAG));
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    void testCurrentEtagReturnsNotModified() throws Exception {
+        String etag = get(PATH, null, null).getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        MockHttpServletResponse response = get(PATH, null, etag);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertEquals(1, controllerCalls.get());
+        assertEquals(1, cache.getNotModifiedCount());
+    }
+
+    @Test
+    void testTableChangeInvalidatesCacheAndEtag() throws Exception {
+        String etag = get(PATH, null, null).getHeader(HttpHeaders.ETAG);
+
+        changeTracker.markChanged(TABLE);
+        MockHttpServletResponse response = get(PATH, null, etag);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("{\"call\":2}", response.getContentAsString());
+        assertNotEquals(etag, response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void testQueryParametersAreKeyedIndependentOfOrder() throws Exception {
+        get(PATH, "a=1&b=2", null);
+        get(PATH, "b=2&a=1", null);
+        get(PATH, "a=2", null);
+
+        assertEquals(2, controllerCalls.get());
+    }
+
+    @Test
+    void testEncodedSeparatorsDoNotCollideWithRealOnes() {
+        // ?a=1%26b%3D2 decodes to a single parameter a="1&b=2"
+        String encoded = ListResponseCacheFilter.normalizeQuery(Map.of("a", new String[]{"1&b=2"}));
+        String plain = ListResponseCacheFilter.normalizeQuery(Map.of("a", new String[]{"1"}, "b", new String[]{"2"}));
+
+        assertNotEquals(plain, encoded);
+        assertEquals("a=1&b=2", plain);
+    }
+
+    @Test
+    void testUnregisteredPathPassesThrough() throws Exception {
+        get("/api/health", null, null);
+        MockHttpServletResponse response = get("/api/health", null, null);
+
+        assertEquals(2, controllerCalls.get());
+        assertNull(response.getHeader(HttpHeaders.ETAG));
+    }
+}
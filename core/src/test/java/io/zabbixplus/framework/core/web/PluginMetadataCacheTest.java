@@ -0,0 +1,114 @@
+package io.zabbixplus.framework.core.web;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zabbixplus.framework.core.plugin.PluginService;
+import io.zabbixplus.framework.plugin.Plugin;
+import io.zabbixplus.framework.plugin.UiPlugin;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PluginMetadataCacheTest {
+
+    @Mock
+    private PluginService pluginService;
+
+    @Mock
+    private UiPlugin openPlugin;
+
+    @Mock
+    private UiPlugin adminPlugin;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private PluginMetadataCache cache;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(openPlugin.getPluginName()).thenReturn("A Open");
+        lenient().when(openPlugin.getRequiredPrivileges()).thenReturn(Collections.emptyList());
+        lenient().when(openPlugin.getNavigationItems()).thenReturn(Collections.emptyList());
+        lenient().when(adminPlugin.getPluginName()).thenReturn("B Admin");
+        lenient().when(adminPlugin.getRequiredPrivileges()).thenReturn(List.of("admin"));
+        lenient().when(adminPlugin.getNavigationItems()).thenReturn(Collections.emptyList());
+
+        Map<String, Plugin> plugins = new HashMap<>();
+        plugins.put("B Admin", adminPlugin);
+        plugins.put("A Open", openPlugin);
+        lenient().when(pluginService.getLoadedPlugins()).thenReturn(plugins);
+        lenient().when(pluginService.getPluginSetVersion()).thenReturn(1L);
+
+        cache = new PluginMetadataCache(pluginService, objectMapper);
+    }
+
+    private JsonNode parse(byte[] json) throws Exception {
+        return objectMapper.readTree(json);
+    }
+
+    @Test
+    void testUnrestrictedPayloadListsAllUiPluginsInStableOrder() throws Exception {
+        JsonNode payload = parse(cache.getPayload(null).getJson());
+
+        assertEquals(2, payload.size());
+        assertEquals("A Open", payload.get(0).get("pluginName").asText());
+        assertEquals("B Admin", payload.get(1).get("pluginName").asText());
+    }
+
+    @Test
+    void testPayloadIsSerializedOncePerPluginSet() {
+        PluginMetadataCache.Payload first = cache.getPayload(null);
+        PluginMetadataCache.Payload second = cache.getPayload(null);
+
+        assertSame(first, second);
+        verify(openPlugin, times(1)).getUiMetadata();
+    }
+
+    @Test
+    void testPayloadIsFilteredByPrivileges() throws Exception {
+        JsonNode withoutAdmin = parse(cache.getPayload(Set.of()).getJson());
+        JsonNode withAdmin = parse(cache.getPayload(Set.of("admin")).getJson());
+
+        assertEquals(1, withoutAdmin.size());
+        assertEquals("A Open", withoutAdmin.get(0).get("pluginName").asText());
+        assertEquals(2, withAdmin.size());
+        assertNotEquals(cache.getPayload(Set.of()).getEtag(), cache.getPayload(Set.of("admin")).getEtag());
+    }
+
+    @Test
+    void testGzipVariantMatchesJson() throws Exception {
+        PluginMetadataCache.Payload payload = cache.getPayload(null);
+
+        byte[] unzipped;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(payload.getGzip()))) {
+            unzipped = in.readAllBytes();
+        }
+        assertArrayEquals(payload.getJson(), unzipped);
+        assertNotEquals(payload.getEtag(), payload.getGzipEtag());
+    }
+
+    @Test
+    void testPluginSetChangeRebuildsPayload() {
+        PluginMetadataCache.Payload before = cache.getPayload(null);
+
+        when(pluginService.getLoadedPlugins()).thenReturn(Map.of("A Open", openPlugin));
+        when(pluginService.getPluginSetVersion()).thenReturn(2L);
+        PluginMetadataCache.Payload after = cache.getPayload(null);
+
+        assertNotEquals(before.getEtag(), after.getEtag());
+        assertTrue(after.getJson().length < before.getJson().length);
+    }
+}
@@ -0,0 +1,165 @@
+package io.zabbixplus.framework.core.web;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightFilterTest {
+
+    private static final String PATH = "/api/records";
+    private static final int CONCURRENT = 5;
+
+    private SingleFlight singleFlight;
+    private SingleFlightFilter filter;
+    private AtomicInteger controllerCalls;
+    private CountDownLatch release;
+    private ExecutorService executor;
+    private boolean setCookie;
+
+    @BeforeEach
+    void setUp() {
+        singleFlight = new SingleFlight(Duration.ofSeconds(5));
+        singleFlight.register(PATH);
+        filter = new SingleFlightFilter(singleFlight);
+        controllerCalls = new AtomicInteger();
+        release = new CountDownLatch(0);
+        executor = Executors.newFixedThreadPool(CONCURRENT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Controller calls block until {@link #release} opens; with {@code failFirst} the first one answers 500.
+     */
+    private MockHttpServletResponse get(String path, boolean failFirst) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                int call = controllerCalls.incrementAndGet();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if (failFirst && call == 1) {
+                    resp.setStatus(500);
+                    return;
+                }
+                resp.setContentType("application/json");
+                resp.setHeader("X-Call", Integer.toString(call));
+                if (setCookie) {
+                    resp.addCookie(new Cookie("SESSION", "session-" + call));
+                }
+                resp.getWriter().write("{\"call\":" + call + "}");
+            }
+        }));
+        return response;
+    }
+
+    private List<MockHttpServletResponse> getConcurrently(String path, boolean failFirst) throws Exception {
+        release = new CountDownLatch(1);
+        List<Future<MockHttpServletResponse>> futures = new ArrayList<>();
+        futures.add(executor.submit(() -> get(path, failFirst)));
+        while (controllerCalls.get() == 0) {
+            Thread.onSpinWait();
+        }
+        for (int i = 1; i < CONCURRENT; i++) {
+            futures.add(executor.submit(() -> get(path, failFirst)));
+        }
+        // Let the first request finish once all others are waiting for it (or, if not collapsed, are running)
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (singleFlight.getCollapsedCount(path) + controllerCalls.get() < CONCURRENT && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+        List<MockHttpServletResponse> responses = new ArrayList<>();
+        for (Future<MockHttpServletResponse> future : futures) {
+            responses.add(future.get(5, TimeUnit.SECONDS));
+        }
+        return responses;
+    }
+
+    @Test
+    void testIdenticalConcurrentRequestsRunTheControllerOnce() throws Exception {
+        List<MockHttpServletResponse> responses = getConcurrently(PATH, false);
+
+        assertEquals(1, controllerCalls.get());
+        for (MockHttpServletResponse response : responses) {
+            assertEquals(200, response.getStatus());
+            assertEquals("{\"call\":1}", response.getContentAsString());
+            assertEquals("1", response.getHeader("X-Call"));
+            assertTrue(response.getContentType().startsWith("application/json"));
+        }
+        assertEquals(1, singleFlight.getExecutedCount(PATH));
+        assertEquals(CONCURRENT - 1, singleFlight.getCollapsedCount(PATH));
+        assertEquals(0, singleFlight.getInFlightCount());
+    }
+
+    @Test
+    void testSequentialRequestsAreNotCached() throws Exception {
+        get(PATH, false);
+        MockHttpServletResponse second = get(PATH, false);
+
+        assertEquals(2, controllerCalls.get());
+        assertEquals("{\"call\":2}", second.getContentAsString());
+    }
+
+    @Test
+    void testErrorResponsesAreNotShared() throws Exception {
+        List<MockHttpServletResponse> responses = getConcurrently(PATH, true);
+
+        assertEquals(500, responses.get(0).getStatus());
+        for (MockHttpServletResponse response : responses.subList(1, responses.size())) {
+            assertEquals(200, response.getStatus());
+        }
+        assertEquals(CONCURRENT, controllerCalls.get());
+    }
+
+    @Test
+    void testResponsesThatSetCookiesAreNotShared() throws Exception {
+        setCookie = true;
+
+        List<MockHttpServletResponse> responses = getConcurrently(PATH, false);
+
+        assertEquals(CONCURRENT, controllerCalls.get());
+        for (MockHttpServletResponse response : responses) {
+            Cookie cookie = response.getCookie("SESSION");
+            assertNotNull(cookie);
+            assertEquals("session-" + response.getHeader("X-Call"), cookie.getValue());
+        }
+        assertEquals(1, singleFlight.getExecutedCount(PATH));
+    }
+
+    @Test
+    void testUnregisteredRoutesPassThrough() throws Exception {
+        getConcurrently("/api/other", false);
+
+        assertEquals(CONCURRENT, controllerCalls.get());
+        assertEquals(0, singleFlight.getCollapsedCount("/api/other"));
+    }
+}
@@ -0,0 +1,134 @@
+package io.zabbixplus.framework.core.web;
+
+import io.zabbixplus.framework.core.plugin.PluginService;
+import io.zabbixplus.framework.plugin.NavigationItem;
+import io.zabbixplus.framework.plugin.UiPlugin;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SpaFallbackFilterTest {
+
+    private static final String INDEX = "<!DOCTYPE html><html><body><div id=\"app\"></div>"
+            + "<script src=\"/js/app.3f2a1b4c.js\"></script></body></html>".repeat(4);
+
+    @TempDir
+    Path directory;
+
+    private Path indexFile;
+    private SpaRouteClassifier classifier;
+    private SpaFallbackFilter filter;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        indexFile = directory.resolve("index.html");
+        Files.writeString(indexFile, INDEX);
+
+        UiPlugin plugin = mock(UiPlugin.class);
+        when(plugin.getNavigationItems()).thenReturn(List.of(new NavigationItem("Reports", "/ui/plugin/reports.v2")));
+        PluginService pluginService = mock(PluginService.class);
+        when(pluginService.getPluginSetVersion()).thenReturn(1L);
+        when(pluginService.getLoadedPlugins()).thenReturn(Map.of("reports", plugin));
+
+        classifier = new SpaRouteClassifier(pluginService, List.of("/api", "/static", "/assets", "/actuator", "/error"));
+        SpaIndexPage indexPage = new SpaIndexPage(List.of(new FileSystemResource(indexFile)), Duration.ZERO);
+        filter = new SpaFallbackFilter(classifier, indexPage);
+    }
+
+    private MockHttpServletResponse get(String path, String ifNoneMatch, String acceptEncoding) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, response, chain);
+        if (chain.getRequest() != null) {
+            response.setHeader("X-Passed-Through", "true");
+        }
+        return response;
+    }
+
+    @Test
+    void testClassifierSeparatesRoutesFromFilesAndApi() {
+        assertTrue(classifier.isSpaRoute("/"));
+        assertTrue(classifier.isSpaRoute("/ui/plugin/SimpleExamplePlugin"));
+        assertTrue(classifier.isSpaRoute("/ui/plugins/list-vue"));
+        assertTrue(classifier.isSpaRoute("/apiary"));
+        assertTrue(classifier.isSpaRoute("/ui/plugin/reports.v2"), "registered navigation path");
+
+        assertFalse(classifier.isSpaRoute("/api"));
+        assertFalse(classifier.isSpaRoute("/api/records"));
+        assertFalse(classifier.isSpaRoute("/assets/logo"));
+        assertFalse(classifier.isSpaRoute("/js/app.3f2a1b4c.js"));
+        assertFalse(classifier.isSpaRoute("/favicon.ico"));
+        assertFalse(classifier.isSpaRoute("/ui/plugin/other.v2"));
+    }
+
+    @Test
+    void testDeepLinkIsServedFromMemoryWithEtag() throws Exception {
+        MockHttpServletResponse response = get("/ui/plugin/SimpleExamplePlugin", null, null);
+
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeader("X-Passed-Through"));
+        assertEquals(INDEX, response.getContentAsString(StandardCharsets.UTF_8));
+        assertTrue(response.getContentType().startsWith("text/html"));
+        assertEquals("no-cache", response.getHeader(HttpHeaders.CACHE_CONTROL));
+        assertNotNull(response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void testCurrentEtagReturnsNotModified() throws Exception {
+        String etag = get("/", null, null).getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletResponse response = get("/ui/plugins/list-vue", etag, null);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void testGzipIsServedWhenAccepted() throws Exception {
+        MockHttpServletResponse response = get("/", null, "gzip, deflate, br");
+
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertTrue(response.getContentAsByteArray().length < INDEX.length());
+    }
+
+    @Test
+    void testRedeployedIndexGetsANewEtag() throws Exception {
+        String before = get("/", null, null).getHeader(HttpHeaders.ETAG);
+        Files.writeString(indexFile, INDEX + "<!-- v2 -->");
+        Files.setLastModifiedTime(indexFile, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+
+        MockHttpServletResponse response = get("/", before, null);
+
+        assertEquals(200, response.getStatus());
+        assertNotEquals(before, response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void testApiAndFilesPassThrough() throws Exception {
+        assertEquals("true", get("/api/records", null, null).getHeader("X-Passed-Through"));
+        assertEquals("true", get("/js/app.3f2a1b4c.js", null, null).getHeader("X-Passed-Through"));
+    }
+}
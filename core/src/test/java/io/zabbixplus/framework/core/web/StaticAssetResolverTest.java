@@ -0,0 +1,143 @@
+package io.zabbixplus.framework.core.web;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.resource.PathResourceResolver;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StaticAssetResolverTest {
+
+    @TempDir
+    Path uiDir;
+
+    private StaticAssetResolver resolver;
+    private ResourceHttpRequestHandler handler;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.createDirectories(uiDir.resolve("js"));
+        Files.writeString(uiDir.resolve("index.html"), "<html><script src=\"/js/app.3f2a1b4c.js\"></script></html>");
+        String script = "console.log('hello');".repeat(100);
+        Files.writeString(uiDir.resolve("js/app.3f2a1b4c.js"), script);
+        Files.write(uiDir.resolve("js/app.3f2a1b4c.js.gz"), gzip(script));
+
+        resolver = new StaticAssetResolver(1024 * 1024, 4 * 1024 * 1024, Duration.ZERO);
+        handler = new ResourceHttpRequestHandler();
+        handler.setLocations(List.of(new FileSystemResource(uiDir.toString() + "/")));
+        handler.setResourceResolvers(List.of(resolver, new PathResourceResolver()));
+        handler.setCacheControl(CacheControl.noCache());
+        handler.setEtagGenerator(StaticAssetResolver::etagOf);
+        handler.setServletContext(new MockServletContext());
+        handler.afterPropertiesSet();
+    }
+
+    private static byte[] gzip(String content) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return out.toByteArray();
+    }
+
+    private MockHttpServletResponse get(String path, String acceptEncoding, String ifNoneMatch) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/" + path);
+        request.setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE, path);
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        handler.handleRequest(request, response);
+        return response;
+    }
+
+    @Test
+    void testHashedAssetIsImmutableAndPrecompressed() throws Exception {
+        MockHttpServletResponse response = get("js/app.3f2a1b4c.js", "gzip, deflate, br", null);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(StaticAssetResolver.IMMUTABLE, response.getHeader(HttpHeaders.CACHE_CONTROL));
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeader(HttpHeaders.VARY));
+        assertTrue(response.getContentType().contains("javascript"));
+        assertArrayEquals(Files.readAllBytes(uiDir.resolve("js/app.3f2a1b4c.js.gz")), response.getContentAsByteArray());
+    }
+
+    @Test
+    void testIdentityServedWithoutAcceptEncoding() throws Exception {
+        MockHttpServletResponse response = get("js/app.3f2a1b4c.js", null, null);
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(Files.readString(uiDir.resolve("js/app.3f2a1b4c.js")), response.getContentAsString());
+    }
+
+    @Test
+    void testIndexIsNoCacheWithEtagAndRevalidates() throws Exception {
+        MockHttpServletResponse first = get("index.html", null, null);
+        String etag = first.getHeader(HttpHeaders.ETAG);
+
+        assertEquals(StaticAssetResolver.NO_CACHE, first.getHeader(HttpHeaders.CACHE_CONTROL));
+        assertNotNull(etag);
+        assertEquals(304, get("index.html", null, etag).getStatus());
+    }
+
+    @Test
+    void testHotAssetsAreServedFromMemoryAndRedeployIsPickedUp() throws Exception {
+        get("index.html", null, null);
+        get("index.html", null, null);
+        assertEquals(1, resolver.getHitCount());
+        assertEquals(1, resolver.getCachedCount());
+
+        Path index = uiDir.resolve("index.html");
+        Files.writeString(index, "<html>v2</html>");
+        Files.setLastModifiedTime(index, java.nio.file.attribute.FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+
+        assertEquals("<html>v2</html>", get("index.html", null, null).getContentAsString());
+    }
+
+    @Test
+    void testContentHashDetection() {
+        assertTrue(StaticAssetResolver.isContentHashed("app.3f2a1b4c.js"));
+        assertTrue(StaticAssetResolver.isContentHashed("index-B4x9k2Qa.css"));
+        assertFalse(StaticAssetResolver.isContentHashed("index.html"));
+        assertFalse(StaticAssetResolver.isContentHashed("favicon.ico"));
+        assertFalse(StaticAssetResolver.isContentHashed("index-settings.js"));
+    }
+
+    @Test
+    void testPreferredCoding() {
+        assertEquals("br", StaticAssetResolver.preferredCoding("gzip, br"));
+        assertEquals("gzip", StaticAssetResolver.preferredCoding("gzip, br;q=0"));
+        assertNull(StaticAssetResolver.preferredCoding("identity"));
+        assertNull(StaticAssetResolver.preferredCoding("gzip;q=0, br; q=0.0"));
+    }
+
+    @Test
+    void testAcceptsHonoursQValues() {
+        assertTrue(StaticAssetResolver.accepts("deflate, GZIP;q=0.5", "gzip"));
+        assertFalse(StaticAssetResolver.accepts("gzip;q=0", "gzip"));
+        assertFalse(StaticAssetResolver.accepts("gzip ; q=0.000, br", "gzip"));
+        assertFalse(StaticAssetResolver.accepts("x-gzip", "gzip"));
+        assertFalse(StaticAssetResolver.accepts(null, "gzip"));
+    }
+}
@@ -0,0 +1,226 @@
+package io.zabbixplus.framework.core.zabbix;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the client against a stub Zabbix API on a local port.
+ */
+class ZabbixApiClientTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<JsonNode> requests = new CopyOnWriteArrayList<>();
+    private final List<String> authorizations = new CopyOnWriteArrayList<>();
+    private final Set<String> validSessions = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger sessions = new AtomicInteger();
+
+    private HttpServer server;
+    private ZabbixApiClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api_jsonrpc.php", this::handle);
+        server.start();
+        client = new ZabbixApiClient("http://127.0.0.1:" + server.getAddress().getPort() + "/api_jsonrpc.php",
+                "Admin", "zabbix", "", false, Duration.ofMillis(50), 50,
+                Duration.ofSeconds(5), Duration.ofSeconds(5), objectMapper);
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.shutdown();
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        JsonNode body = objectMapper.readTree(exchange.getRequestBody());
+        requests.add(body);
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        authorizations.add(authorization == null ? "" : authorization);
+        String session = authorization == null ? null : authorization.substring("Bearer ".length());
+
+        byte[] response;
+        if (body.isObject() && "history.get".equals(body.path("method").asText())) {
+            response = history(body, session).getBytes(StandardCharsets.UTF_8);
+        } else if (body.isArray()) {
+            ArrayNode results = objectMapper.createArrayNode();
+            body.forEach(request -> results.add(answer(request, session)));
+            response = objectMapper.writeValueAsBytes(results);
+        } else {
+            response = objectMapper.writeValueAsBytes(answer(body, session));
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, response.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(response);
+        }
+    }
+
+    private ObjectNode answer(JsonNode request, String session) {
+        ObjectNode response = objectMapper.createObjectNode().put("jsonrpc", "2.0");
+        String method = request.path("method").asText();
+        if ("user.login".equals(method)) {
+            String token = "session-" + sessions.incrementAndGet();
+            validSessions.add(token);
+            response.put("result", token);
+        } else if (session == null || !validSessions.contains(session)) {
+            response.putObject("error").put("code", -32602).put("message", "Invalid params.")
+                    .put("data", "Session terminated, re-login, please.");
+        } else {
+            response.put("result", method + ":" + request.path("params").path("hostid").asText());
+        }
+        response.set("id", request.get("id"));
+        return response;
+    }
+
+    private String history(JsonNode request, String session) {
+        if (session == null || !validSessions.contains(session)) {
+            return "{\"jsonrpc\":\"2.0\",\"error\":{\"code\":-32602,\"message\":\"Invalid params.\",\"data\":\"Not authorized.\"},\"id\":"
+                    + request.get("id") + "}";
+        }
+        int limit = request.path("params").path("limit").asInt();
+        StringBuilder json = new StringBuilder("{\"jsonrpc\":\"2.0\",\"result\":[");
+        for (int i = 0; i < limit; i++) {
+            json.append(i == 0 ? "" : ",")
+                    .append("{\"itemid\":\"23296\",\"clock\":\"").append(1_700_000_000 + i)
+                    .append("\",\"value\":\"").append(i).append(".5\",\"ns\":\"").append(i * 1000).append("\"}");
+        }
+        return json.append("],\"id\":").append(request.get("id")).append("}").toString();
+    }
+
+    private List<JsonNode> callsTo(String method) {
+        List<JsonNode> calls = new ArrayList<>();
+        for (JsonNode request : requests) {
+            (request.isArray() ? request : objectMapper.createArrayNode().add(request)).forEach(call -> {
+                if (method.equals(call.path("method").asText())) {
+                    calls.add(call);
+                }
+            });
+        }
+        return calls;
+    }
+
+    @Test
+    void testConcurrentCallsAreSentAsOneBatch() throws Exception {
+        List<CompletableFuture<JsonNode>> results = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            results.add(client.call("host.get", Map.of("hostid", i)));
+        }
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals("host.get:" + i, results.get(i).get(5, TimeUnit.SECONDS).asText());
+        }
+        // The login, then a single batch with all five calls
+        assertEquals(2, requests.size());
+        assertEquals(1, callsTo("user.login").size());
+        assertTrue(requests.get(1).isArray());
+        assertEquals(5, requests.get(1).size());
+    }
+
+    @Test
+    void testSessionIsCachedAndSentAsBearerToken() {
+        client.callAndWait("host.get", Map.of("hostid", 1));
+        client.callAndWait("host.get", Map.of("hostid", 2));
+
+        assertEquals(1, callsTo("user.login").size());
+        assertEquals("Bearer session-1", authorizations.get(authorizations.size() - 1));
+        assertTrue(callsTo("host.get").stream().noneMatch(call -> call.has("auth")));
+    }
+
+    @Test
+    void testTerminatedSessionIsRenewedAndCallRetried() {
+        client.callAndWait("host.get", Map.of("hostid", 1));
+        validSessions.clear();
+
+        JsonNode result = client.callAndWait("host.get", Map.of("hostid", 2));
+
+        assertEquals("host.get:2", result.asText());
+        assertEquals(2, callsTo("user.login").size());
+        assertEquals("Bearer session-2", authorizations.get(authorizations.size() - 1));
+    }
+
+    @Test
+    void testRevokedApiTokenIsNotRenewedByLogin() {
+        ZabbixApiClient tokenClient = new ZabbixApiClient("http://127.0.0.1:" + server.getAddress().getPort() + "/api_jsonrpc.php",
+                "", "", "revoked-token", false, Duration.ofMillis(1), 50,
+                Duration.ofSeconds(5), Duration.ofSeconds(5), objectMapper);
+        try {
+            ZabbixApiException error = assertThrows(ZabbixApiException.class,
+                    () -> tokenClient.callAndWait("host.get", Map.of()));
+
+            // A configured API token cannot be renewed by logging in
+            assertTrue(error.isAuthFailure());
+            assertEquals(-32602, error.getCode());
+            assertEquals(0, callsTo("user.login").size());
+        } finally {
+            tokenClient.shutdown();
+        }
+    }
+
+    @Test
+    void testHistoryIsStreamedRecordByRecord() {
+        List<String> values = new ArrayList<>();
+        long[] lastClock = new long[1];
+
+        long count = client.streamHistory(Map.of("itemids", List.of("23296"), "limit", 1000),
+                (itemId, clock, ns, value) -> {
+                    assertEquals(23296L, itemId);
+                    lastClock[0] = clock;
+                    values.add(value);
+                });
+
+        assertEquals(1000, count);
+        assertEquals("0.5", values.get(0));
+        assertEquals("999.5", values.get(999));
+        assertEquals(1_700_000_999L, lastClock[0]);
+    }
+
+    @Test
+    void testHistoryIsRetriedAfterSessionExpired() {
+        client.callAndWait("host.get", Map.of());
+        validSessions.clear();
+
+        long count = client.streamHistory(Map.of("limit", 10), (itemId, clock, ns, value) -> { });
+
+        assertEquals(10, count);
+        assertEquals(2, callsTo("user.login").size());
+        assertEquals(2, callsTo("history.get").size());
+    }
+
+    @Test
+    void testUnconfiguredClientFails() {
+        ZabbixApiClient unconfigured = new ZabbixApiClient("", "", "", "", false, Duration.ofMillis(5), 50,
+                Duration.ofSeconds(5), Duration.ofSeconds(5), objectMapper);
+        try {
+            assertFalse(unconfigured.isConfigured());
+            assertTrue(unconfigured.call("host.get", Map.of()).isCompletedExceptionally());
+        } finally {
+            unconfigured.shutdown();
+        }
+    }
+}
@@ -3,7 +3,12 @@ package io.zabbixplus.framework.exampleplugin;
 import io.zabbixplus.framework.plugin.NavigationItem;
 import io.zabbixplus.framework.plugin.PluginContext;
 import io.zabbixplus.framework.plugin.UiPlugin;
+import io.zabbixplus.framework.plugin.dashboard.DashboardWidgetProvider;
+import io.zabbixplus.framework.plugin.metrics.Counter;
+import io.zabbixplus.framework.plugin.metrics.MetricsRegistry;
 import io.zabbixplus.framework.core.service.ExampleTableService; // Added import
+import io.zabbixplus.framework.core.web.ListResponseCache;
+import io.zabbixplus.framework.core.web.SingleFlight;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException; // Added import
@@ -17,16 +22,21 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors; // Needed for mapping
 
-public class SimpleExamplePlugin implements UiPlugin {
+public class SimpleExamplePlugin implements UiPlugin, DashboardWidgetProvider {
 
     private static final Logger logger = LoggerFactory.getLogger(SimpleExamplePlugin.class);
 
     public static final String PLUGIN_NAME = "SimpleExamplePlugin";
     public static final String VUE_COMPONENT_NAME = "ExamplePluginDashboard";
+    public static final String DATA_PATH = "/api/plugins/simpleexampleplugin/data";
 
     private ApplicationContext applicationContext;
     private Map<String, Object> pluginConfiguration;
     private ExampleTableService exampleTableService; // Added field
+    private ListResponseCache listResponseCache;
+    private SingleFlight singleFlight;
+    private Counter recordsAdded;
+    private volatile Map<String, Object> uiMetadata;
 
     // --- Plugin interface methods ---
 
@@ -79,10 +89,32 @@ public class SimpleExamplePlugin implements UiPlugin {
         } else {
             logger.warn("ApplicationContext is null in plugin. ExampleTableService cannot be retrieved.");
         }
+
+        // The data endpoint lists example_table, so its responses stay valid until the table changes
+        this.listResponseCache = context.getService(ListResponseCache.class);
+        if (listResponseCache != null) {
+            listResponseCache.register(DATA_PATH, ExampleTableService.TABLE_NAME);
+        }
+        // Operators opening the dashboard at the same moment share one query
+        this.singleFlight = context.getService(SingleFlight.class);
+        if (singleFlight != null) {
+            singleFlight.register(DATA_PATH);
+        }
+        // Scraped from GET /api/metrics, tagged with this plugin's id by the framework
+        MetricsRegistry metrics = context.getService(MetricsRegistry.class);
+        if (metrics != null) {
+            this.recordsAdded = metrics.counter("exampleplugin_records_added_total", "Records added through the example plugin.");
+        }
     }
 
     @Override
     public void unload() {
+        if (listResponseCache != null) {
+            listResponseCache.unregister(DATA_PATH);
+        }
+        if (singleFlight != null) {
+            singleFlight.unregister(DATA_PATH);
+        }
         logger.info("{} (UiPlugin for Vue) unloaded.", PLUGIN_NAME);
     }
 
@@ -104,15 +136,21 @@ public class SimpleExamplePlugin implements UiPlugin {
 
     @Override
     public Map<String, Object> getUiMetadata() {
-        Map<String, Object> metadata = new HashMap<>();
-        metadata.put("mainComponent", VUE_COMPONENT_NAME); // This is getVueComponentName()
-        metadata.put("pluginName", getPluginName());       // Use the interface method
-        // bundleUrl might be part of a more dynamic asset loading strategy
-        // metadata.put("bundleUrl", "/plugins/" + getPluginId() + "/remoteEntry.js");
-        metadata.put("description", getDescription());
-        // AssetsPath and EntryComponent are now explicit interface methods
-        metadata.put("assetsPath", getAssetsPath());
-        metadata.put("entryComponent", getEntryComponent());
+        // The metadata never changes, so build it once instead of on every metadata request
+        Map<String, Object> metadata = uiMetadata;
+        if (metadata == null) {
+            metadata = new HashMap<>();
+            metadata.put("mainComponent", VUE_COMPONENT_NAME); // This is getVueComponentName()
+            metadata.put("pluginName", getPluginName());       // Use the interface method
+            // bundleUrl might be part of a more dynamic asset loading strategy
+            // metadata.put("bundleUrl", "/plugins/" + getPluginId() + "/remoteEntry.js");
+            metadata.put("description", getDescription());
+            // AssetsPath and EntryComponent are now explicit interface methods
+            metadata.put("assetsPath", getAssetsPath());
+            metadata.put("entryComponent", getEntryComponent());
+            metadata = Collections.unmodifiableMap(metadata);
+            uiMetadata = metadata;
+        }
         return metadata;
     }
 
@@ -133,6 +171,18 @@ public class SimpleExamplePlugin implements UiPlugin {
         return Collections.emptyList(); // No specific privileges required for this example
     }
 
+    // --- DashboardWidgetProvider ---
+
+    /**
+     * Record count for the main dashboard; the framework caches it for the default TTL.
+     */
+    @Override
+    public Object getWidgetData() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("records", exampleTableService != null ? exampleTableService.getRecords().size() : 0);
+        return data;
+    }
+
     public ApplicationContext getApplicationContext() {
         return applicationContext;
     }
@@ -166,6 +216,9 @@ public class SimpleExamplePlugin implements UiPlugin {
         String name = dataPayload.get("name");
         if (name != null && !name.trim().isEmpty()) {
             exampleTableService.createRecord(name);
+            if (recordsAdded != null) {
+                recordsAdded.increment();
+            }
             logger.info("Record added via plugin: {}", name);
         } else {
             logger.warn("No 'name' provided in payload for addPluginDataRecord. Record not added.");
@@ -80,6 +80,17 @@ function getPluginUiMetadata(name) {
   return plugin ? plugin.uiMetadata : null;
 }
 
+// Fetches the dashboard widget data of all plugins in one request. The backend queries the plugins
+// in parallel; entries of slow or failing plugins have status 'stale', 'timeout' or 'error'.
+async function fetchDashboardWidgets() {
+  const response = await fetch('/api/dashboard/widgets');
+  if (!response.ok) {
+    throw new Error(`Failed to fetch dashboard widgets: ${response.status} ${response.statusText}`);
+  }
+  const body = await response.json();
+  return Array.isArray(body.data) ? body.data : [];
+}
+
 export function usePluginRegistry() {
   return {
     initialize,
@@ -88,6 +99,7 @@ export function usePluginRegistry() {
     pluginMetadataMap, // Exposing the map directly
     getPluginByName,   // Exposing the lookup function
     getPluginUiMetadata, // Exposing specific UI metadata lookup
+    fetchDashboardWidgets,
     isLoading: computed(() => isLoading.value),
     error: computed(() => error.value),
   };
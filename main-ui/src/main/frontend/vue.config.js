@@ -1,9 +1,41 @@
 // vue.config.js
 // This ensures the output of `npm run build` goes to `src/main/frontend/dist`
 // which our Gradle 'copyFrontendDist' task expects.
+const CompressionPlugin = require('compression-webpack-plugin');
+const zlib = require('zlib');
+
+// Text assets worth precompressing; the core serves the .br/.gz siblings when
+// framework.ui.production-mode=true and the browser accepts them.
+const compressible = /\.(js|css|html|svg|json|map)$/;
+
 module.exports = {
   outputDir: 'dist',
+  // Content hashes in bundle names (js/app.3f2a1b4c.js) let the core cache them as immutable.
+  filenameHashing: true,
   // Optional: If your Spring Boot app serves the Vue app from a subpath (e.g., /ui),
   // you might need to set publicPath. For now, assuming root serving.
   // publicPath: process.env.NODE_ENV === 'production' ? '/ui/' : '/'
+  configureWebpack: (config) => {
+    if (process.env.NODE_ENV !== 'production') {
+      return;
+    }
+    config.plugins.push(
+      new CompressionPlugin({
+        filename: '[path][base].gz',
+        algorithm: 'gzip',
+        test: compressible,
+        compressionOptions: { level: 9 },
+        threshold: 1024,
+        minRatio: 0.9,
+      }),
+      new CompressionPlugin({
+        filename: '[path][base].br',
+        algorithm: 'brotliCompress',
+        test: compressible,
+        compressionOptions: { params: { [zlib.constants.BROTLI_PARAM_QUALITY]: 11 } },
+        threshold: 1024,
+        minRatio: 0.9,
+      })
+    );
+  },
 };
@@ -1,16 +1,25 @@
 package io.zabbixplus.framework.plugin;
 
 import org.springframework.context.ApplicationContext;
+
+import java.util.Collections;
 import java.util.Map;
 
 public class PluginContext {
 
     private final ApplicationContext applicationContext;
     private final Map<String, Object> configuration;
+    private final Map<Class<?>, Object> services;
 
     public PluginContext(ApplicationContext applicationContext, Map<String, Object> configuration) {
+        this(applicationContext, configuration, Collections.emptyMap());
+    }
+
+    public PluginContext(ApplicationContext applicationContext, Map<String, Object> configuration,
+                         Map<Class<?>, Object> services) {
         this.applicationContext = applicationContext;
         this.configuration = configuration;
+        this.services = services != null ? services : Collections.emptyMap();
     }
 
     public ApplicationContext getApplicationContext() {
@@ -20,4 +29,16 @@ public class PluginContext {
     public Map<String, Object> getConfiguration() {
         return configuration;
     }
+
+    /**
+     * Looks up a framework service exposed to plugins. Services are registered by the core under
+     * the type they are looked up with: either an interface of this API module, such as
+     * {@link io.zabbixplus.framework.plugin.timeseries.TimeSeriesService}, or a core class such as
+     * {@code ListResponseCache} or {@code ZabbixApiClient}, which requires a dependency on the core module.
+     * @param serviceType The type the service is registered under.
+     * @return The service instance for this plugin, or {@code null} if the core does not provide it.
+     */
+    public <T> T getService(Class<T> serviceType) {
+        return serviceType.cast(services.get(serviceType));
+    }
 }
@@ -0,0 +1,39 @@
+package io.zabbixplus.framework.plugin.dashboard;
+
+import java.time.Duration;
+
+/**
+ * Optional contract for plugins whose dashboard widget needs data from the backend. The framework
+ * collects the data of every provider in parallel for {@code GET /api/dashboard/widgets}, so the
+ * main dashboard costs one request and waits for the slowest plugin only up to its timeout, instead
+ * of the frontend calling each plugin in turn.
+ * <p>
+ * Implement this next to {@link io.zabbixplus.framework.plugin.UiPlugin}; the widget is shown to the
+ * users who may see the plugin.
+ */
+public interface DashboardWidgetProvider {
+
+    /**
+     * Returns the widget's data, serialized to JSON as-is. Called on a framework thread, never
+     * concurrently for the same plugin: at most one call is in flight, and a call that outlives a
+     * dashboard load's timeout keeps running while later loads serve the last known data. The
+     * result is shared by all users, so it must not depend on who is asking.
+     */
+    Object getWidgetData() throws Exception;
+
+    /**
+     * How long a result may be served from cache before the widget data is fetched again.
+     * {@link Duration#ZERO} fetches it on every dashboard load.
+     */
+    default Duration getWidgetCacheTtl() {
+        return Duration.ofSeconds(30);
+    }
+
+    /**
+     * How long a dashboard load waits for fresh data before answering with the last known data
+     * (or none). {@code null} uses the framework default, {@code framework.dashboard.widget-timeout}.
+     */
+    default Duration getWidgetTimeout() {
+        return null;
+    }
+}
@@ -0,0 +1,16 @@
+package io.zabbixplus.framework.plugin.metrics;
+
+/**
+ * A count that only goes up, see {@link MetricsRegistry#counter}.
+ */
+public interface Counter {
+
+    void increment();
+
+    /**
+     * @param amount A non-negative amount; negative amounts are ignored.
+     */
+    void increment(double amount);
+
+    double count();
+}
@@ -0,0 +1,11 @@
+package io.zabbixplus.framework.plugin.metrics;
+
+/**
+ * A value that may go up and down, see {@link MetricsRegistry#gauge(String, String, String...)}.
+ */
+public interface Gauge {
+
+    void set(double value);
+
+    double value();
+}
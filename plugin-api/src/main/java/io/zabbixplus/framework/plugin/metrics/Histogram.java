@@ -0,0 +1,11 @@
+package io.zabbixplus.framework.plugin.metrics;
+
+/**
+ * Counts observations into fixed buckets, see {@link MetricsRegistry#histogram}.
+ */
+public interface Histogram {
+
+    void observe(double value);
+
+    long count();
+}
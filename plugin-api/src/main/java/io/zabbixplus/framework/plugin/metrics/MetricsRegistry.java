@@ -0,0 +1,48 @@
+package io.zabbixplus.framework.plugin.metrics;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * Metrics provided by the core, obtained through {@code PluginContext.getService(MetricsRegistry.class)}
+ * and scraped in Prometheus text format from {@code GET /api/metrics}. The registry handed to a
+ * plugin adds a {@code plugin} tag with the plugin id to everything it registers.
+ * <p>
+ * Names follow Prometheus rules ({@code [a-zA-Z_:][a-zA-Z0-9_:]*}, e.g. {@code myplugin_checks_total});
+ * tags are given as alternating keys and values ({@code "host", "web01"}). Asking again for the same
+ * name and tags returns the same instance, so callers may look meters up on every use, although
+ * keeping a reference is cheaper. Updates are lock-free and safe from any thread.
+ * <p>
+ * Every method throws {@link IllegalArgumentException} if the name or tags are invalid, or if the
+ * name is already registered as a different kind of metric.
+ */
+public interface MetricsRegistry {
+
+    /**
+     * A monotonically increasing count. By convention the name ends in {@code _total}.
+     */
+    Counter counter(String name, String help, String... tags);
+
+    /**
+     * A value that is set explicitly and may go up and down.
+     */
+    Gauge gauge(String name, String help, String... tags);
+
+    /**
+     * A value read from {@code value} at each scrape. The supplier must be cheap and non-blocking;
+     * it is held until shutdown.
+     */
+    void gauge(String name, String help, DoubleSupplier value, String... tags);
+
+    /**
+     * Durations, exported as a summary in seconds with the 50th, 90th and 99th percentile (within
+     * ~6%), sum and count. By convention the name ends in {@code _seconds}.
+     */
+    Timer timer(String name, String help, String... tags);
+
+    /**
+     * Observations counted into fixed buckets, exported as a Prometheus histogram.
+     *
+     * @param buckets Upper bounds of the buckets in ascending order; {@code +Inf} is added.
+     */
+    Histogram histogram(String name, String help, double[] buckets, String... tags);
+}
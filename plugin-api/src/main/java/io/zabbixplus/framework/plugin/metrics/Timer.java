@@ -0,0 +1,43 @@
+package io.zabbixplus.framework.plugin.metrics;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Records durations, see {@link MetricsRegistry#timer}.
+ */
+public interface Timer {
+
+    void record(long amount, TimeUnit unit);
+
+    default void record(Duration duration) {
+        record(duration.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Runs {@code task} and records how long it took, also when it throws.
+     */
+    default void record(Runnable task) {
+        long start = System.nanoTime();
+        try {
+            task.run();
+        } finally {
+            record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Calls {@code task}, records how long it took (also when it throws) and returns its result.
+     */
+    default <T> T record(Supplier<T> task) {
+        long start = System.nanoTime();
+        try {
+            return task.get();
+        } finally {
+            record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    long count();
+}
@@ -0,0 +1,44 @@
+package io.zabbixplus.framework.plugin.timeseries;
+
+/**
+ * Summary of the samples in one time bucket. Raw samples are returned as buckets of a single sample.
+ */
+public class AggregatePoint {
+
+    private final long timestamp;
+    private final double min;
+    private final double max;
+    private final double avg;
+    private final long count;
+
+    public AggregatePoint(long timestamp, double min, double max, double avg, long count) {
+        this.timestamp = timestamp;
+        this.min = min;
+        this.max = max;
+        this.avg = avg;
+        this.count = count;
+    }
+
+    /**
+     * @return Start of the bucket in epoch milliseconds (the sample time for raw points).
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    public double getAvg() {
+        return avg;
+    }
+
+    public long getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,20 @@
+package io.zabbixplus.framework.plugin.timeseries;
+
+public class DataPoint {
+
+    private final long timestamp;
+    private final double value;
+
+    public DataPoint(long timestamp, double value) {
+        this.timestamp = timestamp;
+        this.value = value;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public double getValue() {
+        return value;
+    }
+}
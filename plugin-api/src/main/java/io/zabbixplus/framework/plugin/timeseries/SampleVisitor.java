@@ -0,0 +1,14 @@
+package io.zabbixplus.framework.plugin.timeseries;
+
+/**
+ * Receives samples from a range scan without boxing them into objects.
+ */
+@FunctionalInterface
+public interface SampleVisitor {
+
+    /**
+     * @param timestampMillis Sample time in epoch milliseconds.
+     * @param value           Sample value.
+     */
+    void visit(long timestampMillis, double value);
+}
@@ -0,0 +1,43 @@
+package io.zabbixplus.framework.plugin.timeseries;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Metric sample storage provided by the core, obtained through
+ * {@code PluginContext.getService(TimeSeriesService.class)}.
+ * <p>
+ * A series is identified by a free-form key, e.g. a Zabbix item id or {@code "host:item.key"}.
+ * Samples of one series must be appended in non-decreasing timestamp order.
+ */
+public interface TimeSeriesService {
+
+    /**
+     * Appends a sample to the series, creating the series on first use.
+     * @throws IllegalArgumentException if the timestamp is older than the last sample of the series.
+     */
+    void append(String seriesKey, long timestampMillis, double value);
+
+    /**
+     * Streams all samples of a series with {@code fromMillis <= timestamp <= toMillis} in time order.
+     */
+    void scan(String seriesKey, long fromMillis, long toMillis, SampleVisitor visitor);
+
+    /**
+     * Convenience variant of {@link #scan} that collects the samples into a list.
+     */
+    List<DataPoint> query(String seriesKey, long fromMillis, long toMillis);
+
+    /**
+     * Returns at most about {@code maxPoints} points covering [fromMillis, toMillis].
+     * Raw samples are returned when they fit the budget; otherwise the finest pre-computed rollup
+     * (1 minute, 1 hour or 1 day buckets with min/max/avg/count) whose bucket count fits is used,
+     * so long ranges read a few thousand aggregates instead of every raw sample.
+     */
+    List<AggregatePoint> queryAggregated(String seriesKey, long fromMillis, long toMillis, int maxPoints);
+
+    /**
+     * @return The keys of all known series.
+     */
+    Set<String> getSeriesKeys();
+}
@@ -11,3 +11,5 @@ include("plugin-api")
 include("example-plugin")
 include("main-ui")
 include("database")
+include("timeseries")
+include("benchmarks")
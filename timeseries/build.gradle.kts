@@ -0,0 +1,8 @@
+plugins {
+    `java-library`
+}
+
+dependencies {
+    // Plain Java storage engine: no Spring, no third-party runtime dependencies.
+    // The core module wraps it in a Spring service and exposes it to plugins.
+}
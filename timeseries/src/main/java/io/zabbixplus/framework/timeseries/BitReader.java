@@ -0,0 +1,43 @@
+package io.zabbixplus.framework.timeseries;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Reads bit strings written by {@link BitWriter}.
+ */
+final class BitReader {
+
+    private final ByteBuffer buffer;
+    private final int baseOffset;
+    private long bitPosition;
+
+    BitReader(ByteBuffer buffer, int baseOffset) {
+        this.buffer = buffer;
+        this.baseOffset = baseOffset;
+    }
+
+    long readBits(int bitCount) {
+        long result = 0;
+        int remaining = bitCount;
+        while (remaining > 0) {
+            int index = baseOffset + (int) (bitPosition >>> 3);
+            int bitOffset = (int) (bitPosition & 7);
+            int available = 8 - bitOffset;
+            int take = Math.min(available, remaining);
+            int current = buffer.get(index) & 0xFF;
+            int chunk = (current >>> (available - take)) & ((1 << take) - 1);
+            result = (result << take) | chunk;
+            remaining -= take;
+            bitPosition += take;
+        }
+        return result;
+    }
+
+    boolean readBit() {
+        return readBits(1) != 0;
+    }
+
+    long getBitPosition() {
+        return bitPosition;
+    }
+}
@@ -0,0 +1,51 @@
+package io.zabbixplus.framework.timeseries;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Appends bit strings, most significant bit first, into a byte buffer region starting at a fixed offset.
+ * Only absolute buffer accesses are used, so the buffer position is never touched.
+ */
+final class BitWriter {
+
+    private final ByteBuffer buffer;
+    private final int baseOffset;
+    private long bitPosition;
+
+    BitWriter(ByteBuffer buffer, int baseOffset, long bitPosition) {
+        this.buffer = buffer;
+        this.baseOffset = baseOffset;
+        this.bitPosition = bitPosition;
+        clearTrailingBits();
+    }
+
+    void writeBits(long value, int bitCount) {
+        int remaining = bitCount;
+        while (remaining > 0) {
+            int index = baseOffset + (int) (bitPosition >>> 3);
+            int bitOffset = (int) (bitPosition & 7);
+            int free = 8 - bitOffset;
+            int take = Math.min(free, remaining);
+            int chunk = (int) ((value >>> (remaining - take)) & ((1L << take) - 1));
+            // A fresh byte is overwritten rather than OR-ed so stale bytes never leak into the stream
+            int current = bitOffset == 0 ? 0 : buffer.get(index) & 0xFF;
+            buffer.put(index, (byte) (current | (chunk << (free - take))));
+            remaining -= take;
+            bitPosition += take;
+        }
+    }
+
+    long getBitPosition() {
+        return bitPosition;
+    }
+
+    // Bits after the committed position in the current byte may be left over from an interrupted write.
+    private void clearTrailingBits() {
+        int bitOffset = (int) (bitPosition & 7);
+        if (bitOffset != 0) {
+            int index = baseOffset + (int) (bitPosition >>> 3);
+            int mask = 0xFF << (8 - bitOffset);
+            buffer.put(index, (byte) (buffer.get(index) & mask));
+        }
+    }
+}
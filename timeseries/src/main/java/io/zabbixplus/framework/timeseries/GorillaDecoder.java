@@ -0,0 +1,139 @@
+package io.zabbixplus.framework.timeseries;
+
+import java.util.Arrays;
+
+/**
+ * Decodes a sample stream produced by {@link GorillaEncoder}.
+ * The number of records and of fields per record are not part of the bit stream and have to be
+ * supplied by the caller.
+ */
+final class GorillaDecoder {
+
+    private final BitReader in;
+    private final int count;
+    private final int fields;
+    private int index;
+    private long timestamp;
+    private long previousDelta;
+    private final long[] valueBits;
+    private final int[] previousLeading;
+    private final int[] previousTrailing;
+
+    GorillaDecoder(BitReader in, int count) {
+        this(in, count, 1);
+    }
+
+    GorillaDecoder(BitReader in, int count, int fields) {
+        this.in = in;
+        this.count = count;
+        this.fields = fields;
+        this.valueBits = new long[fields];
+        this.previousLeading = new int[fields];
+        this.previousTrailing = new int[fields];
+        Arrays.fill(previousLeading, -1);
+    }
+
+    boolean hasNext() {
+        return index < count;
+    }
+
+    /**
+     * Advances to the next record; read it with {@link #getTimestamp()} and {@link #getValue()} or
+     * {@link #getValue(int)}.
+     */
+    void next() {
+        if (index == 0) {
+            timestamp = in.readBits(64);
+            for (int field = 0; field < fields; field++) {
+                valueBits[field] = in.readBits(64);
+            }
+        } else {
+            readTimestamp();
+            for (int field = 0; field < fields; field++) {
+                readValue(field);
+            }
+        }
+        index++;
+    }
+
+    long getTimestamp() {
+        return timestamp;
+    }
+
+    double getValue() {
+        return getValue(0);
+    }
+
+    double getValue(int field) {
+        return Double.longBitsToDouble(valueBits[field]);
+    }
+
+    int getIndex() {
+        return index;
+    }
+
+    int getFields() {
+        return fields;
+    }
+
+    long getBitPosition() {
+        return in.getBitPosition();
+    }
+
+    long getValueBits(int field) {
+        return valueBits[field];
+    }
+
+    long getPreviousDelta() {
+        return previousDelta;
+    }
+
+    int getPreviousLeading(int field) {
+        return previousLeading[field];
+    }
+
+    int getPreviousTrailing(int field) {
+        return previousTrailing[field];
+    }
+
+    private void readTimestamp() {
+        long deltaOfDelta;
+        if (!in.readBit()) {
+            deltaOfDelta = 0;
+        } else if (!in.readBit()) {
+            deltaOfDelta = signExtend(in.readBits(7), 7);
+        } else if (!in.readBit()) {
+            deltaOfDelta = signExtend(in.readBits(9), 9);
+        } else if (!in.readBit()) {
+            deltaOfDelta = signExtend(in.readBits(12), 12);
+        } else {
+            deltaOfDelta = in.readBits(64);
+        }
+        previousDelta += deltaOfDelta;
+        timestamp += previousDelta;
+    }
+
+    private void readValue(int field) {
+        if (!in.readBit()) {
+            return;
+        }
+        long xor;
+        if (!in.readBit()) {
+            int significant = 64 - previousLeading[field] - previousTrailing[field];
+            xor = in.readBits(significant) << previousTrailing[field];
+        } else {
+            int leading = (int) in.readBits(5);
+            int significant = (int) in.readBits(6) + 1;
+            int trailing = 64 - leading - significant;
+            xor = in.readBits(significant) << trailing;
+            previousLeading[field] = leading;
+            previousTrailing[field] = trailing;
+        }
+        valueBits[field] ^= xor;
+    }
+
+    private static long signExtend(long value, int bits) {
+        int shift = 64 - bits;
+        return (value << shift) >> shift;
+    }
+}
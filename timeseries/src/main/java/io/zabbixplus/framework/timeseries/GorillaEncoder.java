@@ -0,0 +1,161 @@
+package io.zabbixplus.framework.timeseries;
+
+import java.util.Arrays;
+
+/**
+ * Gorilla-style compressor for a single stream of (timestamp, value) samples, or of records holding a
+ * fixed number of values per timestamp.
+ * <p>
+ * Timestamps are stored as delta-of-delta with variable length prefixes
+ * ('0', '10'+7, '110'+9, '1110'+12, '1111'+64 bits); values are XOR-ed with the previous value of the
+ * same field and only the meaningful bits are written, reusing that field's previous leading/trailing
+ * zero window when possible. The first record is stored uncompressed as one 64-bit word per field
+ * after the 64-bit timestamp.
+ */
+final class GorillaEncoder {
+
+    private static final int MAX_TIMESTAMP_BITS = 4 + 64;
+    private static final int MAX_VALUE_BITS = 2 + 5 + 6 + 64;
+
+    private final BitWriter out;
+    private final int fields;
+    private int count;
+    private long previousTimestamp;
+    private long previousDelta;
+    private final long[] previousValueBits;
+    private final int[] previousLeading;
+    private final int[] previousTrailing;
+
+    GorillaEncoder(BitWriter out) {
+        this(out, 1);
+    }
+
+    GorillaEncoder(BitWriter out, int fields) {
+        if (fields < 1) {
+            throw new IllegalArgumentException("fields must be at least 1");
+        }
+        this.out = out;
+        this.fields = fields;
+        this.previousValueBits = new long[fields];
+        this.previousLeading = new int[fields];
+        this.previousTrailing = new int[fields];
+        Arrays.fill(previousLeading, -1);
+    }
+
+    /**
+     * Continues a stream whose existing samples have been fully consumed by {@code decoder}.
+     */
+    GorillaEncoder(BitWriter out, GorillaDecoder decoder) {
+        this(out, decoder.getFields());
+        this.count = decoder.getIndex();
+        this.previousTimestamp = decoder.getTimestamp();
+        this.previousDelta = decoder.getPreviousDelta();
+        for (int field = 0; field < fields; field++) {
+            this.previousValueBits[field] = decoder.getValueBits(field);
+            this.previousLeading[field] = decoder.getPreviousLeading(field);
+            this.previousTrailing[field] = decoder.getPreviousTrailing(field);
+        }
+    }
+
+    /**
+     * Upper bound of bits a single record of {@code fields} values can take, used by callers to check
+     * remaining capacity.
+     */
+    static int maxRecordBits(int fields) {
+        return Math.max(64 + 64 * fields, MAX_TIMESTAMP_BITS + MAX_VALUE_BITS * fields);
+    }
+
+    void append(long timestamp, double value) {
+        if (fields != 1) {
+            throw new IllegalStateException("Stream has " + fields + " fields per record");
+        }
+        writeTimestamp(timestamp);
+        writeValue(0, Double.doubleToRawLongBits(value));
+        count++;
+    }
+
+    void append(long timestamp, double[] values) {
+        if (values.length != fields) {
+            throw new IllegalArgumentException("Expected " + fields + " values, got " + values.length);
+        }
+        writeTimestamp(timestamp);
+        for (int field = 0; field < fields; field++) {
+            writeValue(field, Double.doubleToRawLongBits(values[field]));
+        }
+        count++;
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    int getFields() {
+        return fields;
+    }
+
+    long getBitPosition() {
+        return out.getBitPosition();
+    }
+
+    private void writeTimestamp(long timestamp) {
+        if (count == 0) {
+            out.writeBits(timestamp, 64);
+            previousTimestamp = timestamp;
+            return;
+        }
+        long delta = timestamp - previousTimestamp;
+        long deltaOfDelta = delta - previousDelta;
+        previousDelta = delta;
+        previousTimestamp = timestamp;
+        if (deltaOfDelta == 0) {
+            out.writeBits(0, 1);
+        } else if (fits(deltaOfDelta, 7)) {
+            out.writeBits(0b10, 2);
+            out.writeBits(deltaOfDelta, 7);
+        } else if (fits(deltaOfDelta, 9)) {
+            out.writeBits(0b110, 3);
+            out.writeBits(deltaOfDelta, 9);
+        } else if (fits(deltaOfDelta, 12)) {
+            out.writeBits(0b1110, 4);
+            out.writeBits(deltaOfDelta, 12);
+        } else {
+            out.writeBits(0b1111, 4);
+            out.writeBits(deltaOfDelta, 64);
+        }
+    }
+
+    private void writeValue(int field, long valueBits) {
+        long xor = valueBits ^ previousValueBits[field];
+        previousValueBits[field] = valueBits;
+        if (count == 0) {
+            out.writeBits(valueBits, 64);
+            return;
+        }
+        if (xor == 0) {
+            out.writeBits(0, 1);
+            return;
+        }
+        out.writeBits(1, 1);
+        // Leading zeros are stored in 5 bits, so larger counts are clamped
+        int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+        int trailing = Long.numberOfTrailingZeros(xor);
+        if (previousLeading[field] >= 0 && leading >= previousLeading[field] && trailing >= previousTrailing[field]) {
+            out.writeBits(0, 1);
+            out.writeBits(xor >>> previousTrailing[field], 64 - previousLeading[field] - previousTrailing[field]);
+        } else {
+            int significant = 64 - leading - trailing;
+            out.writeBits(1, 1);
+            out.writeBits(leading, 5);
+            out.writeBits(significant - 1, 6);
+            out.writeBits(xor >>> trailing, significant);
+            previousLeading[field] = leading;
+            previousTrailing[field] = trailing;
+        }
+    }
+
+    static boolean fits(long value, int bits) {
+        long min = -(1L << (bits - 1));
+        long max = (1L << (bits - 1)) - 1;
+        return value >= min && value <= max;
+    }
+}
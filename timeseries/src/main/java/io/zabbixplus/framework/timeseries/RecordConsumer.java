@@ -0,0 +1,11 @@
+package io.zabbixplus.framework.timeseries;
+
+/**
+ * Receives decoded records of a multi-value series during a range scan. The values array is reused
+ * between calls and is only valid for the duration of one call.
+ */
+@FunctionalInterface
+public interface RecordConsumer {
+
+    void accept(long timestamp, double[] values);
+}
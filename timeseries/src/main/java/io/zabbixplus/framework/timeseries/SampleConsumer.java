@@ -0,0 +1,10 @@
+package io.zabbixplus.framework.timeseries;
+
+/**
+ * Receives decoded samples during a range scan.
+ */
+@FunctionalInterface
+public interface SampleConsumer {
+
+    void accept(long timestamp, double value);
+}
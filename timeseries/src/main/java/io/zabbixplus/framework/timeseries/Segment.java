@@ -0,0 +1,239 @@
+package io.zabbixplus.framework.timeseries;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * One append-only segment file of a series.
+ * <p>
+ * Layout: a 48 byte header (magic, version, record count, sealed flag, first timestamp, last timestamp,
+ * committed bit length, values per record) followed by the Gorilla bit stream. The active segment stays
+ * memory-mapped read/write; sealed segments are only mapped read-only for the duration of a scan, so they never
+ * hold a writable mapping and the number of live mappings stays proportional to the number of series
+ * rather than to retention.
+ */
+final class Segment {
+
+    static final int HEADER_BYTES = 48;
+    private static final int MAGIC = 0x5A545331; // "ZTS1"
+    private static final int VERSION = 2;
+
+    private static final int OFFSET_MAGIC = 0;
+    private static final int OFFSET_VERSION = 4;
+    private static final int OFFSET_COUNT = 8;
+    private static final int OFFSET_SEALED = 12;
+    private static final int OFFSET_FIRST = 16;
+    private static final int OFFSET_LAST = 24;
+    private static final int OFFSET_BITS = 32;
+    private static final int OFFSET_FIELDS = 40;
+
+    private final Path path;
+    private final long sequence;
+    private final int fields;
+    private final long dataBitCapacity;
+
+    private volatile MappedByteBuffer buffer; // null once sealed
+    private GorillaEncoder encoder;
+    private volatile int count;
+    private volatile long firstTimestamp;
+    private volatile long lastTimestamp;
+
+    private Segment(Path path, long sequence, int fields, long capacityBytes) {
+        this.path = path;
+        this.sequence = sequence;
+        this.fields = fields;
+        this.dataBitCapacity = (capacityBytes - HEADER_BYTES) * 8;
+    }
+
+    static Segment create(Path path, long sequence, int capacityBytes, int fields) throws IOException {
+        Segment segment = new Segment(path, sequence, fields, capacityBytes);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // The mapping stays valid after the channel is closed
+            segment.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacityBytes);
+        }
+        segment.buffer.putInt(OFFSET_MAGIC, MAGIC);
+        segment.buffer.putInt(OFFSET_VERSION, VERSION);
+        segment.buffer.putInt(OFFSET_FIELDS, fields);
+        segment.encoder = new GorillaEncoder(new BitWriter(segment.buffer, HEADER_BYTES, 0), fields);
+        return segment;
+    }
+
+    /**
+     * Opens an existing segment. When {@code writable} is true and the segment was not sealed, it is
+     * mapped read/write and its encoder state is rebuilt by replaying the committed samples. Any other
+     * segment is left unmapped after its header was read; {@link #scan} maps it read-only on demand.
+     */
+    static Segment open(Path path, long sequence, boolean writable) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        long size;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            size = channel.size();
+            if (size < HEADER_BYTES || channel.read(header, 0) < HEADER_BYTES) {
+                throw new IOException("Segment file too small: " + path);
+            }
+        }
+        if (header.getInt(OFFSET_MAGIC) != MAGIC) {
+            throw new IOException("Not a time-series segment: " + path);
+        }
+        int version = header.getInt(OFFSET_VERSION);
+        if (version != VERSION) {
+            throw new IOException("Unsupported segment version " + version + ": " + path);
+        }
+        Segment segment = new Segment(path, sequence, header.getInt(OFFSET_FIELDS), size);
+        segment.count = header.getInt(OFFSET_COUNT);
+        segment.firstTimestamp = header.getLong(OFFSET_FIRST);
+        segment.lastTimestamp = header.getLong(OFFSET_LAST);
+        if (header.getInt(OFFSET_SEALED) != 0) {
+            return segment;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (writable) {
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                GorillaDecoder decoder = new GorillaDecoder(new BitReader(mapped, HEADER_BYTES), segment.count, segment.fields);
+                while (decoder.hasNext()) {
+                    decoder.next();
+                }
+                BitWriter writer = new BitWriter(mapped, HEADER_BYTES, mapped.getLong(OFFSET_BITS));
+                segment.encoder = new GorillaEncoder(writer, decoder);
+                segment.buffer = mapped;
+            } else {
+                // An older segment left unsealed by a crash is sealed in place, without mapping it
+                channel.write(ByteBuffer.allocate(4).putInt(0, 1), OFFSET_SEALED);
+                channel.force(false);
+            }
+        }
+        return segment;
+    }
+
+    /**
+     * @return false if the segment has no room left for another sample; the caller should roll over.
+     */
+    boolean tryAppend(long timestamp, double value) {
+        if (!hasRoom()) {
+            return false;
+        }
+        encoder.append(timestamp, value);
+        commit(timestamp);
+        return true;
+    }
+
+    /**
+     * Appends a record holding one value per field.
+     * @return false if the segment has no room left for another record; the caller should roll over.
+     */
+    boolean tryAppend(long timestamp, double[] values) {
+        if (!hasRoom()) {
+            return false;
+        }
+        encoder.append(timestamp, values);
+        commit(timestamp);
+        return true;
+    }
+
+    private boolean hasRoom() {
+        if (buffer == null) {
+            throw new IllegalStateException("Segment is sealed: " + path);
+        }
+        return encoder.getBitPosition() + GorillaEncoder.maxRecordBits(fields) <= dataBitCapacity;
+    }
+
+    private void commit(long timestamp) {
+        MappedByteBuffer mapped = buffer;
+        if (count == 0) {
+            mapped.putLong(OFFSET_FIRST, timestamp);
+            firstTimestamp = timestamp;
+        }
+        mapped.putLong(OFFSET_LAST, timestamp);
+        mapped.putLong(OFFSET_BITS, encoder.getBitPosition());
+        // The count is written last so a torn update never exposes an incomplete sample
+        mapped.putInt(OFFSET_COUNT, encoder.getCount());
+        lastTimestamp = timestamp;
+        count = encoder.getCount();
+    }
+
+    void seal() {
+        MappedByteBuffer mapped = buffer;
+        if (mapped != null) {
+            mapped.putInt(OFFSET_SEALED, 1);
+            mapped.force();
+            encoder = null;
+            buffer = null;
+        }
+    }
+
+    void flush() {
+        MappedByteBuffer mapped = buffer;
+        if (mapped != null) {
+            mapped.force();
+        }
+    }
+
+    /**
+     * Decodes the first {@code sampleCount} records and passes those inside [from, to] to the consumer.
+     * The values array is reused between records. Sealed segments are mapped read-only for the
+     * duration of the call.
+     */
+    void scan(int sampleCount, long from, long to, RecordConsumer consumer) throws IOException {
+        ByteBuffer data = buffer;
+        if (data == null) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+        }
+        GorillaDecoder decoder = new GorillaDecoder(new BitReader(data, HEADER_BYTES), sampleCount, fields);
+        double[] values = new double[fields];
+        while (decoder.hasNext()) {
+            decoder.next();
+            long timestamp = decoder.getTimestamp();
+            if (timestamp > to) {
+                return;
+            }
+            if (timestamp >= from) {
+                for (int field = 0; field < fields; field++) {
+                    values[field] = decoder.getValue(field);
+                }
+                consumer.accept(timestamp, values);
+            }
+        }
+    }
+
+    void delete() throws IOException {
+        buffer = null;
+        encoder = null;
+        Files.deleteIfExists(path);
+    }
+
+    boolean isSealed() {
+        return buffer == null;
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    long getSequence() {
+        return sequence;
+    }
+
+    int getFields() {
+        return fields;
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    long getFirstTimestamp() {
+        return firstTimestamp;
+    }
+
+    long getLastTimestamp() {
+        return lastTimestamp;
+    }
+}
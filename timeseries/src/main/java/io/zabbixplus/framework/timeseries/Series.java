@@ -0,0 +1,275 @@
+package io.zabbixplus.framework.timeseries;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * All segments of one series. Appends are serialised by a lock; scans only hold the lock long enough
+ * to snapshot the segment list and the committed sample count, and decode outside of it. Every record
+ * of a series holds the same number of values ({@code fields}).
+ */
+final class Series {
+
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private final int id;
+    private final String key;
+    private final Path directory;
+    private final int fields;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final List<Segment> segments = new ArrayList<>();
+    private Segment active;
+    private long nextSequence;
+    private long lastTimestamp = Long.MIN_VALUE;
+
+    private Series(int id, String key, Path directory, int fields) {
+        this.id = id;
+        this.key = key;
+        this.directory = directory;
+        this.fields = fields;
+    }
+
+    static Series create(int id, String key, Path directory, int fields) throws IOException {
+        Files.createDirectories(directory);
+        return new Series(id, key, directory, fields);
+    }
+
+    static Series open(int id, String key, Path directory, int fields) throws IOException {
+        Series series = new Series(id, key, directory, fields);
+        if (!Files.isDirectory(directory)) {
+            Files.createDirectories(directory);
+            return series;
+        }
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(directory)) {
+            files = stream.filter(p -> p.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted(Comparator.comparingLong(Series::sequenceOf))
+                    .toList();
+        }
+        for (int i = 0; i < files.size(); i++) {
+            Path file = files.get(i);
+            boolean last = i == files.size() - 1;
+            Segment segment = Segment.open(file, sequenceOf(file), last);
+            if (segment.getFields() != fields) {
+                throw new IOException("Segment " + file + " holds " + segment.getFields()
+                        + " values per record, expected " + fields);
+            }
+            if (segment.getCount() == 0 && !last) {
+                segment.delete();
+                continue;
+            }
+            series.segments.add(segment);
+            if (!segment.isSealed()) {
+                series.active = segment;
+            }
+            if (segment.getCount() > 0) {
+                series.lastTimestamp = segment.getLastTimestamp();
+            }
+            series.nextSequence = segment.getSequence() + 1;
+        }
+        return series;
+    }
+
+    /**
+     * Appends one sample and, if given, passes it to {@code onAppended} before the lock is released.
+     */
+    void append(long timestamp, double value, int segmentBytes, long segmentSpanMillis,
+                SampleConsumer onAppended) throws IOException {
+        lock.lock();
+        try {
+            if (!prepare(timestamp, segmentBytes, segmentSpanMillis).tryAppend(timestamp, value)) {
+                rollOver(segmentBytes);
+                if (!active.tryAppend(timestamp, value)) {
+                    throw new IllegalStateException("Segment capacity of " + segmentBytes + " bytes is too small");
+                }
+            }
+            lastTimestamp = timestamp;
+            if (onAppended != null) {
+                onAppended.accept(timestamp, value);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void append(long timestamp, double[] values, int segmentBytes, long segmentSpanMillis) throws IOException {
+        lock.lock();
+        try {
+            if (!prepare(timestamp, segmentBytes, segmentSpanMillis).tryAppend(timestamp, values)) {
+                rollOver(segmentBytes);
+                if (!active.tryAppend(timestamp, values)) {
+                    throw new IllegalStateException("Segment capacity of " + segmentBytes + " bytes is too small");
+                }
+            }
+            lastTimestamp = timestamp;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Checks ordering and returns the segment the sample goes to, rolling over once the active segment
+     * spans {@code segmentSpanMillis}. Called with the lock held.
+     */
+    private Segment prepare(long timestamp, int segmentBytes, long segmentSpanMillis) throws IOException {
+        if (timestamp < lastTimestamp) {
+            throw new IllegalArgumentException("Out-of-order sample for series '" + key + "': "
+                    + timestamp + " < " + lastTimestamp);
+        }
+        if (active != null && active.getCount() > 0
+                && timestamp - active.getFirstTimestamp() >= segmentSpanMillis) {
+            rollOver(segmentBytes);
+        }
+        if (active == null) {
+            active = newSegment(segmentBytes);
+        }
+        return active;
+    }
+
+    void scan(long from, long to, RecordConsumer consumer) throws IOException {
+        Segment[] snapshot;
+        int[] counts;
+        lock.lock();
+        try {
+            snapshot = segments.toArray(new Segment[0]);
+            counts = new int[snapshot.length];
+            for (int i = 0; i < snapshot.length; i++) {
+                counts[i] = snapshot[i].getCount();
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (int i = 0; i < snapshot.length; i++) {
+            Segment segment = snapshot[i];
+            if (counts[i] == 0 || segment.getLastTimestamp() < from) {
+                continue;
+            }
+            if (segment.getFirstTimestamp() > to) {
+                break;
+            }
+            try {
+                segment.scan(counts[i], from, to, consumer);
+            } catch (NoSuchFileException e) {
+                // Dropped by retention after the snapshot was taken
+            }
+        }
+    }
+
+    /**
+     * Estimates the number of samples in [from, to] from segment headers, assuming samples are spread
+     * evenly inside each segment. Used to pick a resolution without decoding anything.
+     */
+    long estimateCount(long from, long to) {
+        lock.lock();
+        try {
+            long estimate = 0;
+            for (Segment segment : segments) {
+                int segmentCount = segment.getCount();
+                if (segmentCount == 0 || segment.getLastTimestamp() < from || segment.getFirstTimestamp() > to) {
+                    continue;
+                }
+                long span = segment.getLastTimestamp() - segment.getFirstTimestamp();
+                if (span <= 0) {
+                    estimate += segmentCount;
+                    continue;
+                }
+                long overlap = Math.min(to, segment.getLastTimestamp()) - Math.max(from, segment.getFirstTimestamp());
+                estimate += Math.max(1, (long) ((double) segmentCount * overlap / span));
+            }
+            return estimate;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Deletes sealed segments whose newest sample is older than the cutoff.
+     * @return the number of segment files deleted.
+     */
+    int dropSegmentsBefore(long cutoff) {
+        List<Segment> expired = new ArrayList<>();
+        lock.lock();
+        try {
+            for (Segment segment : segments) {
+                if (segment.isSealed() && segment.getLastTimestamp() < cutoff) {
+                    expired.add(segment);
+                }
+            }
+            segments.removeAll(expired);
+        } finally {
+            lock.unlock();
+        }
+        int deleted = 0;
+        for (Segment segment : expired) {
+            try {
+                segment.delete();
+                deleted++;
+            } catch (IOException e) {
+                // Left on disk (e.g. still mapped by a running scan on Windows); the next open retries it
+            }
+        }
+        return deleted;
+    }
+
+    void flush() {
+        lock.lock();
+        try {
+            if (active != null) {
+                active.flush();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long getLastTimestamp() {
+        lock.lock();
+        try {
+            return lastTimestamp;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getId() {
+        return id;
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    int getSegmentCount() {
+        lock.lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void rollOver(int segmentBytes) throws IOException {
+        active.seal();
+        active = newSegment(segmentBytes);
+    }
+
+    private Segment newSegment(int segmentBytes) throws IOException {
+        long sequence = nextSequence++;
+        Path file = directory.resolve(String.format("%016x%s", sequence, SEGMENT_SUFFIX));
+        Segment segment = Segment.create(file, sequence, segmentBytes, fields);
+        segments.add(segment);
+        return segment;
+    }
+
+    private static long sequenceOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseUnsignedLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()), 16);
+    }
+}
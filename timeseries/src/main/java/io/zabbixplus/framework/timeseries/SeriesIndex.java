@@ -0,0 +1,103 @@
+package io.zabbixplus.framework.timeseries;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Persistent mapping from series keys to compact numeric ids.
+ * Stored as an append-only text file with one {@code id<TAB>key} line per series. Guarded by a
+ * {@link ReentrantLock} because registering writes and forces the file, which must not pin a
+ * virtual thread to its carrier.
+ */
+final class SeriesIndex implements AutoCloseable {
+
+    static final String FILE_NAME = "series.idx";
+
+    private final FileChannel channel;
+    private final Map<String, Integer> ids = new LinkedHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private int nextId;
+
+    private SeriesIndex(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    static SeriesIndex open(Path directory) throws IOException {
+        Path file = directory.resolve(FILE_NAME);
+        SeriesIndex index = new SeriesIndex(FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND));
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        for (String line : lines) {
+            int tab = line.indexOf('\t');
+            if (tab <= 0) {
+                continue; // Partially written last line
+            }
+            int id = Integer.parseInt(line.substring(0, tab));
+            index.ids.put(line.substring(tab + 1), id);
+            index.nextId = Math.max(index.nextId, id + 1);
+        }
+        return index;
+    }
+
+    static void validateKey(String key) {
+        if (key == null || key.isEmpty()) {
+            throw new IllegalArgumentException("Series key must not be empty");
+        }
+        if (key.indexOf('\n') >= 0 || key.indexOf('\r') >= 0 || key.indexOf('\t') >= 0) {
+            throw new IllegalArgumentException("Series key must not contain tabs or line breaks: " + key);
+        }
+    }
+
+    Map<String, Integer> entries() {
+        lock.lock();
+        try {
+            return new LinkedHashMap<>(ids);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Registers a new key and durably records it before returning its id.
+     */
+    int register(String key) throws IOException {
+        lock.lock();
+        try {
+            Integer existing = ids.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            int id = nextId;
+            byte[] line = (id + "\t" + key + "\n").getBytes(StandardCharsets.UTF_8);
+            ByteBuffer buffer = ByteBuffer.wrap(line);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+            nextId++;
+            ids.put(key, id);
+            return id;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            channel.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
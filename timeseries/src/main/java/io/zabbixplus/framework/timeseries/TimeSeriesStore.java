@@ -0,0 +1,255 @@
+package io.zabbixplus.framework.timeseries;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Embedded time-series storage engine.
+ * <p>
+ * Each series is written to its own directory of append-only, memory-mapped segment files using
+ * Gorilla compression (delta-of-delta timestamps, XOR values). A segment is sealed when it is full
+ * or spans more than {@code segmentSpanMillis}, which makes retention a matter of deleting whole files.
+ * Series keys are mapped to numeric directory names through a persistent {@link SeriesIndex}.
+ * <p>
+ * A store opened with more than one field holds records of that many values per timestamp (for example
+ * min/max/sum/count of a rollup bucket), encoded in one bit stream, and is written with
+ * {@link #appendRecord} and read with {@link #scanRecords}.
+ * <p>
+ * Appends to different series proceed in parallel; appends to the same series are serialised.
+ * Scans never block appends for longer than it takes to snapshot a series' segment list.
+ */
+public final class TimeSeriesStore implements Closeable {
+
+    public static final int DEFAULT_SEGMENT_BYTES = 64 * 1024;
+    public static final long DEFAULT_SEGMENT_SPAN_MILLIS = TimeUnit.HOURS.toMillis(6);
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final long segmentSpanMillis;
+    private final int fields;
+    private final SeriesIndex index;
+    private final Map<String, Series> series = new ConcurrentHashMap<>();
+    // Not computeIfAbsent: creating a series does file I/O, and the map would hold a synchronized bin lock
+    private final ReentrantLock createLock = new ReentrantLock();
+    private volatile boolean closed;
+
+    private TimeSeriesStore(Path directory, int segmentBytes, long segmentSpanMillis, int fields, SeriesIndex index) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.segmentSpanMillis = segmentSpanMillis;
+        this.fields = fields;
+        this.index = index;
+    }
+
+    public static TimeSeriesStore open(Path directory) throws IOException {
+        return open(directory, DEFAULT_SEGMENT_BYTES, DEFAULT_SEGMENT_SPAN_MILLIS);
+    }
+
+    /**
+     * Opens (or creates) a store, re-attaching to the newest unsealed segment of every series.
+     * @param segmentBytes      Size of each segment file, including its header.
+     * @param segmentSpanMillis Maximum time range covered by one segment; also the retention granularity.
+     */
+    public static TimeSeriesStore open(Path directory, int segmentBytes, long segmentSpanMillis) throws IOException {
+        return open(directory, segmentBytes, segmentSpanMillis, 1);
+    }
+
+    /**
+     * Opens (or creates) a store whose records hold {@code fields} values each.
+     * @throws IOException if existing segments hold a different number of values per record.
+     */
+    public static TimeSeriesStore open(Path directory, int segmentBytes, long segmentSpanMillis, int fields)
+            throws IOException {
+        if (fields < 1) {
+            throw new IllegalArgumentException("fields must be at least 1");
+        }
+        if (segmentBytes < Segment.HEADER_BYTES + 64 * fields) {
+            throw new IllegalArgumentException("segmentBytes must be at least " + (Segment.HEADER_BYTES + 64 * fields));
+        }
+        if (segmentSpanMillis <= 0) {
+            throw new IllegalArgumentException("segmentSpanMillis must be positive");
+        }
+        Files.createDirectories(directory);
+        SeriesIndex index = SeriesIndex.open(directory);
+        TimeSeriesStore store = new TimeSeriesStore(directory, segmentBytes, segmentSpanMillis, fields, index);
+        for (Map.Entry<String, Integer> entry : index.entries().entrySet()) {
+            int id = entry.getValue();
+            store.series.put(entry.getKey(), Series.open(id, entry.getKey(), store.seriesDirectory(id), fields));
+        }
+        return store;
+    }
+
+    public void append(String seriesKey, long timestamp, double value) {
+        append(seriesKey, timestamp, value, null);
+    }
+
+    /**
+     * Appends a sample and hands it to {@code onAppended} while appends to the series are still
+     * serialised, so a consumer sees the samples of each series in the order the store accepted them.
+     * Rejected samples are not passed on. The callback blocks further appends to the series while it runs.
+     */
+    public void append(String seriesKey, long timestamp, double value, SampleConsumer onAppended) {
+        ensureOpen();
+        requireFields(1);
+        try {
+            seriesFor(seriesKey).append(timestamp, value, segmentBytes, segmentSpanMillis, onAppended);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append to series '" + seriesKey + "'", e);
+        }
+    }
+
+    /**
+     * Appends a record of a multi-value store; {@code values} must hold one value per field.
+     */
+    public void appendRecord(String seriesKey, long timestamp, double[] values) {
+        ensureOpen();
+        if (values.length != fields) {
+            throw new IllegalArgumentException("Expected " + fields + " values, got " + values.length);
+        }
+        try {
+            seriesFor(seriesKey).append(timestamp, values, segmentBytes, segmentSpanMillis);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append to series '" + seriesKey + "'", e);
+        }
+    }
+
+    /**
+     * Streams the samples of a series with {@code from <= timestamp <= to} in time order.
+     * Unknown series produce no samples.
+     */
+    public void scan(String seriesKey, long from, long to, SampleConsumer consumer) {
+        requireFields(1);
+        scanRecords(seriesKey, from, to, (timestamp, values) -> consumer.accept(timestamp, values[0]));
+    }
+
+    /**
+     * Streams the records of a series with {@code from <= timestamp <= to} in time order.
+     * Unknown series produce no records.
+     */
+    public void scanRecords(String seriesKey, long from, long to, RecordConsumer consumer) {
+        ensureOpen();
+        Series target = series.get(seriesKey);
+        if (target == null || from > to) {
+            return;
+        }
+        try {
+            target.scan(from, to, consumer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to scan series '" + seriesKey + "'", e);
+        }
+    }
+
+    /**
+     * Cheap estimate of how many samples a scan of [from, to] would return, based on segment headers.
+     */
+    public long estimateCount(String seriesKey, long from, long to) {
+        Series target = series.get(seriesKey);
+        return target == null ? 0 : target.estimateCount(from, to);
+    }
+
+    /**
+     * Drops every sealed segment whose newest sample is older than {@code cutoff}.
+     * @return the number of segment files deleted.
+     */
+    public int dropBefore(long cutoff) {
+        ensureOpen();
+        int dropped = 0;
+        for (Series s : series.values()) {
+            dropped += s.dropSegmentsBefore(cutoff);
+        }
+        return dropped;
+    }
+
+    /**
+     * @return the timestamp of the newest sample of the series, or {@link Long#MIN_VALUE} if it has none.
+     */
+    public long lastTimestamp(String seriesKey) {
+        Series target = series.get(seriesKey);
+        return target == null ? Long.MIN_VALUE : target.getLastTimestamp();
+    }
+
+    public boolean contains(String seriesKey) {
+        return series.containsKey(seriesKey);
+    }
+
+    public Set<String> seriesKeys() {
+        return Collections.unmodifiableSet(series.keySet());
+    }
+
+    public int segmentCount(String seriesKey) {
+        Series target = series.get(seriesKey);
+        return target == null ? 0 : target.getSegmentCount();
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public int getFields() {
+        return fields;
+    }
+
+    /**
+     * Forces the active segments to disk. Sealed segments are flushed when they are sealed.
+     */
+    public void flush() {
+        for (Series s : series.values()) {
+            s.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        flush();
+        index.close();
+    }
+
+    private Series seriesFor(String seriesKey) throws IOException {
+        Series existing = series.get(seriesKey);
+        if (existing != null) {
+            return existing;
+        }
+        SeriesIndex.validateKey(seriesKey);
+        createLock.lock();
+        try {
+            existing = series.get(seriesKey);
+            if (existing == null) {
+                int id = index.register(seriesKey);
+                existing = Series.create(id, seriesKey, seriesDirectory(id), fields);
+                series.put(seriesKey, existing);
+            }
+            return existing;
+        } finally {
+            createLock.unlock();
+        }
+    }
+
+    private Path seriesDirectory(int id) {
+        return directory.resolve(Integer.toString(id));
+    }
+
+    private void requireFields(int expected) {
+        if (fields != expected) {
+            throw new IllegalStateException("Store holds " + fields + " values per record; use appendRecord/scanRecords");
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Time-series store is closed");
+        }
+    }
+}
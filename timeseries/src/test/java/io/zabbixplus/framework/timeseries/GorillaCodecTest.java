@@ -0,0 +1,107 @@
+package io.zabbixplus.framework.timeseries;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GorillaCodecTest {
+
+    @Test
+    void testRoundTripIrregularSamples() {
+        int count = 10_000;
+        long[] timestamps = new long[count];
+        double[] values = new double[count];
+        Random random = new Random(42);
+        long timestamp = 1_700_000_000_000L;
+        double value = 50.0;
+        for (int i = 0; i < count; i++) {
+            // Mostly regular 10s intervals with jitter, occasional large gaps and value jumps
+            timestamp += i % 97 == 0 ? random.nextInt(5_000_000) : 10_000 + random.nextInt(3) - 1;
+            value = i % 5 == 0 ? value + random.nextGaussian() : value;
+            timestamps[i] = timestamp;
+            values[i] = i % 31 == 0 ? Double.NaN : value;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(count * 20);
+        GorillaEncoder encoder = new GorillaEncoder(new BitWriter(buffer, 0, 0));
+        for (int i = 0; i < count; i++) {
+            encoder.append(timestamps[i], values[i]);
+        }
+
+        GorillaDecoder decoder = new GorillaDecoder(new BitReader(buffer, 0), count);
+        for (int i = 0; i < count; i++) {
+            assertTrue(decoder.hasNext());
+            decoder.next();
+            assertEquals(timestamps[i], decoder.getTimestamp(), "Timestamp mismatch at sample " + i);
+            assertEquals(Double.doubleToRawLongBits(values[i]), Double.doubleToRawLongBits(decoder.getValue()),
+                    "Value mismatch at sample " + i);
+        }
+        assertFalse(decoder.hasNext());
+        assertEquals(encoder.getBitPosition(), decoder.getBitPosition());
+    }
+
+    @Test
+    void testRegularSeriesCompressesWell() {
+        int count = 1_000;
+        ByteBuffer buffer = ByteBuffer.allocate(count * 20);
+        GorillaEncoder encoder = new GorillaEncoder(new BitWriter(buffer, 0, 0));
+        for (int i = 0; i < count; i++) {
+            encoder.append(1_000_000L + i * 60_000L, 42.0);
+        }
+        // The second sample stores the first delta ('1111' + 64 bits) and an unchanged value (1 bit);
+        // after that, every sample is one bit for the timestamp and one for the value
+        assertEquals(128 + 69 + (count - 2) * 2L, encoder.getBitPosition());
+    }
+
+    @Test
+    void testEncoderResumesFromDecodedState() {
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        GorillaEncoder encoder = new GorillaEncoder(new BitWriter(buffer, 0, 0));
+        for (int i = 0; i < 50; i++) {
+            encoder.append(1_000L * i, i * 1.5);
+        }
+
+        GorillaDecoder replay = new GorillaDecoder(new BitReader(buffer, 0), 50);
+        while (replay.hasNext()) {
+            replay.next();
+        }
+        GorillaEncoder resumed = new GorillaEncoder(new BitWriter(buffer, 0, encoder.getBitPosition()), replay);
+        for (int i = 50; i < 100; i++) {
+            resumed.append(1_000L * i, i * 1.5);
+        }
+
+        GorillaDecoder decoder = new GorillaDecoder(new BitReader(buffer, 0), 100);
+        for (int i = 0; i < 100; i++) {
+            decoder.next();
+            assertEquals(1_000L * i, decoder.getTimestamp());
+            assertEquals(i * 1.5, decoder.getValue());
+        }
+    }
+
+    @Test
+    void testRoundTripMultiValueRecords() {
+        int count = 1_000;
+        ByteBuffer buffer = ByteBuffer.allocate(count * 64);
+        GorillaEncoder encoder = new GorillaEncoder(new BitWriter(buffer, 0, 0), 3);
+        Random random = new Random(7);
+        double[][] records = new double[count][];
+        for (int i = 0; i < count; i++) {
+            records[i] = new double[]{random.nextInt(10), i % 2 == 0 ? 1.5 : random.nextGaussian(), 60};
+            encoder.append(60_000L * i, records[i]);
+        }
+
+        GorillaDecoder decoder = new GorillaDecoder(new BitReader(buffer, 0), count, 3);
+        for (int i = 0; i < count; i++) {
+            decoder.next();
+            assertEquals(60_000L * i, decoder.getTimestamp());
+            for (int field = 0; field < 3; field++) {
+                assertEquals(records[i][field], decoder.getValue(field), "Field " + field + " of record " + i);
+            }
+        }
+        assertEquals(encoder.getBitPosition(), decoder.getBitPosition());
+        assertTrue(encoder.getBitPosition() <= (long) count * GorillaEncoder.maxRecordBits(3));
+    }
+}
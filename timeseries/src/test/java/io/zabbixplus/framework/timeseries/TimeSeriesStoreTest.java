@@ -0,0 +1,152 @@
+package io.zabbixplus.framework.timeseries;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeSeriesStoreTest {
+
+    private static final long HOUR = 3_600_000L;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testAppendAndRangeScan() throws Exception {
+        try (TimeSeriesStore store = TimeSeriesStore.open(tempDir, 4096, HOUR)) {
+            for (int i = 0; i < 10_000; i++) {
+                store.append("host1:cpu.load", i * 1_000L, i);
+                store.append("host2:cpu.load", i * 1_000L, -i);
+            }
+
+            List<Double> values = new ArrayList<>();
+            store.scan("host1:cpu.load", 100_000L, 199_000L, (timestamp, value) -> values.add(value));
+
+            assertEquals(100, values.size());
+            assertEquals(100.0, values.get(0));
+            assertEquals(199.0, values.get(99));
+            assertTrue(store.segmentCount("host1:cpu.load") > 1, "Small segments should roll over.");
+        }
+    }
+
+    @Test
+    void testScanUnknownSeriesReturnsNothing() throws Exception {
+        try (TimeSeriesStore store = TimeSeriesStore.open(tempDir)) {
+            List<Double> values = new ArrayList<>();
+            store.scan("missing", 0, Long.MAX_VALUE, (timestamp, value) -> values.add(value));
+            assertTrue(values.isEmpty());
+            assertFalse(store.contains("missing"));
+        }
+    }
+
+    @Test
+    void testReopenContinuesActiveSegment() throws Exception {
+        try (TimeSeriesStore store = TimeSeriesStore.open(tempDir, 4096, HOUR)) {
+            for (int i = 0; i < 500; i++) {
+                store.append("series", i * 1_000L, i);
+            }
+        }
+        try (TimeSeriesStore store = TimeSeriesStore.open(tempDir, 4096, HOUR)) {
+            assertTrue(store.contains("series"));
+            for (int i = 500; i < 1_000; i++) {
+                store.append("series", i * 1_000L, i);
+            }
+            long[] expected = {0};
+            store.scan("series", 0, Long.MAX_VALUE, (timestamp, value) -> {
+                assertEquals(expected[0] * 1_000L, timestamp);
+                assertEquals(expected[0], value);
+                expected[0]++;
+            });
+            assertEquals(1_000, expected[0]);
+        }
+    }
+
+    @Test
+    void testRetentionDropsWholeSegments() throws Exception {
+        try (TimeSeriesStore store = TimeSeriesStore.open(tempDir, 64 * 1024, HOUR)) {
+            // Three hours of one-second samples give three sealed segments and one active segment
+            for (long t = 0; t < 3 * HOUR + 10_000; t += 1_000) {
+                store.append("series", t, 1.0);
+            }
+            assertEquals(4, store.segmentCount("series"));
+
+            int dropped = store.dropBefore(2 * HOUR);
+
+            assertEquals(2, dropped);
+            long[] first = {-1};
+            store.scan("series", 0, Long.MAX_VALUE, (timestamp, value) -> {
+                if (first[0] < 0) {
+                    first[0] = timestamp;
+                }
+            });
+            assertEquals(2 * HOUR, first[0]);
+        }
+    }
+
+    @Test
+    void testOutOfOrderSampleIsRejected() throws Exception {
+        try (TimeSeriesStore store = TimeSeriesStore.open(tempDir)) {
+            store.append("series", 10_000L, 1.0);
+            assertThrows(IllegalArgumentException.class, () -> store.append("series", 9_000L, 2.0));
+        }
+    }
+
+    @Test
+    void testAppendCallbackOnlySeesAcceptedSamples() throws Exception {
+        try (TimeSeriesStore store = TimeSeriesStore.open(tempDir)) {
+            List<Long> seen = new ArrayList<>();
+            store.append("series", 10_000L, 1.0, (timestamp, value) -> seen.add(timestamp));
+            assertThrows(IllegalArgumentException.class,
+                    () -> store.append("series", 9_000L, 2.0, (timestamp, value) -> seen.add(timestamp)));
+            store.append("series", 11_000L, 3.0, (timestamp, value) -> seen.add(timestamp));
+            assertEquals(List.of(10_000L, 11_000L), seen);
+        }
+    }
+
+    @Test
+    void testInvalidSeriesKeyIsRejected() throws Exception {
+        try (TimeSeriesStore store = TimeSeriesStore.open(tempDir)) {
+            assertThrows(IllegalArgumentException.class, () -> store.append("bad\tkey", 1L, 1.0));
+            assertThrows(IllegalArgumentException.class, () -> store.append("", 1L, 1.0));
+        }
+    }
+
+    @Test
+    void testEstimateCount() throws Exception {
+        try (TimeSeriesStore store = TimeSeriesStore.open(tempDir)) {
+            for (int i = 0; i < 3_600; i++) {
+                store.append("series", i * 1_000L, i);
+            }
+            long estimate = store.estimateCount("series", 0, 1_800_000L);
+            assertTrue(estimate > 1_700 && estimate < 1_900, "Estimate was " + estimate);
+        }
+    }
+
+    @Test
+    void testMultiValueRecordsSurviveReopen() throws Exception {
+        try (TimeSeriesStore store = TimeSeriesStore.open(tempDir, 4096, HOUR, 4)) {
+            for (int i = 0; i < 300; i++) {
+                store.appendRecord("series", i * 60_000L, new double[]{i, i + 10, i * 6.5, 6});
+            }
+            assertThrows(IllegalStateException.class, () -> store.append("series", 300 * 60_000L, 1.0));
+            assertThrows(IllegalArgumentException.class, () -> store.appendRecord("series", 300 * 60_000L, new double[2]));
+        }
+        try (TimeSeriesStore store = TimeSeriesStore.open(tempDir, 4096, HOUR, 4)) {
+            store.appendRecord("series", 300 * 60_000L, new double[]{300, 310, 1950, 6});
+            long[] expected = {0};
+            store.scanRecords("series", 0, Long.MAX_VALUE, (timestamp, values) -> {
+                long i = expected[0]++;
+                assertEquals(i * 60_000L, timestamp);
+                assertArrayEquals(new double[]{i, i + 10, i * 6.5, 6}, values);
+            });
+            assertEquals(301, expected[0]);
+            assertTrue(store.segmentCount("series") > 1, "One-hour segments should roll over.");
+        }
+        assertThrows(java.io.IOException.class, () -> TimeSeriesStore.open(tempDir, 4096, HOUR, 1));
+    }
+}